@@ -53,7 +53,7 @@ execute() {
 
 printUsage() {
     cat <<-EOF
-USAGE: $0 [create|migrate|info|validate|drop|drop-create|repair|check-connection]
+USAGE: $0 [create|migrate|info|validate|drop|drop-create|es-drop|es-create|es-reindex|compact-versions|drop-create-all|repair|check-connection]
    create           : Creates the tables. The target database should be empty
    migrate          : Migrates the database to the latest version or creates the tables if the database is empty. Use "info" to see the current version and the pending migrations
    info             : Shows the list of migrations applied and the pending migration waiting to be applied on the target database
@@ -62,6 +62,8 @@ USAGE: $0 [create|migrate|info|validate|drop|drop-create|repair|check-connection
    drop-create      : Drops and recreates all the tables in the target database.
    es-drop          : Drops the indexes in ElasticSearch
    es-create        : Creates the indexes in ElasticSearch
+   es-reindex       : Rebuilds the indexes in ElasticSearch from the database without search downtime. An interrupted reindex resumes where it stopped
+   compact-versions : Rewrites the version history of the entities as JSON patches between versions with periodic snapshots
    drop-create-all  : Drops and recreates all the tables in the database. Drops and creates all the indexes in ElasticSearch.
    repair           : Repairs the DATABASE_CHANGE_LOG table which is used to track all the migrations on the target database.
                       This involves removing entries for the failed migrations and update the checksum of migrations already applied on the target databsase.
@@ -79,12 +81,15 @@ fi
 opt="$1"
 
 case "${opt}" in
-create | drop | migrate | info | validate | repair | check-connection | es-drop | es-create )
+create | drop | migrate | info | validate | repair | check-connection | es-drop | es-create | compact-versions )
     execute "${opt}"
     ;;
 drop-create )
     execute "drop" && execute "create"
     ;;
+es-reindex )
+    execute "es-reindex --reindex-checkpoint ${BOOTSTRAP_DIR}/es-reindex-checkpoint.json"
+    ;;
 drop-create-all )
     execute "drop" && execute "create" && execute "es-drop" && execute "es-create"
     ;;
@@ -0,0 +1,224 @@
+--
+-- Events captured from API responses and delivered to event handlers in the background
+--
+CREATE TABLE IF NOT EXISTS event_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    json JSON NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Id of the last event in event_outbox delivered to each event handler
+CREATE TABLE IF NOT EXISTS event_outbox_cursor (
+    handler VARCHAR(256) NOT NULL,
+    lastId BIGINT NOT NULL,
+    PRIMARY KEY (handler)
+);
+
+--
+-- Transitive closure of lineage edges, maintained when lineage is added and entities are deleted
+--
+CREATE TABLE IF NOT EXISTS lineage_closure (
+    ancestorId VARCHAR(36) NOT NULL,            -- ID of the upstream entity
+    descendantId VARCHAR(36) NOT NULL,          -- ID of the downstream entity
+    ancestorEntity VARCHAR(256) NOT NULL,       -- Type name of the upstream entity
+    descendantEntity VARCHAR(256) NOT NULL,     -- Type name of the downstream entity
+    depth INT NOT NULL,                         -- Length of the shortest lineage path between the entities
+    PRIMARY KEY (ancestorId, descendantId),
+    INDEX ancestorIdx (ancestorId, depth),
+    INDEX descendantIdx (descendantId, depth)
+);
+
+--
+-- Keyset pagination of change events on (eventTime, id)
+--
+ALTER TABLE change_event
+    ADD COLUMN id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    -- Event time in milliseconds from the UTC dateTime attribute of the event JSON
+    ADD COLUMN eventTime BIGINT GENERATED ALWAYS AS (TIMESTAMPDIFF(MICROSECOND, '1970-01-01 00:00:00',
+        STR_TO_DATE(json ->> '$.dateTime', '%Y-%m-%dT%T.%fZ')) DIV 1000) STORED NOT NULL,
+    ADD INDEX eventTimeIdx (eventTime, id),
+    ADD INDEX eventTypeTimeIdx (eventType, entityType, eventTime, id),
+    DROP INDEX eventType;
+
+--
+-- Usage of an entity is read and its rolling counts are updated by id and date
+--
+ALTER TABLE entity_usage ADD INDEX usageIdDateIdx (id, usageDate);
+
+--
+-- Daily join counts between columns, replacing the dailyCount JSON of joinedWith relationships in field_relationship
+--
+CREATE TABLE IF NOT EXISTS column_join_stats (
+    fromFQN VARCHAR(256) NOT NULL,              -- Fully qualified name of the column that comes alphabetically first
+    toFQN VARCHAR(256) NOT NULL,                -- Fully qualified name of the other column
+    joinDate DATE NOT NULL,                     -- Date on which the columns were joined
+    joinCount INT NOT NULL,                     -- Number of joins on joinDate
+    PRIMARY KEY (fromFQN, toFQN, joinDate),
+    INDEX toIdx (toFQN, joinDate),
+    INDEX joinDateIdx (joinDate)
+);
+
+-- Move the daily join counts from the dailyCount JSON array, which has at most 31 entries, to column_join_stats
+INSERT IGNORE INTO column_join_stats (fromFQN, toFQN, joinDate, joinCount)
+    SELECT fromFQN, toFQN, JSON_UNQUOTE(JSON_EXTRACT(json, CONCAT('$[', idx.i, '].date'))),
+        JSON_EXTRACT(json, CONCAT('$[', idx.i, '].count'))
+    FROM field_relationship
+    JOIN (SELECT high.i * 8 + low.i AS i FROM
+            (SELECT 0 AS i UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3) high,
+            (SELECT 0 AS i UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+             UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7) low) idx ON idx.i < JSON_LENGTH(json)
+    WHERE relation = 12 AND fromType = 'table.columns.column' AND toType = 'table.columns.column';
+DELETE FROM field_relationship
+    WHERE relation = 12 AND fromType = 'table.columns.column' AND toType = 'table.columns.column';
+
+--
+-- Table profiles stored one row per table and profile date, replacing the table.tableProfile entity extension
+--
+CREATE TABLE IF NOT EXISTS table_profile (
+    tableId VARCHAR(36) NOT NULL,               -- ID of the table
+    profileDate DATE NOT NULL,                  -- Date on which the profile was taken
+    json JSON NOT NULL,                         -- Table profile with the column profiles
+    PRIMARY KEY (tableId, profileDate),
+    INDEX profileDateIdx (profileDate)
+);
+
+-- Move the profiles from the table.tableProfile JSON arrays, up to 10000 profiles per table, to table_profile
+INSERT IGNORE INTO table_profile (tableId, profileDate, json)
+    SELECT id, JSON_UNQUOTE(JSON_EXTRACT(json, CONCAT('$[', idx.i, '].profileDate'))),
+        JSON_EXTRACT(json, CONCAT('$[', idx.i, ']'))
+    FROM entity_extension
+    JOIN (SELECT d1.i + d2.i * 10 + d3.i * 100 + d4.i * 1000 AS i FROM
+            (SELECT 0 AS i UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+             UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d1,
+            (SELECT 0 AS i UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+             UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d2,
+            (SELECT 0 AS i UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+             UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d3,
+            (SELECT 0 AS i UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+             UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d4
+         ) idx ON idx.i < JSON_LENGTH(json)
+    WHERE extension = 'table.tableProfile'
+        AND JSON_EXTRACT(json, CONCAT('$[', idx.i, '].profileDate')) IS NOT NULL;
+DELETE FROM entity_extension WHERE extension = 'table.tableProfile';
+
+--
+-- Version history of entities, replacing the <entityType>.version.<version> entity extensions. Versions that are not
+-- snapshots store the JSON patch from the next version. Existing versions are moved as snapshots and can be compacted
+-- with the compact-versions option of bootstrap_storage.sh
+--
+CREATE TABLE IF NOT EXISTS entity_version (
+    id VARCHAR(36) NOT NULL,                    -- ID of the entity
+    entityType VARCHAR(256) NOT NULL,           -- Type of the entity
+    version DOUBLE NOT NULL,                    -- Version of the entity
+    versionIndex INT NOT NULL,                  -- Position of the version in the version history, 0 when not compacted
+    snapshot BOOLEAN NOT NULL,                  -- True when json is the entity, false when it is a JSON patch
+    json JSON NOT NULL,
+    PRIMARY KEY (id, version)
+);
+
+INSERT IGNORE INTO entity_version (id, entityType, version, versionIndex, snapshot, json)
+    SELECT id, jsonSchema, CAST(SUBSTRING_INDEX(extension, '.version.', -1) AS DECIMAL(10, 1)), 0, TRUE, json
+    FROM entity_extension WHERE extension LIKE '%.version.%';
+DELETE FROM entity_extension WHERE extension LIKE '%.version.%';
+
+--
+-- Id of the parent entity, the service of databases, dashboards, charts, pipelines, topics and locations and the
+-- database of tables, used to list the entities of a parent with a range scan instead of a fullyQualifiedName prefix
+--
+ALTER TABLE database_entity ADD COLUMN parentId VARCHAR(36), ADD INDEX parentIdx (parentId, fullyQualifiedName);
+ALTER TABLE table_entity ADD COLUMN parentId VARCHAR(36), ADD INDEX parentIdx (parentId, fullyQualifiedName);
+ALTER TABLE dashboard_entity ADD COLUMN parentId VARCHAR(36), ADD INDEX parentIdx (parentId, fullyQualifiedName);
+ALTER TABLE chart_entity ADD COLUMN parentId VARCHAR(36), ADD INDEX parentIdx (parentId, fullyQualifiedName);
+ALTER TABLE pipeline_entity ADD COLUMN parentId VARCHAR(36), ADD INDEX parentIdx (parentId, fullyQualifiedName);
+ALTER TABLE topic_entity ADD COLUMN parentId VARCHAR(36), ADD INDEX parentIdx (parentId, fullyQualifiedName);
+ALTER TABLE location_entity ADD COLUMN parentId VARCHAR(36), ADD INDEX parentIdx (parentId, fullyQualifiedName);
+
+UPDATE database_entity e JOIN entity_relationship er ON er.toId = e.id AND er.relation = 0
+    AND er.fromEntity = 'databaseService' SET e.parentId = er.fromId;
+UPDATE table_entity e JOIN entity_relationship er ON er.toId = e.id AND er.relation = 0
+    AND er.fromEntity = 'database' SET e.parentId = er.fromId;
+UPDATE dashboard_entity e JOIN entity_relationship er ON er.toId = e.id AND er.relation = 0
+    AND er.fromEntity = 'dashboardService' SET e.parentId = er.fromId;
+UPDATE chart_entity e JOIN entity_relationship er ON er.toId = e.id AND er.relation = 0
+    AND er.fromEntity = 'dashboardService' SET e.parentId = er.fromId;
+UPDATE pipeline_entity e JOIN entity_relationship er ON er.toId = e.id AND er.relation = 0
+    AND er.fromEntity = 'pipelineService' SET e.parentId = er.fromId;
+UPDATE topic_entity e JOIN entity_relationship er ON er.toId = e.id AND er.relation = 0
+    AND er.fromEntity = 'messagingService' SET e.parentId = er.fromId;
+UPDATE location_entity e JOIN entity_relationship er ON er.toId = e.id AND er.relation = 0
+    AND er.fromEntity = 'storageService' SET e.parentId = er.fromId;
+
+--
+-- Counts of entities of a type, in total with parentId '' and per parent, and usage counts of tags, maintained when
+-- entities are created and deleted and tags are applied and removed, instead of counting for every list request
+--
+CREATE TABLE IF NOT EXISTS entity_count (
+    entityType VARCHAR(256) NOT NULL,
+    parentId VARCHAR(36) NOT NULL,
+    entityCount BIGINT NOT NULL,
+    PRIMARY KEY (entityType, parentId)
+);
+
+-- Counts of the existing entities, so that approximate counts are correct before the first reconciliation
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'databaseService', '', count(*) FROM dbservice_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'messagingService', '', count(*) FROM messaging_service_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'dashboardService', '', count(*) FROM dashboard_service_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'pipelineService', '', count(*) FROM pipeline_service_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'storageService', '', count(*) FROM storage_service_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'database', '', count(*) FROM database_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'table', '', count(*) FROM table_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'metrics', '', count(*) FROM metric_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'dashboard', '', count(*) FROM dashboard_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'pipeline', '', count(*) FROM pipeline_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'chart', '', count(*) FROM chart_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'report', '', count(*) FROM report_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'topic', '', count(*) FROM topic_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'mlmodel', '', count(*) FROM ml_model_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'bots', '', count(*) FROM bot_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'location', '', count(*) FROM location_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'policy', '', count(*) FROM policy_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'user', '', count(*) FROM user_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'team', '', count(*) FROM team_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'ingestion', '', count(*) FROM ingestion_entity;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'database', parentId, count(*) FROM database_entity WHERE parentId IS NOT NULL GROUP BY parentId;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'table', parentId, count(*) FROM table_entity WHERE parentId IS NOT NULL GROUP BY parentId;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'dashboard', parentId, count(*) FROM dashboard_entity WHERE parentId IS NOT NULL GROUP BY parentId;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'chart', parentId, count(*) FROM chart_entity WHERE parentId IS NOT NULL GROUP BY parentId;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'pipeline', parentId, count(*) FROM pipeline_entity WHERE parentId IS NOT NULL GROUP BY parentId;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'topic', parentId, count(*) FROM topic_entity WHERE parentId IS NOT NULL GROUP BY parentId;
+INSERT INTO entity_count (entityType, parentId, entityCount)
+    SELECT 'location', parentId, count(*) FROM location_entity WHERE parentId IS NOT NULL GROUP BY parentId;
+
+CREATE TABLE IF NOT EXISTS tag_usage_count (
+    tagFQN VARCHAR(256) NOT NULL,
+    usageCount BIGINT NOT NULL,
+    PRIMARY KEY (tagFQN)
+);
+
+INSERT INTO tag_usage_count (tagFQN, usageCount) SELECT tagFQN, count(*) FROM tag_usage GROUP BY tagFQN;
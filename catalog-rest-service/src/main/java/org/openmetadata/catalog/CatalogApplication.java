@@ -35,10 +35,17 @@ import org.eclipse.jetty.servlet.ErrorPageErrorHandler;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.glassfish.jersey.server.ServerProperties;
 import org.jdbi.v3.core.Jdbi;
+import org.openmetadata.catalog.events.EventDispatcher;
 import org.openmetadata.catalog.events.EventFilter;
 import org.openmetadata.catalog.exception.CatalogGenericExceptionMapper;
 import org.openmetadata.catalog.exception.ConstraintViolationExceptionMapper;
 import org.openmetadata.catalog.exception.JsonMappingExceptionMapper;
+import org.openmetadata.catalog.jdbi3.ColumnJoinRetention;
+import org.openmetadata.catalog.jdbi3.EntityCache;
+import org.openmetadata.catalog.jdbi3.EntityCountReconciliation;
+import org.openmetadata.catalog.jdbi3.PeriodicTask;
+import org.openmetadata.catalog.jdbi3.TableProfileConfiguration;
+import org.openmetadata.catalog.jdbi3.TableProfileRetention;
 import org.openmetadata.catalog.module.CatalogModule;
 import org.openmetadata.catalog.resources.CollectionRegistry;
 import org.openmetadata.catalog.resources.config.ConfigResource;
@@ -49,6 +56,7 @@ import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.NoopAuthorizer;
 import org.openmetadata.catalog.security.NoopFilter;
 import org.openmetadata.catalog.security.auth.CatalogSecurityContextRequestFilter;
+import org.openmetadata.catalog.util.StreamingResultList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -86,6 +94,12 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
 //    jdbi.setSqlLogger(sqlLogger);
 
 
+    // Initialize the cache of entities shared by all the DAOs
+    EntityCache.initialize(catalogConfig.getEntityCacheConfiguration(), environment.metrics());
+
+    // Write streamed list responses with the object mapper used for the other responses
+    StreamingResultList.initialize(environment.getObjectMapper());
+
     // Register Authorizer
     registerAuthorizer(catalogConfig, environment, jdbi);
 
@@ -108,6 +122,7 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
     environment.jersey().register(JsonMappingExceptionMapper.class);
     environment.healthChecks().register("UserDatabaseCheck", new CatalogHealthCheck(catalogConfig, jdbi));
     registerResources(catalogConfig, environment, jdbi);
+    registerPeriodicTasks(catalogConfig, environment, jdbi);
 
     // Register Event Handler
     registerEventFilter(catalogConfig, environment, jdbi);
@@ -152,6 +167,9 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
       }
       LOG.info("Registering ContainerRequestFilter: {}", filter.getClass().getCanonicalName());
       environment.jersey().register(filter);
+      if (filter instanceof Managed) {
+        environment.lifecycle().manage((Managed) filter);
+      }
     } else {
       LOG.info("Authorizer config not set, setting noop authorizer");
       authorizer = NoopAuthorizer.class.getConstructor().newInstance();
@@ -161,9 +179,23 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
     injector = Guice.createInjector(new CatalogModule(authorizer));
   }
 
+  private void registerPeriodicTasks(CatalogApplicationConfig catalogConfig, Environment environment, Jdbi jdbi) {
+    environment.lifecycle().manage(new PeriodicTask("column-join-retention", new ColumnJoinRetention(jdbi),
+            ColumnJoinRetention.INTERVAL_SECONDS));
+    environment.lifecycle().manage(new PeriodicTask("entity-count-reconciliation",
+            new EntityCountReconciliation(jdbi), EntityCountReconciliation.INTERVAL_SECONDS));
+    TableProfileConfiguration tableProfileConfig = catalogConfig.getTableProfileConfiguration();
+    if (TableProfileRetention.isEnabled(tableProfileConfig)) {
+      environment.lifecycle().manage(new PeriodicTask("table-profile-retention",
+              new TableProfileRetention(tableProfileConfig, jdbi), TableProfileRetention.INTERVAL_SECONDS));
+    }
+  }
+
   private void registerEventFilter(CatalogApplicationConfig catalogConfig, Environment environment, Jdbi jdbi) {
     if (catalogConfig.getEventHandlerConfiguration() != null) {
-      ContainerResponseFilter eventFilter = new EventFilter(catalogConfig, jdbi);
+      EventDispatcher dispatcher = new EventDispatcher(catalogConfig, jdbi, environment.metrics());
+      environment.lifecycle().manage(dispatcher);
+      ContainerResponseFilter eventFilter = new EventFilter(dispatcher);
       environment.jersey().register(eventFilter);
     }
   }
@@ -17,6 +17,9 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.dropwizard.health.conf.HealthConfiguration;
 import org.openmetadata.catalog.events.EventHandlerConfiguration;
 import org.openmetadata.catalog.ingestion.AirflowConfiguration;
+import org.openmetadata.catalog.jdbi3.EntityCacheConfiguration;
+import org.openmetadata.catalog.jdbi3.LineageConfiguration;
+import org.openmetadata.catalog.jdbi3.TableProfileConfiguration;
 import org.openmetadata.catalog.security.AuthenticationConfiguration;
 import org.openmetadata.catalog.security.AuthorizerConfiguration;
 import io.dropwizard.Configuration;
@@ -44,6 +47,7 @@ public class CatalogApplicationConfig extends Configuration {
     @JsonProperty("elasticsearch")
     private ElasticSearchConfiguration elasticSearchConfiguration;
 
+    @Valid
     @JsonProperty("eventHandlerConfiguration")
     private EventHandlerConfiguration eventHandlerConfiguration;
 
@@ -51,6 +55,18 @@ public class CatalogApplicationConfig extends Configuration {
     @JsonProperty("airflowConfiguration")
     private AirflowConfiguration airflowConfiguration;
 
+    @Valid
+    @JsonProperty("entityCache")
+    private EntityCacheConfiguration entityCacheConfiguration = new EntityCacheConfiguration();
+
+    @Valid
+    @JsonProperty("tableProfile")
+    private TableProfileConfiguration tableProfileConfiguration = new TableProfileConfiguration();
+
+    @Valid
+    @JsonProperty("lineage")
+    private LineageConfiguration lineageConfiguration = new LineageConfiguration();
+
     public DataSourceFactory getDataSourceFactory() {
         return dataSourceFactory;
     }
@@ -95,6 +111,30 @@ public class CatalogApplicationConfig extends Configuration {
         this.airflowConfiguration = airflowConfiguration;
     }
 
+    public EntityCacheConfiguration getEntityCacheConfiguration() {
+        return entityCacheConfiguration;
+    }
+
+    public void setEntityCacheConfiguration(EntityCacheConfiguration entityCacheConfiguration) {
+        this.entityCacheConfiguration = entityCacheConfiguration;
+    }
+
+    public TableProfileConfiguration getTableProfileConfiguration() {
+        return tableProfileConfiguration;
+    }
+
+    public void setTableProfileConfiguration(TableProfileConfiguration tableProfileConfiguration) {
+        this.tableProfileConfiguration = tableProfileConfiguration;
+    }
+
+    public LineageConfiguration getLineageConfiguration() {
+        return lineageConfiguration;
+    }
+
+    public void setLineageConfiguration(LineageConfiguration lineageConfiguration) {
+        this.lineageConfiguration = lineageConfiguration;
+    }
+
     @Valid
     @NotNull
     @JsonProperty("health")
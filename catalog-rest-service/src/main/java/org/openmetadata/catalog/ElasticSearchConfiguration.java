@@ -37,6 +37,15 @@ public class ElasticSearchConfiguration {
 
   private Integer socketTimeoutSecs = 60;
 
+  /** Maximum number of updates in a bulk request */
+  private Integer bulkActions = 1000;
+
+  /** Maximum size of a bulk request */
+  private Integer bulkSizeMb = 5;
+
+  /** Maximum number of bulk requests in flight */
+  private Integer bulkConcurrentRequests = 1;
+
   public String getHost() {
     return host;
   }
@@ -109,6 +118,30 @@ public class ElasticSearchConfiguration {
     this.socketTimeoutSecs = socketTimeoutSecs;
   }
 
+  public Integer getBulkActions() {
+    return bulkActions;
+  }
+
+  public void setBulkActions(Integer bulkActions) {
+    this.bulkActions = bulkActions;
+  }
+
+  public Integer getBulkSizeMb() {
+    return bulkSizeMb;
+  }
+
+  public void setBulkSizeMb(Integer bulkSizeMb) {
+    this.bulkSizeMb = bulkSizeMb;
+  }
+
+  public Integer getBulkConcurrentRequests() {
+    return bulkConcurrentRequests;
+  }
+
+  public void setBulkConcurrentRequests(Integer bulkConcurrentRequests) {
+    this.bulkConcurrentRequests = bulkConcurrentRequests;
+  }
+
   @Override
   public String toString() {
     return "ElasticSearchConfiguration{" +
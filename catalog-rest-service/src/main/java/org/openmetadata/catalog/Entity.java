@@ -24,6 +24,7 @@ import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -90,6 +91,11 @@ public final class Entity {
     System.out.println("Registering entity " + entity);
   }
 
+  /** DAOs of all the registered entities */
+  public static Collection<EntityDAO<?>> getEntityDAOs() {
+    return Collections.unmodifiableCollection(DAO_MAP.values());
+  }
+
   public static EntityReference getEntityReference(String entity, UUID id) throws IOException {
     EntityDAO<?> dao = DAO_MAP.get(entity);
     if (dao == null) {
@@ -98,6 +104,41 @@ public final class Entity {
     return dao.findEntityReferenceById(id);
   }
 
+  /**
+   * Get references for a list of entities of the same type using a single query
+   */
+  public static Map<UUID, EntityReference> getEntityReferences(String entity, List<UUID> ids) throws IOException {
+    EntityDAO<?> dao = DAO_MAP.get(entity);
+    if (dao == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entity));
+    }
+    Map<UUID, EntityReference> references = dao.findEntityReferencesByIds(ids);
+    for (UUID id : ids) {
+      if (!references.containsKey(id)) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entity, id));
+      }
+    }
+    return references;
+  }
+
+  /**
+   * Get references for a list of entities of the same type by fully qualified names using a single query
+   */
+  public static Map<String, EntityReference> getEntityReferencesByName(String entity, List<String> fqns)
+          throws IOException {
+    EntityDAO<?> dao = DAO_MAP.get(entity);
+    if (dao == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entity));
+    }
+    Map<String, EntityReference> references = dao.findEntityReferencesByNames(fqns);
+    for (String fqn : fqns) {
+      if (!references.containsKey(fqn)) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entity, fqn));
+      }
+    }
+    return references;
+  }
+
   public static EntityReference getEntityReferenceByName(String entity, String fqn) throws IOException {
     EntityDAO<?> dao = DAO_MAP.get(entity);
     if (dao == null) {
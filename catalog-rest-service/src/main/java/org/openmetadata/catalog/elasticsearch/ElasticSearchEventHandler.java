@@ -15,13 +15,22 @@
 
 package org.openmetadata.catalog.elasticsearch;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import org.elasticsearch.action.ActionListener;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.update.UpdateRequest;
-import org.elasticsearch.action.update.UpdateResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
-import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptType;
 import org.jdbi.v3.core.Jdbi;
@@ -34,6 +43,7 @@ import org.openmetadata.catalog.entity.data.Pipeline;
 import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.entity.data.Topic;
 import org.openmetadata.catalog.events.EventHandler;
+import org.openmetadata.catalog.events.EventRecord;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.ChangeEvent;
 import org.openmetadata.catalog.type.EntityReference;
@@ -43,30 +53,76 @@ import org.openmetadata.catalog.util.JsonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.ws.rs.container.ContainerRequestContext;
-import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.core.Response;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
-
+/**
+ * Indexes the entities in the events through an Elastic Search {@link BulkProcessor}.
+ *
+ * Updates of the same document in a batch of events are coalesced into one update. Documents of created entities
+ * and updates without change descriptions are sent as partial documents. Updates with change descriptions, which
+ * have to be appended to the existing ones, use a single fixed script.
+ *
+ * The bulk processor splits the updates into bulk requests of bulkActions updates or bulkSizeMb size. At most
+ * bulkConcurrentRequests are in flight and requests rejected by Elastic Search are retried with backoff.
+ * {@code process} waits for the bulk requests to complete, so when Elastic Search is slow the events queue up in
+ * the event outbox instead of in memory, and when Elastic Search is unavailable the events are retried.
+ */
 public class ElasticSearchEventHandler implements EventHandler {
   private static final Logger LOG = LoggerFactory.getLogger(ElasticSearchEventHandler.class);
+  private static final String UPDATE_SCRIPT = "ctx._source.putAll(params.doc); " +
+          "if (ctx._source.change_descriptions == null) { ctx._source.change_descriptions = []; } " +
+          "ctx._source.change_descriptions.addAll(params.change_descriptions);";
+  private static final String CHANGE_DESCRIPTIONS = "change_descriptions";
+  private static final BackoffPolicy BACKOFF_POLICY = BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(100),
+          3);
   private RestHighLevelClient client;
   private ElasticSearchIndexDefinition esIndexDefinition;
+  private BulkProcessor bulkProcessor;
+  private long flushTimeoutMillis;
+
+  // Bulk requests in flight and the last failure, used to wait for the updates of a batch of events
+  private final Object monitor = new Object();
+  private int inFlight;
+  private Throwable bulkFailure;
+  private final Map<Long, Long> bulkStartTimes = new ConcurrentHashMap<>();
 
-  private final ActionListener<UpdateResponse> listener = new ActionListener<>() {
+  private final Histogram flushSize = new Histogram(new ExponentiallyDecayingReservoir());
+  private final Timer flushLatency = new Timer();
+  private final Meter coalesced = new Meter();
+
+  private final BulkProcessor.Listener bulkListener = new BulkProcessor.Listener() {
     @Override
-    public void onResponse(UpdateResponse updateResponse) {
-      LOG.info("Updated Elastic Search {}", updateResponse);
+    public void beforeBulk(long executionId, BulkRequest request) {
+      bulkStartTimes.put(executionId, System.nanoTime());
+      synchronized (monitor) {
+        inFlight++;
+      }
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+      if (response.hasFailures()) {
+        // Failures of individual documents, such as updating a document that is not indexed, are not retried
+        LOG.error("Failed to update Elastic Search {}", response.buildFailureMessage());
+      } else {
+        LOG.info("Updated Elastic Search with {} documents", response.getItems().length);
+      }
+      completed(executionId, request, null);
     }
 
     @Override
-    public void onFailure(Exception e) {
-      LOG.error("Failed to update Elastic Search", e);
+    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+      LOG.error("Failed to update Elastic Search", failure);
+      completed(executionId, request, failure);
     }
   };
 
@@ -75,60 +131,129 @@ public class ElasticSearchEventHandler implements EventHandler {
     this.client = ElasticSearchClientUtils.createElasticSearchClient(esConfig);
     esIndexDefinition = new ElasticSearchIndexDefinition(client);
     esIndexDefinition.createIndexes();
+    bulkProcessor = BulkProcessor.builder((request, listener) ->
+                    client.bulkAsync(request, RequestOptions.DEFAULT, listener), bulkListener, "es-event-handler")
+            .setBulkActions(esConfig.getBulkActions())
+            .setBulkSize(new ByteSizeValue(esConfig.getBulkSizeMb(), ByteSizeUnit.MB))
+            .setConcurrentRequests(esConfig.getBulkConcurrentRequests())
+            .setBackoffPolicy(BACKOFF_POLICY)
+            .build();
+    flushTimeoutMillis = TimeUnit.SECONDS.toMillis(esConfig.getSocketTimeoutSecs()) * 2;
   }
 
+  @Override
+  public void registerMetrics(MetricRegistry metricRegistry) {
+    metricRegistry.register(MetricRegistry.name(ElasticSearchEventHandler.class, "flushSize"), flushSize);
+    metricRegistry.register(MetricRegistry.name(ElasticSearchEventHandler.class, "flushLatency"), flushLatency);
+    metricRegistry.register(MetricRegistry.name(ElasticSearchEventHandler.class, "coalesced"), coalesced);
+  }
 
-  public Void process(ContainerRequestContext requestContext,
-                      ContainerResponseContext responseContext) {
-    try {
-      LOG.info("request Context "+ requestContext.toString());
-      if (responseContext.getEntity() != null) {
-        Object entity = responseContext.getEntity();
-        UpdateRequest updateRequest = null;
-        String entityClass = entity.getClass().toString();
-        if (entityClass.toLowerCase().endsWith(Entity.TABLE.toLowerCase())) {
-          boolean exists =
-              esIndexDefinition.checkIndexExistsOrCreate(ElasticSearchIndexType.TABLE_SEARCH_INDEX);
-          if (exists) {
-            Table instance = (Table) entity;
-            updateRequest = updateTable(instance, responseContext);
-          }
-        } else if (entityClass.toLowerCase().endsWith(Entity.DASHBOARD.toLowerCase())) {
-          boolean exists =
-              esIndexDefinition.checkIndexExistsOrCreate(ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX);
-          if (exists) {
-            Dashboard instance = (Dashboard) entity;
-            updateRequest = updateDashboard(instance, responseContext);
-          }
-        } else if (entityClass.toLowerCase().endsWith(Entity.TOPIC.toLowerCase())) {
-          boolean exists =
-              esIndexDefinition.checkIndexExistsOrCreate(ElasticSearchIndexType.TOPIC_SEARCH_INDEX);
-          if (exists) {
-            Topic instance = (Topic) entity;
-            updateRequest = updateTopic(instance, responseContext);
-          }
-        } else if (entityClass.toLowerCase().endsWith(Entity.PIPELINE.toLowerCase())) {
-          boolean exists =
-              esIndexDefinition.checkIndexExistsOrCreate(ElasticSearchIndexType.PIPELINE_SEARCH_INDEX);
-          if (exists) {
-            Pipeline instance = (Pipeline) entity;
-            updateRequest = updatePipeline(instance, responseContext);
-          }
-        } else if (entityClass.toLowerCase().equalsIgnoreCase(ChangeEvent.class.toString())) {
-          ChangeEvent changeEvent = (ChangeEvent) entity;
-          updateRequest = applyChangeEvent(changeEvent);
+  public void process(List<EventRecord> events) throws IOException, InterruptedException {
+    DocumentUpdates updates = new DocumentUpdates();
+    for (EventRecord event : events) {
+      try {
+        Object entity = event.getEntityObject();
+        if (entity != null) {
+          addUpdate(updates, entity, event.getResponseCode());
         }
-        if (updateRequest != null) {
-          client.updateAsync(updateRequest, RequestOptions.DEFAULT, listener);
+      } catch (Exception e) {
+        LOG.error("Failed to build ES doc for event {}", event, e);
+      }
+    }
+    List<DocWriteRequest<?>> requests = updates.getRequests();
+    if (requests.isEmpty()) {
+      return;
+    }
+
+    synchronized (monitor) {
+      bulkFailure = null;
+    }
+    for (DocWriteRequest<?> request : requests) {
+      bulkProcessor.add(request); // Blocks while bulkConcurrentRequests are in flight
+    }
+    bulkProcessor.flush();
+    awaitBulks();
+  }
+
+  /**
+   * Wait for the bulk requests in flight. Failure to reach Elastic Search throws an exception so that the events
+   * are retried.
+   */
+  private void awaitBulks() throws IOException, InterruptedException {
+    long deadline = System.currentTimeMillis() + flushTimeoutMillis;
+    synchronized (monitor) {
+      while (inFlight > 0) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          throw new IOException(String.format("Timed out waiting for %d Elastic Search bulk requests", inFlight));
         }
+        monitor.wait(remaining);
+      }
+      if (bulkFailure != null) {
+        throw new IOException("Failed to update Elastic Search", bulkFailure);
       }
-    } catch (Exception e) {
-      LOG.error("failed to update ES doc", e);
     }
-    return null;
   }
 
-  private UpdateRequest applyChangeEvent(ChangeEvent event) {
+  private void completed(long executionId, BulkRequest request, Throwable failure) {
+    Long startTime = bulkStartTimes.remove(executionId);
+    if (startTime != null) {
+      flushLatency.update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+    flushSize.update(request.numberOfActions());
+    synchronized (monitor) {
+      inFlight--;
+      if (failure != null) {
+        bulkFailure = failure;
+      }
+      monitor.notifyAll();
+    }
+  }
+
+  private void addUpdate(DocumentUpdates updates, Object entity, int responseCode) throws IOException {
+    String entityClass = entity.getClass().toString();
+    if (entityClass.toLowerCase().endsWith(Entity.TABLE.toLowerCase())) {
+      boolean exists =
+          esIndexDefinition.checkIndexExistsOrCreate(ElasticSearchIndexType.TABLE_SEARCH_INDEX);
+      if (exists) {
+        Table instance = (Table) entity;
+        updates.add(new DocumentUpdate(ElasticSearchIndexType.TABLE_SEARCH_INDEX, instance.getId(),
+                TableESIndex.builder(instance, responseCode).build(), responseCode));
+      }
+    } else if (entityClass.toLowerCase().endsWith(Entity.DASHBOARD.toLowerCase())) {
+      boolean exists =
+          esIndexDefinition.checkIndexExistsOrCreate(ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX);
+      if (exists) {
+        Dashboard instance = (Dashboard) entity;
+        updates.add(new DocumentUpdate(ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX, instance.getId(),
+                DashboardESIndex.builder(instance, responseCode).build(), responseCode));
+      }
+    } else if (entityClass.toLowerCase().endsWith(Entity.TOPIC.toLowerCase())) {
+      boolean exists =
+          esIndexDefinition.checkIndexExistsOrCreate(ElasticSearchIndexType.TOPIC_SEARCH_INDEX);
+      if (exists) {
+        Topic instance = (Topic) entity;
+        updates.add(new DocumentUpdate(ElasticSearchIndexType.TOPIC_SEARCH_INDEX, instance.getId(),
+                TopicESIndex.builder(instance, responseCode).build(), responseCode));
+      }
+    } else if (entityClass.toLowerCase().endsWith(Entity.PIPELINE.toLowerCase())) {
+      boolean exists =
+          esIndexDefinition.checkIndexExistsOrCreate(ElasticSearchIndexType.PIPELINE_SEARCH_INDEX);
+      if (exists) {
+        Pipeline instance = (Pipeline) entity;
+        updates.add(new DocumentUpdate(ElasticSearchIndexType.PIPELINE_SEARCH_INDEX, instance.getId(),
+                PipelineESIndex.builder(instance, responseCode).build(), responseCode));
+      }
+    } else if (entityClass.toLowerCase().equalsIgnoreCase(ChangeEvent.class.toString())) {
+      ChangeEvent changeEvent = (ChangeEvent) entity;
+      UpdateRequest updateRequest = applyChangeEvent(changeEvent);
+      if (updateRequest != null) {
+        updates.add(updateRequest);
+      }
+    }
+  }
+
+  private UpdateRequest applyChangeEvent(ChangeEvent event) throws IOException {
     String entityType = event.getEntityType();
     ElasticSearchIndexType esIndexType = esIndexDefinition.getIndexMappingByEntityType(entityType);
     UUID entityId = event.getEntityId();
@@ -150,7 +275,7 @@ public class ElasticSearchEventHandler implements EventHandler {
     scriptTxt.append("ctx._source.last_updated_timestamp=params.last_updated_timestamp;");
     for (FieldChange fieldChange: fieldsAdded) {
       if (fieldChange.getName().equalsIgnoreCase("followers")) {
-        List<EntityReference> entityReferences = (List<EntityReference>) fieldChange.getNewValue();
+        List<EntityReference> entityReferences = getEntityReferences(fieldChange.getNewValue());
         List<String> newFollowers = new ArrayList<>();
         for (EntityReference follower : entityReferences) {
           newFollowers.add(follower.getId().toString());
@@ -162,7 +287,7 @@ public class ElasticSearchEventHandler implements EventHandler {
 
     for (FieldChange fieldChange: changeDescription.getFieldsDeleted()) {
       if (fieldChange.getName().equalsIgnoreCase("followers")) {
-        List<EntityReference> entityReferences = (List<EntityReference>) fieldChange.getOldValue();
+        List<EntityReference> entityReferences = getEntityReferences(fieldChange.getOldValue());
         for (EntityReference follower : entityReferences) {
           fieldAddParams.put(fieldChange.getName(), follower.getId().toString());
         }
@@ -183,86 +308,110 @@ public class ElasticSearchEventHandler implements EventHandler {
     }
   }
 
-  private UpdateRequest updateTable(Table instance, ContainerResponseContext responseContext)
-      throws JsonProcessingException {
-    int responseCode = responseContext.getStatus();
-    TableESIndex tableESIndex = TableESIndex.builder(instance, responseCode).build();
-    UpdateRequest updateRequest = new UpdateRequest(ElasticSearchIndexType.TABLE_SEARCH_INDEX.indexName,
-        instance.getId().toString());
-    if (responseCode != Response.Status.CREATED.getStatusCode()) {
-      scriptedUpsert(tableESIndex, updateRequest);
-    } else {
-      String json = JsonUtils.pojoToJson(tableESIndex);
-      updateRequest.doc(json, XContentType.JSON);
-      updateRequest.docAsUpsert(true);
-    }
-    return updateRequest;
+  /**
+   * Field change values read back from the event outbox are JSON maps instead of {@link EntityReference}
+   */
+  private static List<EntityReference> getEntityReferences(Object value) throws IOException {
+    return JsonUtils.readObjects(JsonUtils.pojoToJson(value), EntityReference.class);
   }
 
-  private UpdateRequest updateTopic(Topic instance, ContainerResponseContext responseContext)
-      throws JsonProcessingException {
-    int responseCode = responseContext.getStatus();
-    TopicESIndex topicESIndex = TopicESIndex.builder(instance, responseCode).build();
-    UpdateRequest updateRequest = new UpdateRequest(ElasticSearchIndexType.TOPIC_SEARCH_INDEX.indexName,
-        instance.getId().toString());
-    if (responseCode != Response.Status.CREATED.getStatusCode()) {
-      scriptedUpsert(topicESIndex, updateRequest);
-    } else {
-      //only upsert if its a new entity
-      updateRequest.doc(JsonUtils.pojoToJson(topicESIndex), XContentType.JSON);
-      updateRequest.docAsUpsert(true);
+  public void close() {
+    try {
+      if (bulkProcessor != null && !bulkProcessor.awaitClose(flushTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        LOG.warn("Timed out flushing pending Elastic Search updates");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      this.client.close();
+    } catch (Exception e) {
+      LOG.error("Failed to close elastic search", e);
     }
-    return updateRequest;
   }
 
-  private UpdateRequest updateDashboard(Dashboard instance, ContainerResponseContext responseContext)
-      throws JsonProcessingException {
-    int responseCode = responseContext.getStatus();
-    DashboardESIndex dashboardESIndex = DashboardESIndex.builder(instance, responseCode).build();
-    UpdateRequest updateRequest = new UpdateRequest(ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX.indexName,
-        instance.getId().toString());
-    if (responseCode != Response.Status.CREATED.getStatusCode()) {
-      scriptedUpsert(dashboardESIndex, updateRequest);
-    } else {
-      updateRequest.doc(JsonUtils.pojoToJson(dashboardESIndex), XContentType.JSON);
-      updateRequest.docAsUpsert(true);
+  /**
+   * Updates of the documents in a batch of events, in the order of the events, with updates of the same document
+   * coalesced. Script updates, such as adding followers, are not coalesced and keep their order relative to the
+   * other updates of the document.
+   */
+  private class DocumentUpdates {
+    private final List<Object> updates = new ArrayList<>();
+    private final Map<String, DocumentUpdate> openUpdates = new HashMap<>();
+
+    void add(DocumentUpdate update) {
+      DocumentUpdate openUpdate = openUpdates.get(update.key());
+      if (openUpdate != null) {
+        openUpdate.merge(update);
+        coalesced.mark();
+        return;
+      }
+      openUpdates.put(update.key(), update);
+      updates.add(update);
     }
-    return updateRequest;
-  }
 
-  private UpdateRequest updatePipeline(Pipeline instance, ContainerResponseContext responseContext)
-      throws JsonProcessingException {
-    int responseCode = responseContext.getStatus();
-    PipelineESIndex pipelineESIndex = PipelineESIndex.builder(instance, responseCode).build();
-    UpdateRequest updateRequest = new UpdateRequest(ElasticSearchIndexType.PIPELINE_SEARCH_INDEX.indexName,
-        instance.getId().toString());
-    if (responseCode != Response.Status.CREATED.getStatusCode()) {
-      scriptedUpsert(pipelineESIndex, updateRequest);
-    } else {
-      //only upsert if it's a new entity
-      updateRequest.doc(JsonUtils.pojoToJson(pipelineESIndex), XContentType.JSON);
-      updateRequest.docAsUpsert(true);
+    void add(UpdateRequest request) {
+      openUpdates.remove(request.index() + "/" + request.id());
+      updates.add(request);
     }
-    return updateRequest;
-  }
 
-  private void scriptedUpsert(Object index, UpdateRequest updateRequest) {
-    String scriptTxt= "for (k in params.keySet()) {if (k == 'change_descriptions') " +
-        "{ ctx._source.change_descriptions.addAll(params.change_descriptions) } " +
-        "else { ctx._source.put(k, params.get(k)) }}";
-    Map<String, Object> doc = JsonUtils.getMap(index);
-    Script script = new Script(ScriptType.INLINE, "painless", scriptTxt,
-        doc);
-    updateRequest.script(script);
-    updateRequest.scriptedUpsert(true);
+    List<DocWriteRequest<?>> getRequests() {
+      List<DocWriteRequest<?>> requests = new ArrayList<>();
+      for (Object update : updates) {
+        requests.add(update instanceof DocumentUpdate ? ((DocumentUpdate) update).toRequest() : (UpdateRequest) update);
+      }
+      return requests;
+    }
   }
 
-  public void close() {
-    try {
-      this.client.close();
-    } catch (Exception e) {
-      LOG.error("Failed to close elastic search", e);
+  private static class DocumentUpdate {
+    private final String index;
+    private final String id;
+    private final Map<String, Object> doc;
+    private final List<Object> changeDescriptions = new ArrayList<>();
+    private boolean created;
+
+    DocumentUpdate(ElasticSearchIndexType indexType, UUID id, Object esIndex, int responseCode) {
+      this.index = indexType.indexName;
+      this.id = id.toString();
+      this.doc = new LinkedHashMap<>(JsonUtils.getMap(esIndex));
+      Object descriptions = doc.remove(CHANGE_DESCRIPTIONS);
+      if (descriptions instanceof List) {
+        changeDescriptions.addAll((List<?>) descriptions);
+      }
+      this.created = responseCode == Response.Status.CREATED.getStatusCode();
     }
-  }
 
+    String key() {
+      return index + "/" + id;
+    }
+
+    void merge(DocumentUpdate later) {
+      doc.putAll(later.doc);
+      changeDescriptions.addAll(later.changeDescriptions);
+      created |= later.created;
+    }
+
+    UpdateRequest toRequest() {
+      UpdateRequest updateRequest = new UpdateRequest(index, id);
+      if (created) {
+        // New document with all the change descriptions
+        Map<String, Object> source = new LinkedHashMap<>(doc);
+        source.put(CHANGE_DESCRIPTIONS, changeDescriptions);
+        updateRequest.doc(source);
+        updateRequest.docAsUpsert(true);
+      } else if (changeDescriptions.isEmpty()) {
+        updateRequest.doc(doc);
+        updateRequest.docAsUpsert(true);
+      } else {
+        Map<String, Object> params = new HashMap<>();
+        params.put("doc", doc);
+        params.put(CHANGE_DESCRIPTIONS, changeDescriptions);
+        updateRequest.script(new Script(ScriptType.INLINE, "painless", UPDATE_SCRIPT, params));
+        updateRequest.scriptedUpsert(true);
+        updateRequest.upsert(new HashMap<>());
+      }
+      return updateRequest;
+    }
+  }
 }
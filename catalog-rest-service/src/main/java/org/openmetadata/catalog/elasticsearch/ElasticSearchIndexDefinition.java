@@ -10,8 +10,11 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.Value;
 import lombok.experimental.SuperBuilder;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.client.GetAliasesResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CreateIndexRequest;
@@ -128,10 +131,15 @@ public class ElasticSearchIndexDefinition {
 
   private boolean deleteIndex(ElasticSearchIndexType elasticSearchIndexType) {
     try {
-      DeleteIndexRequest request = new DeleteIndexRequest(elasticSearchIndexType.indexName);
+      // After a reindex the index name is an alias to a versioned index, delete the indexes behind the alias
+      GetAliasesResponse aliasesResponse = client.indices().getAlias(
+              new GetAliasesRequest(elasticSearchIndexType.indexName), RequestOptions.DEFAULT);
+      String[] indexes = aliasesResponse.getAliases().isEmpty() ? new String[] {elasticSearchIndexType.indexName} :
+              aliasesResponse.getAliases().keySet().toArray(new String[0]);
+      DeleteIndexRequest request = new DeleteIndexRequest(indexes);
       AcknowledgedResponse deleteIndexResponse = client.indices().delete(request, RequestOptions.DEFAULT);
-      LOG.info(elasticSearchIndexType.indexName + " Deleted " + deleteIndexResponse.isAcknowledged());
-    } catch (IOException e) {
+      LOG.info(String.join(",", indexes) + " Deleted " + deleteIndexResponse.isAcknowledged());
+    } catch (IOException | ElasticsearchException e) {
       LOG.error("Failed to delete Elastic Search indexes due to", e);
       return false;
     }
@@ -0,0 +1,433 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.elasticsearch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.tuple.Pair;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.openmetadata.catalog.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.DashboardRepository;
+import org.openmetadata.catalog.jdbi3.EntityDAO;
+import org.openmetadata.catalog.jdbi3.EntityRepository;
+import org.openmetadata.catalog.jdbi3.PipelineRepository;
+import org.openmetadata.catalog.jdbi3.TableRepository;
+import org.openmetadata.catalog.jdbi3.TopicRepository;
+import org.openmetadata.catalog.resources.dashboards.DashboardResource;
+import org.openmetadata.catalog.resources.databases.TableResource;
+import org.openmetadata.catalog.resources.pipelines.PipelineResource;
+import org.openmetadata.catalog.resources.topics.TopicResource;
+import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.Response.Status;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the search indexes from the entities in the database without search downtime.
+ *
+ * Search indexes such as table_search_index are aliases to a versioned index such as table_search_index_1638316800000.
+ * Reindexing an index type does the following:
+ * <ol>
+ *   <li>Create a new versioned index with the current mapping and refresh disabled.</li>
+ *   <li>Stream the entities from the database ordered by fully qualified name, one page at a time, using keyset
+ *   pagination. Pages are indexed in parallel by worker threads, each page with a single bulk request.</li>
+ *   <li>Index again the entities updated since the reindex started, as they may have been indexed before the
+ *   update.</li>
+ *   <li>Atomically move the alias to the new index and delete the previous index. An index created before aliases
+ *   were used, with the name of the alias, is deleted in the same operation.</li>
+ *   <li>Index again the entities updated while the alias was being moved.</li>
+ * </ol>
+ *
+ * Progress is reported periodically. When a checkpoint file is given, the new index and the fully qualified name of the
+ * last entity indexed are stored in it, and running the reindex again resumes after that entity.
+ */
+public class ElasticSearchReindexer {
+  private static final Logger LOG = LoggerFactory.getLogger(ElasticSearchReindexer.class);
+  private static final long PROGRESS_INTERVAL_SECONDS = 10;
+  private static final long UPDATE_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  private static final int MAX_BULK_ATTEMPTS = 5;
+
+  private final RestHighLevelClient client;
+  private final CollectionDAO dao;
+  private final ElasticSearchIndexDefinition indexDefinition;
+  private final int threads;
+  private final int batchSize;
+  private final File checkpointFile;
+
+  public ElasticSearchReindexer(RestHighLevelClient client, CollectionDAO dao, int threads, int batchSize,
+                                File checkpointFile) {
+    this.client = client;
+    this.dao = dao;
+    this.indexDefinition = new ElasticSearchIndexDefinition(client);
+    this.threads = threads;
+    this.batchSize = batchSize;
+    this.checkpointFile = checkpointFile;
+  }
+
+  public void reindex() throws IOException, InterruptedException {
+    for (ElasticSearchIndexType indexType : ElasticSearchIndexType.values()) {
+      reindex(indexType);
+    }
+  }
+
+  public void reindex(ElasticSearchIndexType indexType) throws IOException, InterruptedException {
+    Map<String, Checkpoint> checkpoints = readCheckpoints();
+    Checkpoint checkpoint = checkpoints.get(indexType.indexName);
+    if (checkpoint != null && client.indices().exists(new GetIndexRequest(checkpoint.index), RequestOptions.DEFAULT)) {
+      System.out.printf("Resuming reindex of %s into %s after %s%n", indexType.indexName, checkpoint.index,
+              checkpoint.after);
+    } else {
+      checkpoint = new Checkpoint();
+      checkpoint.index = indexType.indexName + "_" + System.currentTimeMillis();
+      checkpoint.startTime = System.currentTimeMillis();
+      createIndex(indexType, checkpoint.index);
+      checkpoints.put(indexType.indexName, checkpoint);
+      writeCheckpoints(checkpoints);
+      System.out.printf("Reindexing %s into %s%n", indexType.indexName, checkpoint.index);
+    }
+
+    EntitySource<?> source = getEntitySource(indexType);
+    load(source, indexType, checkpoint);
+
+    long catchUpTime = System.currentTimeMillis();
+    int updated = indexUpdatedSince(source, checkpoint.index, checkpoint.startTime);
+    System.out.printf("Indexed %d %s entities updated during the reindex%n", updated, indexType.indexName);
+
+    client.indices().putSettings(new UpdateSettingsRequest(checkpoint.index)
+            .settings(Settings.builder().putNull("index.refresh_interval")), RequestOptions.DEFAULT);
+    client.indices().refresh(new RefreshRequest(checkpoint.index), RequestOptions.DEFAULT);
+    swapAlias(indexType.indexName, checkpoint.index);
+
+    updated = indexUpdatedSince(source, checkpoint.index, catchUpTime);
+    System.out.printf("Indexed %d %s entities updated while switching to the new index%n", updated,
+            indexType.indexName);
+
+    checkpoints = readCheckpoints();
+    checkpoints.remove(indexType.indexName);
+    writeCheckpoints(checkpoints);
+  }
+
+  private int indexUpdatedSince(EntitySource<?> source, String indexName, long timestamp) throws IOException {
+    int count = 0;
+    String after = null;
+    while (true) {
+      List<Pair<String, String>> page = source.dao.listUpdatedSince(timestamp - UPDATE_MARGIN_MILLIS, after,
+              batchSize);
+      if (page.isEmpty()) {
+        return count;
+      }
+      source.index(indexName, page.stream().map(Pair::getRight).collect(Collectors.toList()));
+      count += page.size();
+      after = page.get(page.size() - 1).getLeft();
+    }
+  }
+
+  private void createIndex(ElasticSearchIndexType indexType, String indexName) throws IOException {
+    try {
+      CreateIndexRequest request = new CreateIndexRequest(indexName);
+      request.mapping(indexDefinition.getIndexMapping(indexType), XContentType.JSON);
+      // Refresh is enabled again once all the entities are indexed
+      request.settings(Settings.builder().put("index.refresh_interval", "-1"));
+      client.indices().create(request, RequestOptions.DEFAULT);
+    } catch (URISyntaxException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Read the entities page by page and index each page in a worker thread. At most two pages per worker are read
+   * ahead of the workers.
+   */
+  private <T> void load(EntitySource<T> source, ElasticSearchIndexType indexType, Checkpoint checkpoint)
+          throws IOException, InterruptedException {
+    ExecutorService workers = Executors.newFixedThreadPool(threads);
+    Semaphore pagesInFlight = new Semaphore(threads * 2);
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    AtomicLong indexed = new AtomicLong(checkpoint.indexed);
+    PageTracker tracker = new PageTracker(checkpoint, indexType);
+    int total = source.dao.listCount(null);
+    long startTime = System.currentTimeMillis();
+    long startCount = indexed.get();
+
+    ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+    progress.scheduleAtFixedRate(() -> {
+      long count = indexed.get();
+      long elapsedSecs = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+      System.out.printf("Indexed %d of %d %s entities (%.1f%%), %d entities/s%n", count, total, indexType.indexName,
+              total == 0 ? 100.0 : count * 100.0 / total, (count - startCount) / elapsedSecs);
+    }, PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+    try {
+      String after = checkpoint.after == null ? "" : checkpoint.after;
+      long page = 0;
+      while (failure.get() == null) {
+        List<String> jsons = source.dao.listAfter(null, batchSize, after);
+        if (jsons.isEmpty()) {
+          break;
+        }
+        List<T> entities = JsonUtils.readObjects(jsons, source.dao.getEntityClass());
+        after = source.repository.getFullyQualifiedName(entities.get(entities.size() - 1));
+        long pageNumber = page++;
+        String pageAfter = after;
+        pagesInFlight.acquire();
+        workers.submit(() -> {
+          try {
+            int count = source.index(checkpoint.index, entities);
+            indexed.addAndGet(count);
+            tracker.completed(pageNumber, pageAfter, count);
+          } catch (Exception e) {
+            failure.compareAndSet(null, e);
+          } finally {
+            pagesInFlight.release();
+          }
+        });
+      }
+    } finally {
+      workers.shutdown();
+      workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+      progress.shutdownNow();
+    }
+    if (failure.get() != null) {
+      throw new IOException(String.format("Reindex of %s failed. Run it again to resume from the last checkpoint",
+              indexType.indexName), failure.get());
+    }
+    System.out.printf("Indexed %d %s entities in %d s%n", indexed.get(), indexType.indexName,
+            (System.currentTimeMillis() - startTime) / 1000);
+  }
+
+  /**
+   * Point the alias to the new index and delete the indexes it pointed to in a single atomic operation
+   */
+  private void swapAlias(String alias, String newIndex) throws IOException {
+    GetAliasesResponse aliasesResponse = client.indices().getAlias(new GetAliasesRequest(alias),
+            RequestOptions.DEFAULT);
+    Set<String> oldIndexes = aliasesResponse.getAliases().keySet();
+    IndicesAliasesRequest request = new IndicesAliasesRequest();
+    request.addAliasAction(AliasActions.add().index(newIndex).alias(alias));
+    for (String oldIndex : oldIndexes) {
+      if (!oldIndex.equals(newIndex)) {
+        request.addAliasAction(AliasActions.remove().index(oldIndex).alias(alias));
+      }
+    }
+    boolean legacyIndex = oldIndexes.isEmpty() &&
+            client.indices().exists(new GetIndexRequest(alias), RequestOptions.DEFAULT);
+    if (legacyIndex) {
+      // Index created before aliases were used has the name of the alias and has to be deleted to add the alias
+      request.addAliasAction(AliasActions.removeIndex().index(alias));
+    }
+    client.indices().updateAliases(request, RequestOptions.DEFAULT);
+    System.out.printf("Alias %s now points to %s%n", alias, newIndex);
+
+    for (String oldIndex : oldIndexes) {
+      if (!oldIndex.equals(newIndex)) {
+        client.indices().delete(new DeleteIndexRequest(oldIndex), RequestOptions.DEFAULT);
+        System.out.printf("Deleted previous index %s%n", oldIndex);
+      }
+    }
+  }
+
+  private EntitySource<?> getEntitySource(ElasticSearchIndexType indexType) {
+    int created = Status.CREATED.getStatusCode();
+    switch (indexType) {
+      case TABLE_SEARCH_INDEX:
+        return new EntitySource<>(new TableRepository(dao), dao.tableDAO(),
+                new Fields(TableResource.FIELD_LIST, "columns,owner,tags,followers,usageSummary"),
+                table -> TableESIndex.builder(table, created).build());
+      case TOPIC_SEARCH_INDEX:
+        return new EntitySource<>(new TopicRepository(dao), dao.topicDAO(),
+                new Fields(TopicResource.FIELD_LIST, "owner,followers,tags"),
+                topic -> TopicESIndex.builder(topic, created).build());
+      case DASHBOARD_SEARCH_INDEX:
+        return new EntitySource<>(new DashboardRepository(dao), dao.dashboardDAO(),
+                new Fields(DashboardResource.FIELD_LIST, "owner,charts,followers,tags,usageSummary"),
+                dashboard -> DashboardESIndex.builder(dashboard, created).build());
+      case PIPELINE_SEARCH_INDEX:
+        return new EntitySource<>(new PipelineRepository(dao), dao.pipelineDAO(),
+                new Fields(PipelineResource.FIELD_LIST, "owner,tasks,followers,tags,usageSummary"),
+                pipeline -> PipelineESIndex.builder(pipeline, created).build());
+      default:
+        throw new IllegalArgumentException("Unknown index " + indexType.indexName);
+    }
+  }
+
+  private synchronized Map<String, Checkpoint> readCheckpoints() throws IOException {
+    if (checkpointFile == null || !checkpointFile.exists()) {
+      return new HashMap<>();
+    }
+    return new ObjectMapper().readValue(checkpointFile, new TypeReference<Map<String, Checkpoint>>() {});
+  }
+
+  private synchronized void writeCheckpoints(Map<String, Checkpoint> checkpoints) throws IOException {
+    if (checkpointFile != null) {
+      new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(checkpointFile, checkpoints);
+    }
+  }
+
+  interface IndexBuilder<T> {
+    Object build(T entity) throws JsonProcessingException;
+  }
+
+  private class EntitySource<T> {
+    private final EntityRepository<T> repository;
+    private final EntityDAO<T> dao;
+    private final Fields fields;
+    private final IndexBuilder<T> indexBuilder;
+
+    EntitySource(EntityRepository<T> repository, EntityDAO<T> dao, Fields fields, IndexBuilder<T> indexBuilder) {
+      this.repository = repository;
+      this.dao = dao;
+      this.fields = fields;
+      this.indexBuilder = indexBuilder;
+    }
+
+    int index(String indexName, List<?> jsonsOrEntities) throws IOException {
+      if (jsonsOrEntities.isEmpty()) {
+        return 0;
+      }
+      List<T> entities = new ArrayList<>();
+      for (Object object : jsonsOrEntities) {
+        entities.add(object instanceof String ? JsonUtils.readValue((String) object, dao.getEntityClass()) :
+                dao.getEntityClass().cast(object));
+      }
+      try {
+        repository.setFields(entities, fields);
+      } catch (ParseException e) {
+        throw new IOException(e);
+      }
+      BulkRequest bulkRequest = new BulkRequest();
+      for (T entity : entities) {
+        String id = repository.getEntityInterface(entity).getId().toString();
+        bulkRequest.add(new IndexRequest(indexName).id(id)
+                .source(JsonUtils.pojoToJson(indexBuilder.build(entity)), XContentType.JSON));
+      }
+      BulkResponse response = bulk(bulkRequest);
+      if (response.hasFailures()) {
+        for (BulkItemResponse item : response.getItems()) {
+          if (item.isFailed()) {
+            LOG.error("Failed to index {} {}", item.getId(), item.getFailureMessage());
+          }
+        }
+      }
+      return entities.size();
+    }
+
+    private BulkResponse bulk(BulkRequest request) throws IOException {
+      long backoff = 1000;
+      for (int attempt = 1; ; attempt++) {
+        try {
+          return client.bulk(request, RequestOptions.DEFAULT);
+        } catch (IOException e) {
+          if (attempt >= MAX_BULK_ATTEMPTS) {
+            throw e;
+          }
+          LOG.warn("Bulk request failed, retrying in {} ms", backoff, e);
+        }
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+        backoff *= 2;
+      }
+    }
+  }
+
+  /**
+   * Pages complete out of order. The checkpoint is moved to the last entity of a page only when all the pages before
+   * it have completed, so that resuming from the checkpoint does not skip any entity.
+   */
+  private class PageTracker {
+    private final Checkpoint checkpoint;
+    private final ElasticSearchIndexType indexType;
+    private final TreeMap<Long, String> completedPages = new TreeMap<>();
+    private final Map<Long, Integer> completedCounts = new HashMap<>();
+    private long nextPage = 0;
+
+    PageTracker(Checkpoint checkpoint, ElasticSearchIndexType indexType) {
+      this.checkpoint = checkpoint;
+      this.indexType = indexType;
+    }
+
+    synchronized void completed(long page, String after, int count) throws IOException {
+      completedPages.put(page, after);
+      completedCounts.put(page, count);
+      boolean advanced = false;
+      while (completedPages.containsKey(nextPage)) {
+        checkpoint.after = completedPages.remove(nextPage);
+        checkpoint.indexed += completedCounts.remove(nextPage);
+        nextPage++;
+        advanced = true;
+      }
+      if (advanced) {
+        Map<String, Checkpoint> checkpoints = readCheckpoints();
+        checkpoints.put(indexType.indexName, checkpoint);
+        writeCheckpoints(checkpoints);
+      }
+    }
+  }
+
+  static class Checkpoint {
+    @JsonProperty("index")
+    public String index;
+
+    @JsonProperty("after")
+    public String after;
+
+    @JsonProperty("indexed")
+    public long indexed;
+
+    @JsonProperty("startTime")
+    public long startTime;
+  }
+}
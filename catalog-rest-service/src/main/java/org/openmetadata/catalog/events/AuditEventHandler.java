@@ -21,9 +21,8 @@ import org.openmetadata.catalog.type.EntityReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.ws.rs.container.ContainerRequestContext;
-import javax.ws.rs.container.ContainerResponseContext;
 import java.util.Date;
+import java.util.List;
 
 public class AuditEventHandler implements  EventHandler {
   private static final Logger LOG = LoggerFactory.getLogger(AuditEventHandler.class);
@@ -32,31 +31,24 @@ public class AuditEventHandler implements  EventHandler {
     // Nothing to do
   }
 
-  public Void process(ContainerRequestContext requestContext,
-                      ContainerResponseContext responseContext) {
-    int responseCode = responseContext.getStatus();
-    String method = requestContext.getMethod();
-    if (responseContext.getEntity() != null) {
-      String path = requestContext.getUriInfo().getPath();
-      String username = requestContext.getSecurityContext().getUserPrincipal().getName();
-      Date nowAsISO = new Date();
-
+  public void process(List<EventRecord> events) {
+    for (EventRecord event : events) {
       try {
-        EntityReference entityReference = Entity.getEntityReference(responseContext.getEntity());
+        EntityReference entityReference = Entity.getEntityReference(event.getEntityObject());
         AuditLog auditLog = new AuditLog()
-                .withPath(path)
-                .withDateTime(nowAsISO)
+                .withPath(event.getPath())
+                .withDateTime(new Date(event.getTimestamp()))
                 .withEntityId(entityReference.getId())
                 .withEntityType(entityReference.getType())
-                .withMethod(AuditLog.Method.fromValue(method))
-                .withUserName(username)
-                .withResponseCode(responseCode);
+                .withMethod(AuditLog.Method.fromValue(event.getMethod()))
+                .withUserName(event.getUserName())
+                .withResponseCode(event.getResponseCode());
         LOG.info("Added audit log entry: {}", auditLog);
       } catch(Exception e) {
-        LOG.error("Failed to capture audit log for {} and method {} due to {}", path, method, e.getMessage());
+        LOG.error("Failed to capture audit log for {} and method {} due to {}", event.getPath(), event.getMethod(),
+                e.getMessage());
       }
     }
-    return null;
   }
 
   public void close() {}
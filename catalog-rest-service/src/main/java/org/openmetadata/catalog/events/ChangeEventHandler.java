@@ -13,13 +13,11 @@
 
 package org.openmetadata.catalog.events;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.jdbi.v3.core.Jdbi;
 import org.openmetadata.catalog.CatalogApplicationConfig;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.type.ChangeEvent;
-import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.EventType;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.JsonUtils;
@@ -27,9 +25,10 @@ import org.openmetadata.catalog.util.RestUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.ws.rs.container.ContainerRequestContext;
-import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.core.Response.Status;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ChangeEventHandler implements  EventHandler {
   private static final Logger LOG = LoggerFactory.getLogger(ChangeEventHandler.class);
@@ -39,38 +38,43 @@ public class ChangeEventHandler implements  EventHandler {
     this.dao = jdbi.onDemand(CollectionDAO.class);
   }
 
-  public Void process(ContainerRequestContext requestContext,
-                      ContainerResponseContext responseContext) {
-    String method = requestContext.getMethod();
-    try {
-      ChangeEvent changeEvent = getChangeEvent(method, responseContext);
-      if (changeEvent != null) {
+  public void process(List<EventRecord> events) {
+    List<String> jsons = new ArrayList<>();
+    for (EventRecord event : events) {
+      try {
+        ChangeEvent changeEvent = getChangeEvent(event);
+        if (changeEvent == null) {
+          continue;
+        }
         LOG.info("Recording change event {} {}", changeEvent.getDateTime().getTime(), changeEvent);
         if (changeEvent.getEntity() != null) {
           changeEvent.setEntity(JsonUtils.pojoToJson(changeEvent.getEntity()));
         }
-        dao.changeEventDAO().insert(JsonUtils.pojoToJson(changeEvent));
+        jsons.add(JsonUtils.pojoToJson(changeEvent));
+      } catch (Exception e) {
+        LOG.error("Failed to capture change event for {} and method {} due to {}", event.getPath(),
+                event.getMethod(), e);
       }
-    } catch(Exception e) {
-      LOG.error("Failed to capture change event for method {} due to {}", method, e);
     }
-    return null;
+    if (!jsons.isEmpty()) {
+      // Events are stored in a single transaction so that a failed batch is retried without duplicates
+      dao.changeEventDAO().insert(jsons);
+    }
   }
 
-  public static ChangeEvent getChangeEvent(String method, ContainerResponseContext responseContext)
-          throws JsonProcessingException {
+  public static ChangeEvent getChangeEvent(EventRecord event) throws IOException {
     // GET operations don't produce change events
-    if (method.equals("GET")) {
+    if (event.getMethod().equals("GET")) {
       return null;
     }
 
-    Object entity = responseContext.getEntity();
+    Object entity = event.getEntityObject();
     if (entity == null) {
       return null; // Response has no entity to produce change event from
     }
 
-    int responseCode = responseContext.getStatus();
-    String changeType = responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER);
+    int responseCode = event.getResponseCode();
+    String changeType = event.getChangeType();
 
     // Entity was created by either POST .../entities or PUT .../entities
     if (responseCode == Status.CREATED.getStatusCode() && !RestUtil.ENTITY_FIELDS_CHANGED.equals(changeType)) {
@@ -0,0 +1,296 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.events;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import org.jdbi.v3.core.Jdbi;
+import org.openmetadata.catalog.CatalogApplicationConfig;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EventOutboxDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events stored in the event_outbox table by {@link EventFilter} to the configured {@link EventHandler}s.
+ *
+ * Each handler has its own thread and cursor, the id up to which events have been delivered to it, stored in the
+ * event_outbox_cursor table. A slow or failing handler does not hold back the other handlers. Events that commit
+ * after events with higher ids are delivered when they commit within the visibility window, see
+ * {@link OutboxPosition}. Delivery of a batch
+ * of events is retried with exponential backoff up to maxRetries times, after which the batch is logged and skipped.
+ * Events delivered to all the handlers are periodically deleted from the outbox.
+ *
+ * For each handler the following metrics are registered:
+ * queueDepth - number of events in the outbox not yet delivered to the handler
+ * lagMillis - age of the oldest event not yet delivered to the handler
+ * delivered, retries, failed - rate of events delivered, retried, and skipped after failing all the retries
+ */
+public class EventDispatcher implements Managed {
+  private static final Logger LOG = LoggerFactory.getLogger(EventDispatcher.class);
+  private static final long PURGE_INTERVAL_SECONDS = 60;
+
+  private final EventHandlerConfiguration config;
+  private final EventOutboxDAO dao;
+  private final List<HandlerCursor> cursors = new ArrayList<>();
+  private final AtomicLong notifications = new AtomicLong();
+  private final Object monitor = new Object();
+  private ExecutorService dispatchExecutor;
+  private ScheduledExecutorService purgeExecutor;
+  private volatile boolean running;
+
+  public EventDispatcher(CatalogApplicationConfig config, Jdbi jdbi, MetricRegistry metricRegistry) {
+    this.config = config.getEventHandlerConfiguration();
+    this.dao = jdbi.onDemand(CollectionDAO.class).eventOutboxDAO();
+    registerEventHandlers(config, jdbi, metricRegistry);
+  }
+
+  private void registerEventHandlers(CatalogApplicationConfig config, Jdbi jdbi, MetricRegistry metricRegistry) {
+    Set<String> eventHandlerClassNames = this.config.getEventHandlerClassNames();
+    if (eventHandlerClassNames == null) {
+      return;
+    }
+    for (String eventHandlerClassName : eventHandlerClassNames) {
+      try {
+        EventHandler eventHandler = ((Class<EventHandler>) Class.forName(eventHandlerClassName))
+                .getConstructor().newInstance();
+        eventHandler.init(config, jdbi);
+        eventHandler.registerMetrics(metricRegistry);
+        cursors.add(new HandlerCursor(eventHandlerClassName, eventHandler, metricRegistry));
+      } catch (Exception e) {
+        LOG.error("Failed to register event handler {}", eventHandlerClassName, e);
+      }
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    AtomicInteger threadCount = new AtomicInteger();
+    dispatchExecutor = Executors.newFixedThreadPool(Math.max(1, cursors.size()), r -> {
+      Thread thread = new Thread(r, "event-dispatcher-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (HandlerCursor cursor : cursors) {
+      dispatchExecutor.submit(() -> dispatch(cursor));
+    }
+    purgeExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "event-outbox-purge");
+      thread.setDaemon(true);
+      return thread;
+    });
+    purgeExecutor.scheduleWithFixedDelay(this::purge, PURGE_INTERVAL_SECONDS, PURGE_INTERVAL_SECONDS,
+            TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void stop() throws InterruptedException {
+    running = false;
+    purgeExecutor.shutdownNow();
+    dispatchExecutor.shutdownNow();
+    if (!dispatchExecutor.awaitTermination(config.getPollIntervalMillis() * 2, TimeUnit.MILLISECONDS)) {
+      LOG.warn("Event dispatcher threads did not stop in time");
+    }
+    for (HandlerCursor cursor : cursors) {
+      cursor.handler.close();
+    }
+  }
+
+  /**
+   * Store events in the outbox and wake up the dispatcher threads to deliver them
+   */
+  public void enqueue(List<String> eventJsons) {
+    if (eventJsons.isEmpty()) {
+      return;
+    }
+    dao.insert(eventJsons);
+    synchronized (monitor) {
+      notifications.incrementAndGet();
+      monitor.notifyAll();
+    }
+  }
+
+  private void dispatch(HandlerCursor cursor) {
+    try {
+      cursor.load();
+    } catch (Exception e) {
+      LOG.error("Failed to read the outbox cursor for event handler {}", cursor.name, e);
+    }
+    while (running) {
+      try {
+        long seenNotifications = notifications.get();
+        List<EventRecord> events = cursor.position.read(config.getBatchSize());
+        if (events.isEmpty()) {
+          cursor.store(); // Gaps that expired move the cursor forward
+          cursor.caughtUp();
+          awaitEvents(seenNotifications);
+          continue;
+        }
+        cursor.pending(dao.getLastId(), events.get(0).getTimestamp());
+        if (!deliver(cursor, events)) {
+          return; // Stopped while retrying, events will be delivered again on restart
+        }
+        cursor.advance(events);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        LOG.error("Failed to dispatch events to event handler {}", cursor.name, e);
+        if (!sleep(config.getPollIntervalMillis())) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Deliver a batch of events to a handler retrying with exponential backoff. Returns false when the dispatcher is
+   * stopped before the events are delivered.
+   */
+  private boolean deliver(HandlerCursor cursor, List<EventRecord> events) {
+    long backoff = config.getInitialBackoffMillis();
+    for (int attempt = 0; ; attempt++) {
+      try {
+        cursor.handler.process(events);
+        cursor.delivered.mark(events.size());
+        return true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      } catch (Exception e) {
+        if (attempt >= config.getMaxRetries()) {
+          LOG.error("Skipping events {} to {} after {} failed attempts to deliver them to event handler {}",
+                  events.get(0).getId(), events.get(events.size() - 1).getId(), attempt + 1, cursor.name, e);
+          cursor.failed.mark(events.size());
+          return true;
+        }
+        LOG.warn("Failed to deliver events to event handler {}, retrying in {} ms", cursor.name, backoff, e);
+        cursor.retries.mark(events.size());
+      }
+      if (!running || !sleep(backoff)) {
+        return false;
+      }
+      backoff = Math.min(backoff * 2, config.getMaxBackoffMillis());
+    }
+  }
+
+  private void awaitEvents(long seenNotifications) throws InterruptedException {
+    synchronized (monitor) {
+      if (running && notifications.get() == seenNotifications) {
+        monitor.wait(config.getPollIntervalMillis());
+      }
+    }
+  }
+
+  private static boolean sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Delete events that have been delivered to all the handlers
+   */
+  private void purge() {
+    try {
+      long delivered = Long.MAX_VALUE;
+      for (HandlerCursor cursor : cursors) {
+        delivered = Math.min(delivered, cursor.lastId);
+      }
+      if (delivered != Long.MAX_VALUE && delivered > 0) {
+        int deleted = dao.deleteUpTo(delivered);
+        LOG.debug("Deleted {} delivered events from the event outbox", deleted);
+      }
+    } catch (Exception e) {
+      LOG.error("Failed to delete delivered events from the event outbox", e);
+    }
+  }
+
+  private class HandlerCursor {
+    private final String name;
+    private final EventHandler handler;
+    private final Meter delivered;
+    private final Meter retries;
+    private final Meter failed;
+    private volatile OutboxPosition position;
+    private volatile long lastId;
+    private volatile long queueDepth;
+    private volatile long oldestPendingTimestamp;
+
+    HandlerCursor(String name, EventHandler handler, MetricRegistry metricRegistry) {
+      this.name = name;
+      this.handler = handler;
+      this.position = newPosition(0);
+      String handlerName = handler.getClass().getSimpleName();
+      this.delivered = metricRegistry.meter(MetricRegistry.name(EventDispatcher.class, handlerName, "delivered"));
+      this.retries = metricRegistry.meter(MetricRegistry.name(EventDispatcher.class, handlerName, "retries"));
+      this.failed = metricRegistry.meter(MetricRegistry.name(EventDispatcher.class, handlerName, "failed"));
+      metricRegistry.register(MetricRegistry.name(EventDispatcher.class, handlerName, "queueDepth"),
+              (Gauge<Long>) () -> queueDepth);
+      metricRegistry.register(MetricRegistry.name(EventDispatcher.class, handlerName, "lagMillis"),
+              (Gauge<Long>) () -> oldestPendingTimestamp == 0 ? 0 :
+                      System.currentTimeMillis() - oldestPendingTimestamp);
+    }
+
+    void load() {
+      Long id = dao.getCursor(name);
+      lastId = id == null ? 0 : id;
+      position = newPosition(lastId);
+    }
+
+    private OutboxPosition newPosition(long storedId) {
+      return new OutboxPosition(dao, storedId, config.getVisibilityWindowMillis(), System::currentTimeMillis);
+    }
+
+    void pending(long outboxLastId, long timestamp) {
+      queueDepth = Math.max(0, outboxLastId - lastId);
+      oldestPendingTimestamp = timestamp;
+    }
+
+    void caughtUp() {
+      queueDepth = 0;
+      oldestPendingTimestamp = 0;
+    }
+
+    void advance(List<EventRecord> events) {
+      position.advance(events);
+      store();
+    }
+
+    void store() {
+      long id = position.getStoredId();
+      if (id != lastId) {
+        dao.updateCursor(name, id);
+        lastId = id;
+      }
+    }
+  }
+}
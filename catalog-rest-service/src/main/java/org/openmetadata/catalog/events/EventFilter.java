@@ -13,9 +13,10 @@
 
 package org.openmetadata.catalog.events;
 
-import org.jdbi.v3.core.Jdbi;
-import org.openmetadata.catalog.CatalogApplicationConfig;
-import org.openmetadata.catalog.util.ParallelStreamUtil;
+import org.openmetadata.catalog.util.BulkResponse;
+import org.openmetadata.catalog.util.BulkResponse.Result;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.openmetadata.catalog.util.RestUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,39 +24,25 @@ import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.ext.Provider;
+import java.security.Principal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ForkJoinPool;
 
+/**
+ * Captures events from the responses of APIs that change entities. The events are stored in the event outbox before
+ * the response is returned, so that they are not lost if the server stops, and are delivered to the event handlers
+ * in the background by {@link EventDispatcher}.
+ */
 @Provider
 public class EventFilter implements ContainerResponseFilter {
 
   private static final Logger LOG = LoggerFactory.getLogger(EventFilter.class);
   private static final List<String> AUDITABLE_METHODS = Arrays.asList("POST", "PUT", "PATCH", "DELETE");
-  private static final int FORK_JOIN_POOL_PARALLELISM = 20;
-  private final ForkJoinPool forkJoinPool;
-  private final List<EventHandler> eventHandlers;
-
-  public EventFilter(CatalogApplicationConfig config, Jdbi jdbi) {
-    this.forkJoinPool = new ForkJoinPool(FORK_JOIN_POOL_PARALLELISM);
-    this.eventHandlers = new ArrayList<>();
-    registerEventHandlers(config, jdbi);
-  }
+  private final EventDispatcher dispatcher;
 
-  private void registerEventHandlers(CatalogApplicationConfig config, Jdbi jdbi) {
-    try {
-      Set<String> eventHandlerClassNames = config.getEventHandlerConfiguration().getEventHandlerClassNames();
-      for (String eventHandlerClassName : eventHandlerClassNames) {
-        EventHandler eventHandler = ((Class<EventHandler>) Class.forName(eventHandlerClassName))
-                .getConstructor().newInstance();
-        eventHandler.init(config, jdbi);
-        eventHandlers.add(eventHandler);
-      }
-    } catch (Exception e) {
-        LOG.info(e.getMessage());
-    }
+  public EventFilter(EventDispatcher dispatcher) {
+    this.dispatcher = dispatcher;
   }
 
   @Override
@@ -67,11 +54,39 @@ public class EventFilter implements ContainerResponseFilter {
     if ((responseCode < 200 || responseCode > 299) || (!AUDITABLE_METHODS.contains(method))) {
       return;
     }
+    Object entity = responseContext.getEntity();
+    if (entity == null) {
+      return;
+    }
 
-    eventHandlers.parallelStream().forEach(eventHandler -> ParallelStreamUtil.runAsync(() ->
-            eventHandler.process(requestContext, responseContext), forkJoinPool));
+    String path = requestContext.getUriInfo().getPath();
+    try {
+      Principal principal = requestContext.getSecurityContext().getUserPrincipal();
+      EventRecord event = new EventRecord()
+              .withMethod(method)
+              .withPath(path)
+              .withUserName(principal == null ? null : principal.getName())
+              .withTimestamp(System.currentTimeMillis());
 
+      List<String> events = new ArrayList<>();
+      if (entity instanceof BulkResponse) {
+        // Each entity created or updated by a bulk operation is a separate event
+        for (Result result : ((BulkResponse) entity).getResults()) {
+          if (result.getEntity() != null) {
+            event.withResponseCode(result.getStatus()).withChangeType(result.getChangeType())
+                    .withEntity(result.getEntity());
+            events.add(JsonUtils.pojoToJson(event));
+          }
+        }
+      } else {
+        event.withResponseCode(responseCode)
+                .withChangeType(responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER))
+                .withEntity(entity);
+        events.add(JsonUtils.pojoToJson(event));
+      }
+      dispatcher.enqueue(events);
+    } catch (Exception e) {
+      LOG.error("Failed to capture event for {} and method {}", path, method, e);
+    }
   }
-
-
 }
@@ -13,14 +13,23 @@
 
 package org.openmetadata.catalog.events;
 
+import com.codahale.metrics.MetricRegistry;
 import org.jdbi.v3.core.Jdbi;
 import org.openmetadata.catalog.CatalogApplicationConfig;
 
-import javax.ws.rs.container.ContainerRequestContext;
-import javax.ws.rs.container.ContainerResponseContext;
+import java.util.List;
 
+/**
+ * Handler of events captured by {@link EventFilter}. Events are delivered by {@link EventDispatcher} from a background
+ * thread, in the order they were captured, at least once. When {@code process} throws an exception the same events
+ * are delivered again after a backoff.
+ */
 public interface EventHandler {
   void init(CatalogApplicationConfig config, Jdbi jdbi);
-  Void process(ContainerRequestContext requestContext, ContainerResponseContext responseContext);
+
+  /** Register metrics specific to the handler. Called once after {@code init}. */
+  default void registerMetrics(MetricRegistry metricRegistry) {}
+
+  void process(List<EventRecord> events) throws Exception;
   void close();
 }
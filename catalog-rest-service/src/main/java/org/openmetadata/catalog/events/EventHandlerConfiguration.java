@@ -12,11 +12,38 @@
  */
 package org.openmetadata.catalog.events;
 
+import javax.validation.constraints.Min;
 import java.util.Set;
 
 public class EventHandlerConfiguration {
   private Set<String> eventHandlerClassNames;
 
+  /** Number of events read from the outbox and delivered to an event handler at a time */
+  @Min(1)
+  private int batchSize = 100;
+
+  /** Interval to check the outbox for new events when not notified of new events */
+  @Min(1)
+  private long pollIntervalMillis = 1000;
+
+  /** Number of times delivery of a batch of events to a handler is retried before the batch is skipped */
+  @Min(0)
+  private int maxRetries = 5;
+
+  /** Backoff before the first retry, doubled for every retry after that up to maxBackoffMillis */
+  @Min(1)
+  private long initialBackoffMillis = 500;
+
+  @Min(1)
+  private long maxBackoffMillis = 30000;
+
+  /**
+   * Time an id skipped in the outbox is read again for an event that commits after events with higher ids, after
+   * which the id is taken to be unused
+   */
+  @Min(1)
+  private long visibilityWindowMillis = 60000;
+
   public Set<String> getEventHandlerClassNames() {
     return eventHandlerClassNames;
   }
@@ -25,5 +52,51 @@ public class EventHandlerConfiguration {
     this.eventHandlerClassNames = eventHandlerClassNames;
   }
 
-}
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getPollIntervalMillis() {
+    return pollIntervalMillis;
+  }
+
+  public void setPollIntervalMillis(long pollIntervalMillis) {
+    this.pollIntervalMillis = pollIntervalMillis;
+  }
+
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  public void setMaxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+  }
+
+  public long getInitialBackoffMillis() {
+    return initialBackoffMillis;
+  }
+
+  public void setInitialBackoffMillis(long initialBackoffMillis) {
+    this.initialBackoffMillis = initialBackoffMillis;
+  }
 
+  public long getMaxBackoffMillis() {
+    return maxBackoffMillis;
+  }
+
+  public void setMaxBackoffMillis(long maxBackoffMillis) {
+    this.maxBackoffMillis = maxBackoffMillis;
+  }
+
+  public long getVisibilityWindowMillis() {
+    return visibilityWindowMillis;
+  }
+
+  public void setVisibilityWindowMillis(long visibilityWindowMillis) {
+    this.visibilityWindowMillis = visibilityWindowMillis;
+  }
+}
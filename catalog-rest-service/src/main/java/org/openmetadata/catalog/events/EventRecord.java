@@ -0,0 +1,162 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.openmetadata.catalog.util.JsonUtils;
+
+import java.io.IOException;
+
+/**
+ * Event captured by {@link EventFilter} from the response of an API that changed an entity. Events are stored in
+ * the event_outbox table before the response is returned and delivered to {@link EventHandler}s in the background
+ * by {@link EventDispatcher}. The entity in the response is stored as JSON along with its class name so that
+ * handlers get the same entity object the API returned.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventRecord {
+  /** Position of the event in the event_outbox table. Set when the event is read back from the table. */
+  @JsonIgnore
+  private long id;
+
+  @JsonProperty("method")
+  private String method;
+
+  @JsonProperty("path")
+  private String path;
+
+  @JsonProperty("responseCode")
+  private int responseCode;
+
+  @JsonProperty("changeType")
+  private String changeType;
+
+  @JsonProperty("userName")
+  private String userName;
+
+  @JsonProperty("entityClass")
+  private String entityClass;
+
+  @JsonProperty("entity")
+  private String entity;
+
+  @JsonProperty("timestamp")
+  private long timestamp;
+
+  @JsonIgnore
+  private Object entityObject;
+
+  public EventRecord() {}
+
+  public long getId() {
+    return id;
+  }
+
+  public EventRecord withId(long id) {
+    this.id = id;
+    return this;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public EventRecord withMethod(String method) {
+    this.method = method;
+    return this;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public EventRecord withPath(String path) {
+    this.path = path;
+    return this;
+  }
+
+  public int getResponseCode() {
+    return responseCode;
+  }
+
+  public EventRecord withResponseCode(int responseCode) {
+    this.responseCode = responseCode;
+    return this;
+  }
+
+  public String getChangeType() {
+    return changeType;
+  }
+
+  public EventRecord withChangeType(String changeType) {
+    this.changeType = changeType;
+    return this;
+  }
+
+  public String getUserName() {
+    return userName;
+  }
+
+  public EventRecord withUserName(String userName) {
+    this.userName = userName;
+    return this;
+  }
+
+  public String getEntityClass() {
+    return entityClass;
+  }
+
+  public String getEntity() {
+    return entity;
+  }
+
+  public EventRecord withEntity(Object entity) throws IOException {
+    this.entityClass = entity.getClass().getName();
+    this.entity = JsonUtils.pojoToJson(entity);
+    this.entityObject = entity;
+    return this;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public EventRecord withTimestamp(long timestamp) {
+    this.timestamp = timestamp;
+    return this;
+  }
+
+  /**
+   * Get the entity returned in the response, such as {@code Table} or {@code ChangeEvent}
+   */
+  @JsonIgnore
+  public Object getEntityObject() throws IOException {
+    if (entityObject == null && entity != null) {
+      try {
+        entityObject = JsonUtils.readValue(entity, Class.forName(entityClass));
+      } catch (ClassNotFoundException e) {
+        throw new IOException(String.format("Unknown entity class %s in event %d", entityClass, id), e);
+      }
+    }
+    return entityObject;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("EventRecord{id=%d, method=%s, path=%s, responseCode=%d, changeType=%s, entityClass=%s}",
+            id, method, path, responseCode, changeType, entityClass);
+  }
+}
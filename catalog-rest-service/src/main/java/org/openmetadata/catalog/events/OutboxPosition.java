@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.events;
+
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EventOutboxDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Position of an event handler in the event_outbox table.
+ *
+ * Outbox ids are assigned by AUTO_INCREMENT when an event is inserted, but inserts commit in any order. An event with
+ * a lower id can become visible after events with higher ids have been read. Ids skipped by a read are tracked as
+ * gaps and read again along with the following batches, until the event shows up or the gap is older than the
+ * visibility window. After that the id is taken to be unused, for example from an insert that was rolled back.
+ *
+ * The position stored in the event_outbox_cursor table is the id below the oldest gap, so that events in a gap are
+ * not purged from the outbox and are read after a restart. Events after the stored position that were delivered
+ * before a restart are delivered again.
+ */
+class OutboxPosition {
+  private static final Logger LOG = LoggerFactory.getLogger(OutboxPosition.class);
+  /** Gaps tracked at a time. Ids skipped beyond this are taken to be unused right away. */
+  static final int MAX_GAPS = 10000;
+
+  private final EventOutboxDAO dao;
+  private final long visibilityWindowMillis;
+  private final LongSupplier clock;
+  /** Ids skipped by the reads mapped to the time they were first skipped */
+  private final TreeMap<Long, Long> gaps = new TreeMap<>();
+  private long lastReadId;
+
+  OutboxPosition(EventOutboxDAO dao, long storedId, long visibilityWindowMillis, LongSupplier clock) {
+    this.dao = dao;
+    this.lastReadId = storedId;
+    this.visibilityWindowMillis = visibilityWindowMillis;
+    this.clock = clock;
+  }
+
+  /**
+   * Read the events of the gaps that became visible followed by up to limit events after the last id read, in the
+   * order of their ids.
+   */
+  List<EventRecord> read(int limit) {
+    expireGaps();
+    List<EventRecord> events = new ArrayList<>();
+    if (!gaps.isEmpty()) {
+      events.addAll(dao.listByIds(new ArrayList<>(gaps.keySet())));
+    }
+    events.addAll(dao.listAfter(lastReadId, limit));
+    return events;
+  }
+
+  /** Move past the events returned by {@link #read(int)}. Ids skipped by the events become gaps. */
+  void advance(List<EventRecord> events) {
+    long now = clock.getAsLong();
+    for (EventRecord event : events) {
+      long id = event.getId();
+      if (id <= lastReadId) {
+        gaps.remove(id);
+        continue;
+      }
+      for (long skipped = lastReadId + 1; skipped < id; skipped++) {
+        if (gaps.size() >= MAX_GAPS) {
+          LOG.warn("Outbox ids {} to {} are taken to be unused, more than {} ids are skipped", skipped, id - 1,
+                  MAX_GAPS);
+          break;
+        }
+        gaps.put(skipped, now);
+      }
+      lastReadId = id;
+    }
+  }
+
+  /** Id up to which all the events have been read or are taken to be unused */
+  long getStoredId() {
+    expireGaps();
+    return gaps.isEmpty() ? lastReadId : gaps.firstKey() - 1;
+  }
+
+  int getGapCount() {
+    return gaps.size();
+  }
+
+  private void expireGaps() {
+    long now = clock.getAsLong();
+    gaps.values().removeIf(skippedAt -> now - skippedAt >= visibilityWindowMillis);
+  }
+}
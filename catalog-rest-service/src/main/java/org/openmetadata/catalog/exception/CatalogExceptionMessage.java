@@ -60,4 +60,12 @@ public final class CatalogExceptionMessage {
   public static String invalidServiceEntity(String serviceEntity, String entity) {
     return String.format("Invalid service entity type %s for %s", serviceEntity, entity);
   }
+
+  public static String duplicateInRequest(String fqn) {
+    return String.format("Entity %s is repeated in the request", fqn);
+  }
+
+  public static String bulkRequestTooLarge(int maxSize) {
+    return String.format("Bulk request can have at most %d entities", maxSize);
+  }
 }
@@ -13,6 +13,7 @@
 
 package org.openmetadata.catalog.ingestion;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 
 public class AirflowConfiguration {
@@ -34,6 +35,12 @@ public class AirflowConfiguration {
 
     private String secretKey = "";
 
+    @Min(1)
+    private int statusConcurrency = 8;
+
+    @Min(0)
+    private int statusCacheSeconds = 30;
+
     public String getApiEndpoint() {
         return apiEndpoint;
     }
@@ -78,6 +85,24 @@ public class AirflowConfiguration {
         return secretKey;
     }
 
+    /** Maximum number of concurrent requests to Airflow to get the status of pipelines */
+    public int getStatusConcurrency() {
+        return statusConcurrency;
+    }
+
+    public void setStatusConcurrency(int statusConcurrency) {
+        this.statusConcurrency = statusConcurrency;
+    }
+
+    /** Seconds for which the status of a pipeline is cached before it is refreshed */
+    public int getStatusCacheSeconds() {
+        return statusCacheSeconds;
+    }
+
+    public void setStatusCacheSeconds(int statusCacheSeconds) {
+        this.statusCacheSeconds = statusCacheSeconds;
+    }
+
     @Override
     public String toString() {
         return "AirflowConfiguration{" +
@@ -13,6 +13,12 @@
 
 package org.openmetadata.catalog.ingestion;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.json.JSONObject;
 import org.openmetadata.catalog.CatalogApplicationConfig;
 import org.openmetadata.catalog.exception.IngestionPipelineDeploymentException;
@@ -32,10 +38,42 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
+/**
+ * Client for the Airflow REST APIs used to deploy and run ingestion pipelines and to get their status.
+ *
+ * The access token from the Airflow login is reused until shortly before it expires and is renewed when Airflow
+ * rejects it. The status of the pipelines in a list is fetched concurrently, at most
+ * {@link AirflowConfiguration#getStatusConcurrency()} requests at a time, and cached per pipeline for
+ * {@link AirflowConfiguration#getStatusCacheSeconds()}. A cached status that is older is still returned and is
+ * refreshed in the background, until it is ten times as old. The status of at most 10,000 pipelines is cached.
+ */
 public class AirflowRESTClient {
   private static final Logger LOG = LoggerFactory.getLogger(AirflowRESTClient.class);
+  // Token is renewed this long before it expires. Tokens without expiry are renewed after DEFAULT_TOKEN_TTL_MILLIS.
+  static final long TOKEN_EXPIRY_MARGIN_MILLIS = 30_000;
+  static final long DEFAULT_TOKEN_TTL_MILLIS = 5 * 60 * 1000L;
+  // Cached status older than this many times the cache duration is not returned
+  private static final int STATUS_MAX_AGE_FACTOR = 10;
+  // Pipelines whose status is cached at a time
+  private static final int STATUS_CACHE_MAX_SIZE = 10_000;
+
   private final URL url;
   private final String username;
   private final String password;
@@ -46,9 +84,25 @@ public class AirflowRESTClient {
   private final String statusEndPoint = "%s/rest_api/api?api=list_run&dag_id=%s";
   private final String authHeader = "Bearer %s";
 
+  private final long statusCacheMillis;
+  private final Semaphore statusPermits;
+  private final Cache<String, CachedStatus> statusCache;
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+  private final ExecutorService refreshExecutor;
+  private final LongSupplier clock;
+  private String accessToken;
+  private long accessTokenExpiry;
 
   public AirflowRESTClient(CatalogApplicationConfig config) {
-    AirflowConfiguration airflowConfig = config.getAirflowConfiguration();
+    this(config.getAirflowConfiguration());
+  }
+
+  AirflowRESTClient(AirflowConfiguration airflowConfig) {
+    this(airflowConfig, System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  AirflowRESTClient(AirflowConfiguration airflowConfig, LongSupplier clock) {
     try {
       this.url = new URL(airflowConfig.getApiEndpoint());
     } catch (MalformedURLException e) {
@@ -60,6 +114,23 @@ public class AirflowRESTClient {
         .version(HttpClient.Version.HTTP_1_1)
         .connectTimeout(Duration.ofSeconds(airflowConfig.getTimeout()))
         .build();
+    this.statusCacheMillis = airflowConfig.getStatusCacheSeconds() * 1000L;
+    this.statusPermits = new Semaphore(airflowConfig.getStatusConcurrency());
+    this.clock = clock;
+    this.statusCache = CacheBuilder.newBuilder()
+        .maximumSize(STATUS_CACHE_MAX_SIZE)
+        .expireAfterWrite(statusCacheMillis * STATUS_MAX_AGE_FACTOR, TimeUnit.MILLISECONDS)
+        .ticker(new Ticker() {
+          @Override
+          public long read() {
+            return TimeUnit.MILLISECONDS.toNanos(clock.getAsLong());
+          }
+        }).build();
+    this.refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "airflow-status-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
   private String authenticate() throws InterruptedException, IOException {
@@ -80,19 +151,81 @@ public class AirflowRESTClient {
     throw new RuntimeException("Failed to get access_token. Please check AirflowConfiguration username, password");
   }
 
+  /** Get the cached access token, logging in to Airflow when there is no token or it is about to expire */
+  private synchronized String getAccessToken() throws InterruptedException, IOException {
+    long now = clock.getAsLong();
+    if (accessToken == null || now >= accessTokenExpiry) {
+      accessToken = authenticate();
+      accessTokenExpiry = getExpiry(accessToken, now) - TOKEN_EXPIRY_MARGIN_MILLIS;
+    }
+    return accessToken;
+  }
+
+  private synchronized void invalidateAccessToken(String token) {
+    if (token.equals(accessToken)) {
+      accessToken = null;
+    }
+  }
+
+  static long getExpiry(String token, long now) {
+    try {
+      Date expiresAt = JWT.decode(token).getExpiresAt();
+      if (expiresAt != null) {
+        return expiresAt.getTime();
+      }
+    } catch (JWTDecodeException e) {
+      LOG.debug("Airflow access token is not a JWT, using default expiry");
+    }
+    return now + DEFAULT_TOKEN_TTL_MILLIS;
+  }
+
+  /**
+   * Send a request built with the access token. When Airflow rejects the token, the request is sent again once with
+   * a new token.
+   */
+  private CompletableFuture<HttpResponse<String>> sendAsync(Function<String, HttpRequest> requestBuilder) {
+    String token;
+    try {
+      token = getAccessToken();
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return client.sendAsync(requestBuilder.apply(token), HttpResponse.BodyHandlers.ofString())
+        .thenCompose(response -> {
+          if (response.statusCode() != Response.Status.UNAUTHORIZED.getStatusCode()) {
+            return CompletableFuture.completedFuture(response);
+          }
+          invalidateAccessToken(token);
+          try {
+            return client.sendAsync(requestBuilder.apply(getAccessToken()), HttpResponse.BodyHandlers.ofString());
+          } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+          }
+        });
+  }
+
+  private HttpResponse<String> send(Function<String, HttpRequest> requestBuilder)
+      throws IOException, InterruptedException {
+    try {
+      return sendAsync(requestBuilder).get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
   public String deploy(Ingestion ingestion, CatalogApplicationConfig config) {
     try {
       IngestionPipeline pipeline = AirflowUtils.toIngestionPipeline(ingestion, config.getAirflowConfiguration());
-      String token = authenticate();
-      String authToken = String.format(this.authHeader, token);
       String pipelinePayload = JsonUtils.pojoToJson(pipeline);
       String url = String.format(this.deployEndPoint, this.url);
-      HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+      HttpResponse<String> response = send(token -> HttpRequest.newBuilder(URI.create(url))
           .header("Content-Type", "application/json")
-          .header("Authorization", authToken)
+          .header("Authorization", String.format(this.authHeader, token))
           .POST(HttpRequest.BodyPublishers.ofString(pipelinePayload))
-          .build();
-      HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+          .build());
       if (response.statusCode() == 200) {
         return response.body();
       }
@@ -106,18 +239,16 @@ public class AirflowRESTClient {
 
   public String runPipeline(String pipelineName) {
     try {
-      String token = authenticate();
-      String authToken = String.format(this.authHeader, token);
       String url = String.format(this.triggerEndPoint, this.url);
       JSONObject requestPayload = new JSONObject();
       requestPayload.put("workflow_name", pipelineName);
-      HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+      HttpResponse<String> response = send(token -> HttpRequest.newBuilder(URI.create(url))
           .header("Content-Type", "application/json")
-          .header("Authorization", authToken)
+          .header("Authorization", String.format(this.authHeader, token))
           .POST(HttpRequest.BodyPublishers.ofString(requestPayload.toString()))
-          .build();
-      HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+          .build());
       if (response.statusCode() == 200) {
+        statusCache.invalidate(pipelineName);
         return response.body();
       }
 
@@ -131,35 +262,113 @@ public class AirflowRESTClient {
 
   public Ingestion getStatus(Ingestion ingestion) {
     try {
-      String token = authenticate();
-      String authToken = String.format(this.authHeader, token);
-      String url = String.format(this.statusEndPoint, this.url, ingestion.getName());
-      JSONObject requestPayload = new JSONObject();
-      HttpRequest request = HttpRequest.newBuilder(URI.create(url))
-          .header("Content-Type", "application/json")
-          .header("Authorization", authToken)
-          .POST(HttpRequest.BodyPublishers.ofString(requestPayload.toString()))
-          .build();
-      HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-      if (response.statusCode() == 200) {
-        AirflowListResponse airflowListResponse = JsonUtils.readValue(response.body(),
-            AirflowListResponse.class);
-        ingestion.setNextExecutionDate(airflowListResponse.getNextRun());
-        List<IngestionStatus> statuses = new ArrayList<>();
-        for (AirflowDagRun dagRun : airflowListResponse.dagRuns) {
-          IngestionStatus ingestionStatus = new IngestionStatus().withState(dagRun.getState())
-              .withStartDate(dagRun.getStartDate()).withEndDate(dagRun.getEndDate());
-          statuses.add(ingestionStatus);
-        }
-        ingestion.setIngestionStatuses(statuses);
-        return ingestion;
+      return setStatus(ingestion, getStatusAsync(ingestion.getName()).join());
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause() == null ? e : e.getCause();
+      throw IngestionPipelineDeploymentException.byMessage(ingestion.getName(), cause.getMessage());
+    }
+  }
+
+  /**
+   * Add the status to a list of ingestions, fetching the status that is not cached concurrently. Returns the errors
+   * for the ingestions whose status could not be fetched by ingestion name.
+   */
+  public Map<String, Throwable> getStatus(List<Ingestion> ingestions) {
+    List<CompletableFuture<AirflowListResponse>> futures = new ArrayList<>(ingestions.size());
+    for (Ingestion ingestion : ingestions) {
+      futures.add(getStatusAsync(ingestion.getName()));
+    }
+    Map<String, Throwable> errors = new HashMap<>();
+    for (int i = 0; i < ingestions.size(); i++) {
+      try {
+        setStatus(ingestions.get(i), futures.get(i).join());
+      } catch (CompletionException e) {
+        errors.put(ingestions.get(i).getName(), e.getCause() == null ? e : e.getCause());
       }
+    }
+    return errors;
+  }
 
-      throw IngestionPipelineDeploymentException.byMessage(ingestion.getName(),
-          "Failed to fetch ingestion pipeline runs",
-          Response.Status.fromStatusCode(response.statusCode()));
-    } catch (Exception e) {
-      throw IngestionPipelineDeploymentException.byMessage(ingestion.getName(), e.getMessage());
+  private CompletableFuture<AirflowListResponse> getStatusAsync(String pipelineName) {
+    long now = clock.getAsLong();
+    CachedStatus cached = statusCache.getIfPresent(pipelineName);
+    if (cached != null) {
+      if (now - cached.fetchTime >= statusCacheMillis) {
+        refreshStatus(pipelineName);
+      }
+      return CompletableFuture.completedFuture(cached.status);
+    }
+    return fetchStatus(pipelineName);
+  }
+
+  private void refreshStatus(String pipelineName) {
+    if (refreshing.add(pipelineName)) {
+      refreshExecutor.execute(() -> fetchStatus(pipelineName).whenComplete((status, e) -> {
+        refreshing.remove(pipelineName);
+        if (e != null) {
+          LOG.warn("Failed to refresh status of ingestion pipeline {}", pipelineName, e);
+        }
+      }));
+    }
+  }
+
+  private CompletableFuture<AirflowListResponse> fetchStatus(String pipelineName) {
+    try {
+      statusPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompletableFuture.failedFuture(e);
+    }
+    CompletableFuture<HttpResponse<String>> future;
+    try {
+      URI uri = URI.create(String.format(this.statusEndPoint, this.url, pipelineName));
+      String requestPayload = new JSONObject().toString();
+      future = sendAsync(token -> HttpRequest.newBuilder(uri)
+          .header("Content-Type", "application/json")
+          .header("Authorization", String.format(this.authHeader, token))
+          .POST(HttpRequest.BodyPublishers.ofString(requestPayload))
+          .build());
+    } catch (RuntimeException e) {
+      statusPermits.release();
+      return CompletableFuture.failedFuture(e);
+    }
+    return future.whenComplete((response, e) -> statusPermits.release())
+        .thenApply(response -> {
+          if (response.statusCode() != 200) {
+            throw IngestionPipelineDeploymentException.byMessage(pipelineName,
+                "Failed to fetch ingestion pipeline runs",
+                Response.Status.fromStatusCode(response.statusCode()));
+          }
+          try {
+            AirflowListResponse status = JsonUtils.readValue(response.body(), AirflowListResponse.class);
+            statusCache.put(pipelineName, new CachedStatus(status, clock.getAsLong()));
+            return status;
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          }
+        });
+  }
+
+  private static Ingestion setStatus(Ingestion ingestion, AirflowListResponse airflowListResponse) {
+    ingestion.setNextExecutionDate(airflowListResponse.getNextRun());
+    List<IngestionStatus> statuses = new ArrayList<>();
+    for (AirflowDagRun dagRun : airflowListResponse.getDagRuns() == null ? Collections.<AirflowDagRun>emptyList() :
+        airflowListResponse.getDagRuns()) {
+      IngestionStatus ingestionStatus = new IngestionStatus().withState(dagRun.getState())
+          .withStartDate(dagRun.getStartDate()).withEndDate(dagRun.getEndDate());
+      statuses.add(ingestionStatus);
+    }
+    ingestion.setIngestionStatuses(statuses);
+    return ingestion;
+  }
+
+  private static class CachedStatus {
+    private final AirflowListResponse status;
+    private final long fetchTime;
+
+    CachedStatus(AirflowListResponse status, long fetchTime) {
+      this.status = status;
+      this.fetchTime = fetchTime;
     }
   }
 }
@@ -13,25 +13,22 @@
 
 package org.openmetadata.catalog.jdbi3;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.resources.events.EventResource.ChangeEventList;
 import org.openmetadata.catalog.type.ChangeEvent;
 import org.openmetadata.catalog.util.JsonUtils;
-import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.StreamingResultList;
+import org.openmetadata.common.utils.CipherText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 
-import static org.openmetadata.catalog.type.EventType.ENTITY_CREATED;
-import static org.openmetadata.catalog.type.EventType.ENTITY_DELETED;
-import static org.openmetadata.catalog.type.EventType.ENTITY_UPDATED;
-
 public class ChangeEventRepository {
   public static final Logger LOG = LoggerFactory.getLogger(ChangeEventRepository.class);
   private final CollectionDAO dao;
@@ -39,20 +36,64 @@ public class ChangeEventRepository {
   public ChangeEventRepository(CollectionDAO dao) { this.dao = dao; }
 
   @Transaction
-  public ResultList<ChangeEvent> list(Date date, List<String> entityCreatedList,
-                                      List<String> entityUpdatedList, List<String> entityDeletedList) throws IOException,
-          GeneralSecurityException {
-    List<String> jsons = new ArrayList<>();
-    jsons.addAll(dao.changeEventDAO().list(ENTITY_CREATED.value(), entityCreatedList, date.getTime()));
-    jsons.addAll(dao.changeEventDAO().list(ENTITY_UPDATED.value(), entityUpdatedList, date.getTime()));
-    jsons.addAll(dao.changeEventDAO().list(ENTITY_DELETED.value(), entityDeletedList, date.getTime()));
+  public ChangeEventList listBefore(Date date, List<String> entityCreatedList, List<String> entityUpdatedList,
+                                    List<String> entityDeletedList, int limitParam, String before)
+          throws IOException, GeneralSecurityException {
+    // Reverse scrolling - Get one extra result used for computing before cursor
+    long[] position = decodeCursor(CipherText.instance().decrypt(before));
+    List<Pair<String, String>> events = dao.changeEventDAO().listBefore(date.getTime(), entityCreatedList,
+            entityUpdatedList, entityDeletedList, position[0], position[1], limitParam + 1);
+    String beforeCursor = null;
+    if (events.size() > limitParam) { // If extra result exists, then previous page exists - return before cursor
+      events.remove(0);
+      beforeCursor = events.get(0).getLeft();
+    }
+    String afterCursor = events.isEmpty() ? null : events.get(events.size() - 1).getLeft();
     List<ChangeEvent> changeEvents = new ArrayList<>();
-    for (String json : jsons) {
-      changeEvents.add(JsonUtils.readValue(json, ChangeEvent.class));
+    for (Pair<String, String> event : events) {
+      changeEvents.add(JsonUtils.readValue(event.getRight(), ChangeEvent.class));
+    }
+    // Counting all the events matching the filter is expensive on a large change_event table. Total is the number
+    // of events returned.
+    return new ChangeEventList(changeEvents, beforeCursor, afterCursor, changeEvents.size());
+  }
+
+  /**
+   * Forward scrolling, where events are read and written to the response in chunks of
+   * {@link StreamingResultList#CHUNK_SIZE} events
+   */
+  public StreamingResultList<ChangeEvent> streamAfter(Date date, List<String> entityCreatedList,
+                                                      List<String> entityUpdatedList, List<String> entityDeletedList,
+                                                      int limitParam, String after)
+          throws IOException, GeneralSecurityException {
+    // If after == null then first page is being asked. Cursor is validated before the response is streamed.
+    String afterPosition = after == null ? null : CipherText.instance().decrypt(after);
+    if (afterPosition != null) {
+      decodeCursor(afterPosition);
+    }
+    StreamingResultList.Source<ChangeEvent> source = (position, limit) -> {
+      long[] cursor = position == null ? new long[] {Long.MAX_VALUE, Long.MAX_VALUE} : decodeCursor(position);
+      List<Pair<String, ChangeEvent>> events = new ArrayList<>();
+      for (Pair<String, String> event : dao.changeEventDAO().listAfter(date.getTime(), entityCreatedList,
+              entityUpdatedList, entityDeletedList, cursor[0], cursor[1], limit)) {
+        events.add(Pair.of(event.getLeft(), JsonUtils.readValue(event.getRight(), ChangeEvent.class)));
+      }
+      return events;
+    };
+    return new StreamingResultList<>(source, afterPosition, limitParam, null);
+  }
+
+  /**
+   * Decode decrypted cursor "eventTime_id" into event time and id
+   */
+  private static long[] decodeCursor(String position) {
+    try {
+      int separator = position.indexOf('_');
+      return new long[] {Long.parseLong(position.substring(0, separator)),
+              Long.parseLong(position.substring(separator + 1))};
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor " + position);
     }
-    changeEvents.sort(Comparator.comparing((ChangeEvent changeEvent)
-            -> changeEvent.getDateTime().getTime()).reversed());
-    return new ChangeEventList(changeEvents, null, null, changeEvents.size()); // TODO
   }
 
   @Transaction
@@ -59,6 +59,7 @@ public class ChartRepository extends EntityRepository<Chart> {
     }
     dao.chartDAO().delete(id);
     dao.relationshipDAO().deleteAll(id.toString());
+    dao.lineageClosureDAO().deleteEntity(id.toString());
   }
 
   @Override
@@ -94,6 +95,7 @@ public class ChartRepository extends EntityRepository<Chart> {
     EntityReference service = chart.getService();
     dao.relationshipDAO().insert(service.getId().toString(), chart.getId().toString(), service.getType(),
             Entity.CHART, Relationship.CONTAINS.ordinal());
+    dao.chartDAO().updateParent(chart.getId(), service.getId());
     setOwner(chart, chart.getOwner());
     applyTags(chart);
   }
@@ -13,13 +13,17 @@
 
 package org.openmetadata.catalog.jdbi3;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.result.UnableToProduceResultException;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.sqlobject.CreateSqlObject;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.customizer.FetchSize;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 import org.openmetadata.catalog.entity.Bots;
@@ -41,9 +45,11 @@ import org.openmetadata.catalog.entity.services.PipelineService;
 import org.openmetadata.catalog.entity.services.StorageService;
 import org.openmetadata.catalog.entity.teams.Team;
 import org.openmetadata.catalog.entity.teams.User;
+import org.openmetadata.catalog.events.EventRecord;
 import org.openmetadata.catalog.jdbi3.BotsRepository.BotsEntityInterface;
 import org.openmetadata.catalog.jdbi3.ChartRepository.ChartEntityInterface;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO.TagLabelMapper;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EventOutboxDAO.EventRecordMapper;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.UsageDAO.UsageDetailsMapper;
 import org.openmetadata.catalog.jdbi3.DashboardRepository.DashboardEntityInterface;
 import org.openmetadata.catalog.jdbi3.DashboardServiceRepository.DashboardServiceEntityInterface;
@@ -64,15 +70,29 @@ import org.openmetadata.catalog.jdbi3.TopicRepository.TopicEntityInterface;
 import org.openmetadata.catalog.jdbi3.UserRepository.UserEntityInterface;
 import org.openmetadata.catalog.operations.workflows.Ingestion;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.JoinedWith;
 import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.type.UsageDetails;
 import org.openmetadata.catalog.type.UsageStats;
-import org.openmetadata.catalog.util.EntityUtil;
+import org.openmetadata.catalog.util.JsonUtils;
 
+import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static org.jdbi.v3.sqlobject.customizer.BindList.EmptyHandling.NULL_STRING;
 
 public interface CollectionDAO {
   @CreateSqlObject
@@ -84,9 +104,18 @@ public interface CollectionDAO {
   @CreateSqlObject
   FieldRelationshipDAO fieldRelationshipDAO();
 
+  @CreateSqlObject
+  ColumnJoinDAO columnJoinDAO();
+
+  @CreateSqlObject
+  TableProfileDAO tableProfileDAO();
+
   @CreateSqlObject
   EntityExtensionDAO entityExtensionDAO();
 
+  @CreateSqlObject
+  EntityVersionDAO entityVersionDAO();
+
   @CreateSqlObject
   UserDAO userDAO();
 
@@ -156,6 +185,12 @@ public interface CollectionDAO {
   @CreateSqlObject
   ChangeEventDAO changeEventDAO();
 
+  @CreateSqlObject
+  EventOutboxDAO eventOutboxDAO();
+
+  @CreateSqlObject
+  LineageClosureDAO lineageClosureDAO();
+
   interface DashboardDAO extends EntityDAO<Dashboard> {
     @Override
     default String getTableName() { return "dashboard_entity"; }
@@ -166,6 +201,9 @@ public interface CollectionDAO {
     @Override
     default String getNameColumn() { return "fullyQualifiedName"; }
 
+    @Override
+    default String getParentTableName() { return "dashboard_service_entity"; }
+
     @Override
     default EntityReference getEntityReference(Dashboard entity) {
       return new DashboardEntityInterface(entity).getEntityReference();
@@ -200,6 +238,9 @@ public interface CollectionDAO {
     @Override
     default String getNameColumn() { return "fullyQualifiedName"; }
 
+    @Override
+    default String getParentTableName() { return "dbservice_entity"; }
+
     @Override
     default EntityReference getEntityReference(Database entity) {
       return new DatabaseEntityInterface(entity).getEntityReference();
@@ -246,39 +287,81 @@ public interface CollectionDAO {
 
     @SqlQuery("SELECT json FROM entity_extension WHERE id = :id AND extension = :extension")
     String getExtension(@Bind("id") String id, @Bind("extension") String extension);
+  }
 
-    @RegisterRowMapper(EntityVersionMapper.class)
-    @SqlQuery("SELECT extension, json FROM entity_extension WHERE id = :id AND extension " +
-            "LIKE CONCAT (:extensionPrefix, '.%')")
-    List<EntityVersionPair> getEntityVersions(@Bind("id") String id, @Bind("extensionPrefix") String extensionPrefix);
+  /**
+   * Version history of entities. The latest stored version of an entity and every version with versionIndex that is
+   * a multiple of {@link EntityVersionStore#SNAPSHOT_INTERVAL} is a snapshot, with the full entity JSON. Other versions
+   * store the JSON patch that changes the next version to this version.
+   */
+  interface EntityVersionDAO {
+    @SqlUpdate("INSERT INTO entity_version(id, entityType, version, versionIndex, snapshot, json) " +
+            "VALUES (:id, :entityType, :version, :versionIndex, :snapshot, :json)")
+    void insert(@Bind("id") String id, @Bind("entityType") String entityType, @Bind("version") double version,
+                @Bind("versionIndex") int versionIndex, @Bind("snapshot") boolean snapshot,
+                @Bind("json") String json);
 
-    @SqlQuery("SELECT json FROM entity_extension WHERE id = :id AND extension = :extension")
-    String getEntityVersion(@Bind("id") String id, @Bind("extension") String extension);
+    @SqlUpdate("UPDATE entity_version SET versionIndex = :versionIndex, snapshot = :snapshot, json = :json " +
+            "WHERE id = :id AND version = :version")
+    void update(@Bind("id") String id, @Bind("version") double version, @Bind("versionIndex") int versionIndex,
+                @Bind("snapshot") boolean snapshot, @Bind("json") String json);
+
+    @SqlQuery("SELECT version, versionIndex, snapshot, json FROM entity_version WHERE id = :id " +
+            "ORDER BY version DESC LIMIT 1")
+    @RegisterRowMapper(EntityVersionRecordMapper.class)
+    EntityVersionRecord getLatest(@Bind("id") String id);
+
+    /** Latest version before the given version */
+    @SqlQuery("SELECT MAX(version) FROM entity_version WHERE id = :id AND version < :version")
+    Double findPreviousVersion(@Bind("id") String id, @Bind("version") double version);
+
+    /** The snapshot from which the given version is reconstructed */
+    @SqlQuery("SELECT MIN(version) FROM entity_version WHERE id = :id AND snapshot = TRUE AND version >= :version")
+    Double findSnapshotVersion(@Bind("id") String id, @Bind("version") double version);
+
+    /** List up to limit versions starting from the given version, latest version first */
+    @SqlQuery("SELECT version, versionIndex, snapshot, json FROM entity_version WHERE id = :id " +
+            "AND version <= :version ORDER BY version DESC LIMIT :limit")
+    @RegisterRowMapper(EntityVersionRecordMapper.class)
+    List<EntityVersionRecord> listFrom(@Bind("id") String id, @Bind("version") double version,
+                                       @Bind("limit") int limit);
+
+    @SqlQuery("SELECT COUNT(*) FROM entity_version WHERE id = :id")
+    int count(@Bind("id") String id);
+
+    /** List the ids of the entities with versions in the order of id */
+    @SqlQuery("SELECT DISTINCT id FROM entity_version WHERE id > :after ORDER BY id LIMIT :limit")
+    List<String> listIds(@Bind("after") String after, @Bind("limit") int limit);
   }
 
-  class EntityVersionPair {
-    private final Double version;
-    private final String entityJson;
+  class EntityVersionRecord {
+    private final double version;
+    private final int versionIndex;
+    private final boolean snapshot;
+    private final String json;
 
-    public Double getVersion() {
-      return version;
+    public EntityVersionRecord(double version, int versionIndex, boolean snapshot, String json) {
+      this.version = version;
+      this.versionIndex = versionIndex;
+      this.snapshot = snapshot;
+      this.json = json;
     }
 
-    public String getEntityJson() {
-      return entityJson;
-    }
+    public double getVersion() { return version; }
 
-    public EntityVersionPair(Double version, String json) {
-      this.version = version;
-      this.entityJson = json;
-    }
+    public int getVersionIndex() { return versionIndex; }
+
+    /** When true json is the entity, otherwise it is the JSON patch from the next version */
+    public boolean isSnapshot() { return snapshot; }
+
+    public String getJson() { return json; }
   }
 
-  class EntityVersionMapper implements RowMapper<EntityVersionPair> {
+  class EntityVersionRecordMapper implements RowMapper<EntityVersionRecord> {
     @Override
-    public EntityVersionPair map(ResultSet rs, StatementContext ctx) throws SQLException {
-      Double version = EntityUtil.getVersion(rs.getString("extension"));
-      return new EntityVersionPair(version, rs.getString("json"));
+    public EntityVersionRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
+      return new EntityVersionRecord(rs.getDouble("version"), rs.getInt("versionIndex"), rs.getBoolean("snapshot"),
+              rs.getString("json"));
     }
   }
 
@@ -288,6 +371,12 @@ public interface CollectionDAO {
     int insert(@Bind("fromId") String fromId, @Bind("toId") String toId, @Bind("fromEntity") String fromEntity,
                @Bind("toEntity") String toEntity, @Bind("relation") int relation);
 
+    @SqlBatch("INSERT IGNORE INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation) " +
+            "VALUES (:fromId, :toId, :fromEntity, :toEntity, :relation)")
+    void insertBatch(@Bind("fromId") List<String> fromIds, @Bind("toId") List<String> toIds,
+                     @Bind("fromEntity") List<String> fromEntities, @Bind("toEntity") String toEntity,
+                     @Bind("relation") int relation);
+
     //
     // Find to operations
     //
@@ -303,11 +392,36 @@ public interface CollectionDAO {
     List<String> findTo(@Bind("fromId") String fromId, @Bind("relation") int relation,
                         @Bind("toEntity") String toEntity);
 
+    // Keyset pagination on toId, which follows (fromId, relation) in the fromIdx index
+    @SqlQuery("SELECT toId FROM entity_relationship " +
+            "WHERE fromId = :fromId AND relation = :relation AND toEntity = :toEntity AND toId > :after " +
+            "ORDER BY toId LIMIT :limit")
+    List<String> findToAfter(@Bind("fromId") String fromId, @Bind("relation") int relation,
+                             @Bind("toEntity") String toEntity, @Bind("after") String after,
+                             @Bind("limit") int limit);
+
     @SqlQuery("SELECT count(*) FROM entity_relationship " +
             "WHERE fromId = :fromId AND relation = :relation AND toEntity = :toEntity " +
             "ORDER BY fromId")
     int findToCount(@Bind("fromId") String fromId, @Bind("relation") int relation, @Bind("toEntity") String toEntity);
 
+    // Returns pairs of fromId and the referenced toEntity for all the given fromIds
+    @SqlQuery("SELECT fromId, toId, toEntity FROM entity_relationship " +
+            "WHERE fromId IN (<fromIds>) AND relation = :relation AND toEntity = :toEntity " +
+            "ORDER BY toId")
+    @RegisterRowMapper(ToEntityReferenceBatchMapper.class)
+    List<Pair<String, EntityReference>> findToBatch(@BindList("fromIds") List<String> fromIds,
+                                                   @Bind("relation") int relation,
+                                                   @Bind("toEntity") String toEntity);
+
+    // Returns pairs of fromId and the referenced toEntity of any type for all the given fromIds
+    @SqlQuery("SELECT fromId, toId, toEntity FROM entity_relationship " +
+            "WHERE fromId IN (<fromIds>) AND relation = :relation " +
+            "ORDER BY toId")
+    @RegisterRowMapper(ToEntityReferenceBatchMapper.class)
+    List<Pair<String, EntityReference>> findToBatch(@BindList("fromIds") List<String> fromIds,
+                                                   @Bind("relation") int relation);
+
     //
     // Find from operations
     //
@@ -330,6 +444,22 @@ public interface CollectionDAO {
     List<EntityReference> findFromEntity(@Bind("toId") String toId, @Bind("relation") int relation,
                                          @Bind("fromEntity") String fromEntity);
 
+    // Returns pairs of toId and the referenced fromEntity for all the given toIds
+    @SqlQuery("SELECT fromId, toId, fromEntity FROM entity_relationship " +
+            "WHERE toId IN (<toIds>) AND relation = :relation " +
+            "ORDER BY fromId")
+    @RegisterRowMapper(FromEntityReferenceBatchMapper.class)
+    List<Pair<String, EntityReference>> findFromBatch(@BindList("toIds") List<String> toIds,
+                                                     @Bind("relation") int relation);
+
+    @SqlQuery("SELECT fromId, toId, fromEntity FROM entity_relationship " +
+            "WHERE toId IN (<toIds>) AND relation = :relation AND fromEntity = :fromEntity " +
+            "ORDER BY fromId")
+    @RegisterRowMapper(FromEntityReferenceBatchMapper.class)
+    List<Pair<String, EntityReference>> findFromBatch(@BindList("toIds") List<String> toIds,
+                                                     @Bind("relation") int relation,
+                                                     @Bind("fromEntity") String fromEntity);
+
     //
     // Delete Operations
     //
@@ -355,6 +485,22 @@ public interface CollectionDAO {
     @SqlUpdate("DELETE from entity_relationship " +
             "WHERE toId = :id OR fromId = :id")
     void deleteAll(@Bind("id") String id);
+
+    class FromEntityReferenceBatchMapper implements RowMapper<Pair<String, EntityReference>> {
+      @Override
+      public Pair<String, EntityReference> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("toId"), new EntityReference().withId(UUID.fromString(rs.getString("fromId")))
+                .withType(rs.getString("fromEntity")));
+      }
+    }
+
+    class ToEntityReferenceBatchMapper implements RowMapper<Pair<String, EntityReference>> {
+      @Override
+      public Pair<String, EntityReference> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("fromId"), new EntityReference().withId(UUID.fromString(rs.getString("toId")))
+                .withType(rs.getString("toEntity")));
+      }
+    }
   }
 
   interface FeedDAO {
@@ -364,9 +510,15 @@ public interface CollectionDAO {
     @SqlQuery("SELECT json FROM thread_entity WHERE id = :id")
     String findById(@Bind("id") String id);
 
+    @SqlQuery("SELECT json FROM thread_entity WHERE id IN (<ids>)")
+    List<String> findByIds(@BindList("ids") List<String> ids);
+
     @SqlQuery("SELECT json FROM thread_entity")
     List<String> list();
 
+    @SqlQuery("SELECT json FROM thread_entity WHERE id > :after ORDER BY id LIMIT :limit")
+    List<String> listAfter(@Bind("after") String after, @Bind("limit") int limit);
+
     @SqlUpdate("UPDATE thread_entity SET json = :json where id = :id")
     void update(@Bind("id") String id, @Bind("json") String json);
   }
@@ -424,6 +576,78 @@ public interface CollectionDAO {
     }
   }
 
+  /**
+   * Daily join counts between two columns. A join is stored once with the column that comes alphabetically first
+   * as fromFQN and the other column as toFQN.
+   */
+  interface ColumnJoinDAO {
+    @SqlBatch("INSERT INTO column_join_stats(fromFQN, toFQN, joinDate, joinCount) " +
+            "VALUES (:fromFQN, :toFQN, :joinDate, :joinCount) ON DUPLICATE KEY UPDATE joinCount = :joinCount")
+    void upsertBatch(@Bind("fromFQN") List<String> fromFQNs, @Bind("toFQN") List<String> toFQNs,
+                     @Bind("joinDate") String joinDate, @Bind("joinCount") List<Integer> joinCounts);
+
+    /**
+     * List the columns of a table with the fully qualified names of the columns they are joined with and the total
+     * join count after startDate
+     */
+    @SqlQuery("SELECT fromFQN AS columnFQN, toFQN AS joinedWithFQN, SUM(joinCount) AS joinCount " +
+            "FROM column_join_stats WHERE fromFQN LIKE CONCAT(:tableFQN, '.%') AND joinDate > :startDate " +
+            "GROUP BY fromFQN, toFQN " +
+            "UNION ALL " +
+            "SELECT toFQN AS columnFQN, fromFQN AS joinedWithFQN, SUM(joinCount) AS joinCount " +
+            "FROM column_join_stats WHERE toFQN LIKE CONCAT(:tableFQN, '.%') AND joinDate > :startDate " +
+            "GROUP BY toFQN, fromFQN " +
+            "ORDER BY columnFQN, joinedWithFQN")
+    @RegisterRowMapper(ColumnJoinMapper.class)
+    List<Pair<String, JoinedWith>> listJoins(@Bind("tableFQN") String tableFQN, @Bind("startDate") String startDate);
+
+    @SqlUpdate("DELETE FROM column_join_stats WHERE joinDate <= :date")
+    int deleteOnOrBefore(@Bind("date") String date);
+
+    class ColumnJoinMapper implements RowMapper<Pair<String, JoinedWith>> {
+      @Override
+      public Pair<String, JoinedWith> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("columnFQN"), new JoinedWith()
+                .withFullyQualifiedName(rs.getString("joinedWithFQN")).withJoinCount(rs.getInt("joinCount")));
+      }
+    }
+  }
+
+  /**
+   * Table profiles stored one row per table and profile date, with the column profiles in the profile JSON
+   */
+  interface TableProfileDAO {
+    @SqlUpdate("INSERT INTO table_profile(tableId, profileDate, json) VALUES (:tableId, :profileDate, :json) " +
+            "ON DUPLICATE KEY UPDATE json = :json")
+    void upsert(@Bind("tableId") String tableId, @Bind("profileDate") String profileDate, @Bind("json") String json);
+
+    /** List the profiles of a table between the dates, both inclusive and optional, latest profile first */
+    @SqlQuery("SELECT json FROM table_profile WHERE tableId = :tableId " +
+            "AND (:startDate IS NULL OR profileDate >= :startDate) AND (:endDate IS NULL OR profileDate <= :endDate) " +
+            "ORDER BY profileDate DESC LIMIT :limit")
+    List<String> list(@Bind("tableId") String tableId, @Bind("startDate") String startDate,
+                      @Bind("endDate") String endDate, @Bind("limit") int limit);
+
+    @SqlQuery("SELECT json FROM table_profile WHERE tableId = :tableId ORDER BY profileDate DESC LIMIT 1")
+    String getLatest(@Bind("tableId") String tableId);
+
+    @SqlUpdate("DELETE FROM table_profile WHERE tableId = :tableId")
+    void deleteAll(@Bind("tableId") String tableId);
+
+    @SqlUpdate("DELETE FROM table_profile WHERE profileDate < :date")
+    int deleteBefore(@Bind("date") String date);
+
+    /**
+     * Keep only the latest profile of each table in each week for the profiles before the date
+     */
+    @SqlUpdate("DELETE p FROM table_profile p JOIN (" +
+            "SELECT tableId, YEARWEEK(profileDate, 3) AS profileWeek, MAX(profileDate) AS keepDate " +
+            "FROM table_profile WHERE profileDate < :date GROUP BY tableId, YEARWEEK(profileDate, 3)) k " +
+            "ON p.tableId = k.tableId AND YEARWEEK(p.profileDate, 3) = k.profileWeek " +
+            "WHERE p.profileDate < :date AND p.profileDate < k.keepDate")
+    int downsampleBefore(@Bind("date") String date);
+  }
+
   interface BotsDAO extends EntityDAO<Bots>{
     @Override
     default String getTableName() { return "bots_entity"; }
@@ -450,6 +674,9 @@ public interface CollectionDAO {
     @Override
     default String getNameColumn() { return "fullyQualifiedName"; }
 
+    @Override
+    default String getParentTableName() { return "dashboard_service_entity"; }
+
     @Override
     default EntityReference getEntityReference(Chart entity) {
       return new ChartEntityInterface(entity).getEntityReference();
@@ -514,6 +741,9 @@ public interface CollectionDAO {
     @Override
     default String getNameColumn() { return "fullyQualifiedName"; }
 
+    @Override
+    default String getParentTableName() { return "pipeline_service_entity"; }
+
     @Override
     default EntityReference getEntityReference(Pipeline entity) {
       return new PipelineEntityInterface(entity).getEntityReference();
@@ -582,6 +812,12 @@ public interface CollectionDAO {
     @Override
     default String getNameColumn() { return "fullyQualifiedName"; }
 
+    @Override
+    default String getParentTableName() { return "database_entity"; }
+
+    @Override
+    default String getParentNameColumn() { return "fullyQualifiedName"; }
+
     @Override
     default EntityReference getEntityReference(Table entity) {
       return new TableEntityInterface(entity).getEntityReference();
@@ -600,50 +836,58 @@ public interface CollectionDAO {
     @Override
     default String getNameColumn() { return "fullyQualifiedName"; }
 
+    @Override
+    default String getParentTableName() { return "storage_service_entity"; }
+
     @Override
     default EntityReference getEntityReference(Location entity) {
       return new LocationEntityInterface(entity).getEntityReference();
     }
 
-    @SqlQuery("SELECT count(*) FROM <table> WHERE " +
-                    "LEFT(:fqn, LENGTH(<nameColumn>)) = <nameColumn> AND " +
-                    "<nameColumn> >= CONCAT(:service, '.') AND " +
-                    "<nameColumn> <= :fqn")
+    // Prefixes of a location are found with lookups on the unique index of the fully qualified name
+    @SqlQuery("SELECT count(*) FROM <table> WHERE <nameColumn> IN (<prefixes>)")
     int listPrefixesCount(@Define("table") String table,
                           @Define("nameColumn") String nameColumn,
-                          @Bind("fqn") String fqn,
-                          @Bind("service") String service);
+                          @BindList("prefixes") List<String> prefixes);
 
     @SqlQuery(
             "SELECT json FROM (" +
                     "SELECT <nameColumn>, json FROM <table> WHERE " +
-                    "LEFT(:fqn, LENGTH(<nameColumn>)) = <nameColumn> AND " +
-                    "<nameColumn> >= CONCAT(:service, '.') AND " +
-                    "<nameColumn> <= :fqn AND " +
+                    "<nameColumn> IN (<prefixes>) AND " +
                     "<nameColumn> < :before " +
-                    "ORDER BY <nameColumn> DESC " + // Pagination ordering by chart fullyQualifiedName
+                    "ORDER BY <nameColumn> DESC " + // Pagination ordering by location fullyQualifiedName
                     "LIMIT :limit" +
                     ") last_rows_subquery ORDER BY <nameColumn>")
     List<String> listPrefixesBefore(@Define("table") String table,
                            @Define("nameColumn") String nameColumn,
-                           @Bind("fqn") String fqn,
-                           @Bind("service") String service,
+                           @BindList("prefixes") List<String> prefixes,
                            @Bind("limit") int limit,
                            @Bind("before") String before);
 
     @SqlQuery("SELECT json FROM <table> WHERE " +
-            "LEFT(:fqn, LENGTH(<nameColumn>)) = <nameColumn> AND " +
-            "<nameColumn> >= CONCAT(:service, '.') AND " +
-            "<nameColumn> <= :fqn AND " +
+            "<nameColumn> IN (<prefixes>) AND " +
             "<nameColumn> > :after " +
             "ORDER BY <nameColumn> " +
             "LIMIT :limit")
     List<String> listPrefixesAfter(@Define("table") String table,
                            @Define("nameColumn") String nameColumn,
-                           @Bind("fqn") String fqn,
-                           @Bind("service") String service,
+                           @BindList("prefixes") List<String> prefixes,
                            @Bind("limit") int limit,
                            @Bind("after") String after);
+
+    /**
+     * Fully qualified names that are prefixes of {@code fqn} and start with the service name of {@code fqn}, which
+     * are the candidate fully qualified names of the locations that contain the location {@code fqn}.
+     */
+    static List<String> getPrefixes(String fqn) {
+      String service = fqn.split("\\.")[0];
+      List<String> prefixes = new ArrayList<>();
+      for (int i = service.length() + 1; i <= fqn.length(); i++) {
+        prefixes.add(fqn.substring(0, i));
+      }
+      // Without a service prefix no location matches the name itself, as location names include the service
+      return prefixes.isEmpty() ? Collections.singletonList(fqn) : prefixes;
+    }
   }
 
   interface IngestionDAO extends EntityDAO<Ingestion> {
@@ -693,16 +937,121 @@ public interface CollectionDAO {
     @SqlQuery("SELECT json FROM tag WHERE fullyQualifiedName = :fqn")
     String findTag(@Bind("fqn") String fqn);
 
+    @SqlQuery("SELECT json FROM tag")
+    List<String> listTags();
+
     @SqlUpdate("INSERT IGNORE INTO tag_usage (tagFQN, targetFQN, labelType, state) VALUES (:tagFQN, :targetFQN, " +
             ":labelType, :state)")
     void applyTag(@Bind("tagFQN") String tagFQN, @Bind("targetFQN") String targetFQN,
                   @Bind("labelType") int labelType, @Bind("state") int state);
 
+    @SqlBatch("INSERT IGNORE INTO tag_usage (tagFQN, targetFQN, labelType, state) VALUES (:tagFQN, :targetFQN, " +
+            ":labelType, :state)")
+    int[] insertTagUsage(@Bind("tagFQN") List<String> tagFQNs, @Bind("targetFQN") List<String> targetFQNs,
+                         @Bind("labelType") List<Integer> labelTypes, @Bind("state") List<Integer> states);
+
+    @SqlBatch("INSERT INTO tag_usage (tagFQN, targetFQN, labelType, state) VALUES (:tagFQN, :targetFQN, " +
+            ":labelType, :state) ON DUPLICATE KEY UPDATE labelType = VALUES(labelType), state = VALUES(state)")
+    void upsertTagUsage(@Bind("tagFQN") List<String> tagFQNs, @Bind("targetFQN") List<String> targetFQNs,
+                         @Bind("labelType") List<Integer> labelTypes, @Bind("state") List<Integer> states);
+
+    @SqlBatch("DELETE FROM tag_usage WHERE tagFQN = :tagFQN AND targetFQN = :targetFQN")
+    int[] deleteTagUsage(@Bind("tagFQN") List<String> tagFQNs, @Bind("targetFQN") List<String> targetFQNs);
+
+    default void applyTagsBatch(List<String> tagFQNs, List<String> targetFQNs, List<Integer> labelTypes,
+                                List<Integer> states) {
+      addUsageCounts(tagFQNs, insertTagUsage(tagFQNs, targetFQNs, labelTypes, states), 1);
+    }
+
+    @SqlBatch("UPDATE tag_usage SET labelType = :labelType, state = :state " +
+            "WHERE tagFQN = :tagFQN AND targetFQN = :targetFQN")
+    void updateTagUsage(@Bind("tagFQN") List<String> tagFQNs, @Bind("targetFQN") List<String> targetFQNs,
+                        @Bind("labelType") List<Integer> labelTypes, @Bind("state") List<Integer> states);
+
+    /**
+     * Apply tags that the caller knows are not applied to their targets and add one usage for each. The row counts of
+     * the upsert are not used, as a row left unchanged is reported as a found row by the JDBC driver.
+     */
+    default void addTagsBatch(List<String> tagFQNs, List<String> targetFQNs, List<Integer> labelTypes,
+                              List<Integer> states) {
+      upsertTagUsage(tagFQNs, targetFQNs, labelTypes, states);
+      addUsageCounts(tagFQNs, 1);
+    }
+
+    /** Update label type and state of tags already applied to their targets, which does not change the usage */
+    default void updateTagsBatch(List<String> tagFQNs, List<String> targetFQNs, List<Integer> labelTypes,
+                                 List<Integer> states) {
+      updateTagUsage(tagFQNs, targetFQNs, labelTypes, states);
+    }
+
+    default void deleteTagsBatch(List<String> tagFQNs, List<String> targetFQNs) {
+      addUsageCounts(tagFQNs, deleteTagUsage(tagFQNs, targetFQNs), -1);
+    }
+
+    //
+    // Usage counts of tags, maintained when tags are applied and removed and reconciled periodically with tag_usage by
+    // EntityCountReconciliation
+    //
+    @SqlBatch("INSERT INTO tag_usage_count (tagFQN, usageCount) VALUES (:tagFQN, :delta) " +
+            "ON DUPLICATE KEY UPDATE usageCount = usageCount + VALUES(usageCount)")
+    void addUsageCounts(@Bind("tagFQN") List<String> tagFQNs, @Bind("delta") List<Integer> deltas);
+
+    /**
+     * Add {@code delta} to the usage count of the tag of each row inserted or deleted by a batch query on tag_usage
+     */
+    default void addUsageCounts(List<String> tagFQNs, int[] rowCounts, int delta) {
+      List<String> changed = new ArrayList<>();
+      for (int i = 0; i < rowCounts.length; i++) {
+        if (rowCounts[i] == 1) {
+          changed.add(tagFQNs.get(i));
+        }
+      }
+      addUsageCounts(changed, delta);
+    }
+
+    /** Add {@code delta} to the usage count of the tag for each element of {@code tagFQNs} */
+    default void addUsageCounts(List<String> tagFQNs, int delta) {
+      Map<String, Integer> deltas = new TreeMap<>(); // Sorted to update the count rows in the same order
+      tagFQNs.forEach(tagFQN -> deltas.merge(tagFQN, delta, Integer::sum));
+      if (!deltas.isEmpty()) {
+        addUsageCounts(new ArrayList<>(deltas.keySet()), new ArrayList<>(deltas.values()));
+      }
+    }
+
+    @SqlUpdate("INSERT INTO tag_usage_count (tagFQN, usageCount) " +
+            "SELECT tagFQN, count(*) FROM tag_usage GROUP BY tagFQN " +
+            "ON DUPLICATE KEY UPDATE usageCount = VALUES(usageCount)")
+    void reconcileUsageCounts();
+
+    @SqlUpdate("DELETE FROM tag_usage_count WHERE tagFQN NOT IN (SELECT tagFQN FROM tag_usage)")
+    void deleteUnusedUsageCounts();
+
     @SqlQuery("SELECT tu.tagFQN, tu.labelType, tu.state, t.json ->> '$.description' AS description FROM tag_usage tu " +
             "JOIN tag t ON tu.tagFQN = t.fullyQualifiedName WHERE tu.targetFQN = :targetFQN ORDER BY tu.tagFQN")
     List<TagLabel> getTags(@Bind("targetFQN") String targetFQN);
 
-    @SqlQuery("SELECT COUNT(*) FROM tag_usage WHERE tagFQN LIKE CONCAT(:fqnPrefix, '%')")
+    @SqlQuery("SELECT tu.targetFQN, tu.tagFQN, tu.labelType, tu.state, t.json ->> '$.description' AS description " +
+            "FROM tag_usage tu JOIN tag t ON tu.tagFQN = t.fullyQualifiedName WHERE tu.targetFQN IN (<targetFQNs>) " +
+            "ORDER BY tu.tagFQN")
+    @RegisterRowMapper(TargetTagLabelMapper.class)
+    List<Pair<String, TagLabel>> getTagsBatch(@BindList("targetFQNs") List<String> targetFQNs);
+
+    /**
+     * Get tags for a list of entities or fields identified by {@code targetFQNs} using a single query. The map
+     * returned has an entry only for the targets that have tags.
+     */
+    default Map<String, List<TagLabel>> getTags(List<String> targetFQNs) {
+      Map<String, List<TagLabel>> tagMap = new HashMap<>();
+      if (targetFQNs == null || targetFQNs.isEmpty()) {
+        return tagMap;
+      }
+      for (Pair<String, TagLabel> pair : getTagsBatch(targetFQNs)) {
+        tagMap.computeIfAbsent(pair.getLeft(), k -> new ArrayList<>()).add(pair.getRight());
+      }
+      return tagMap;
+    }
+
+    @SqlQuery("SELECT COALESCE(SUM(usageCount), 0) FROM tag_usage_count WHERE tagFQN LIKE CONCAT(:fqnPrefix, '%')")
     int getTagCount(@Bind("fqnPrefix") String fqnPrefix);
 
     @SqlUpdate("DELETE FROM tag_usage where targetFQN = :targetFQN")
@@ -720,6 +1069,15 @@ public interface CollectionDAO {
                 .withDescription(r.getString("description"));
       }
     }
+
+    class TargetTagLabelMapper implements RowMapper<Pair<String, TagLabel>> {
+      private final TagLabelMapper tagLabelMapper = new TagLabelMapper();
+
+      @Override
+      public Pair<String, TagLabel> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getString("targetFQN"), tagLabelMapper.map(r, ctx));
+      }
+    }
   }
 
   interface TeamDAO extends EntityDAO<Team> {
@@ -748,6 +1106,9 @@ public interface CollectionDAO {
     @Override
     default String getNameColumn() { return "fullyQualifiedName"; }
 
+    @Override
+    default String getParentTableName() { return "messaging_service_entity"; }
+
     @Override
     default EntityReference getEntityReference(Topic entity) {
       return new TopicEntityInterface(entity).getEntityReference();
@@ -756,25 +1117,41 @@ public interface CollectionDAO {
 
   @RegisterRowMapper(UsageDetailsMapper.class)
   interface UsageDAO {
-    @SqlUpdate("INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) " +
+    /**
+     * Insert daily usage of an entity. Weekly and monthly counts are computed incrementally from the latest earlier
+     * usage record of the entity by adding the daily count and subtracting the daily counts that fall out of the
+     * window, instead of summing the daily counts of the whole window. When usage is reported every day, a single
+     * record falls out of each window.
+     */
+    String INSERT_USAGE = "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) " +
             "SELECT :date, :id, :entityType, :count1, " +
-            "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - " +
-            "INTERVAL 6 DAY)), " +
-            "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - " +
-            "INTERVAL 29 DAY))")
+            ":count1 + COALESCE(prev.prevCount7 - (SELECT COALESCE(SUM(count1), 0) FROM entity_usage " +
+            "WHERE id = :id AND usageDate BETWEEN prev.prevDate - INTERVAL 6 DAY AND :date - INTERVAL 7 DAY), 0), " +
+            ":count1 + COALESCE(prev.prevCount30 - (SELECT COALESCE(SUM(count1), 0) FROM entity_usage " +
+            "WHERE id = :id AND usageDate BETWEEN prev.prevDate - INTERVAL 29 DAY AND :date - INTERVAL 30 DAY), 0) " +
+            "FROM (SELECT 1) today LEFT JOIN (" +
+            "SELECT usageDate AS prevDate, count7 AS prevCount7, count30 AS prevCount30 FROM entity_usage " +
+            "WHERE id = :id AND usageDate < :date ORDER BY usageDate DESC LIMIT 1" +
+            ") prev ON TRUE";
+
+    String UPDATE_USAGE = " ON DUPLICATE KEY UPDATE count1 = count1 + :count1, count7 = count7 + :count1, " +
+            "count30 = count30 + :count1";
+
+    @SqlUpdate(INSERT_USAGE)
     void insert(@Bind("date") String date, @Bind("id") String id, @Bind("entityType") String entityType, @Bind(
             "count1") int count1);
 
-    @SqlUpdate("INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) " +
-            "SELECT :date, :id, :entityType, :count1, " +
-            "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - " +
-            "INTERVAL 6 DAY)), " +
-            "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - " +
-            "INTERVAL 29 DAY)) " +
-            "ON DUPLICATE KEY UPDATE count1 = count1 + :count1, count7 = count7 + :count1, count30 = count30 + :count1")
+    @SqlUpdate(INSERT_USAGE + UPDATE_USAGE)
     void insertOrUpdateCount(@Bind("date") String date, @Bind("id") String id, @Bind("entityType") String entityType,
                              @Bind("count1") int count1);
 
+    /**
+     * Add daily usage of many entities. Usage of an entity on a date must be added after its usage on earlier dates.
+     */
+    @SqlBatch(INSERT_USAGE + UPDATE_USAGE)
+    void insertOrUpdateCountBatch(@Bind("date") List<String> dates, @Bind("id") List<String> ids,
+                                  @Bind("entityType") String entityType, @Bind("count1") List<Integer> counts);
+
     @SqlQuery("SELECT id, usageDate, entityType, count1, count7, count30, " +
             "percentile1, percentile7, percentile30 FROM entity_usage " +
             "WHERE id = :id AND usageDate >= :date - INTERVAL :days DAY AND usageDate <= :date ORDER BY usageDate DESC")
@@ -788,27 +1165,77 @@ public interface CollectionDAO {
             "WHERE usageDate IN (SELECT MAX(usageDate) FROM entity_usage WHERE id = :id) AND id = :id")
     UsageDetails getLatestUsage(@Bind("id") String id);
 
+    /**
+     * Get latest usage record for each of the given entities
+     **/
+    @SqlQuery("SELECT u.id, u.usageDate, u.entityType, u.count1, u.count7, u.count30, " +
+            "u.percentile1, u.percentile7, u.percentile30 FROM entity_usage u JOIN (" +
+            "SELECT id, MAX(usageDate) AS usageDate FROM entity_usage WHERE id IN (<ids>) GROUP BY id" +
+            ") latest ON u.id = latest.id AND u.usageDate = latest.usageDate")
+    @RegisterRowMapper(EntityUsageDetailsMapper.class)
+    List<Pair<String, UsageDetails>> getLatestUsageBatch(@BindList("ids") List<String> ids);
+
+    default Map<String, UsageDetails> getLatestUsage(List<String> ids) {
+      Map<String, UsageDetails> usageMap = new HashMap<>();
+      if (ids == null || ids.isEmpty()) {
+        return usageMap;
+      }
+      getLatestUsageBatch(ids).forEach(pair -> usageMap.put(pair.getLeft(), pair.getRight()));
+      return usageMap;
+    }
+
     @SqlUpdate("DELETE FROM entity_usage WHERE id = :id")
     int delete(@Bind("id") String id);
 
+    @SqlQuery("SELECT DISTINCT entityType FROM entity_usage WHERE usageDate = :date")
+    List<String> listEntityTypes(@Bind("date") String date);
+
     /**
-     * Note not using in following percentile computation PERCENT_RANK function as unit tests use mysql5.7 and it does
-     * not have window function
+     * Stream the usage counts of all the entities of a type on a date to the consumer. Rows are read with a single
+     * scan and are not buffered by the MySQL driver.
      */
-    @SqlUpdate("UPDATE entity_usage u JOIN ( " +
-            "SELECT u1.id, " +
-            "(SELECT COUNT(*) FROM entity_usage as u2 WHERE u2.count1 <  u1.count1 AND u2.entityType = :entityType " +
-            "AND u2.usageDate = :date) as p1, " +
-            "(SELECT COUNT(*) FROM entity_usage as u3 WHERE u3.count7 <  u1.count7 AND u3.entityType = :entityType " +
-            "AND u3.usageDate = :date) as p7, " +
-            "(SELECT COUNT(*) FROM entity_usage as u4 WHERE u4.count30 <  u1.count30 AND u4.entityType = :entityType " +
-            "AND u4.usageDate = :date) as p30, " +
-            "(SELECT COUNT(*) FROM entity_usage WHERE entityType = :entityType AND usageDate = :date) as total " +
-            "FROM entity_usage u1 WHERE u1.entityType = :entityType AND u1.usageDate = :date" +
-            ") vals ON u.id = vals.id AND usageDate = :date " +
-            "SET u.percentile1 = ROUND(100 * p1/total, 2), u.percentile7 = ROUND(p7 * 100/total, 2), u.percentile30 =" +
-            " ROUND(p30*100/total, 2)")
-    void computePercentile(@Bind("entityType") String entityType, @Bind("date") String date);
+    @SqlQuery("SELECT id, count1, count7, count30 FROM entity_usage WHERE entityType = :entityType AND " +
+            "usageDate = :date")
+    @FetchSize(Integer.MIN_VALUE)
+    @RegisterRowMapper(UsageCountMapper.class)
+    void listUsageCounts(@Bind("entityType") String entityType, @Bind("date") String date,
+                         Consumer<UsageCount> consumer);
+
+    @SqlBatch("UPDATE entity_usage SET percentile1 = :percentile1, percentile7 = :percentile7, " +
+            "percentile30 = :percentile30 WHERE usageDate = :date AND id = :id")
+    void updatePercentiles(@Bind("date") String date, @Bind("id") List<String> ids,
+                           @Bind("percentile1") List<Integer> percentile1s,
+                           @Bind("percentile7") List<Integer> percentile7s,
+                           @Bind("percentile30") List<Integer> percentile30s);
+
+    class UsageCount {
+      private final String id;
+      private final int count1;
+      private final int count7;
+      private final int count30;
+
+      public UsageCount(String id, int count1, int count7, int count30) {
+        this.id = id;
+        this.count1 = count1;
+        this.count7 = count7;
+        this.count30 = count30;
+      }
+
+      public String getId() { return id; }
+
+      public int getCount1() { return count1; }
+
+      public int getCount7() { return count7; }
+
+      public int getCount30() { return count30; }
+    }
+
+    class UsageCountMapper implements RowMapper<UsageCount> {
+      @Override
+      public UsageCount map(ResultSet r, StatementContext ctx) throws SQLException {
+        return new UsageCount(r.getString("id"), r.getInt("count1"), r.getInt("count7"), r.getInt("count30"));
+      }
+    }
 
     class UsageDetailsMapper implements RowMapper<UsageDetails> {
       @Override
@@ -823,6 +1250,15 @@ public interface CollectionDAO {
                 .withWeeklyStats(weeklyStats).withMonthlyStats(monthlyStats);
       }
     }
+
+    class EntityUsageDetailsMapper implements RowMapper<Pair<String, UsageDetails>> {
+      private final UsageDetailsMapper usageDetailsMapper = new UsageDetailsMapper();
+
+      @Override
+      public Pair<String, UsageDetails> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getString("id"), usageDetailsMapper.map(r, ctx));
+      }
+    }
   }
 
   interface UserDAO extends EntityDAO<User> {
@@ -907,27 +1343,264 @@ public interface CollectionDAO {
     @SqlUpdate("INSERT INTO change_event (json) VALUES (:json)")
     void insert(@Bind("json") String json);
 
-    default List<String> list(String eventType, List<String> entityTypes, long dateTime) {
-      if (entityTypes == null || entityTypes.isEmpty()) {
-        return listWithoutEntityFilter(eventType, dateTime);
+    @SqlBatch("INSERT INTO change_event (json) VALUES (:json)")
+    void insert(@Bind("json") List<String> jsons);
+
+    // Filter events by time and entity types requested for each event type
+    String EVENT_FILTER = "eventTime >= :dateTime AND (" +
+            "(eventType = 'entityCreated' AND (:allCreated OR entityType IN (<createdTypes>))) OR " +
+            "(eventType = 'entityUpdated' AND (:allUpdated OR entityType IN (<updatedTypes>))) OR " +
+            "(eventType = 'entityDeleted' AND (:allDeleted OR entityType IN (<deletedTypes>)))) ";
+
+    /**
+     * Events from the given time in milliseconds for the entity types requested for each event type, where null entity
+     * types returns events for all the entities. Events are ordered by (eventTime, id) in descending order and are
+     * returned as pairs of event position "eventTime_id", which is used as pagination cursor, and event JSON.
+     */
+    default List<Pair<String, String>> listAfter(long dateTime, List<String> createdTypes, List<String> updatedTypes,
+                                                 List<String> deletedTypes, long afterTime, long afterId, int limit) {
+      return listAfter(dateTime, createdTypes == null, nonNull(createdTypes), updatedTypes == null,
+              nonNull(updatedTypes), deletedTypes == null, nonNull(deletedTypes), afterTime, afterId, limit);
+    }
+
+    default List<Pair<String, String>> listBefore(long dateTime, List<String> createdTypes, List<String> updatedTypes,
+                                                  List<String> deletedTypes, long beforeTime, long beforeId,
+                                                  int limit) {
+      return listBefore(dateTime, createdTypes == null, nonNull(createdTypes), updatedTypes == null,
+              nonNull(updatedTypes), deletedTypes == null, nonNull(deletedTypes), beforeTime, beforeId, limit);
+    }
+
+    @SqlQuery("SELECT CONCAT(eventTime, '_', id) AS position, json FROM change_event WHERE " + EVENT_FILTER +
+            "AND (eventTime < :afterTime OR (eventTime = :afterTime AND id < :afterId)) " +
+            "ORDER BY eventTime DESC, id DESC " +
+            "LIMIT :limit")
+    @RegisterRowMapper(ChangeEventMapper.class)
+    List<Pair<String, String>> listAfter(@Bind("dateTime") long dateTime,
+                                         @Bind("allCreated") boolean allCreated,
+                                         @BindList(value = "createdTypes", onEmpty = NULL_STRING)
+                                                 List<String> createdTypes,
+                                         @Bind("allUpdated") boolean allUpdated,
+                                         @BindList(value = "updatedTypes", onEmpty = NULL_STRING)
+                                                 List<String> updatedTypes,
+                                         @Bind("allDeleted") boolean allDeleted,
+                                         @BindList(value = "deletedTypes", onEmpty = NULL_STRING)
+                                                 List<String> deletedTypes,
+                                         @Bind("afterTime") long afterTime,
+                                         @Bind("afterId") long afterId,
+                                         @Bind("limit") int limit);
+
+    @SqlQuery("SELECT position, json FROM (" +
+            "SELECT CONCAT(eventTime, '_', id) AS position, json, eventTime, id FROM change_event WHERE " +
+            EVENT_FILTER +
+            "AND (eventTime > :beforeTime OR (eventTime = :beforeTime AND id > :beforeId)) " +
+            "ORDER BY eventTime, id " +
+            "LIMIT :limit" +
+            ") first_rows_subquery ORDER BY eventTime DESC, id DESC")
+    @RegisterRowMapper(ChangeEventMapper.class)
+    List<Pair<String, String>> listBefore(@Bind("dateTime") long dateTime,
+                                          @Bind("allCreated") boolean allCreated,
+                                          @BindList(value = "createdTypes", onEmpty = NULL_STRING)
+                                                  List<String> createdTypes,
+                                          @Bind("allUpdated") boolean allUpdated,
+                                          @BindList(value = "updatedTypes", onEmpty = NULL_STRING)
+                                                  List<String> updatedTypes,
+                                          @Bind("allDeleted") boolean allDeleted,
+                                          @BindList(value = "deletedTypes", onEmpty = NULL_STRING)
+                                                  List<String> deletedTypes,
+                                          @Bind("beforeTime") long beforeTime,
+                                          @Bind("beforeId") long beforeId,
+                                          @Bind("limit") int limit);
+
+    static List<String> nonNull(List<String> entityTypes) {
+      return entityTypes == null ? Collections.emptyList() : entityTypes;
+    }
+
+    class ChangeEventMapper implements RowMapper<Pair<String, String>> {
+      @Override
+      public Pair<String, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("position"), rs.getString("json"));
+      }
+    }
+  }
+
+  interface EventOutboxDAO {
+    @SqlBatch("INSERT INTO event_outbox (json) VALUES (:json)")
+    void insert(@Bind("json") List<String> jsons);
+
+    @SqlQuery("SELECT id, json FROM event_outbox WHERE id > :after ORDER BY id LIMIT :limit")
+    @RegisterRowMapper(EventRecordMapper.class)
+    List<EventRecord> listAfter(@Bind("after") long after, @Bind("limit") int limit);
+
+    @SqlQuery("SELECT id, json FROM event_outbox WHERE id IN (<ids>) ORDER BY id")
+    @RegisterRowMapper(EventRecordMapper.class)
+    List<EventRecord> listByIds(@BindList("ids") List<Long> ids);
+
+    @SqlQuery("SELECT COALESCE(MAX(id), 0) FROM event_outbox")
+    long getLastId();
+
+    @SqlUpdate("DELETE FROM event_outbox WHERE id <= :lastId")
+    int deleteUpTo(@Bind("lastId") long lastId);
+
+    @SqlQuery("SELECT lastId FROM event_outbox_cursor WHERE handler = :handler")
+    Long getCursor(@Bind("handler") String handler);
+
+    @SqlUpdate("INSERT INTO event_outbox_cursor (handler, lastId) VALUES (:handler, :lastId) " +
+            "ON DUPLICATE KEY UPDATE lastId = :lastId")
+    void updateCursor(@Bind("handler") String handler, @Bind("lastId") long lastId);
+
+    class EventRecordMapper implements RowMapper<EventRecord> {
+      @Override
+      public EventRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
+        try {
+          return JsonUtils.readValue(rs.getString("json"), EventRecord.class).withId(rs.getLong("id"));
+        } catch (IOException e) {
+          throw new UnableToProduceResultException(e, ctx);
+        }
+      }
+    }
+  }
+
+  /**
+   * Transitive closure of the lineage graph. For every entity that is upstream of another entity, directly or
+   * through other entities, stores the pair along with the length of the shortest lineage path between them. The
+   * closure is updated when a lineage edge is added or an entity with lineage is deleted, so that all the entities
+   * upstream or downstream of an entity at any depth are found with a single indexed query.
+   */
+  interface LineageClosureDAO {
+    /**
+     * Add the closure of a new edge fromId --> toId. Every ancestor of fromId, including fromId, is now upstream
+     * of every descendant of toId, including toId.
+     */
+    @SqlUpdate("INSERT INTO lineage_closure (ancestorId, descendantId, ancestorEntity, descendantEntity, depth) " +
+            "SELECT a.id, d.id, a.entity, d.entity, a.pathDepth + d.pathDepth + 1 FROM " +
+            "(SELECT ancestorId AS id, ancestorEntity AS entity, depth AS pathDepth FROM lineage_closure " +
+            "WHERE descendantId = :fromId UNION ALL SELECT :fromId, :fromEntity, 0) a, " +
+            "(SELECT descendantId AS id, descendantEntity AS entity, depth AS pathDepth FROM lineage_closure " +
+            "WHERE ancestorId = :toId UNION ALL SELECT :toId, :toEntity, 0) d " +
+            "WHERE a.id <> d.id " + // Skip cycles back to the same entity
+            "ON DUPLICATE KEY UPDATE depth = LEAST(lineage_closure.depth, VALUES(depth))")
+    void addEdge(@Bind("fromId") String fromId, @Bind("fromEntity") String fromEntity,
+                 @Bind("toId") String toId, @Bind("toEntity") String toEntity);
+
+    @SqlBatch("INSERT INTO lineage_closure (ancestorId, descendantId, ancestorEntity, descendantEntity, depth) " +
+            "VALUES (:ancestorId, :descendantId, :ancestorEntity, :descendantEntity, :depth) " +
+            "ON DUPLICATE KEY UPDATE depth = LEAST(depth, VALUES(depth))")
+    void insertBatch(@Bind("ancestorId") String ancestorId, @Bind("ancestorEntity") String ancestorEntity,
+                     @Bind("descendantId") List<String> descendantIds,
+                     @Bind("descendantEntity") List<String> descendantEntities,
+                     @Bind("depth") List<Integer> depths);
+
+    @SqlQuery("SELECT count(*) FROM lineage_closure WHERE ancestorId = :id AND depth <= :depth")
+    int countDownstream(@Bind("id") String id, @Bind("depth") int depth);
+
+    @SqlQuery("SELECT count(*) FROM lineage_closure WHERE descendantId = :id AND depth <= :depth")
+    int countUpstream(@Bind("id") String id, @Bind("depth") int depth);
+
+    @SqlQuery("SELECT descendantId AS toId, descendantEntity AS toEntity FROM lineage_closure " +
+            "WHERE ancestorId = :id AND depth <= :depth ORDER BY depth, descendantId")
+    @RegisterRowMapper(ToEntityReferenceMapper.class)
+    List<EntityReference> listDownstream(@Bind("id") String id, @Bind("depth") int depth);
+
+    @SqlQuery("SELECT ancestorId AS fromId, ancestorEntity AS fromEntity FROM lineage_closure " +
+            "WHERE descendantId = :id AND depth <= :depth ORDER BY depth, ancestorId")
+    @RegisterRowMapper(FromEntityReferenceMapper.class)
+    List<EntityReference> listUpstream(@Bind("id") String id, @Bind("depth") int depth);
+
+    @SqlQuery("SELECT fromId, toId, toEntity FROM entity_relationship " +
+            "WHERE fromId IN (<fromIds>) AND relation = :relation")
+    @RegisterRowMapper(EntityRelationshipDAO.ToEntityReferenceBatchMapper.class)
+    List<Pair<String, EntityReference>> findEdgesFrom(@BindList("fromIds") List<String> fromIds,
+                                                     @Bind("relation") int relation);
+
+    @SqlQuery("SELECT fromId, toId, fromEntity, toEntity FROM entity_relationship WHERE relation = :relation")
+    @RegisterRowMapper(EdgeMapper.class)
+    List<Pair<EntityReference, EntityReference>> findEdges(@Bind("relation") int relation);
+
+    @SqlQuery("SELECT EXISTS (SELECT * FROM lineage_closure)")
+    boolean exists();
+
+    @SqlQuery("SELECT EXISTS (SELECT * FROM entity_relationship WHERE relation = :relation)")
+    boolean edgesExist(@Bind("relation") int relation);
+
+    @SqlUpdate("DELETE FROM lineage_closure WHERE ancestorId = :id")
+    void deleteDownstream(@Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM lineage_closure WHERE ancestorId = :id OR descendantId = :id")
+    void deleteAll(@Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM lineage_closure")
+    void deleteAll();
+
+    /**
+     * Remove a deleted entity from the closure. Call this after the relationships of the entity are deleted. Paths
+     * through the deleted entity no longer exist, so the closure of each of its ancestors is computed again.
+     */
+    default void deleteEntity(String id) {
+      List<EntityReference> ancestors = listUpstream(id, Integer.MAX_VALUE);
+      deleteAll(id);
+      for (EntityReference ancestor : ancestors) {
+        deleteDownstream(ancestor.getId().toString());
+        insertClosure(ancestor, this::findEdgesFrom);
+      }
+    }
+
+    /**
+     * Compute the closure again from all the lineage edges. Used to build the closure for the lineage added before
+     * the closure was maintained.
+     */
+    default void rebuild() {
+      Map<String, List<EntityReference>> downstream = new HashMap<>();
+      Map<String, EntityReference> ancestors = new HashMap<>();
+      for (Pair<EntityReference, EntityReference> edge : findEdges(Relationship.UPSTREAM.ordinal())) {
+        String fromId = edge.getLeft().getId().toString();
+        downstream.computeIfAbsent(fromId, k -> new ArrayList<>()).add(edge.getRight());
+        ancestors.put(fromId, edge.getLeft());
+      }
+      deleteAll();
+      for (EntityReference ancestor : ancestors.values()) {
+        insertClosure(ancestor, (fromIds, relation) -> {
+          List<Pair<String, EntityReference>> edges = new ArrayList<>();
+          fromIds.forEach(fromId -> downstream.getOrDefault(fromId, Collections.emptyList())
+                  .forEach(to -> edges.add(Pair.of(fromId, to))));
+          return edges;
+        });
+      }
+    }
+
+    /**
+     * Breadth first traversal downstream from the ancestor to insert the closure rows of the ancestor
+     */
+    default void insertClosure(EntityReference ancestor,
+                               BiFunction<List<String>, Integer, List<Pair<String, EntityReference>>> edgesFrom) {
+      String ancestorId = ancestor.getId().toString();
+      Set<String> visited = new HashSet<>(Collections.singleton(ancestorId));
+      List<String> descendantIds = new ArrayList<>();
+      List<String> descendantEntities = new ArrayList<>();
+      List<Integer> depths = new ArrayList<>();
+      List<String> frontier = Collections.singletonList(ancestorId);
+      for (int depth = 1; !frontier.isEmpty(); depth++) {
+        List<String> nextFrontier = new ArrayList<>();
+        for (Pair<String, EntityReference> edge : edgesFrom.apply(frontier, Relationship.UPSTREAM.ordinal())) {
+          String descendantId = edge.getRight().getId().toString();
+          if (visited.add(descendantId)) {
+            descendantIds.add(descendantId);
+            descendantEntities.add(edge.getRight().getType());
+            depths.add(depth);
+            nextFrontier.add(descendantId);
+          }
+        }
+        frontier = nextFrontier;
       }
-      return listWithEntityFilter(eventType, entityTypes, dateTime);
-    }
-
-    @SqlQuery("SELECT json FROM change_event WHERE " +
-            "eventType = :eventType AND " +
-            "(entityType IN (<entityTypes>)) AND " +
-            "dateTime >= :dateTime " +
-            "ORDER BY dateTime DESC")
-    List<String> listWithEntityFilter(@Bind("eventType") String eventType,
-                      @BindList("entityTypes") List<String> entityTypes,
-                      @Bind("dateTime") long dateTime);
-
-    @SqlQuery("SELECT json FROM change_event WHERE " +
-            "eventType = :eventType AND " +
-            "dateTime >= :dateTime " +
-            "ORDER BY dateTime DESC")
-    List<String> listWithoutEntityFilter(@Bind("eventType") String eventType,
-                                @Bind("dateTime") long dateTime);
+      if (!descendantIds.isEmpty()) {
+        insertBatch(ancestorId, ancestor.getType(), descendantIds, descendantEntities, depths);
+      }
+    }
+
+    class EdgeMapper implements RowMapper<Pair<EntityReference, EntityReference>> {
+      @Override
+      public Pair<EntityReference, EntityReference> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(new FromEntityReferenceMapper().map(rs, ctx), new ToEntityReferenceMapper().map(rs, ctx));
+      }
+    }
   }
 }
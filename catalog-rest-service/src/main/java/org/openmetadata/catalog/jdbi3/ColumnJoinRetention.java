@@ -0,0 +1,43 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes the daily column join counts that fall out of the 30 day window reported in table joins, so that adding
+ * joins never has to rewrite or prune the stored counts. Runs every {@link #INTERVAL_SECONDS} as a
+ * {@link PeriodicTask}.
+ */
+public class ColumnJoinRetention implements Runnable {
+  private static final Logger LOG = LoggerFactory.getLogger(ColumnJoinRetention.class);
+  public static final long INTERVAL_SECONDS = 3600;
+
+  private final TableRepository tableRepository;
+
+  public ColumnJoinRetention(Jdbi jdbi) {
+    this.tableRepository = new TableRepository(jdbi.onDemand(CollectionDAO.class));
+  }
+
+  @Override
+  public void run() {
+    try {
+      tableRepository.deleteExpiredJoins();
+    } catch (Exception e) {
+      LOG.warn("Failed to delete expired column join counts", e);
+    }
+  }
+}
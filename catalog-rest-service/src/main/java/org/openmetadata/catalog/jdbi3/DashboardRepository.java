@@ -14,30 +14,39 @@
 package org.openmetadata.catalog.jdbi3;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Dashboard;
 import org.openmetadata.catalog.entity.services.DashboardService;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.jdbi3.DashboardServiceRepository.DashboardServiceEntityInterface;
 import org.openmetadata.catalog.resources.dashboards.DashboardResource;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.type.UsageDetails;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
 import org.openmetadata.catalog.util.JsonUtils;
+import org.openmetadata.catalog.util.StreamingResultList;
 
+import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
 import java.net.URI;
+import java.security.GeneralSecurityException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class DashboardRepository extends EntityRepository<Dashboard> {
   private static final Fields DASHBOARD_UPDATE_FIELDS = new Fields(DashboardResource.FIELD_LIST,
@@ -68,6 +77,7 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
     }
     dao.dashboardDAO().delete(id);
     dao.relationshipDAO().deleteAll(id.toString());
+    dao.lineageClosureDAO().deleteEntity(id.toString());
   }
 
   @Transaction
@@ -88,6 +98,36 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
     return dashboard;
   }
 
+  @Override
+  public List<Dashboard> setFields(List<Dashboard> dashboards, Fields fields) throws IOException {
+    if (dashboards.isEmpty()) {
+      return dashboards;
+    }
+    // Get the relationships for all the dashboards in the page in one query per relationship
+    List<UUID> dashboardIds = dashboards.stream().map(Dashboard::getId).collect(Collectors.toList());
+    Map<UUID, EntityReference> services = getServices(dashboardIds);
+    Map<UUID, EntityReference> owners = fields.contains("owner") ?
+            EntityUtil.populateOwners(dashboardIds, dao.relationshipDAO(), dao.userDAO(), dao.teamDAO()) : null;
+    Map<UUID, List<EntityReference>> followers = fields.contains("followers") ?
+            EntityUtil.getFollowers(dashboardIds, dao.relationshipDAO(), dao.userDAO()) : null;
+    Map<UUID, List<EntityReference>> charts = fields.contains("charts") ? getDashboardCharts(dashboardIds) : null;
+    Map<String, List<TagLabel>> tags = fields.contains("tags") ? dao.tagDAO().getTags(dashboards.stream()
+            .map(Dashboard::getFullyQualifiedName).collect(Collectors.toList())) : null;
+    Map<UUID, UsageDetails> usage = fields.contains("usageSummary") ?
+            EntityUtil.getLatestUsage(dao.usageDAO(), dashboardIds) : null;
+
+    for (Dashboard dashboard : dashboards) {
+      dashboard.setService(services.get(dashboard.getId()));
+      dashboard.setOwner(owners != null ? owners.get(dashboard.getId()) : null);
+      dashboard.setFollowers(followers != null ? followers.get(dashboard.getId()) : null);
+      dashboard.setCharts(charts != null ? charts.get(dashboard.getId()) : null);
+      dashboard.setTags(tags != null ?
+              tags.getOrDefault(dashboard.getFullyQualifiedName(), new ArrayList<>()) : null);
+      dashboard.setUsageSummary(usage != null ? usage.get(dashboard.getId()) : null);
+    }
+    return dashboards;
+  }
+
   @Override
   public void restorePatchAttributes(Dashboard original, Dashboard updated) throws IOException, ParseException {
     // Patch can't make changes to following fields. Ignore the changes
@@ -108,6 +148,30 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
     return ref;
   }
 
+  private Map<UUID, EntityReference> getServices(List<UUID> dashboardIds) throws IOException {
+    List<Pair<String, EntityReference>> result = dao.relationshipDAO().findFromBatch(
+            EntityUtil.toStringList(dashboardIds), Relationship.CONTAINS.ordinal(), Entity.DASHBOARD_SERVICE);
+    List<UUID> serviceIds = result.stream().map(pair -> pair.getRight().getId()).distinct()
+            .collect(Collectors.toList());
+    Map<UUID, DashboardService> dashboardServices = new HashMap<>();
+    dao.dashboardServiceDAO().findEntitiesByIds(serviceIds)
+            .forEach(service -> dashboardServices.put(service.getId(), service));
+
+    Map<UUID, EntityReference> services = new HashMap<>();
+    for (Pair<String, EntityReference> pair : result) {
+      EntityReference ref = pair.getRight();
+      DashboardService service = dashboardServices.get(ref.getId());
+      if (service == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.DASHBOARD_SERVICE,
+                ref.getId()));
+      }
+      ref.setName(service.getName());
+      ref.setDescription(service.getDescription());
+      services.putIfAbsent(UUID.fromString(pair.getLeft()), ref);
+    }
+    return services;
+  }
+
   private void populateService(Dashboard dashboard) throws IOException {
     DashboardService service = getService(dashboard.getService().getId(), dashboard.getService().getType());
     dashboard.setService(new DashboardServiceEntityInterface(service).getEntityReference());
@@ -126,6 +190,7 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
       // TODO remove this
       dao.relationshipDAO().insert(service.getId().toString(), dashboard.getId().toString(), service.getType(),
               Entity.DASHBOARD, Relationship.CONTAINS.ordinal());
+      dao.dashboardDAO().updateParent(dashboard.getId(), service.getId());
       dashboard.setService(service);
     }
   }
@@ -210,13 +275,32 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
     }
     String dashboardId = dashboard.getId().toString();
     List<String> chartIds = dao.relationshipDAO().findTo(dashboardId, Relationship.CONTAINS.ordinal(), Entity.CHART);
-    List<EntityReference> charts = new ArrayList<>();
-    for (String chartId : chartIds) {
-      charts.add(dao.chartDAO().findEntityReferenceById(UUID.fromString(chartId)));
-    }
+    List<EntityReference> charts = dao.chartDAO().getEntityReferences(EntityUtil.toUUIDList(chartIds));
     return charts.isEmpty() ? null : charts;
   }
 
+  public StreamingResultList<EntityReference> listCharts(UriInfo uriInfo, String id, int limitParam, String after)
+          throws IOException, GeneralSecurityException {
+    return listContains(uriInfo, id, Entity.CHART, limitParam, after);
+  }
+
+  private Map<UUID, List<EntityReference>> getDashboardCharts(List<UUID> dashboardIds) throws IOException {
+    List<Pair<String, EntityReference>> result = dao.relationshipDAO().findToBatch(
+            EntityUtil.toStringList(dashboardIds), Relationship.CONTAINS.ordinal(), Entity.CHART);
+    Map<UUID, EntityReference> chartRefs = dao.chartDAO().findEntityReferencesByIds(result.stream()
+            .map(pair -> pair.getRight().getId()).collect(Collectors.toList()));
+    Map<UUID, List<EntityReference>> charts = new HashMap<>();
+    for (Pair<String, EntityReference> pair : result) {
+      EntityReference chart = chartRefs.get(pair.getRight().getId());
+      if (chart == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.CHART,
+                pair.getRight().getId()));
+      }
+      charts.computeIfAbsent(UUID.fromString(pair.getLeft()), k -> new ArrayList<>()).add(chart);
+    }
+    return charts;
+  }
+
   /**
    This method is used to populate the dashboard entity with all details of Chart EntityReference
    Users/Tools can send minimum details required to set relationship as id, type are the only required
@@ -387,7 +471,7 @@ public class DashboardRepository extends EntityRepository<Dashboard> {
 
       List<EntityReference> added = new ArrayList<>();
       List<EntityReference> deleted = new ArrayList<>();
-      recordListChange("charts", origCharts, updatedCharts, added, deleted, EntityUtil.entityReferenceMatch);
+      recordListChange("charts", origCharts, updatedCharts, added, deleted, EntityUtil.entityReferenceKey);
     }
   }
 }
@@ -27,12 +27,14 @@ import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
 import org.openmetadata.catalog.util.JsonUtils;
+import org.openmetadata.catalog.util.StreamingResultList;
 
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
 import java.net.URI;
+import java.security.GeneralSecurityException;
 import java.text.ParseException;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -42,6 +44,7 @@ import static javax.ws.rs.core.Response.Status.CREATED;
 public class DatabaseRepository extends EntityRepository<Database> {
   private static final Fields DATABASE_UPDATE_FIELDS = new Fields(DatabaseResource.FIELD_LIST, "owner");
   private static final Fields DATABASE_PATCH_FIELDS = new Fields(DatabaseResource.FIELD_LIST,"owner,usageSummary");
+  public static final int MAX_TABLES = 1000;
   private final CollectionDAO dao;
 
   public DatabaseRepository(CollectionDAO dao) {
@@ -61,6 +64,7 @@ public class DatabaseRepository extends EntityRepository<Database> {
     }
     dao.databaseDAO().delete(id);
     dao.relationshipDAO().deleteAll(id.toString());
+    dao.lineageClosureDAO().deleteEntity(id.toString());
   }
 
   @Transaction
@@ -98,6 +102,7 @@ public class DatabaseRepository extends EntityRepository<Database> {
   public void storeRelationships(Database database) throws IOException {
     dao.relationshipDAO().insert(database.getService().getId().toString(), database.getId().toString(),
             database.getService().getType(), Entity.DATABASE, Relationship.CONTAINS.ordinal());
+    dao.databaseDAO().updateParent(database.getId(), database.getService().getId());
     EntityUtil.setOwner(dao.relationshipDAO(), database.getId(), Entity.DATABASE, database.getOwner());
   }
 
@@ -106,17 +111,20 @@ public class DatabaseRepository extends EntityRepository<Database> {
             dao.teamDAO()) : null;
   }
 
+  /**
+   * Tables returned with the database are limited to the first {@link #MAX_TABLES} tables. All the tables of a
+   * database are listed page by page using {@link #listTables}.
+   */
   private List<EntityReference> getTables(Database database) throws IOException {
     if (database == null) {
       return null;
     }
-    String databaseId = database.getId().toString();
-    List<String> tableIds = dao.relationshipDAO().findTo(databaseId, Relationship.CONTAINS.ordinal(), Entity.TABLE);
-    List<EntityReference> tables = new ArrayList<>();
-    for (String tableId : tableIds) {
-      tables.add(dao.tableDAO().findEntityReferenceById(UUID.fromString(tableId)));
-    }
-    return tables;
+    return getContains(database.getId().toString(), Entity.TABLE, null, MAX_TABLES);
+  }
+
+  public StreamingResultList<EntityReference> listTables(UriInfo uriInfo, String id, int limitParam, String after)
+          throws IOException, GeneralSecurityException {
+    return listContains(uriInfo, id, Entity.TABLE, limitParam, after);
   }
 
   public Database setFields(Database database, Fields fields) throws IOException {
@@ -0,0 +1,187 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide read-through cache used by {@link EntityDAO#findEntityById} and {@link EntityDAO#findEntityByName}.
+ *
+ * Entities returned from the DAO are mutated by the callers (fields are set, updaters change them in place), hence
+ * the cache holds the stored JSON of an entity keyed by entity type and id, and not the parsed object. Every hit
+ * saves a database round trip and each caller still gets its own copy of the entity. Lookups by name are mapped
+ * to the id of the entity so that {@link #invalidate(String, String)} by id evicts the entity for both lookups.
+ *
+ * A lookup that misses reads the entity from the database and then caches it. When the entity is updated between the
+ * read and the put, the put would cache the JSON from before the update after the update invalidated it. To prevent
+ * this, callers take a {@link #stamp()} before reading from the database and pass it to
+ * {@link #put(String, String, String, String, long)}. Every invalidation records the generation at which the entity
+ * was invalidated, and the put is dropped when the entity was invalidated after the stamp was taken.
+ *
+ * Until {@link #initialize(EntityCacheConfiguration, MetricRegistry)} is called the cache is disabled and all the
+ * lookups go to the database.
+ */
+public final class EntityCache {
+  private static final Logger LOG = LoggerFactory.getLogger(EntityCache.class);
+  private static volatile EntityCache instance;
+
+  private final Cache<String, String> jsonById;
+  private final Cache<String, String> idByName;
+  private final AtomicLong generation = new AtomicLong();
+  /** Generation at which an entity was last invalidated */
+  private final Cache<String, Long> invalidations;
+  /** Highest generation of the invalidations evicted from {@link #invalidations} */
+  private final AtomicLong evictedGeneration = new AtomicLong();
+  private final MetricRegistry metricRegistry;
+  private final Map<String, Meter> hits = new ConcurrentHashMap<>();
+  private final Map<String, Meter> misses = new ConcurrentHashMap<>();
+
+  private EntityCache(EntityCacheConfiguration config, MetricRegistry metricRegistry) {
+    this.jsonById = CacheBuilder.newBuilder().maximumSize(config.getMaxSize())
+            .expireAfterWrite(config.getExpireAfterWriteSecs(), TimeUnit.SECONDS).build();
+    this.idByName = CacheBuilder.newBuilder().maximumSize(config.getMaxSize())
+            .expireAfterWrite(config.getExpireAfterWriteSecs(), TimeUnit.SECONDS).build();
+    // Puts with a stamp older than an evicted invalidation are dropped, so that evicting invalidations is safe
+    this.invalidations = CacheBuilder.newBuilder().maximumSize(config.getMaxSize())
+            .expireAfterWrite(config.getExpireAfterWriteSecs(), TimeUnit.SECONDS)
+            .removalListener((RemovalNotification<String, Long> notification) -> {
+              if (notification.wasEvicted()) {
+                evictedGeneration.accumulateAndGet(notification.getValue(), Math::max);
+              }
+            }).build();
+    this.metricRegistry = metricRegistry;
+  }
+
+  public static void initialize(EntityCacheConfiguration config, MetricRegistry metricRegistry) {
+    if (config == null || !config.isEnabled()) {
+      LOG.info("Entity cache is disabled");
+      instance = null;
+      return;
+    }
+    LOG.info("Initializing entity cache with {}", config);
+    instance = new EntityCache(config, metricRegistry);
+  }
+
+  public static boolean isEnabled() {
+    return instance != null;
+  }
+
+  /** Returns cached JSON of an entity or null when the cache is disabled or the entity is not cached */
+  static String getJsonById(String entityType, String id) {
+    EntityCache cache = instance;
+    if (cache == null) {
+      return null;
+    }
+    String json = cache.jsonById.getIfPresent(key(entityType, id));
+    cache.record(entityType, json != null);
+    return json;
+  }
+
+  /** Returns the id of a cached entity with given name or null when the cache is disabled or the name is not cached */
+  static String getIdByName(String entityType, String name) {
+    EntityCache cache = instance;
+    if (cache == null) {
+      return null;
+    }
+    String id = cache.idByName.getIfPresent(key(entityType, name));
+    if (id == null) {
+      cache.record(entityType, false);
+    }
+    return id;
+  }
+
+  /** Returns the stamp to pass to {@link #put} for an entity read from the database after this call */
+  static long stamp() {
+    EntityCache cache = instance;
+    return cache == null ? 0 : cache.generation.get();
+  }
+
+  /**
+   * Cache JSON of an entity read from the database after the given {@link #stamp()} was taken. JSON is not cached
+   * when the entity was invalidated after the stamp, as it may have been read before the change was stored.
+   */
+  static void put(String entityType, String id, String name, String json, long stamp) {
+    EntityCache cache = instance;
+    if (cache == null || id == null || json == null) {
+      return;
+    }
+    String key = key(entityType, id);
+    if (cache.invalidatedAfter(key, stamp)) {
+      return;
+    }
+    cache.jsonById.put(key, json);
+    // Invalidation between the check above and the put must not leave the JSON in the cache
+    if (cache.invalidatedAfter(key, stamp)) {
+      cache.jsonById.invalidate(key);
+      return;
+    }
+    if (name != null) {
+      cache.idByName.put(key(entityType, name), id);
+    }
+  }
+
+  /** Invalidate an entity. Call it after the change to the entity is stored. */
+  public static void invalidate(String entityType, String id) {
+    EntityCache cache = instance;
+    if (cache != null) {
+      String key = key(entityType, id);
+      cache.invalidations.put(key, cache.generation.incrementAndGet());
+      cache.jsonById.invalidate(key);
+    }
+  }
+
+  static void invalidateName(String entityType, String name) {
+    EntityCache cache = instance;
+    if (cache != null) {
+      cache.idByName.invalidate(key(entityType, name));
+    }
+  }
+
+  public static void invalidateAll() {
+    EntityCache cache = instance;
+    if (cache != null) {
+      cache.jsonById.invalidateAll();
+      cache.idByName.invalidateAll();
+    }
+  }
+
+  private boolean invalidatedAfter(String key, long stamp) {
+    Long invalidated = invalidations.getIfPresent(key);
+    return (invalidated != null && invalidated > stamp) || evictedGeneration.get() > stamp;
+  }
+
+  private void record(String entityType, boolean hit) {
+    if (metricRegistry == null) {
+      return;
+    }
+    Map<String, Meter> meters = hit ? hits : misses;
+    meters.computeIfAbsent(entityType, type ->
+            metricRegistry.meter(MetricRegistry.name(EntityCache.class, type, hit ? "hits" : "misses"))).mark();
+  }
+
+  private static String key(String entityType, String idOrName) {
+    return entityType + ":" + idOrName;
+  }
+}
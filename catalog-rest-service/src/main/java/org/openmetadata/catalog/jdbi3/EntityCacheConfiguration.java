@@ -0,0 +1,59 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import javax.validation.constraints.Min;
+
+public class EntityCacheConfiguration {
+  private boolean enabled = true;
+
+  @Min(1)
+  private long maxSize = 10000;
+
+  @Min(1)
+  private long expireAfterWriteSecs = 60;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public long getExpireAfterWriteSecs() {
+    return expireAfterWriteSecs;
+  }
+
+  public void setExpireAfterWriteSecs(long expireAfterWriteSecs) {
+    this.expireAfterWriteSecs = expireAfterWriteSecs;
+  }
+
+  @Override
+  public String toString() {
+    return "entityCacheConfiguration{" +
+            "enabled=" + enabled +
+            ", maxSize=" + maxSize +
+            ", expireAfterWriteSecs=" + expireAfterWriteSecs +
+            '}';
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.jdbi.v3.core.Jdbi;
+import org.openmetadata.catalog.Entity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recounts the maintained entity counts and tag usage counts from the entity and tag usage tables, so that counts
+ * that drifted from failed or concurrent updates are corrected without counting on every list request. Runs every
+ * {@link #INTERVAL_SECONDS} as a {@link PeriodicTask}.
+ */
+public class EntityCountReconciliation implements Runnable {
+  private static final Logger LOG = LoggerFactory.getLogger(EntityCountReconciliation.class);
+  public static final long INTERVAL_SECONDS = 3600;
+
+  private final CollectionDAO dao;
+
+  public EntityCountReconciliation(Jdbi jdbi) {
+    this.dao = jdbi.onDemand(CollectionDAO.class);
+  }
+
+  @Override
+  public void run() {
+    for (EntityDAO<?> entityDAO : Entity.getEntityDAOs()) {
+      try {
+        entityDAO.reconcileCounts();
+      } catch (Exception e) {
+        LOG.warn("Failed to reconcile entity counts of {}", entityDAO.getTableName(), e);
+      }
+    }
+    try {
+      dao.tagDAO().reconcileUsageCounts();
+      dao.tagDAO().deleteUnusedUsageCounts();
+    } catch (Exception e) {
+      LOG.warn("Failed to reconcile tag usage counts", e);
+    }
+  }
+}
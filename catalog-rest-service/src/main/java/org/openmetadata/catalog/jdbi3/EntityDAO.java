@@ -14,8 +14,12 @@
 package org.openmetadata.catalog.jdbi3;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 import org.openmetadata.catalog.Entity;
@@ -25,12 +29,23 @@ import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.JsonUtils;
 
 import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.openmetadata.catalog.exception.CatalogExceptionMessage.entityNotFound;
 
 public interface EntityDAO<T> {
+  int REFERENCE_BATCH_SIZE = 1000;
+
   /**
    * Methods that need to be overridden by interfaces extending this
    */
@@ -39,22 +54,56 @@ public interface EntityDAO<T> {
   String getNameColumn();
   EntityReference getEntityReference(T entity);
 
+  /**
+   * Table of the parent entity, such as the service of a database or the database of a table, for entities that
+   * store the id of their parent in the indexed parentId column. List queries filter such entities by the name of the
+   * parent using the parentId column. Other entities are filtered by the fully qualified name prefix.
+   */
+  default String getParentTableName() { return null; }
+
+  default String getParentNameColumn() { return "name"; }
+
   /**
    * Common queries for all entities implemented here. Do not override.
    */
   @SqlUpdate("INSERT INTO <table> (json) VALUES (:json)")
   void insert(@Define("table") String table, @Bind("json") String json);
 
+  @SqlBatch("INSERT IGNORE INTO <table> (json) VALUES (:json)")
+  int[] insertBatch(@Define("table") String table, @Bind("json") List<String> jsons);
+
   @SqlUpdate("UPDATE <table> SET  json = :json WHERE id = :id")
   void update(@Define("table") String table, @Bind("id") String id, @Bind("json") String json);
 
   @SqlQuery("SELECT json FROM <table> WHERE id = :id")
   String findById(@Define("table") String table, @Bind("id") String id);
 
+  @SqlQuery("SELECT json FROM <table> WHERE id IN (<ids>)")
+  List<String> findByIds(@Define("table") String table, @BindList("ids") List<String> ids);
+
   @SqlQuery("SELECT json FROM <table> WHERE <nameColumn> = :name")
   String findByName(@Define("table") String table, @Define("nameColumn") String nameColumn,
                     @Bind("name") String name);
 
+  @SqlQuery("SELECT json FROM <table> WHERE <nameColumn> IN (<names>)")
+  List<String> findByNames(@Define("table") String table, @Define("nameColumn") String nameColumn,
+                           @BindList("names") List<String> names);
+
+  // Reference projection reads only the attributes of the entity reference and not the whole entity JSON
+  @SqlQuery("SELECT id, <nameColumn> AS name, json ->> '$.description' AS description, " +
+          "json ->> '$.displayName' AS displayName, json ->> '$.href' AS href FROM <table> WHERE id IN (<ids>)")
+  @RegisterRowMapper(EntityReferenceMapper.class)
+  List<EntityReference> findReferencesByIds(@Define("table") String table, @Define("nameColumn") String nameColumn,
+                                            @BindList("ids") List<String> ids);
+
+  @SqlQuery("SELECT id, <nameColumn> AS name, json ->> '$.description' AS description, " +
+          "json ->> '$.displayName' AS displayName, json ->> '$.href' AS href FROM <table> " +
+          "WHERE <nameColumn> IN (<names>)")
+  @RegisterRowMapper(EntityReferenceMapper.class)
+  List<EntityReference> findReferencesByNames(@Define("table") String table,
+                                              @Define("nameColumn") String nameColumn,
+                                              @BindList("names") List<String> names);
+
   @SqlQuery("SELECT count(*) FROM <table> WHERE " +
           "(<nameColumn> LIKE CONCAT(:fqnPrefix, '.%') OR :fqnPrefix IS NULL)")
   int listCount(@Define("table") String table, @Define("nameColumn") String nameColumn,
@@ -86,6 +135,95 @@ public interface EntityDAO<T> {
                          @Bind("limit") int limit,
                          @Bind("after") String after);
 
+  @SqlQuery("SELECT count(*) FROM <table> e JOIN <parentTable> p ON e.parentId = p.id " +
+          "WHERE p.<parentNameColumn> = :parent")
+  int listCountByParent(@Define("table") String table, @Define("parentTable") String parentTable,
+                        @Define("parentNameColumn") String parentNameColumn, @Bind("parent") String parent);
+
+  @SqlQuery(
+          "SELECT json FROM (" +
+                  "SELECT e.<nameColumn>, e.json FROM <table> e JOIN <parentTable> p ON e.parentId = p.id WHERE " +
+                  "p.<parentNameColumn> = :parent AND " +
+                  "e.<nameColumn> < :before " +
+                  "ORDER BY e.<nameColumn> DESC " +
+                  "LIMIT :limit" +
+                  ") last_rows_subquery ORDER BY <nameColumn>")
+  List<String> listBeforeByParent(@Define("table") String table,
+                                  @Define("nameColumn") String nameColumn,
+                                  @Define("parentTable") String parentTable,
+                                  @Define("parentNameColumn") String parentNameColumn,
+                                  @Bind("parent") String parent,
+                                  @Bind("limit") int limit,
+                                  @Bind("before") String before);
+
+  // Index (parentId, <nameColumn>) makes this a range scan over the entities of the parent
+  @SqlQuery("SELECT e.json FROM <table> e JOIN <parentTable> p ON e.parentId = p.id WHERE " +
+          "p.<parentNameColumn> = :parent AND " +
+          "e.<nameColumn> > :after " +
+          "ORDER BY e.<nameColumn> " +
+          "LIMIT :limit")
+  List<String> listAfterByParent(@Define("table") String table,
+                                 @Define("nameColumn") String nameColumn,
+                                 @Define("parentTable") String parentTable,
+                                 @Define("parentNameColumn") String parentNameColumn,
+                                 @Bind("parent") String parent,
+                                 @Bind("limit") int limit,
+                                 @Bind("after") String after);
+
+  @SqlQuery("SELECT parentId FROM <table> WHERE id = :id")
+  String findParentId(@Define("table") String table, @Bind("id") String id);
+
+  @SqlUpdate("UPDATE <table> SET parentId = :parentId WHERE id = :id")
+  void updateParentId(@Define("table") String table, @Bind("id") String id, @Bind("parentId") String parentId);
+
+  @SqlBatch("UPDATE <table> SET parentId = :parentId WHERE id = :id")
+  void updateParentIds(@Define("table") String table, @Bind("id") List<String> ids,
+                       @Bind("parentId") List<String> parentIds);
+
+  //
+  // Counts of entities of a type, maintained when entities are created and deleted and reconciled periodically with
+  // the entity table by EntityCountReconciliation. Count with parentId '' is the count of all the entities.
+  //
+  @SqlUpdate("INSERT INTO entity_count (entityType, parentId, entityCount) VALUES (:entityType, :parentId, :delta) " +
+          "ON DUPLICATE KEY UPDATE entityCount = entityCount + VALUES(entityCount)")
+  void addCount(@Bind("entityType") String entityType, @Bind("parentId") String parentId, @Bind("delta") int delta);
+
+  @SqlBatch("INSERT INTO entity_count (entityType, parentId, entityCount) VALUES (:entityType, :parentId, :delta) " +
+          "ON DUPLICATE KEY UPDATE entityCount = entityCount + VALUES(entityCount)")
+  void addCounts(@Bind("entityType") String entityType, @Bind("parentId") List<String> parentIds,
+                 @Bind("delta") List<Integer> deltas);
+
+  @SqlQuery("SELECT entityCount FROM entity_count WHERE entityType = :entityType AND parentId = ''")
+  Integer getCount(@Bind("entityType") String entityType);
+
+  @SqlQuery("SELECT c.entityCount FROM entity_count c JOIN <parentTable> p ON c.parentId = p.id " +
+          "WHERE c.entityType = :entityType AND p.<parentNameColumn> = :parent")
+  Integer getCountByParent(@Define("parentTable") String parentTable,
+                           @Define("parentNameColumn") String parentNameColumn,
+                           @Bind("entityType") String entityType, @Bind("parent") String parent);
+
+  @SqlUpdate("INSERT INTO entity_count (entityType, parentId, entityCount) " +
+          "SELECT :entityType, '', count(*) FROM <table> " +
+          "ON DUPLICATE KEY UPDATE entityCount = VALUES(entityCount)")
+  void reconcileCount(@Define("table") String table, @Bind("entityType") String entityType);
+
+  @SqlUpdate("INSERT INTO entity_count (entityType, parentId, entityCount) " +
+          "SELECT :entityType, parentId, count(*) FROM <table> WHERE parentId IS NOT NULL GROUP BY parentId " +
+          "ON DUPLICATE KEY UPDATE entityCount = VALUES(entityCount)")
+  void reconcileParentCounts(@Define("table") String table, @Bind("entityType") String entityType);
+
+  @SqlUpdate("DELETE FROM entity_count WHERE entityType = :entityType AND parentId <> '' AND " +
+          "parentId NOT IN (SELECT parentId FROM <table> WHERE parentId IS NOT NULL)")
+  void deleteEmptyParentCounts(@Define("table") String table, @Bind("entityType") String entityType);
+
+  @SqlQuery("SELECT CONCAT(updatedAt, '_', id) AS position, json FROM <table> " +
+          "WHERE updatedAt > :afterTime OR (updatedAt = :afterTime AND id > :afterId) " +
+          "ORDER BY updatedAt, id " +
+          "LIMIT :limit")
+  @RegisterRowMapper(PositionMapper.class)
+  List<Pair<String, String>> listUpdatedAfter(@Define("table") String table, @Bind("afterTime") String afterTime,
+                                              @Bind("afterId") String afterId, @Bind("limit") int limit);
+
   @SqlQuery("SELECT EXISTS (SELECT * FROM <table> WHERE id = :id)")
   boolean exists(@Define("table") String table, @Bind("id") String id);
 
@@ -96,45 +234,182 @@ public interface EntityDAO<T> {
    * Default methods that interfaces with implementation. Don't override
    */
   default void insert(T entity) throws JsonProcessingException {
-    insert(getTableName(), JsonUtils.pojoToJson(entity));
+    insertJson(JsonUtils.pojoToJson(entity));
   }
 
-  default void update(UUID id, String json) { update(getTableName(), id.toString(), json); }
+  default void insertJson(String json) {
+    insert(getTableName(), json);
+    addCount(getEntityType(), "", 1);
+  }
+
+  /**
+   * Insert JSON documents of a batch of entities using a batch query. Returns for each entity true if it was inserted
+   * and false if an entity with the same id or name already exists.
+   */
+  default boolean[] insertAll(List<String> jsons) {
+    boolean[] inserted = new boolean[jsons.size()];
+    if (jsons.isEmpty()) {
+      return inserted;
+    }
+    int[] counts = insertBatch(getTableName(), jsons);
+    int insertedCount = 0;
+    for (int i = 0; i < counts.length; i++) {
+      inserted[i] = counts[i] > 0;
+      insertedCount += inserted[i] ? 1 : 0;
+    }
+    if (insertedCount > 0) {
+      addCount(getEntityType(), "", insertedCount);
+    }
+    return inserted;
+  }
+
+  default void update(UUID id, String json) {
+    update(getTableName(), id.toString(), json);
+    EntityCache.invalidate(getEntityType(), id.toString());
+  }
+
+  default String getEntityType() {
+    return Entity.getEntityNameFromClass(getEntityClass());
+  }
 
   default T findEntityById(UUID id) throws IOException {
     Class<T> clz = getEntityClass();
-    String json = findById(getTableName(), id.toString());
+    String entityType = getEntityType();
+    String json = EntityCache.getJsonById(entityType, id.toString());
+    if (json == null) {
+      long stamp = EntityCache.stamp();
+      json = findById(getTableName(), id.toString());
+      EntityCache.put(entityType, id.toString(), null, json, stamp);
+    }
     T entity = null;
     if (json != null) {
       entity = JsonUtils.readValue(json, clz);
     }
     if (entity == null) {
-      String entityName = Entity.getEntityNameFromClass(clz);
-      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityName, id));
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, id));
     }
     return entity;
   }
 
   default T findEntityByName(String fqn) throws IOException {
     Class<T> clz = getEntityClass();
-    String json = findByName(getTableName(), getNameColumn(), fqn);
+    String entityType = getEntityType();
+    String id = EntityCache.getIdByName(entityType, fqn);
+    String json = id != null ? EntityCache.getJsonById(entityType, id) : null;
+    if (json != null) {
+      return JsonUtils.readValue(json, clz);
+    }
+    long stamp = EntityCache.stamp();
+    json = findByName(getTableName(), getNameColumn(), fqn);
     T entity = null;
     if (json != null) {
       entity = JsonUtils.readValue(json, clz);
     }
     if (entity == null) {
-      String entityName = Entity.getEntityNameFromClass(clz);
-      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityName, fqn));
+      EntityCache.invalidateName(entityType, fqn);
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, fqn));
     }
+    EntityCache.put(entityType, getEntityReference(entity).getId().toString(), fqn, json, stamp);
     return entity;
   }
 
-  default EntityReference findEntityReferenceById(UUID id) throws IOException {
-    return getEntityReference(findEntityById(id));
+  /**
+   * Get entities for a list of ids using a single query. Ids that are not found are not included in the result.
+   */
+  default List<T> findEntitiesByIds(List<UUID> ids) throws IOException {
+    if (ids == null || ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    List<String> idList = ids.stream().map(UUID::toString).distinct().collect(Collectors.toList());
+    List<T> entities = new ArrayList<>();
+    for (String json : findByIds(getTableName(), idList)) {
+      entities.add(JsonUtils.readValue(json, getEntityClass()));
+    }
+    return entities;
   }
 
-  default EntityReference findEntityReferenceByName(String fqn) throws IOException {
-    return getEntityReference(findEntityByName(fqn));
+  /**
+   * Get references for a list of ids using one query per {@link #REFERENCE_BATCH_SIZE} ids without reading the
+   * entity JSON. Ids that are not found are not included in the result.
+   */
+  default Map<UUID, EntityReference> findEntityReferencesByIds(List<UUID> ids) {
+    Map<UUID, EntityReference> references = new HashMap<>();
+    if (ids == null || ids.isEmpty()) {
+      return references;
+    }
+    List<String> idList = ids.stream().map(UUID::toString).distinct().collect(Collectors.toList());
+    for (int i = 0; i < idList.size(); i += REFERENCE_BATCH_SIZE) {
+      List<String> batch = idList.subList(i, Math.min(i + REFERENCE_BATCH_SIZE, idList.size()));
+      for (EntityReference reference : findReferencesByIds(getTableName(), getNameColumn(), batch)) {
+        references.put(reference.getId(), reference.withType(getEntityType()));
+      }
+    }
+    return references;
+  }
+
+  /**
+   * Get references for a list of fully qualified names using one query per {@link #REFERENCE_BATCH_SIZE} names
+   * without reading the entity JSON. Names that are not found are not included in the result.
+   */
+  default Map<String, EntityReference> findEntityReferencesByNames(List<String> fqns) {
+    Map<String, EntityReference> references = new HashMap<>();
+    if (fqns == null || fqns.isEmpty()) {
+      return references;
+    }
+    List<String> fqnList = fqns.stream().distinct().collect(Collectors.toList());
+    for (int i = 0; i < fqnList.size(); i += REFERENCE_BATCH_SIZE) {
+      List<String> batch = fqnList.subList(i, Math.min(i + REFERENCE_BATCH_SIZE, fqnList.size()));
+      for (EntityReference reference : findReferencesByNames(getTableName(), getNameColumn(), batch)) {
+        references.put(reference.getName(), reference.withType(getEntityType()));
+      }
+    }
+    return references;
+  }
+
+  /**
+   * Get references for a list of ids in the same order. Throws {@link EntityNotFoundException} when an id is not
+   * found.
+   */
+  default List<EntityReference> getEntityReferences(List<UUID> ids) {
+    Map<UUID, EntityReference> references = findEntityReferencesByIds(ids);
+    List<EntityReference> result = new ArrayList<>(ids.size());
+    for (UUID id : ids) {
+      EntityReference reference = references.get(id);
+      if (reference == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(getEntityType(), id));
+      }
+      result.add(reference);
+    }
+    return result;
+  }
+
+  /**
+   * Get JSON of entities for a list of fully qualified names using a single query. Names that are not found are not
+   * included in the result.
+   */
+  default List<String> findJsonByFqns(List<String> fqns) {
+    if (fqns == null || fqns.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return findByNames(getTableName(), getNameColumn(), fqns);
+  }
+
+  default EntityReference findEntityReferenceById(UUID id) {
+    List<EntityReference> references = findReferencesByIds(getTableName(), getNameColumn(),
+            Collections.singletonList(id.toString()));
+    if (references.isEmpty()) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(getEntityType(), id));
+    }
+    return references.get(0).withType(getEntityType());
+  }
+
+  default EntityReference findEntityReferenceByName(String fqn) {
+    List<EntityReference> references = findReferencesByNames(getTableName(), getNameColumn(),
+            Collections.singletonList(fqn));
+    if (references.isEmpty()) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(getEntityType(), fqn));
+    }
+    return references.get(0).withType(getEntityType());
   }
 
   default String findJsonById(String fqn) throws IOException {
@@ -145,16 +420,87 @@ public interface EntityDAO<T> {
     return findByName(getTableName(), getNameColumn(), fqn);
   }
 
-  default int listCount(String databaseFQN) {
-    return listCount(getTableName(), getNameColumn(), databaseFQN);
+  /**
+   * Count of the entities from the maintained entity counts, which can differ from the number of entities until the
+   * counts are reconciled. Returns null when the count is not maintained for the filter.
+   */
+  default Integer listApproximateCount(String parentFQN) {
+    if (parentFQN == null) {
+      return getCount(getEntityType());
+    }
+    if (getParentTableName() != null) {
+      // Counts of parents without entities are removed on reconciliation
+      Integer count = getCountByParent(getParentTableName(), getParentNameColumn(), getEntityType(), parentFQN);
+      return count == null ? 0 : count;
+    }
+    return null;
+  }
+
+  default int listCount(String parentFQN) {
+    if (parentFQN != null && getParentTableName() != null) {
+      return listCountByParent(getTableName(), getParentTableName(), getParentNameColumn(), parentFQN);
+    }
+    return listCount(getTableName(), getNameColumn(), parentFQN);
   }
 
   default List<String> listBefore(String parentFQN, int limit, String before) {
+    if (parentFQN != null && getParentTableName() != null) {
+      return listBeforeByParent(getTableName(), getNameColumn(), getParentTableName(), getParentNameColumn(),
+              parentFQN, limit, before);
+    }
     return listBefore(getTableName(), getNameColumn(), parentFQN, limit, before);
   }
 
-  default List<String> listAfter(String databaseFQN, int limit, String after) {
-    return listAfter(getTableName(), getNameColumn(), databaseFQN, limit, after);
+  default List<String> listAfter(String parentFQN, int limit, String after) {
+    if (parentFQN != null && getParentTableName() != null) {
+      return listAfterByParent(getTableName(), getNameColumn(), getParentTableName(), getParentNameColumn(),
+              parentFQN, limit, after);
+    }
+    return listAfter(getTableName(), getNameColumn(), parentFQN, limit, after);
+  }
+
+  /**
+   * Store the id of the parent of an entity in the parentId column. Called when the relationship from the parent to
+   * the entity is stored.
+   */
+  default void updateParent(UUID id, UUID parentId) {
+    updateParentId(getTableName(), id.toString(), parentId.toString());
+    addCount(getEntityType(), parentId.toString(), 1);
+  }
+
+  default void updateParents(List<UUID> ids, List<UUID> parentIds) {
+    updateParentIds(getTableName(), ids.stream().map(UUID::toString).collect(Collectors.toList()),
+            parentIds.stream().map(UUID::toString).collect(Collectors.toList()));
+    Map<String, Integer> counts = new TreeMap<>(); // Sorted to update the count rows in the same order
+    parentIds.forEach(parentId -> counts.merge(parentId.toString(), 1, Integer::sum));
+    addCounts(getEntityType(), new ArrayList<>(counts.keySet()), new ArrayList<>(counts.values()));
+  }
+
+  /**
+   * Recompute the maintained entity counts from the entity table
+   */
+  default void reconcileCounts() {
+    reconcileCount(getTableName(), getEntityType());
+    if (getParentTableName() != null) {
+      reconcileParentCounts(getTableName(), getEntityType());
+      deleteEmptyParentCounts(getTableName(), getEntityType());
+    }
+  }
+
+  /**
+   * List up to limit entities updated at or after the given time in milliseconds, ordered by (updatedAt, id). Entities
+   * are returned as pairs of the position "updatedAt_id" of the entity and its JSON. Pass the position of the last
+   * entity returned as after to get the next page, or null to get the first page.
+   */
+  default List<Pair<String, String>> listUpdatedSince(long timestamp, String after, int limit) {
+    if (after != null) {
+      int separator = after.lastIndexOf('_');
+      return listUpdatedAfter(getTableName(), after.substring(0, separator), after.substring(separator + 1), limit);
+    }
+    // updatedAt column is derived from the UTC updatedAt attribute of the entity JSON
+    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+    return listUpdatedAfter(getTableName(), format.format(new Date(timestamp)), "", limit);
   }
 
   default boolean exists(UUID id) {
@@ -162,11 +508,17 @@ public interface EntityDAO<T> {
   }
 
   default int delete(UUID id) {
+    String parentId = getParentTableName() != null ? findParentId(getTableName(), id.toString()) : null;
     int rowsDeleted = delete(getTableName(), id.toString());
+    EntityCache.invalidate(getEntityType(), id.toString());
     if (rowsDeleted <= 0) {
       String entityName = Entity.getEntityNameFromClass(getEntityClass());
       throw EntityNotFoundException.byMessage(entityNotFound(entityName, id));
     }
+    addCount(getEntityType(), "", -rowsDeleted);
+    if (parentId != null) {
+      addCount(getEntityType(), parentId, -rowsDeleted);
+    }
     return rowsDeleted;
   }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.openmetadata.catalog.type.EntityReference;
+
+import java.net.URI;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Maps the reference projection of an entity read by {@link EntityDAO} without the entity JSON. Entity type is set
+ * by the DAO.
+ */
+public class EntityReferenceMapper implements RowMapper<EntityReference> {
+  @Override
+  public EntityReference map(ResultSet rs, StatementContext ctx) throws SQLException {
+    String href = rs.getString("href");
+    return new EntityReference().withId(UUID.fromString(rs.getString("id"))).withName(rs.getString("name"))
+            .withDescription(rs.getString("description")).withDisplayName(rs.getString("displayName"))
+            .withHref(href == null ? null : URI.create(href));
+  }
+}
@@ -14,13 +14,16 @@
 package org.openmetadata.catalog.jdbi3;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.exception.DuplicateEntityException;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
-import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionPair;
+import org.openmetadata.catalog.exception.WebServiceException;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO;
 import org.openmetadata.catalog.jdbi3.TableRepository.TableUpdater;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.ChangeEvent;
@@ -29,14 +32,18 @@ import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.EventType;
 import org.openmetadata.catalog.type.FieldChange;
 import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.util.BulkResponse;
+import org.openmetadata.catalog.util.EntityHistoryOutput;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.catalog.util.StreamingResultList;
 import org.openmetadata.common.utils.CipherText;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,11 +59,19 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.openmetadata.catalog.util.EntityUtil.entityReferenceMatch;
 import static org.openmetadata.catalog.util.EntityUtil.objectMatch;
@@ -103,6 +118,7 @@ public abstract class EntityRepository<T> {
   private final String entityName;
   protected final EntityDAO<T> dao;
   protected final CollectionDAO daoCollection;
+  private final EntityVersionStore versionStore;
 
   /** Fields that can be updated during PATCH operation */
   private final Fields patchFields;
@@ -117,6 +133,7 @@ public abstract class EntityRepository<T> {
     this.entityClass = entityClass;
     this.dao = entityDAO;
     this.daoCollection = collectionDAO;
+    this.versionStore = new EntityVersionStore(collectionDAO.entityVersionDAO());
     this.patchFields = patchFields;
     this.putFields = putFields;
     this.entityName = entityName;
@@ -134,6 +151,20 @@ public abstract class EntityRepository<T> {
    */
   public abstract T setFields(T entity, Fields fields) throws IOException, ParseException;
 
+  /**
+   * Set the requested fields in a page of entities returned by list operations. The default implementation calls
+   * {@link #setFields(Object, Fields)} for each entity, which requires a set of queries for every entity. Override
+   * this to look up relationships for all the entities in the page with a single query per relationship.
+   *
+   * @see TableRepository#setFields(List, Fields) for an example implementation
+   */
+  public List<T> setFields(List<T> entities, Fields fields) throws IOException, ParseException {
+    for (T entity : entities) {
+      setFields(entity, fields);
+    }
+    return entities;
+  }
+
   /**
    * This method is used for validating an entity to be created during POST, PUT, and PATCH operations and prepare the
    * entity with all the required attributes and relationships.
@@ -157,6 +188,26 @@ public abstract class EntityRepository<T> {
    */
   public abstract void prepare(T entity) throws IOException;
 
+  /**
+   * Prepare a batch of entities for create or update. Returns for each entity the error that prevents it from being
+   * stored or null when the entity is valid. Override this to validate the references shared by the entities in the
+   * batch only once.
+   *
+   * @see TableRepository#prepare(List) for an example implementation
+   */
+  public List<Exception> prepare(List<T> entities) {
+    List<Exception> errors = new ArrayList<>();
+    for (T entity : entities) {
+      try {
+        prepare(entity);
+        errors.add(null);
+      } catch (Exception e) {
+        errors.add(e);
+      }
+    }
+    return errors;
+  }
+
   /**
    * An entity is stored in the backend database as JSON document. The JSON includes only some of the attributes of the
    * entity and does not include attributes such as <i>href</i>. The relationship fields of an entity is never stored
@@ -180,6 +231,25 @@ public abstract class EntityRepository<T> {
    */
   public abstract void storeRelationships(T entity) throws IOException;
 
+  /**
+   * Store a batch of new entities along with their relationships. Returns for each entity the error that prevented it
+   * from being stored or null when the entity is stored. Override this to store the entities using batch queries.
+   *
+   * @see TableRepository#storeEntities(List) for an example implementation
+   */
+  public List<Exception> storeEntities(List<T> entities) {
+    List<Exception> errors = new ArrayList<>();
+    for (T entity : entities) {
+      try {
+        createNewEntity(entity);
+        errors.add(null);
+      } catch (Exception e) {
+        errors.add(e);
+      }
+    }
+    return errors;
+  }
+
   /**
    * PATCH operations can't overwrite certain fields, such as entity ID, fullyQualifiedNames etc. Instead of throwing
    * an error, we take lenient approach of ignoring the user error and restore those attributes based on what is
@@ -202,19 +272,26 @@ public abstract class EntityRepository<T> {
     return withHref(uriInfo, setFields(dao.findEntityByName(fqn), fields));
   }
 
-  @Transaction
   public final ResultList<T> listAfter(UriInfo uriInfo, Fields fields, String fqnPrefix, int limitParam, String after)
           throws GeneralSecurityException, IOException, ParseException {
+    return listAfter(uriInfo, fields, fqnPrefix, limitParam, after, IncludeTotal.EXACT);
+  }
+
+  @Transaction
+  public final ResultList<T> listAfter(UriInfo uriInfo, Fields fields, String fqnPrefix, int limitParam, String after,
+                                       IncludeTotal includeTotal)
+          throws GeneralSecurityException, IOException, ParseException {
     // forward scrolling, if after == null then first page is being asked
     List<String> jsons = dao.listAfter(fqnPrefix, limitParam + 1, after == null ? "" :
             CipherText.instance().decrypt(after));
 
     List<T> entities = new ArrayList<>();
     for (String json : jsons) {
-      T entity = withHref(uriInfo, setFields(JsonUtils.readValue(json, entityClass), fields));
-      entities.add(entity);
+      entities.add(JsonUtils.readValue(json, entityClass));
     }
-    int total = dao.listCount(fqnPrefix);
+    setFields(entities, fields);
+    entities.forEach(entity -> withHref(uriInfo, entity));
+    Integer total = getTotal(fqnPrefix, includeTotal);
 
     String beforeCursor, afterCursor = null;
     beforeCursor = after == null ? null : getFullyQualifiedName(entities.get(0));
@@ -225,18 +302,105 @@ public abstract class EntityRepository<T> {
     return getResultList(entities, beforeCursor, afterCursor, total);
   }
 
-  @Transaction
+  public final StreamingResultList<T> streamAfter(UriInfo uriInfo, Fields fields, String fqnPrefix, int limitParam,
+                                                  String after) throws IOException, GeneralSecurityException {
+    return streamAfter(uriInfo, fields, fqnPrefix, limitParam, after, IncludeTotal.EXACT);
+  }
+
+  public final StreamingResultList<T> streamAfter(UriInfo uriInfo, Fields fields, String fqnPrefix, int limitParam,
+                                                  String after, IncludeTotal includeTotal)
+          throws IOException, GeneralSecurityException {
+    return streamAfter(uriInfo, fields, fqnPrefix, limitParam, after, includeTotal, entities -> { });
+  }
+
+  /**
+   * Same as {@link #listAfter} except the entities are written directly to the response in chunks, instead of
+   * building the whole list in memory. Each chunk of entities is passed to {@code postProcess}, to add href to the
+   * related entities, before it is written.
+   */
+  public final StreamingResultList<T> streamAfter(UriInfo uriInfo, Fields fields, String fqnPrefix, int limitParam,
+                                                  String after, Consumer<List<T>> postProcess)
+          throws IOException, GeneralSecurityException {
+    return streamAfter(uriInfo, fields, fqnPrefix, limitParam, after, IncludeTotal.EXACT, postProcess);
+  }
+
+  public final StreamingResultList<T> streamAfter(UriInfo uriInfo, Fields fields, String fqnPrefix, int limitParam,
+                                                  String after, IncludeTotal includeTotal,
+                                                  Consumer<List<T>> postProcess)
+          throws IOException, GeneralSecurityException {
+    // forward scrolling, if after == null then first page is being asked
+    String afterFqn = after == null ? null : CipherText.instance().decrypt(after);
+    Integer total = getTotal(fqnPrefix, includeTotal);
+    return new StreamingResultList<>((position, limit) -> {
+      List<T> entities = new ArrayList<>();
+      for (String json : dao.listAfter(fqnPrefix, limit, position == null ? "" : position)) {
+        entities.add(JsonUtils.readValue(json, entityClass));
+      }
+      try {
+        setFields(entities, fields);
+      } catch (ParseException e) {
+        throw new IOException(e);
+      }
+      entities.forEach(entity -> withHref(uriInfo, entity));
+      postProcess.accept(entities);
+      List<Pair<String, T>> chunk = new ArrayList<>();
+      entities.forEach(entity -> chunk.add(Pair.of(getFullyQualifiedName(entity), entity)));
+      return chunk;
+    }, afterFqn, limitParam, total, includeTotal != IncludeTotal.FALSE);
+  }
+
+  /**
+   * List references to the entities of type {@code toEntity} that the entity {@code id} contains, in the order of
+   * their ids. Relationships are read in chunks with keyset pagination on the id of the contained entity, so that
+   * entities that contain a large number of entities can be listed page by page.
+   */
+  public final StreamingResultList<EntityReference> listContains(UriInfo uriInfo, String id, String toEntity,
+                                                                 int limitParam, String after)
+          throws IOException, GeneralSecurityException {
+    dao.findEntityReferenceById(UUID.fromString(id)); // Validate the entity exists
+    String afterId = after == null ? null : CipherText.instance().decrypt(after);
+    int total = daoCollection.relationshipDAO().findToCount(id, Relationship.CONTAINS.ordinal(), toEntity);
+    return new StreamingResultList<>((position, limit) -> {
+      List<EntityReference> references = getContains(id, toEntity, position, limit);
+      Entity.withHref(uriInfo, references);
+      List<Pair<String, EntityReference>> chunk = new ArrayList<>();
+      references.forEach(reference -> chunk.add(Pair.of(reference.getId().toString(), reference)));
+      return chunk;
+    }, afterId, limitParam, total);
+  }
+
+  /**
+   * Get references to up to limit entities of type {@code toEntity} that the entity {@code id} contains, after the
+   * given id or from the first entity when it is null.
+   */
+  protected List<EntityReference> getContains(String id, String toEntity, String after, int limit)
+          throws IOException {
+    List<String> ids = daoCollection.relationshipDAO().findToAfter(id, Relationship.CONTAINS.ordinal(), toEntity,
+            after == null ? "" : after, limit);
+    List<UUID> uuids = EntityUtil.toUUIDList(ids);
+    Map<UUID, EntityReference> references = Entity.getEntityReferences(toEntity, uuids);
+    return uuids.stream().map(references::get).collect(Collectors.toList());
+  }
+
   public final ResultList<T> listBefore(UriInfo uriInfo, Fields fields, String fqnPrefix, int limitParam, String before)
           throws IOException, GeneralSecurityException, ParseException {
+    return listBefore(uriInfo, fields, fqnPrefix, limitParam, before, IncludeTotal.EXACT);
+  }
+
+  @Transaction
+  public final ResultList<T> listBefore(UriInfo uriInfo, Fields fields, String fqnPrefix, int limitParam, String before,
+                                        IncludeTotal includeTotal)
+          throws IOException, GeneralSecurityException, ParseException {
     // Reverse scrolling - Get one extra result used for computing before cursor
     List<String> jsons = dao.listBefore(fqnPrefix, limitParam + 1, CipherText.instance().decrypt(before));
 
     List<T> entities = new ArrayList<>();
     for (String json : jsons) {
-      T entity = withHref(uriInfo, setFields(JsonUtils.readValue(json, entityClass), fields));
-      entities.add(entity);
+      entities.add(JsonUtils.readValue(json, entityClass));
     }
-    int total = dao.listCount(fqnPrefix);
+    setFields(entities, fields);
+    entities.forEach(entity -> withHref(uriInfo, entity));
+    Integer total = getTotal(fqnPrefix, includeTotal);
 
     String beforeCursor = null, afterCursor;
     if (entities.size() > limitParam) { // If extra result exists, then previous page exists - return before cursor
@@ -250,10 +414,9 @@ public abstract class EntityRepository<T> {
   @Transaction
   public T getVersion(String id, String version) throws IOException, ParseException {
     Double requestedVersion = Double.parseDouble(version);
-    String extension = EntityUtil.getVersionExtension(entityName, requestedVersion);
 
     // Get previous version from version history
-    String json = daoCollection.entityExtensionDAO().getEntityVersion(id, extension);
+    String json = versionStore.get(id, requestedVersion);
     if (json != null) {
       return JsonUtils.readValue(json, entityClass);
     }
@@ -267,17 +430,18 @@ public abstract class EntityRepository<T> {
             CatalogExceptionMessage.entityVersionNotFound(entityName, id, requestedVersion));
   }
 
-  @Transaction
-  public EntityHistory listVersions(String id) throws IOException, ParseException {
-    T latest = setFields(dao.findEntityById(UUID.fromString(id)), putFields);
-    String extensionPrefix = EntityUtil.getVersionExtensionPrefix(entityName);
-    List<EntityVersionPair> oldVersions = daoCollection.entityExtensionDAO().getEntityVersions(id, extensionPrefix);
-    oldVersions.sort(EntityUtil.compareVersion.reversed());
-
-    final List<Object> allVersions = new ArrayList<>();
-    allVersions.add(JsonUtils.pojoToJson(latest));
-    oldVersions.forEach(version -> allVersions.add(version.getEntityJson()));
-    return new EntityHistory().withEntityType(entityName).withVersions(allVersions);
+  /**
+   * List up to limit versions of an entity, latest version first, in the format of {@link EntityHistory}. The first
+   * page starts with the current version of the entity, followed by the versions from the version history. The
+   * versions are reconstructed from the version history and written to the response in chunks.
+   */
+  public EntityHistoryOutput listVersions(String id, int limitParam, String after)
+          throws IOException, ParseException, GeneralSecurityException {
+    String afterVersion = after == null ? null : CipherText.instance().decrypt(after);
+    String currentJson = afterVersion == null ?
+            JsonUtils.pojoToJson(setFields(dao.findEntityById(UUID.fromString(id)), putFields)) : null;
+    return new EntityHistoryOutput(versionStore, id, entityName, currentJson,
+            afterVersion == null ? null : Double.valueOf(afterVersion), limitParam, versionStore.count(id) + 1);
   }
 
   public final T create(UriInfo uriInfo, T entity) throws IOException, ParseException {
@@ -307,6 +471,87 @@ public abstract class EntityRepository<T> {
     return new PutResponse<>(Status.OK, withHref(uriInfo, updated), change);
   }
 
+  /**
+   * Create or update a batch of entities. Entities are processed independently and an entity that fails is reported
+   * in the response without failing the other entities in the batch. References shared by the entities are validated
+   * using {@link #prepare(List)}, the entities that already exist are read using a single query, and the new entities
+   * are stored using {@link #storeEntities(List)}.
+   */
+  public final BulkResponse createOrUpdate(UriInfo uriInfo, List<T> entities) throws IOException, ParseException {
+    BulkResponse response = new BulkResponse();
+    List<Exception> errors = prepare(entities);
+
+    // Skip the entities that failed validation or that are repeated in the request
+    Map<String, Integer> indexByFqn = new LinkedHashMap<>();
+    for (int i = 0; i < entities.size(); i++) {
+      String fqn = getFullyQualifiedName(entities.get(i));
+      if (errors.get(i) != null) {
+        addFailure(response, i, fqn, errors.get(i));
+      } else if (indexByFqn.putIfAbsent(fqn, i) != null) {
+        response.addFailure(i, fqn, Status.BAD_REQUEST, CatalogExceptionMessage.duplicateInRequest(fqn));
+      }
+    }
+
+    // Find the entities that already exist using a single query
+    Map<String, T> originals = new HashMap<>();
+    for (String json : dao.findJsonByFqns(new ArrayList<>(indexByFqn.keySet()))) {
+      T original = JsonUtils.readValue(json, entityClass);
+      originals.put(getFullyQualifiedName(original), original);
+    }
+
+    // Store the new entities
+    List<T> created = new ArrayList<>();
+    indexByFqn.forEach((fqn, index) -> {
+      if (!originals.containsKey(fqn)) {
+        created.add(entities.get(index));
+      }
+    });
+    List<Exception> createErrors = storeEntities(created);
+    for (int i = 0; i < created.size(); i++) {
+      T entity = created.get(i);
+      String fqn = getFullyQualifiedName(entity);
+      if (createErrors.get(i) != null) {
+        addFailure(response, indexByFqn.get(fqn), fqn, createErrors.get(i));
+      } else {
+        response.addSuccess(indexByFqn.get(fqn), fqn, getEntityInterface(entity).getId(), Status.CREATED,
+                RestUtil.ENTITY_CREATED, withHref(uriInfo, entity));
+      }
+    }
+
+    // Update the entities that already exist
+    List<T> originalList = new ArrayList<>(originals.values());
+    setFields(originalList, putFields);
+    for (T original : originalList) {
+      String fqn = getFullyQualifiedName(original);
+      int index = indexByFqn.get(fqn);
+      T updated = entities.get(index);
+      try {
+        EntityUpdater entityUpdater = getUpdater(original, updated, false);
+        entityUpdater.update();
+        String change = entityUpdater.fieldsChanged() ? RestUtil.ENTITY_UPDATED : RestUtil.ENTITY_NO_CHANGE;
+        response.addSuccess(index, fqn, getEntityInterface(updated).getId(), Status.OK, change,
+                withHref(uriInfo, updated));
+      } catch (Exception e) {
+        addFailure(response, index, fqn, e);
+      }
+    }
+    return response.sortResults();
+  }
+
+  private static void addFailure(BulkResponse response, int index, String fqn, Exception e) {
+    Status status = Status.INTERNAL_SERVER_ERROR;
+    if (e instanceof WebServiceException) {
+      status = Status.fromStatusCode(((WebServiceException) e).getResponse().getStatus());
+    } else if (e instanceof IllegalArgumentException) {
+      status = Status.BAD_REQUEST;
+    } else if (e instanceof DuplicateEntityException) {
+      status = Status.CONFLICT;
+    } else {
+      LOG.error("Failed to create or update entity {}", fqn, e);
+    }
+    response.addFailure(index, fqn, status, e.getMessage());
+  }
+
   @Transaction
   public final PatchResponse<T> patch(UriInfo uriInfo, UUID id, String user, JsonPatch patch) throws IOException,
           ParseException {
@@ -383,13 +628,35 @@ public abstract class EntityRepository<T> {
     return getEntityInterface(entity).getFullyQualifiedName();
   }
 
-  public final ResultList<T> getResultList(List<T> entities, String beforeCursor, String afterCursor, int total)
+  public final ResultList<T> getResultList(List<T> entities, String beforeCursor, String afterCursor, Integer total)
           throws GeneralSecurityException, UnsupportedEncodingException {
-    return new ResultList<>(entities, beforeCursor, afterCursor, total);
+    ResultList<T> resultList = new ResultList<>(entities, beforeCursor, afterCursor, total == null ? 0 : total);
+    if (total == null) {
+      resultList.getPaging().setTotal(null);
+    }
+    return resultList;
+  }
+
+  /**
+   * Total number of entities for the paging information of list operations. Approximate total is read from the
+   * maintained entity counts, and counted from the entities when the count is not maintained for the list filter.
+   */
+  private Integer getTotal(String fqnPrefix, IncludeTotal includeTotal) {
+    if (includeTotal == IncludeTotal.FALSE) {
+      return null;
+    }
+    if (includeTotal == IncludeTotal.APPROXIMATE) {
+      Integer total = dao.listApproximateCount(fqnPrefix);
+      if (total != null) {
+        return total;
+      }
+    }
+    return dao.listCount(fqnPrefix);
   }
 
   private T createNewEntity(T entity) throws IOException {
     storeEntity(entity, false);
+    EntityCache.invalidate(entityName, getEntityInterface(entity).getId().toString());
     storeRelationships(entity);
     return entity;
   }
@@ -424,6 +691,12 @@ public abstract class EntityRepository<T> {
     protected final ChangeDescription changeDescription = new ChangeDescription();
     protected boolean majorVersionChange = false;
 
+    // Tag usage of the entity and its fields to add, update or remove, written in batches before the entity is stored.
+    // Added tags are not yet applied to their targets and are added to the tag usage counts.
+    private final List<Pair<String, TagLabel>> addedTagUsage = new ArrayList<>();
+    private final List<Pair<String, TagLabel>> changedTagUsage = new ArrayList<>();
+    private final List<Pair<String, String>> removedTagUsage = new ArrayList<>();
+
     public EntityUpdater(T original, T updated, boolean patchOperation) {
       this.original = getEntityInterface(original);
       this.updated = getEntityInterface(updated);
@@ -440,6 +713,7 @@ public abstract class EntityRepository<T> {
       updateOwner();
       updateTags(updated.getFullyQualifiedName(), "tags", original.getTags(), updated.getTags());
       entitySpecificUpdate();
+      storeTagUsage();
 
       // Store the updated entity
       storeUpdate();
@@ -480,15 +754,12 @@ public abstract class EntityRepository<T> {
 
     protected final void updateTags(String fqn, String fieldName, List<TagLabel> origTags, List<TagLabel> updatedTags)
             throws IOException {
-      // Remove current entity tags in the database. It will be added back later from the merged tag list.
       origTags = Optional.ofNullable(origTags).orElse(Collections.emptyList());
       updatedTags = Optional.ofNullable(updatedTags).orElse(Collections.emptyList());
       if (origTags.isEmpty() && updatedTags.isEmpty()) {
         return; // Nothing to update
       }
 
-      // Remove current entity tags in the database. It will be added back later from the merged tag list.
-      EntityUtil.removeTagsByPrefix(daoCollection.tagDAO(), fqn);
       if (!patchOperation) {
         // PUT operation merges tags in the request with what already exists
         List<TagLabel> mergedTags = EntityUtil.mergeTags(updatedTags, origTags);
@@ -498,9 +769,75 @@ public abstract class EntityRepository<T> {
 
       List<TagLabel> addedTags = new ArrayList<>();
       List<TagLabel> deletedTags = new ArrayList<>();
-      recordListChange(fieldName, origTags, updatedTags, addedTags, deletedTags, EntityUtil.tagLabelMatch);
+      recordListChange(fieldName, origTags, updatedTags, addedTags, deletedTags, EntityUtil.tagLabelKey);
       updatedTags.sort(EntityUtil.compareTagLabel);
-      EntityUtil.applyTags(daoCollection.tagDAO(), updatedTags, fqn);
+
+      // Only the tags that are added, removed or have a changed label type or state are written to the database
+      Map<String, TagLabel> origTagMap = new HashMap<>();
+      origTags.forEach(tag -> origTagMap.put(tag.getTagFQN(), tag));
+      Set<String> updatedTagFQNs = new HashSet<>();
+      for (TagLabel tag : updatedTags) {
+        updatedTagFQNs.add(tag.getTagFQN());
+        TagLabel origTag = origTagMap.get(tag.getTagFQN());
+        if (origTag == null) {
+          TagDictionary.validateTag(daoCollection.tagDAO(), tag.getTagFQN());
+          addedTagUsage.add(Pair.of(fqn, tag));
+        } else if (origTag.getLabelType() != tag.getLabelType() || origTag.getState() != tag.getState()) {
+          changedTagUsage.add(Pair.of(fqn, tag));
+        }
+      }
+      for (TagLabel tag : origTags) {
+        if (!updatedTagFQNs.contains(tag.getTagFQN())) {
+          removedTagUsage.add(Pair.of(fqn, tag.getTagFQN()));
+        }
+      }
+    }
+
+    /** Add tag usage for the tags of a field added by the update, such as a new column */
+    protected final void addTagUsage(String fqn, List<TagLabel> tags) throws IOException {
+      for (TagLabel tag : Optional.ofNullable(tags).orElse(Collections.emptyList())) {
+        TagDictionary.validateTag(daoCollection.tagDAO(), tag.getTagFQN());
+        addedTagUsage.add(Pair.of(fqn, tag));
+      }
+    }
+
+    /** Remove tag usage for the tags of a field removed by the update, such as a deleted column */
+    protected final void removeTagUsage(String fqn, List<TagLabel> tags) {
+      Optional.ofNullable(tags).orElse(Collections.emptyList())
+              .forEach(tag -> removedTagUsage.add(Pair.of(fqn, tag.getTagFQN())));
+    }
+
+    private void storeTagUsage() {
+      TagDAO tagDAO = daoCollection.tagDAO();
+      // Removals are applied first as a field removed and added back by the update has both
+      if (!removedTagUsage.isEmpty()) {
+        tagDAO.deleteTagsBatch(removedTagUsage.stream().map(Pair::getRight).collect(Collectors.toList()),
+                removedTagUsage.stream().map(Pair::getLeft).collect(Collectors.toList()));
+      }
+      if (!addedTagUsage.isEmpty()) {
+        tagDAO.addTagsBatch(tagFQNs(addedTagUsage), targetFQNs(addedTagUsage), labelTypes(addedTagUsage),
+                states(addedTagUsage));
+      }
+      if (!changedTagUsage.isEmpty()) {
+        tagDAO.updateTagsBatch(tagFQNs(changedTagUsage), targetFQNs(changedTagUsage), labelTypes(changedTagUsage),
+                states(changedTagUsage));
+      }
+    }
+
+    private List<String> tagFQNs(List<Pair<String, TagLabel>> tagUsage) {
+      return tagUsage.stream().map(pair -> pair.getRight().getTagFQN()).collect(Collectors.toList());
+    }
+
+    private List<String> targetFQNs(List<Pair<String, TagLabel>> tagUsage) {
+      return tagUsage.stream().map(Pair::getLeft).collect(Collectors.toList());
+    }
+
+    private List<Integer> labelTypes(List<Pair<String, TagLabel>> tagUsage) {
+      return tagUsage.stream().map(pair -> pair.getRight().getLabelType().ordinal()).collect(Collectors.toList());
+    }
+
+    private List<Integer> states(List<Pair<String, TagLabel>> tagUsage) {
+      return tagUsage.stream().map(pair -> pair.getRight().getState().ordinal()).collect(Collectors.toList());
     }
 
     public final boolean updateVersion(Double oldVersion) {
@@ -556,25 +893,9 @@ public abstract class EntityRepository<T> {
     }
 
     public final <K> boolean recordListChange(String field, List<K> origList, List<K> updatedList, List<K> addedItems,
-                                           List<K> deletedItems, BiPredicate<K, K> typeMatch)
+                                           List<K> deletedItems, Function<K, Object> key)
             throws JsonProcessingException {
-      origList = Optional.ofNullable(origList).orElse(Collections.emptyList());
-      updatedList = Optional.ofNullable(updatedList).orElse(Collections.emptyList());
-      for (K stored : origList) {
-        // If an entry in the original list is not in updated list, then it is deleted during update
-        K updated = updatedList.stream().filter(c -> typeMatch.test(c, stored)).findAny().orElse(null);
-        if (updated == null) {
-          deletedItems.add(stored);
-        }
-      }
-
-      for (K updated : updatedList) {
-        // If an entry in the updated list is not in original list, then it is added during update
-        K stored = origList.stream().filter(c -> typeMatch.test(c, updated)).findAny().orElse(null);
-        if (stored == null) { // New column added
-          addedItems.add(updated);
-        }
-      }
+      EntityUtil.diffLists(origList, updatedList, key, addedItems, deletedItems);
       if (!addedItems.isEmpty()) {
         FieldChange fieldChange = new FieldChange().withName(field).withNewValue(JsonUtils.pojoToJson(addedItems));
         changeDescription.getFieldsAdded().add(fieldChange);
@@ -589,12 +910,12 @@ public abstract class EntityRepository<T> {
     public final void storeUpdate() throws IOException, ParseException {
       if (updateVersion(original.getVersion())) {
         // Store the old version
-        String extensionName = EntityUtil.getVersionExtension(entityName, original.getVersion());
-        daoCollection.entityExtensionDAO().insert(original.getId().toString(), extensionName, entityName,
+        versionStore.store(original.getId().toString(), entityName, original.getVersion(),
                 JsonUtils.pojoToJson(original.getEntity()));
 
         // Store the new version
         EntityRepository.this.storeEntity(updated.getEntity(), true);
+        EntityCache.invalidate(entityName, updated.getId().toString());
       } else {
         updated.setUpdateDetails(original.getUpdatedBy(), original.getUpdatedAt());
       }
@@ -0,0 +1,145 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionRecord;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Delta encoded version history of entities.
+ *
+ * The latest stored version of an entity is a snapshot with the full entity JSON. When a new version is stored, the
+ * previous latest version is replaced with the JSON patch that changes the new version back to it, except every
+ * {@link #SNAPSHOT_INTERVAL}th version that is kept as a snapshot. A version is reconstructed by applying the patches
+ * going back from the nearest later snapshot, so at most SNAPSHOT_INTERVAL - 1 patches are applied. Storing a version
+ * reads and writes only the latest version, irrespective of the length of the history.
+ */
+public class EntityVersionStore {
+  private static final Logger LOG = LoggerFactory.getLogger(EntityVersionStore.class);
+  public static final int SNAPSHOT_INTERVAL = 10;
+  private static final int CHUNK_SIZE = 100;
+
+  private final EntityVersionDAO dao;
+
+  @FunctionalInterface
+  public interface VersionConsumer {
+    void accept(double version, String json) throws IOException;
+  }
+
+  public EntityVersionStore(EntityVersionDAO dao) {
+    this.dao = dao;
+  }
+
+  /** Store the JSON of an entity version that is later than all the stored versions of the entity */
+  public void store(String id, String entityType, double version, String json) {
+    EntityVersionRecord latest = dao.getLatest(id);
+    int versionIndex = 1;
+    if (latest != null) {
+      versionIndex = latest.getVersionIndex() + 1;
+      if (latest.getVersionIndex() % SNAPSHOT_INTERVAL != 0) {
+        dao.update(id, latest.getVersion(), latest.getVersionIndex(), false,
+                JsonUtils.diffJson(json, latest.getJson()));
+      }
+    }
+    dao.insert(id, entityType, version, versionIndex, true, json);
+  }
+
+  /** Get the JSON of a version of an entity, or null when the version is not stored */
+  public String get(String id, double version) {
+    Double snapshotVersion = dao.findSnapshotVersion(id, version);
+    if (snapshotVersion == null) {
+      return null;
+    }
+    String json = null;
+    for (EntityVersionRecord record : dao.listFrom(id, snapshotVersion, SNAPSHOT_INTERVAL)) {
+      json = record.isSnapshot() ? record.getJson() : JsonUtils.applyDiff(json, record.getJson());
+      if (record.getVersion() <= version) {
+        return record.getVersion() == version ? json : null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Pass up to limit versions of an entity before the given version, or from the latest version when before is null,
+   * to the consumer, latest version first. Versions are read and reconstructed in chunks.
+   */
+  public void list(String id, Double before, int limit, VersionConsumer consumer) throws IOException {
+    Double start = before == null ? latestVersion(id) : dao.findPreviousVersion(id, before);
+    if (start == null) {
+      return;
+    }
+    double position = dao.findSnapshotVersion(id, start);
+    String json = null;
+    int remaining = limit;
+    boolean first = true;
+    while (remaining > 0) {
+      List<EntityVersionRecord> records = dao.listFrom(id, position, CHUNK_SIZE + 1);
+      // Except for the first chunk, the first record was the last record of the previous chunk
+      List<EntityVersionRecord> chunk = first ? records : records.subList(Math.min(1, records.size()),
+              records.size());
+      for (EntityVersionRecord record : chunk) {
+        json = record.isSnapshot() ? record.getJson() : JsonUtils.applyDiff(json, record.getJson());
+        if (record.getVersion() <= start) {
+          consumer.accept(record.getVersion(), json);
+          if (--remaining == 0) {
+            return;
+          }
+        }
+        position = record.getVersion();
+      }
+      if (records.size() <= CHUNK_SIZE) {
+        return;
+      }
+      first = false;
+    }
+  }
+
+  /** Number of stored versions of an entity */
+  public int count(String id) {
+    return dao.count(id);
+  }
+
+  /**
+   * Rewrite the version history of an entity in the delta encoded form, with versions in the order of version
+   * numbers. Used to compact the history stored as snapshots of every version.
+   */
+  public void compact(String id) {
+    List<EntityVersionRecord> records = dao.listFrom(id, Double.MAX_VALUE, Integer.MAX_VALUE);
+    String nextJson = null;
+    for (int i = 0; i < records.size(); i++) {
+      EntityVersionRecord record = records.get(i);
+      String json = record.isSnapshot() ? record.getJson() : JsonUtils.applyDiff(nextJson, record.getJson());
+      int versionIndex = records.size() - i;
+      boolean snapshot = i == 0 || versionIndex % SNAPSHOT_INTERVAL == 0;
+      if (snapshot != record.isSnapshot() || versionIndex != record.getVersionIndex()) {
+        dao.update(id, record.getVersion(), versionIndex, snapshot, snapshot ? json :
+                JsonUtils.diffJson(nextJson, json));
+      }
+      nextJson = json;
+    }
+    LOG.debug("Compacted {} versions of entity {}", records.size(), id);
+  }
+
+  private Double latestVersion(String id) {
+    EntityVersionRecord latest = dao.getLatest(id);
+    return latest == null ? null : latest.getVersion();
+  }
+}
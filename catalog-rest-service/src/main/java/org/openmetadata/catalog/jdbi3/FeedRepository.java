@@ -13,9 +13,12 @@
 
 package org.openmetadata.catalog.jdbi3;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.feed.Thread;
+import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.resources.feeds.FeedUtil;
 import org.openmetadata.catalog.resources.feeds.MessageParser;
 import org.openmetadata.catalog.resources.feeds.MessageParser.EntityLink;
@@ -24,13 +27,17 @@ import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.Post;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.JsonUtils;
+import org.openmetadata.catalog.util.StreamingResultList;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public class FeedRepository {
   private final CollectionDAO dao;
@@ -114,18 +121,25 @@ public class FeedRepository {
     return thread;
   }
 
+  /**
+   * List threads, optionally filtered by an entity link. Threads are read and written to the response in chunks of
+   * {@link StreamingResultList#CHUNK_SIZE} threads.
+   */
   @Transaction
-  public List<Thread> listThreads(String link) throws IOException {
+  public StreamingResultList<Thread> listThreads(String link, Consumer<List<Thread>> postProcess) throws IOException {
     if (link == null) {
       // Not listing thread by data asset or user
-      return JsonUtils.readObjects(dao.feedDAO().list(), Thread.class);
+      return new StreamingResultList<>((after, limit) ->
+              getThreads(dao.feedDAO().listAfter(after == null ? "" : after, limit), postProcess));
     }
     EntityLink entityLink = EntityLink.parse(link);
     if (entityLink.getLinkType() != LinkType.ENTITY) {
       throw new IllegalArgumentException("Only entity links of type <E#/{entityType}/{entityName}> is allowed");
     }
     EntityReference reference = EntityUtil.validateEntityLink(entityLink);
-    List<String> threadIds = new ArrayList<>();
+    // If an entity has multiple relationships (created, mentioned, repliedTo etc.) to the same thread
+    // Don't sent duplicated copies of the thread in response
+    Set<String> threadIds = new LinkedHashSet<>();
     List<List<String>> result = dao.fieldRelationshipDAO().listToByPrefix(entityLink.getFullyQualifiedFieldValue(),
             entityLink.getFullyQualifiedFieldType(), "thread",
             Relationship.MENTIONED_IN.ordinal());
@@ -146,15 +160,37 @@ public class FeedRepository {
       result.forEach(l -> threadIds.add(l.get(1)));
     }
 
-    List<Thread> threads = new ArrayList<>();
-    Set<String> uniqueValues = new HashSet<>();
-    for (String t : threadIds) {
-      // If an entity has multiple relationships (created, mentioned, repliedTo etc.) to the same thread
-      // Don't sent duplicated copies of the thread in response
-      if (uniqueValues.add(t)) {
-        threads.add(EntityUtil.validate(t, dao.feedDAO().findById(t), Thread.class));
+    // Position of a thread is its index in the list of thread ids
+    List<String> ids = new ArrayList<>(threadIds);
+    return new StreamingResultList<>((after, limit) -> {
+      int from = after == null ? 0 : Integer.parseInt(after) + 1;
+      List<String> chunk = ids.subList(Math.min(from, ids.size()), Math.min(from + limit, ids.size()));
+      Map<String, Thread> threads = new HashMap<>();
+      if (!chunk.isEmpty()) {
+        JsonUtils.readObjects(dao.feedDAO().findByIds(chunk), Thread.class)
+                .forEach(thread -> threads.put(thread.getId().toString(), thread));
       }
-    }
-    return threads;
+      List<Pair<String, Thread>> entries = new ArrayList<>();
+      List<Thread> threadList = new ArrayList<>();
+      for (int i = 0; i < chunk.size(); i++) {
+        Thread thread = threads.get(chunk.get(i));
+        if (thread == null) {
+          throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound("Thread", chunk.get(i)));
+        }
+        threadList.add(thread);
+        entries.add(Pair.of(String.valueOf(from + i), thread));
+      }
+      postProcess.accept(threadList);
+      return entries;
+    });
+  }
+
+  private static List<Pair<String, Thread>> getThreads(List<String> jsons, Consumer<List<Thread>> postProcess)
+          throws IOException {
+    List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
+    postProcess.accept(threads);
+    List<Pair<String, Thread>> entries = new ArrayList<>();
+    threads.forEach(thread -> entries.add(Pair.of(thread.getId().toString(), thread)));
+    return entries;
   }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import javax.validation.constraints.Min;
+
+public class LineageConfiguration {
+  /** Maximum number of nodes returned in the lineage of an entity, lineage beyond it is reported as truncated */
+  @Min(1)
+  private int maxNodes = LineageRepository.DEFAULT_MAX_NODES;
+
+  public int getMaxNodes() {
+    return maxNodes;
+  }
+
+  public void setMaxNodes(int maxNodes) {
+    this.maxNodes = maxNodes;
+  }
+
+  @Override
+  public String toString() {
+    return "lineageConfiguration{" +
+            "maxNodes=" + maxNodes +
+            '}';
+  }
+}
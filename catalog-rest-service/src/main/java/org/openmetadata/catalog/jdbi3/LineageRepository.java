@@ -13,25 +13,41 @@
 
 package org.openmetadata.catalog.jdbi3;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.api.lineage.AddLineage;
 import org.openmetadata.catalog.type.Edge;
 import org.openmetadata.catalog.type.EntityLineage;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.LineageImpact;
 import org.openmetadata.catalog.util.EntityUtil;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 public class LineageRepository {
+  /** Default maximum number of nodes returned in the lineage of an entity */
+  public static final int DEFAULT_MAX_NODES = 1000;
+
   private final CollectionDAO dao;
+  private int maxNodes = DEFAULT_MAX_NODES;
 
   public LineageRepository(CollectionDAO dao) { this.dao = dao; }
 
+  /** Set the maximum number of nodes returned in the lineage of an entity */
+  public void setMaxNodes(int maxNodes) {
+    this.maxNodes = maxNodes;
+  }
+
   @Transaction
   public EntityLineage get(String entityType, String id, int upstreamDepth, int downstreamDepth) throws IOException {
     EntityReference ref = Entity.getEntityReference(entityType, UUID.fromString(id));
@@ -58,56 +74,129 @@ public class LineageRepository {
     // Finally, add lineage relationship
     dao.relationshipDAO().insert(from.getId().toString(), to.getId().toString(), from.getType(), to.getType(),
             Relationship.UPSTREAM.ordinal());
+    dao.lineageClosureDAO().addEdge(from.getId().toString(), from.getType(), to.getId().toString(), to.getType());
   }
 
-  private EntityLineage getLineage(EntityReference primary, int upstreamDepth, int downstreamDepth) throws IOException {
-    List<EntityReference> entities = new ArrayList<>();
-    EntityLineage lineage = new EntityLineage().withEntity(primary).withNodes(entities)
-            .withUpstreamEdges(new ArrayList<>()).withDownstreamEdges(new ArrayList<>());
-    addUpstreamLineage(primary.getId(), lineage, upstreamDepth);
-    addDownstreamLineage(primary.getId(), lineage, downstreamDepth);
+  @Transaction
+  public LineageImpact getImpact(String entityType, String id, int upstreamDepth, int downstreamDepth,
+                                 boolean includeNodes) throws IOException {
+    EntityReference ref = Entity.getEntityReference(entityType, UUID.fromString(id));
+    return getImpact(ref, upstreamDepth, downstreamDepth, includeNodes);
+  }
 
-    // Remove duplicate nodes
-    lineage.withNodes(lineage.getNodes().stream().distinct().collect(Collectors.toList()));
+  @Transaction
+  public LineageImpact getImpactByName(String entityType, String fqn, int upstreamDepth, int downstreamDepth,
+                                       boolean includeNodes) throws IOException {
+    EntityReference ref = Entity.getEntityReferenceByName(entityType, fqn);
+    return getImpact(ref, upstreamDepth, downstreamDepth, includeNodes);
+  }
 
-    // Add entityReference details
-    for (int i = 0; i < lineage.getNodes().size(); i++) {
-      EntityReference ref = lineage.getNodes().get(i);
-      ref = Entity.getEntityReference(ref.getType(), ref.getId());
-      lineage.getNodes().set(i, ref);
+  /**
+   * Build the lineage closure when lineage edges were added before the closure was maintained
+   */
+  public void initializeClosure() {
+    CollectionDAO.LineageClosureDAO closureDAO = dao.lineageClosureDAO();
+    if (!closureDAO.exists() && closureDAO.edgesExist(Relationship.UPSTREAM.ordinal())) {
+      closureDAO.rebuild();
     }
-    return lineage;
   }
 
-  private void addUpstreamLineage(UUID id, EntityLineage lineage, int upstreamDepth) {
-    if (upstreamDepth == 0) {
-      return;
+  /**
+   * Entities upstream and downstream of the primary entity are read from the lineage closure without traversing
+   * the lineage graph
+   */
+  private LineageImpact getImpact(EntityReference primary, int upstreamDepth, int downstreamDepth,
+                                  boolean includeNodes) throws IOException {
+    CollectionDAO.LineageClosureDAO closureDAO = dao.lineageClosureDAO();
+    String id = primary.getId().toString();
+    LineageImpact impact = new LineageImpact().withEntity(primary)
+            .withUpstreamCount(closureDAO.countUpstream(id, upstreamDepth))
+            .withDownstreamCount(closureDAO.countDownstream(id, downstreamDepth));
+    if (includeNodes) {
+      impact.withUpstreamNodes(getReferences(closureDAO.listUpstream(id, upstreamDepth)))
+              .withDownstreamNodes(getReferences(closureDAO.listDownstream(id, downstreamDepth)));
     }
-    // from this id ---> find other ids
-    List<EntityReference> upstreamEntities = dao.relationshipDAO().findFrom(id.toString(),
-            Relationship.UPSTREAM.ordinal());
-    lineage.getNodes().addAll(upstreamEntities);
+    return impact;
+  }
+
+  private EntityLineage getLineage(EntityReference primary, int upstreamDepth, int downstreamDepth) throws IOException {
+    EntityLineage lineage = new EntityLineage().withEntity(primary)
+            .withUpstreamEdges(new ArrayList<>()).withDownstreamEdges(new ArrayList<>());
 
-    upstreamDepth--;
-    for (EntityReference upstreamEntity : upstreamEntities) {
-      lineage.getUpstreamEdges().add(new Edge().withFromEntity(upstreamEntity.getId()).withToEntity(id));
-      addUpstreamLineage(upstreamEntity.getId(), lineage, upstreamDepth); // Recursively add upstream nodes and edges
+    // Nodes found in both the directions are visited and returned once. Primary entity is not returned as a node.
+    Map<UUID, String> nodes = new LinkedHashMap<>();
+    nodes.put(primary.getId(), primary.getType());
+    boolean truncated = addLineage(primary.getId(), nodes, lineage.getUpstreamEdges(), upstreamDepth, true);
+    truncated |= addLineage(primary.getId(), nodes, lineage.getDownstreamEdges(), downstreamDepth, false);
+    nodes.remove(primary.getId());
+    if (truncated) {
+      lineage.setTruncated(true);
     }
+    return lineage.withNodes(getReferences(nodes));
   }
 
-  private void addDownstreamLineage(UUID id, EntityLineage lineage, int downstreamDepth) {
-    if (downstreamDepth == 0) {
-      return;
+  private static List<EntityReference> getReferences(List<EntityReference> refs) throws IOException {
+    Map<UUID, String> nodes = new LinkedHashMap<>();
+    refs.forEach(ref -> nodes.put(ref.getId(), ref.getType()));
+    return getReferences(nodes);
+  }
+
+  /**
+   * Get entityReference details of the nodes with one query per entity type
+   */
+  private static List<EntityReference> getReferences(Map<UUID, String> nodes) throws IOException {
+    Map<String, List<UUID>> idsByType = new HashMap<>();
+    nodes.forEach((id, type) -> idsByType.computeIfAbsent(type, t -> new ArrayList<>()).add(id));
+    Map<UUID, EntityReference> references = new HashMap<>();
+    for (Map.Entry<String, List<UUID>> entry : idsByType.entrySet()) {
+      references.putAll(Entity.getEntityReferences(entry.getKey(), entry.getValue()));
     }
-    // from other ids ---> to this id
-    List<EntityReference> downStreamEntities = dao.relationshipDAO().findTo(id.toString(),
-            Relationship.UPSTREAM.ordinal());
-    lineage.getNodes().addAll(downStreamEntities);
+    List<EntityReference> result = new ArrayList<>();
+    for (UUID id : nodes.keySet()) {
+      result.add(references.get(id));
+    }
+    return result;
+  }
 
-    downstreamDepth--;
-    for (EntityReference entity : downStreamEntities) {
-      lineage.getDownstreamEdges().add(new Edge().withToEntity(entity.getId()).withFromEntity(id));
-      addDownstreamLineage(entity.getId(), lineage, downstreamDepth);
+  /**
+   * Breadth first traversal of lineage in one direction. All the nodes at a level are expanded with a single query.
+   * Nodes already visited in this direction are not expanded again, which handles diamonds and cycles in the lineage
+   * graph. Once maxNodes nodes are added, edges to new nodes are no longer added and true is returned to report that
+   * the lineage is truncated.
+   */
+  private boolean addLineage(UUID id, Map<UUID, String> nodes, List<Edge> edges, int depth, boolean upstream) {
+    boolean truncated = false;
+    Set<Edge> addedEdges = new HashSet<>();
+    Set<UUID> visited = new HashSet<>(Collections.singleton(id));
+    List<String> frontier = Collections.singletonList(id.toString());
+    for (int level = 0; level < depth && !frontier.isEmpty(); level++) {
+      // For upstream, find entities with edges to the frontier. For downstream, entities with edges from it.
+      List<Pair<String, EntityReference>> pairs = upstream ?
+              dao.relationshipDAO().findFromBatch(frontier, Relationship.UPSTREAM.ordinal()) :
+              dao.relationshipDAO().findToBatch(frontier, Relationship.UPSTREAM.ordinal());
+      List<String> nextFrontier = new ArrayList<>();
+      for (Pair<String, EntityReference> pair : pairs) {
+        UUID frontierId = UUID.fromString(pair.getLeft());
+        EntityReference entity = pair.getRight();
+        if (!visited.contains(entity.getId())) {
+          if (!nodes.containsKey(entity.getId())) {
+            if (nodes.size() > maxNodes) { // Primary entity is in nodes and is not counted
+              truncated = true;
+              continue;
+            }
+            nodes.put(entity.getId(), entity.getType());
+          }
+          visited.add(entity.getId());
+          nextFrontier.add(entity.getId().toString());
+        }
+        Edge edge = upstream ? new Edge().withFromEntity(entity.getId()).withToEntity(frontierId) :
+                new Edge().withFromEntity(frontierId).withToEntity(entity.getId());
+        if (addedEdges.add(edge)) {
+          edges.add(edge);
+        }
+      }
+      frontier = nextFrontier;
     }
+    return truncated;
   }
 }
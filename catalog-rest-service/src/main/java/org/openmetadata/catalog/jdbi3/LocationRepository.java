@@ -19,6 +19,7 @@ import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Location;
 import org.openmetadata.catalog.entity.services.StorageService;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.LocationDAO;
 import org.openmetadata.catalog.resources.locations.LocationResource;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.EntityReference;
@@ -75,10 +76,10 @@ public class LocationRepository extends EntityRepository<Location> {
   @Transaction
   public final ResultList<Location> listPrefixesBefore(Fields fields, String fqn, int limitParam, String before)
           throws GeneralSecurityException, IOException {
-    String service = fqn.split("\\.")[0];
+    List<String> prefixes = LocationDAO.getPrefixes(fqn);
     // Reverse scrolling - Get one extra result used for computing before cursor
     List<String> jsons = dao.locationDAO().listPrefixesBefore(dao.locationDAO().getTableName(),
-            dao.locationDAO().getNameColumn(), fqn, service, limitParam + 1,
+            dao.locationDAO().getNameColumn(), prefixes, limitParam + 1,
             CipherText.instance().decrypt(before));
 
     List<Location> entities = new ArrayList<>();
@@ -86,7 +87,7 @@ public class LocationRepository extends EntityRepository<Location> {
       entities.add(setFields(JsonUtils.readValue(json, Location.class), fields));
     }
     int total = dao.locationDAO().listPrefixesCount(dao.locationDAO().getTableName(),
-            dao.locationDAO().getNameColumn(), fqn, service);
+            dao.locationDAO().getNameColumn(), prefixes);
 
     String beforeCursor = null, afterCursor;
     if (entities.size() > limitParam) { // If extra result exists, then previous page exists - return before cursor
@@ -101,10 +102,10 @@ public class LocationRepository extends EntityRepository<Location> {
   @Transaction
   public final ResultList<Location> listPrefixesAfter(Fields fields, String fqn, int limitParam, String after)
           throws GeneralSecurityException, IOException {
-    String service = fqn.split("\\.")[0];
+    List<String> prefixes = LocationDAO.getPrefixes(fqn);
     // forward scrolling, if after == null then first page is being asked
     List<String> jsons = dao.locationDAO().listPrefixesAfter(dao.locationDAO().getTableName(),
-            dao.locationDAO().getNameColumn(), fqn, service, limitParam + 1, after == null ? "" :
+            dao.locationDAO().getNameColumn(), prefixes, limitParam + 1, after == null ? "" :
                     CipherText.instance().decrypt(after));
 
     List<Location> entities = new ArrayList<>();
@@ -112,7 +113,7 @@ public class LocationRepository extends EntityRepository<Location> {
       entities.add(setFields(JsonUtils.readValue(json, Location.class), fields));
     }
     int total = dao.locationDAO().listPrefixesCount(dao.locationDAO().getTableName(),
-            dao.locationDAO().getNameColumn(), fqn, service);
+            dao.locationDAO().getNameColumn(), prefixes);
 
     String beforeCursor, afterCursor = null;
     beforeCursor = after == null ? null : getFullyQualifiedName(entities.get(0));
@@ -136,6 +137,7 @@ public class LocationRepository extends EntityRepository<Location> {
   public void delete(UUID id) {
     dao.locationDAO().delete(id);
     dao.relationshipDAO().deleteAll(id.toString()); // Remove all relationships
+    dao.lineageClosureDAO().deleteEntity(id.toString());
   }
 
   @Transaction
@@ -187,6 +189,7 @@ public class LocationRepository extends EntityRepository<Location> {
     EntityUtil.setOwner(dao.relationshipDAO(), location.getId(), Entity.LOCATION, location.getOwner());
     dao.relationshipDAO().insert(location.getService().getId().toString(), location.getId().toString(),
             location.getService().getType(), Entity.LOCATION, Relationship.CONTAINS.ordinal());
+    dao.locationDAO().updateParent(location.getId(), location.getService().getId());
 
     // Add tag to location relationship
     applyTags(location);
@@ -225,6 +228,7 @@ public class LocationRepository extends EntityRepository<Location> {
       getService(service); // Populate service details
       dao.relationshipDAO().insert(service.getId().toString(), location.getId().toString(), service.getType(),
               Entity.LOCATION, Relationship.CONTAINS.ordinal());
+      dao.locationDAO().updateParent(location.getId(), service.getId());
       location.setService(service);
     }
   }
@@ -203,7 +203,7 @@ public class MessagingServiceRepository extends EntityRepository<MessagingServic
 
       List<String> addedBrokers = new ArrayList<>();
       List<String> deletedBrokers = new ArrayList<>();
-      recordListChange("brokers", origBrokers, updatedBrokers, addedBrokers, deletedBrokers, EntityUtil.stringMatch);
+      recordListChange("brokers", origBrokers, updatedBrokers, addedBrokers, deletedBrokers, EntityUtil.stringKey);
     }
   }
 }
\ No newline at end of file
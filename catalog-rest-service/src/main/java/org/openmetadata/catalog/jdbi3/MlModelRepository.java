@@ -40,8 +40,8 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.openmetadata.catalog.util.EntityUtil.entityReferenceMatch;
-import static org.openmetadata.catalog.util.EntityUtil.mlFeatureMatch;
-import static org.openmetadata.catalog.util.EntityUtil.mlHyperParameterMatch;
+import static org.openmetadata.catalog.util.EntityUtil.mlFeatureKey;
+import static org.openmetadata.catalog.util.EntityUtil.mlHyperParameterKey;
 import static org.openmetadata.catalog.util.EntityUtil.objectMatch;
 
 public class MlModelRepository extends EntityRepository<MlModel> {
@@ -67,6 +67,7 @@ public class MlModelRepository extends EntityRepository<MlModel> {
   public void delete(UUID id) {
     dao.mlModelDAO().delete(id);
     dao.relationshipDAO().deleteAll(id.toString());
+    dao.lineageClosureDAO().deleteEntity(id.toString());
   }
 
   @Transaction
@@ -358,14 +359,14 @@ public class MlModelRepository extends EntityRepository<MlModel> {
       List<MlFeature> addedList = new ArrayList<>();
       List<MlFeature> deletedList = new ArrayList<>();
       recordListChange("mlFeatures", origModel.getMlFeatures(), updatedModel.getMlFeatures(), addedList,
-              deletedList, mlFeatureMatch);
+              deletedList, mlFeatureKey);
     }
 
     private void updateMlHyperParameters(MlModel origModel, MlModel updatedModel) throws JsonProcessingException {
       List<MlHyperParameter> addedList = new ArrayList<>();
       List<MlHyperParameter> deletedList = new ArrayList<>();
       recordListChange("mlHyperParameters", origModel.getMlHyperParameters(), updatedModel.getMlHyperParameters(),
-              addedList, deletedList, mlHyperParameterMatch);
+              addedList, deletedList, mlHyperParameterKey);
     }
 
     private void updateMlStore(MlModel origModel, MlModel updatedModel) throws JsonProcessingException {
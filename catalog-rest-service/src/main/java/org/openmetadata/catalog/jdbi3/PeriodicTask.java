@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a task on a daemon thread when the server starts and then every interval, until the server stops. A failure
+ * of one run is logged and does not stop the following runs.
+ */
+public class PeriodicTask implements Managed {
+  private static final Logger LOG = LoggerFactory.getLogger(PeriodicTask.class);
+
+  private final String name;
+  private final Runnable task;
+  private final long intervalSeconds;
+  private ScheduledExecutorService executor;
+
+  public PeriodicTask(String name, Runnable task, long intervalSeconds) {
+    this.name = name;
+    this.task = task;
+    this.intervalSeconds = intervalSeconds;
+  }
+
+  @Override
+  public void start() {
+    executor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, name);
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::run, 0, intervalSeconds, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  private void run() {
+    try {
+      task.run();
+    } catch (Exception e) {
+      LOG.warn("Periodic task {} failed", name, e);
+    }
+  }
+}
@@ -66,6 +66,7 @@ public class PipelineRepository extends EntityRepository<Pipeline> {
     }
     dao.pipelineDAO().delete(id);
     dao.relationshipDAO().deleteAll(id.toString());
+    dao.lineageClosureDAO().deleteEntity(id.toString());
   }
 
   @Transaction
@@ -139,6 +140,7 @@ public class PipelineRepository extends EntityRepository<Pipeline> {
     EntityReference service = pipeline.getService();
     dao.relationshipDAO().insert(service.getId().toString(), pipeline.getId().toString(), service.getType(),
             Entity.PIPELINE, Relationship.CONTAINS.ordinal());
+    dao.pipelineDAO().updateParent(pipeline.getId(), service.getId());
 
     // Add owner relationship
     EntityUtil.setOwner(dao.relationshipDAO(), pipeline.getId(), Entity.PIPELINE, pipeline.getOwner());
@@ -324,7 +326,7 @@ public class PipelineRepository extends EntityRepository<Pipeline> {
 
       List<Task> added = new ArrayList<>();
       List<Task> deleted = new ArrayList<>();
-      recordListChange("tasks", origTasks, updatedTasks, added, deleted, EntityUtil.taskMatch);
+      recordListChange("tasks", origTasks, updatedTasks, added, deleted, EntityUtil.taskKey);
     }
   }
 }
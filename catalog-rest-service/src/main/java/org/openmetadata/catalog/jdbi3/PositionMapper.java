@@ -0,0 +1,32 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of position and json columns, where position is the keyset pagination cursor of the row, to pairs of
+ * position and JSON.
+ */
+public class PositionMapper implements RowMapper<Pair<String, String>> {
+  @Override
+  public Pair<String, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+    return Pair.of(rs.getString("position"), rs.getString("json"));
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import javax.validation.constraints.Min;
+
+public class TableProfileConfiguration {
+  /** Profiles older than retentionDays are deleted. When 0, profiles are kept forever */
+  @Min(0)
+  private int retentionDays = 0;
+
+  /** Only the latest profile of each week is kept for profiles older than downsampleAfterDays. When 0, all are kept */
+  @Min(0)
+  private int downsampleAfterDays = 0;
+
+  public int getRetentionDays() {
+    return retentionDays;
+  }
+
+  public void setRetentionDays(int retentionDays) {
+    this.retentionDays = retentionDays;
+  }
+
+  public int getDownsampleAfterDays() {
+    return downsampleAfterDays;
+  }
+
+  public void setDownsampleAfterDays(int downsampleAfterDays) {
+    this.downsampleAfterDays = downsampleAfterDays;
+  }
+
+  @Override
+  public String toString() {
+    return "tableProfileConfiguration{" +
+            "retentionDays=" + retentionDays +
+            ", downsampleAfterDays=" + downsampleAfterDays +
+            '}';
+  }
+}
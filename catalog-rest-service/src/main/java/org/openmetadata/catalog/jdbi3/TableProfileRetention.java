@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes table profiles older than the configured retention and downsamples older profiles to the latest profile of
+ * each week. Runs every {@link #INTERVAL_SECONDS} as a {@link PeriodicTask} when either is configured.
+ */
+public class TableProfileRetention implements Runnable {
+  private static final Logger LOG = LoggerFactory.getLogger(TableProfileRetention.class);
+  public static final long INTERVAL_SECONDS = 3600;
+
+  private final TableProfileConfiguration config;
+  private final TableRepository tableRepository;
+
+  public TableProfileRetention(TableProfileConfiguration config, Jdbi jdbi) {
+    this.config = config;
+    this.tableRepository = new TableRepository(jdbi.onDemand(CollectionDAO.class));
+  }
+
+  public static boolean isEnabled(TableProfileConfiguration config) {
+    return config.getRetentionDays() > 0 || config.getDownsampleAfterDays() > 0;
+  }
+
+  @Override
+  public void run() {
+    try {
+      tableRepository.applyTableProfileRetention(config.getRetentionDays(), config.getDownsampleAfterDays());
+    } catch (Exception e) {
+      LOG.warn("Failed to apply table profile retention", e);
+    }
+  }
+}
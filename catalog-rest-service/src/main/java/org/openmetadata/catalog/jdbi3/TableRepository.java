@@ -15,19 +15,24 @@ package org.openmetadata.catalog.jdbi3;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.entity.data.Database;
 import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.entity.services.DatabaseService;
+import org.openmetadata.catalog.entity.teams.Team;
+import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.exception.DuplicateEntityException;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
+import org.openmetadata.catalog.jdbi3.DatabaseRepository.DatabaseEntityInterface;
 import org.openmetadata.catalog.jdbi3.DatabaseServiceRepository.DatabaseServiceEntityInterface;
 import org.openmetadata.catalog.resources.databases.TableResource;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.Column;
 import org.openmetadata.catalog.type.ColumnJoin;
 import org.openmetadata.catalog.type.ColumnProfile;
-import org.openmetadata.catalog.type.DailyCount;
 import org.openmetadata.catalog.type.DataModel;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.JoinedWith;
@@ -37,6 +42,7 @@ import org.openmetadata.catalog.type.TableData;
 import org.openmetadata.catalog.type.TableJoins;
 import org.openmetadata.catalog.type.TableProfile;
 import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.type.UsageDetails;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
@@ -56,19 +62,20 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.function.BiPredicate;
-
-import static org.openmetadata.catalog.jdbi3.Relationship.JOINED_WITH;
-import static org.openmetadata.common.utils.CommonUtil.parseDate;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class TableRepository extends EntityRepository<Table> {
   static final Logger LOG = LoggerFactory.getLogger(TableRepository.class);
+  /** Number of latest profiles returned in tableProfile field. Older profiles are listed with listTableProfiles */
+  static final int TABLE_PROFILE_FIELD_LIMIT = 30;
   // Table fields that can be patched in a PATCH request
   static final Fields TABLE_PATCH_FIELDS = new Fields(TableResource.FIELD_LIST,
           "owner,columns,tags,tableConstraints");
@@ -104,6 +111,52 @@ public class TableRepository extends EntityRepository<Table> {
     return table;
   }
 
+  @Override
+  public List<Table> setFields(List<Table> tables, Fields fields) throws IOException, ParseException {
+    if (tables.isEmpty()) {
+      return tables;
+    }
+    // Get the relationships for all the tables in the page in one query per relationship
+    List<UUID> tableIds = tables.stream().map(Table::getId).collect(Collectors.toList());
+    Map<UUID, EntityReference> databases = getDatabases(tableIds);
+    Map<UUID, EntityReference> services = getServices(new ArrayList<>(databases.values()));
+    Map<UUID, EntityReference> owners = fields.contains("owner") ?
+            EntityUtil.populateOwners(tableIds, dao.relationshipDAO(), dao.userDAO(), dao.teamDAO()) : null;
+    Map<UUID, List<EntityReference>> followers = fields.contains("followers") ?
+            EntityUtil.getFollowers(tableIds, dao.relationshipDAO(), dao.userDAO()) : null;
+    Map<UUID, UsageDetails> usage = fields.contains("usageSummary") ?
+            EntityUtil.getLatestUsage(dao.usageDAO(), tableIds) : null;
+    Map<String, List<TagLabel>> tags = null;
+    if (fields.contains("tags")) {
+      List<String> targetFQNs = new ArrayList<>();
+      for (Table table : tables) {
+        targetFQNs.add(table.getFullyQualifiedName());
+        getColumnFQNs(table.getColumns(), targetFQNs);
+      }
+      tags = dao.tagDAO().getTags(targetFQNs);
+    }
+    Map<UUID, EntityReference> locations = fields.contains("location") ? getLocations(tableIds) : null;
+
+    for (Table table : tables) {
+      EntityReference database = databases.get(table.getId());
+      table.setDatabase(database);
+      table.setService(services.get(database.getId()));
+      table.setTableConstraints(fields.contains("tableConstraints") ? table.getTableConstraints() : null);
+      table.setOwner(owners != null ? owners.get(table.getId()) : null);
+      table.setFollowers(followers != null ? followers.get(table.getId()) : null);
+      table.setUsageSummary(usage != null ? usage.get(table.getId()) : null);
+      table.setTags(tags != null ? tags.getOrDefault(table.getFullyQualifiedName(), new ArrayList<>()) : null);
+      setColumnTags(tags, table.getColumns());
+      table.setJoins(fields.contains("joins") ? getJoins(table) : null);
+      table.setSampleData(fields.contains("sampleData") ? getSampleData(table) : null);
+      table.setViewDefinition(fields.contains("viewDefinition") ? table.getViewDefinition() : null);
+      table.setTableProfile(fields.contains("tableProfile") ? getTableProfile(table) : null);
+      table.setLocation(locations != null ? locations.get(table.getId()) : null);
+      table.setTableQueries(fields.contains("tableQueries") ? getQueries(table): null);
+    }
+    return tables;
+  }
+
   @Override
   public void restorePatchAttributes(Table original, Table updated) throws IOException, ParseException {
     // Patch can't make changes to following fields. Ignore the changes.
@@ -124,6 +177,8 @@ public class TableRepository extends EntityRepository<Table> {
   public void delete(UUID id) {
     dao.tableDAO().delete(id);
     dao.relationshipDAO().deleteAll(id.toString()); // Remove all relationships
+    dao.lineageClosureDAO().deleteEntity(id.toString());
+    dao.tableProfileDAO().deleteAll(id.toString());
   }
 
   @Transaction
@@ -141,10 +196,7 @@ public class TableRepository extends EntityRepository<Table> {
     }
 
     // With all validation done, add new joins
-    for (ColumnJoin join : joins.getColumnJoins()) {
-      String columnFQN = table.getFullyQualifiedName() + "." + join.getColumnName();
-      addJoin(joins.getStartDate(), columnFQN, join.getJoinedWith());
-    }
+    addJoins(joins.getStartDate(), table.getFullyQualifiedName(), joins.getColumnJoins());
     return table.withJoins(getJoins(table));
   }
 
@@ -175,27 +227,60 @@ public class TableRepository extends EntityRepository<Table> {
   public Table addTableProfileData(UUID tableId, TableProfile tableProfile) throws IOException, ParseException {
     // Validate the request content
     Table table = dao.tableDAO().findEntityById(tableId);
+    validateDate(tableProfile.getProfileDate());
 
-    List<TableProfile> storedTableProfiles = getTableProfile(table);
-    Map<String, TableProfile> storedMapTableProfiles = new HashMap<>();
-    if (storedTableProfiles != null) {
-      for (TableProfile profile : storedTableProfiles) {
-        storedMapTableProfiles.put(profile.getProfileDate(), profile);
-      }
-    }
     //validate all the columns
     for (ColumnProfile columnProfile : tableProfile.getColumnProfile()) {
       validateColumn(table, columnProfile.getName());
     }
-    storedMapTableProfiles.put(tableProfile.getProfileDate(), tableProfile);
-    List<TableProfile> updatedProfiles = new ArrayList<>(storedMapTableProfiles.values());
-
-    dao.entityExtensionDAO().insert(tableId.toString(), "table.tableProfile", "tableProfile",
-            JsonUtils.pojoToJson(updatedProfiles));
+    // Profile of a date replaces the earlier profile of the same date
+    dao.tableProfileDAO().upsert(tableId.toString(), tableProfile.getProfileDate(),
+            JsonUtils.pojoToJson(tableProfile));
     setFields(table, Fields.EMPTY_FIELDS);
     return table.withTableProfile(getTableProfile(table));
   }
 
+  /**
+   * List up to limit profiles of a table from startDate to endDate, both inclusive and optional, latest profile first
+   */
+  public List<TableProfile> listTableProfiles(UUID tableId, String startDate, String endDate, int limit)
+          throws IOException {
+    dao.tableDAO().findEntityById(tableId);
+    validateDate(startDate);
+    validateDate(endDate);
+    return readTableProfiles(dao.tableProfileDAO().list(tableId.toString(), startDate, endDate, limit));
+  }
+
+  public TableProfile getLatestTableProfile(UUID tableId) throws IOException {
+    dao.tableDAO().findEntityById(tableId);
+    String json = dao.tableProfileDAO().getLatest(tableId.toString());
+    if (json == null) {
+      throw new EntityNotFoundException(CatalogExceptionMessage.entityNotFound("tableProfile", tableId));
+    }
+    return JsonUtils.readValue(json, TableProfile.class);
+  }
+
+  /**
+   * Delete the profiles older than retentionDays and keep only the latest profile of each week for the profiles older
+   * than downsampleAfterDays. Either is skipped when it is 0.
+   */
+  public void applyTableProfileRetention(int retentionDays, int downsampleAfterDays) throws ParseException {
+    applyTableProfileRetention(RestUtil.DATE_FORMAT.format(new Date()), retentionDays, downsampleAfterDays);
+  }
+
+  void applyTableProfileRetention(String today, int retentionDays, int downsampleAfterDays) throws ParseException {
+    if (retentionDays > 0) {
+      String date = CommonUtil.getDateStringByOffset(RestUtil.DATE_FORMAT, today, -retentionDays);
+      int deleted = dao.tableProfileDAO().deleteBefore(date);
+      LOG.info("Deleted {} table profiles before {}", deleted, date);
+    }
+    if (downsampleAfterDays > 0) {
+      String date = CommonUtil.getDateStringByOffset(RestUtil.DATE_FORMAT, today, -downsampleAfterDays);
+      int deleted = dao.tableProfileDAO().downsampleBefore(date);
+      LOG.info("Downsampled table profiles before {} to weekly, deleted {} profiles", date, deleted);
+    }
+  }
+
   @Transaction
   public Table addLocation(UUID tableId, UUID locationId) throws IOException, ParseException {
     Table table = dao.tableDAO().findEntityById(tableId);
@@ -243,9 +328,9 @@ public class TableRepository extends EntityRepository<Table> {
       table.setDescription(dataModel.getDescription());
     }
     // Carry forward the column description from the model to table columns, if empty
+    Map<Object, Column> storedColumns = EntityUtil.indexByKey(table.getColumns(), EntityUtil.columnNameKey);
     for (Column modelColumn : Optional.ofNullable(dataModel.getColumns()).orElse(Collections.emptyList())) {
-      Column stored = table.getColumns().stream().filter(c ->
-              EntityUtil.columnNameMatch.test(c, modelColumn)).findAny().orElse(null);
+      Column stored = storedColumns.get(modelColumn.getName());
       if (stored == null) {
         continue;
       }
@@ -310,6 +395,64 @@ public class TableRepository extends EntityRepository<Table> {
     addDerivedTags(table.getColumns());
   }
 
+  @Override
+  public List<Exception> prepare(List<Table> tables) {
+    // Read the databases, services and owners referred to by the tables only once for the batch
+    Map<UUID, Database> databases;
+    Map<UUID, DatabaseService> services;
+    Pair<Map<UUID, User>, Map<UUID, Team>> owners;
+    try {
+      List<UUID> databaseIds = tables.stream().map(table -> table.getDatabase().getId()).distinct()
+              .collect(Collectors.toList());
+      databases = dao.databaseDAO().findEntitiesByIds(databaseIds).stream()
+              .collect(Collectors.toMap(Database::getId, Function.identity()));
+      services = getDatabaseServices(new ArrayList<>(databases.keySet()));
+      owners = EntityUtil.getOwners(tables.stream().map(Table::getOwner).collect(Collectors.toList()),
+              dao.userDAO(), dao.teamDAO());
+    } catch (Exception e) {
+      return new ArrayList<>(Collections.nCopies(tables.size(), e));
+    }
+
+    List<Exception> errors = new ArrayList<>();
+    for (Table table : tables) {
+      try {
+        prepare(table, databases, services, owners);
+        errors.add(null);
+      } catch (Exception e) {
+        errors.add(e);
+      }
+    }
+    return errors;
+  }
+
+  private void prepare(Table table, Map<UUID, Database> databases, Map<UUID, DatabaseService> services,
+                       Pair<Map<UUID, User>, Map<UUID, Team>> owners) throws IOException {
+    UUID databaseId = table.getDatabase().getId();
+    Database database = databases.get(databaseId);
+    if (database == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.DATABASE, databaseId));
+    }
+    table.setDatabase(new DatabaseEntityInterface(database).getEntityReference());
+    DatabaseService service = services.get(databaseId);
+    if (service == null) {
+      throw EntityNotFoundException.byMessage(String.format("Database service for database %s Not found",
+              databaseId));
+    }
+    table.setService(new DatabaseServiceEntityInterface(service).getEntityReference());
+    table.setServiceType(service.getServiceType());
+
+    // Set data in table entity based on database relationship
+    table.setFullyQualifiedName(getFQN(table));
+    setColumnFQN(table.getFullyQualifiedName(), table.getColumns());
+
+    // Check if owner is valid and set the relationship
+    table.setOwner(EntityUtil.populateOwner(table.getOwner(), owners.getLeft(), owners.getRight()));
+
+    // Validate table and column tags and add derived tags to the list
+    table.setTags(EntityUtil.addDerivedTags(dao.tagDAO(), table.getTags()));
+    addDerivedTags(table.getColumns());
+  }
+
   private DatabaseService getService(UUID serviceId, String entityType) throws IOException {
     if (entityType.equalsIgnoreCase(Entity.DATABASE_SERVICE)) {
       return dao.dbServiceDAO().findEntityById(serviceId);
@@ -337,6 +480,15 @@ public class TableRepository extends EntityRepository<Table> {
 
   @Override
   public void storeEntity(Table table, boolean update) throws IOException {
+    String json = getStoredJson(table);
+    if (update) {
+      dao.tableDAO().update(table.getId(), json);
+    } else {
+      dao.tableDAO().insertJson(json);
+    }
+  }
+
+  private String getStoredJson(Table table) throws JsonProcessingException {
     // Relationships and fields such as href are derived and not stored as part of json
     EntityReference owner = table.getOwner();
     EntityReference database = table.getDatabase();
@@ -351,14 +503,134 @@ public class TableRepository extends EntityRepository<Table> {
     table.setColumns(cloneWithoutTags(columnWithTags));
     table.getColumns().forEach(column -> column.setTags(null));
 
-    if (update) {
-      dao.tableDAO().update(table.getId(), JsonUtils.pojoToJson(table));
-    } else {
-      dao.tableDAO().insert(table);
-    }
+    String json = JsonUtils.pojoToJson(table);
 
     // Restore the relationships
     table.withOwner(owner).withDatabase(database).withTags(tags).withColumns(columnWithTags).withService(service);
+    return json;
+  }
+
+  @Override
+  public List<Exception> storeEntities(List<Table> tables) {
+    List<Exception> errors = new ArrayList<>(Collections.nCopies(tables.size(), null));
+    if (tables.isEmpty()) {
+      return errors;
+    }
+
+    // Insert all the tables using a batch query
+    boolean[] inserted;
+    try {
+      List<String> jsons = new ArrayList<>();
+      for (Table table : tables) {
+        jsons.add(getStoredJson(table));
+      }
+      inserted = dao.tableDAO().insertAll(jsons);
+    } catch (Exception e) {
+      // Some of the tables in the batch may have been inserted before the failure
+      LOG.warn("Batch insert of {} tables failed, checking the tables inserted", tables.size(), e);
+      inserted = new boolean[tables.size()];
+      for (int i = 0; i < tables.size(); i++) {
+        inserted[i] = dao.tableDAO().exists(tables.get(i).getId());
+      }
+    }
+
+    List<Table> stored = new ArrayList<>();
+    for (int i = 0; i < tables.size(); i++) {
+      if (inserted[i]) {
+        stored.add(tables.get(i));
+      } else {
+        errors.set(i, new DuplicateEntityException(CatalogExceptionMessage.ENTITY_ALREADY_EXISTS, null));
+      }
+    }
+
+    // Add the relationships of all the stored tables using batch queries. The batches don't run in a transaction,
+    // hence on failure the stored tables are deleted along with the relationships added before the failure.
+    try {
+      storeRelationships(stored);
+    } catch (Exception e) {
+      LOG.warn("Storing relationships of {} tables failed, deleting the stored tables", stored.size(), e);
+      deleteStored(stored);
+      for (int i = 0; i < tables.size(); i++) {
+        if (inserted[i]) {
+          errors.set(i, e);
+        }
+      }
+    }
+    return errors;
+  }
+
+  private void deleteStored(List<Table> tables) {
+    List<Pair<String, TagLabel>> tagUsage = getTagUsage(tables);
+    try {
+      if (!tagUsage.isEmpty()) {
+        dao.tagDAO().deleteTagsBatch(
+                tagUsage.stream().map(pair -> pair.getRight().getTagFQN()).collect(Collectors.toList()),
+                tagUsage.stream().map(Pair::getLeft).collect(Collectors.toList()));
+      }
+    } catch (Exception e) {
+      LOG.error("Failed to delete tag usage of tables that failed to store", e);
+    }
+    for (Table table : tables) {
+      try {
+        dao.relationshipDAO().deleteAll(table.getId().toString());
+        dao.tableDAO().delete(table.getId());
+      } catch (Exception e) {
+        LOG.error("Failed to delete table {} that failed to store", table.getFullyQualifiedName(), e);
+      }
+    }
+  }
+
+  private void storeRelationships(List<Table> tables) {
+    if (tables.isEmpty()) {
+      return;
+    }
+    // Add relationship from database to table
+    List<String> tableIds = tables.stream().map(table -> table.getId().toString()).collect(Collectors.toList());
+    dao.relationshipDAO().insertBatch(
+            tables.stream().map(table -> table.getDatabase().getId().toString()).collect(Collectors.toList()),
+            tableIds, Collections.nCopies(tables.size(), Entity.DATABASE), Entity.TABLE,
+            Relationship.CONTAINS.ordinal());
+    dao.tableDAO().updateParents(tables.stream().map(Table::getId).collect(Collectors.toList()),
+            tables.stream().map(table -> table.getDatabase().getId()).collect(Collectors.toList()));
+
+    // Add table owner relationship
+    List<Table> owned = tables.stream().filter(table -> table.getOwner() != null).collect(Collectors.toList());
+    if (!owned.isEmpty()) {
+      dao.relationshipDAO().insertBatch(
+              owned.stream().map(table -> table.getOwner().getId().toString()).collect(Collectors.toList()),
+              owned.stream().map(table -> table.getId().toString()).collect(Collectors.toList()),
+              owned.stream().map(table -> table.getOwner().getType()).collect(Collectors.toList()), Entity.TABLE,
+              Relationship.OWNS.ordinal());
+    }
+
+    // Add tag to table and column relationships
+    List<Pair<String, TagLabel>> tagUsage = getTagUsage(tables);
+    if (!tagUsage.isEmpty()) {
+      dao.tagDAO().applyTagsBatch(
+              tagUsage.stream().map(pair -> pair.getRight().getTagFQN()).collect(Collectors.toList()),
+              tagUsage.stream().map(Pair::getLeft).collect(Collectors.toList()),
+              tagUsage.stream().map(pair -> pair.getRight().getLabelType().ordinal()).collect(Collectors.toList()),
+              tagUsage.stream().map(pair -> pair.getRight().getState().ordinal()).collect(Collectors.toList()));
+    }
+  }
+
+  /** Pairs of the fully qualified name of a table or a column and a tag applied to it */
+  private static List<Pair<String, TagLabel>> getTagUsage(List<Table> tables) {
+    List<Pair<String, TagLabel>> tagUsage = new ArrayList<>();
+    for (Table table : tables) {
+      Optional.ofNullable(table.getTags()).orElse(Collections.emptyList())
+              .forEach(tag -> tagUsage.add(Pair.of(table.getFullyQualifiedName(), tag)));
+      getColumnTags(table.getColumns(), tagUsage);
+    }
+    return tagUsage;
+  }
+
+  private static void getColumnTags(List<Column> columns, List<Pair<String, TagLabel>> tagUsage) {
+    for (Column column : Optional.ofNullable(columns).orElse(Collections.emptyList())) {
+      Optional.ofNullable(column.getTags()).orElse(Collections.emptyList())
+              .forEach(tag -> tagUsage.add(Pair.of(column.getFullyQualifiedName(), tag)));
+      getColumnTags(column.getChildren(), tagUsage);
+    }
   }
 
   @Override
@@ -367,6 +639,7 @@ public class TableRepository extends EntityRepository<Table> {
     String databaseId = table.getDatabase().getId().toString();
     dao.relationshipDAO().insert(databaseId, table.getId().toString(), Entity.DATABASE, Entity.TABLE,
             Relationship.CONTAINS.ordinal());
+    dao.tableDAO().updateParent(table.getId(), table.getDatabase().getId());
 
     // Add table owner relationship
     EntityUtil.setOwner(dao.relationshipDAO(), table.getId(), Entity.TABLE, table.getOwner());
@@ -429,6 +702,60 @@ public class TableRepository extends EntityRepository<Table> {
     return dao.databaseDAO().findEntityReferenceById(UUID.fromString(result.get(0)));
   }
 
+  private Map<UUID, EntityReference> getDatabases(List<UUID> tableIds) throws IOException {
+    // Find databases for the tables
+    List<Pair<String, EntityReference>> result = dao.relationshipDAO().findFromBatch(
+            EntityUtil.toStringList(tableIds), Relationship.CONTAINS.ordinal(), Entity.DATABASE);
+    Map<UUID, UUID> databaseIds = new HashMap<>();
+    for (Pair<String, EntityReference> pair : result) {
+      if (databaseIds.put(UUID.fromString(pair.getLeft()), pair.getRight().getId()) != null) {
+        throw EntityNotFoundException.byMessage(String.format("Database for table %s Not found", pair.getLeft()));
+      }
+    }
+    Map<UUID, EntityReference> databaseRefs = dao.databaseDAO().findEntityReferencesByIds(
+            new ArrayList<>(new HashSet<>(databaseIds.values())));
+    Map<UUID, EntityReference> databases = new HashMap<>();
+    for (UUID tableId : tableIds) {
+      EntityReference database = databaseRefs.get(databaseIds.get(tableId));
+      if (database == null) {
+        throw EntityNotFoundException.byMessage(String.format("Database for table %s Not found", tableId));
+      }
+      databases.put(tableId, database);
+    }
+    return databases;
+  }
+
+  private Map<UUID, EntityReference> getServices(List<EntityReference> databases) throws IOException {
+    List<UUID> databaseIds = databases.stream().map(EntityReference::getId).distinct().collect(Collectors.toList());
+    Map<UUID, EntityReference> services = new HashMap<>();
+    getDatabaseServices(databaseIds).forEach((databaseId, service) -> services.put(databaseId,
+            new EntityReference().withId(service.getId()).withType(Entity.DATABASE_SERVICE)
+                    .withName(service.getName()).withDescription(service.getDescription())));
+    return services;
+  }
+
+  private Map<UUID, DatabaseService> getDatabaseServices(List<UUID> databaseIds) throws IOException {
+    // Find database services for the databases
+    List<Pair<String, EntityReference>> result = dao.relationshipDAO().findFromBatch(
+            EntityUtil.toStringList(databaseIds), Relationship.CONTAINS.ordinal(), Entity.DATABASE_SERVICE);
+    List<UUID> serviceIds = result.stream().map(pair -> pair.getRight().getId()).distinct()
+            .collect(Collectors.toList());
+    Map<UUID, DatabaseService> dbServices = new HashMap<>();
+    dao.dbServiceDAO().findEntitiesByIds(serviceIds).forEach(service -> dbServices.put(service.getId(), service));
+
+    Map<UUID, DatabaseService> services = new HashMap<>();
+    for (Pair<String, EntityReference> pair : result) {
+      UUID serviceId = pair.getRight().getId();
+      DatabaseService service = dbServices.get(serviceId);
+      if (service == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.DATABASE_SERVICE,
+                serviceId));
+      }
+      services.putIfAbsent(UUID.fromString(pair.getLeft()), service);
+    }
+    return services;
+  }
+
   private EntityReference getLocation(UUID tableId) throws IOException {
     // Find the location of the table
     List<String> result = dao.relationshipDAO().findTo(tableId.toString(), Relationship.HAS.ordinal(), Entity.LOCATION);
@@ -439,6 +766,31 @@ public class TableRepository extends EntityRepository<Table> {
     }
   }
 
+  private Map<UUID, EntityReference> getLocations(List<UUID> tableIds) throws IOException {
+    // Find the locations of the tables. As for a single table, a table with more than one location has none.
+    List<Pair<String, EntityReference>> result = dao.relationshipDAO().findToBatch(
+            EntityUtil.toStringList(tableIds), Relationship.HAS.ordinal(), Entity.LOCATION);
+    Map<UUID, List<UUID>> locationIds = new HashMap<>();
+    for (Pair<String, EntityReference> pair : result) {
+      locationIds.computeIfAbsent(UUID.fromString(pair.getLeft()), k -> new ArrayList<>())
+              .add(pair.getRight().getId());
+    }
+    locationIds.values().removeIf(ids -> ids.size() != 1);
+    Map<UUID, EntityReference> locationRefs = dao.locationDAO().findEntityReferencesByIds(locationIds.values()
+            .stream().map(ids -> ids.get(0)).distinct().collect(Collectors.toList()));
+    Map<UUID, EntityReference> locations = new HashMap<>();
+    for (Map.Entry<UUID, List<UUID>> entry : locationIds.entrySet()) {
+      UUID locationId = entry.getValue().get(0);
+      EntityReference location = locationRefs.get(locationId);
+      if (location == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.LOCATION,
+                locationId));
+      }
+      locations.put(entry.getKey(), location);
+    }
+    return locations;
+  }
+
   private EntityReference getOwner(Table table) throws IOException {
     return table == null ? null : EntityUtil.populateOwner(table.getId(), dao.relationshipDAO(), dao.userDAO(),
             dao.teamDAO());
@@ -459,6 +811,20 @@ public class TableRepository extends EntityRepository<Table> {
     }
   }
 
+  private void getColumnFQNs(List<Column> columns, List<String> columnFQNs) {
+    for (Column c : Optional.ofNullable(columns).orElse(Collections.emptyList())) {
+      columnFQNs.add(c.getFullyQualifiedName());
+      getColumnFQNs(c.getChildren(), columnFQNs);
+    }
+  }
+
+  private void setColumnTags(Map<String, List<TagLabel>> tags, List<Column> columns) {
+    for (Column c : Optional.ofNullable(columns).orElse(Collections.emptyList())) {
+      c.setTags(tags != null ? tags.getOrDefault(c.getFullyQualifiedName(), new ArrayList<>()) : null);
+      setColumnTags(tags, c.getChildren());
+    }
+  }
+
   // Validate if a given column exists in the table
   private void validateColumn(Table table, String columnName) {
     boolean validColumn = false;
@@ -508,105 +874,52 @@ public class TableRepository extends EntityRepository<Table> {
     return split[0] + "." + split[1] + "." + split[2];
   }
 
-  private void addJoin(String date, String columnFQN, List<JoinedWith> joinedWithList) throws IOException,
-          ParseException {
-    for (JoinedWith joinedWith : joinedWithList) {
-      // Use the column that comes alphabetically first as the from field and the other as to field.
-      // This helps us keep the bidirectional relationship to a single row instead one row for
-      // capturing relationship in each direction.
-      //
-      // One row like this     - fromColumn <--- joinedWith --> toColumn
-      // Instead of additional - toColumn <--- joinedWith --> fromColumn
-      String fromColumnFQN;
-      String toColumnFQN;
-      if (columnFQN.compareTo(joinedWith.getFullyQualifiedName()) < 0) {
-        fromColumnFQN = columnFQN;
-        toColumnFQN = joinedWith.getFullyQualifiedName();
-      } else {
-        fromColumnFQN = joinedWith.getFullyQualifiedName();
-        toColumnFQN = columnFQN;
-      }
-      String json = dao.fieldRelationshipDAO().find(fromColumnFQN, toColumnFQN, "table.columns.column",
-              "table.columns.column", JOINED_WITH.ordinal());
-
-      DailyCount dailyCount = new DailyCount().withCount(joinedWith.getJoinCount()).withDate(date);
-      List<DailyCount> dailyCountList;
-      if (json == null) { // Create first entry
-        dailyCountList = Collections.singletonList(dailyCount);
-      } else { // Update the existing entry
-        dailyCountList = JsonUtils.readObjects(json, DailyCount.class);
-        boolean foundDate = false;
-        for (DailyCount d : dailyCountList) { // If the date already exists, update the count. Otherwise add a new entry
-          if (d.getDate().equals(dailyCount.getDate())) {
-            // Entry for date already exists. Update the count
-            d.setCount(dailyCount.getCount());
-            foundDate = true;
-            break;
-          }
-        }
-        if (!foundDate) {
-          dailyCountList.add(dailyCount);
-        }
-
-        // Sort the dailyCount list by date
-        dailyCountList.sort((d1, d2) -> {
-          try {
-            return RestUtil.compareDates(d1.getDate(), d2.getDate());
-          } catch (ParseException ignored) {
-            // This should never happen
-          }
-          return 0;
-        });
-
-        ListIterator<DailyCount> iterator = dailyCountList.listIterator();
-        while (iterator.hasNext()) {
-          String reportedOnDate = iterator.next().getDate();
-          if (!CommonUtil.dateInRange(RestUtil.DATE_FORMAT, reportedOnDate, 0, 30)) {
-            iterator.remove();
-            LOG.info("Removed join entry for column {} with column {} on older date {}", columnFQN,
-                    joinedWith.getFullyQualifiedName(), reportedOnDate);
-          }
+  private void addJoins(String date, String tableFQN, List<ColumnJoin> columnJoins) {
+    List<String> fromColumnFQNs = new ArrayList<>();
+    List<String> toColumnFQNs = new ArrayList<>();
+    List<Integer> joinCounts = new ArrayList<>();
+    for (ColumnJoin join : columnJoins) {
+      String columnFQN = tableFQN + "." + join.getColumnName();
+      for (JoinedWith joinedWith : join.getJoinedWith()) {
+        // Use the column that comes alphabetically first as the from field and the other as to field.
+        // This helps us keep the bidirectional relationship to a single row instead one row for
+        // capturing relationship in each direction.
+        //
+        // One row like this     - fromColumn <--- joinedWith --> toColumn
+        // Instead of additional - toColumn <--- joinedWith --> fromColumn
+        if (columnFQN.compareTo(joinedWith.getFullyQualifiedName()) < 0) {
+          fromColumnFQNs.add(columnFQN);
+          toColumnFQNs.add(joinedWith.getFullyQualifiedName());
+        } else {
+          fromColumnFQNs.add(joinedWith.getFullyQualifiedName());
+          toColumnFQNs.add(columnFQN);
         }
+        joinCounts.add(joinedWith.getJoinCount());
       }
-      json = JsonUtils.pojoToJson(dailyCountList);
-
-      dao.fieldRelationshipDAO().upsert(fromColumnFQN, toColumnFQN, "table.columns.column",
-              "table.columns.column", JOINED_WITH.ordinal(), "dailyCount", json);
+    }
+    if (!joinCounts.isEmpty()) {
+      dao.columnJoinDAO().upsertBatch(fromColumnFQNs, toColumnFQNs, date, joinCounts);
     }
   }
 
-  private TableJoins getJoins(Table table) throws ParseException, IOException {
-    String today = RestUtil.DATE_FORMAT.format(new Date()); // today
-    String todayMinus30Days = CommonUtil.getDateStringByOffset(RestUtil.DATE_FORMAT, today, -30);
+  private TableJoins getJoins(Table table) throws ParseException {
+    String todayMinus30Days = getJoinWindowStart();
     TableJoins tableJoins = new TableJoins().withStartDate(todayMinus30Days).withDayCount(30)
             .withColumnJoins(Collections.emptyList());
 
-    List<List<String>> list = dao.fieldRelationshipDAO().listToByPrefix(table.getFullyQualifiedName(),
-            "table.columns.column", "table.columns.column", JOINED_WITH.ordinal());
-    list.addAll(dao.fieldRelationshipDAO().listFromByPrefix(table.getFullyQualifiedName(), "table.columns.column",
-            "table.columns.column", JOINED_WITH.ordinal()));
-
-    if (list.size() == 0) { // No join information found. Return empty list
+    // Join counts of the past 30 days are aggregated in the query, ordered by column name
+    List<Pair<String, JoinedWith>> joins = dao.columnJoinDAO().listJoins(table.getFullyQualifiedName(),
+            todayMinus30Days);
+    if (joins.isEmpty()) { // No join information found. Return empty list
       return tableJoins;
     }
 
     // Map of <ColumnName> to List of <Fully Qualified Column names> it is joined with
-    Map<String, List<JoinedWith>> map = new HashMap<>();
-
-    // list [ [fromFQN, toFQN, json], ...] contains inner list [fromFQN, toFQN, json]
-    for (List<String> innerList : list) {
-      String columnName = innerList.get(0).split("\\.")[3]; // Get from column name from FQN
-      List<JoinedWith> columnJoinList = map.computeIfAbsent(columnName, k -> new ArrayList<>());
-
-      // Parse JSON to get daily counts and aggregate it
-      List<DailyCount> dailyCountList = JsonUtils.readObjects(innerList.get(2), DailyCount.class);
-      int aggregatedCount = 0;
-      for (DailyCount d : dailyCountList) {
-        if (CommonUtil.dateInRange(RestUtil.DATE_FORMAT, d.getDate(), 0, 30)) {
-          aggregatedCount += d.getCount();
-        }
-      }
-      columnJoinList.add(new JoinedWith().withFullyQualifiedName(innerList.get(1)).withJoinCount(aggregatedCount));
+    Map<String, List<JoinedWith>> map = new LinkedHashMap<>();
+    int prefixLength = table.getFullyQualifiedName().length() + 1;
+    for (Pair<String, JoinedWith> join : joins) {
+      String columnName = join.getLeft().substring(prefixLength);
+      map.computeIfAbsent(columnName, k -> new ArrayList<>()).add(join.getRight());
     }
 
     List<ColumnJoin> columnJoins = new ArrayList<>();
@@ -616,23 +929,54 @@ public class TableRepository extends EntityRepository<Table> {
     return tableJoins.withColumnJoins(columnJoins);
   }
 
+  /**
+   * Joins are reported for the past 30 days. Join counts on or before the returned date are not reported.
+   */
+  static String getJoinWindowStart() throws ParseException {
+    String today = RestUtil.DATE_FORMAT.format(new Date()); // today
+    return CommonUtil.getDateStringByOffset(RestUtil.DATE_FORMAT, today, -30);
+  }
+
+  /**
+   * Delete the daily join counts that are older than the 30 days reported in table joins
+   */
+  public void deleteExpiredJoins() throws ParseException {
+    String windowStart = getJoinWindowStart();
+    int deleted = dao.columnJoinDAO().deleteOnOrBefore(windowStart);
+    LOG.info("Deleted {} daily join counts on or before {}", deleted, windowStart);
+  }
+
   private TableData getSampleData(Table table) throws IOException {
     return JsonUtils.readValue(dao.entityExtensionDAO().getExtension(table.getId().toString(), "table.sampleData"),
             TableData.class);
   }
 
+  /** Latest {@link #TABLE_PROFILE_FIELD_LIMIT} profiles of the table, latest profile first */
   private List<TableProfile> getTableProfile(Table table) throws IOException {
-    List<TableProfile> tableProfiles =
-            JsonUtils.readObjects(dao.entityExtensionDAO().getExtension(table.getId().toString(),
-                    "table.tableProfile"),
-                    TableProfile.class);
-    if (tableProfiles != null) {
-      tableProfiles.sort(Comparator.comparing(p -> parseDate(p.getProfileDate(), RestUtil.DATE_FORMAT),
-              Comparator.reverseOrder()));
+    List<TableProfile> tableProfiles = readTableProfiles(dao.tableProfileDAO().list(table.getId().toString(), null,
+            null, TABLE_PROFILE_FIELD_LIMIT));
+    return tableProfiles.isEmpty() ? null : tableProfiles;
+  }
+
+  private static List<TableProfile> readTableProfiles(List<String> jsons) throws IOException {
+    List<TableProfile> tableProfiles = new ArrayList<>(jsons.size());
+    for (String json : jsons) {
+      tableProfiles.add(JsonUtils.readValue(json, TableProfile.class));
     }
     return tableProfiles;
   }
 
+  private static void validateDate(String date) {
+    if (date == null) {
+      return;
+    }
+    try {
+      RestUtil.DATE_FORMAT.parse(date);
+    } catch (ParseException e) {
+      throw new IllegalArgumentException("Invalid date " + date + ", expected format yyyy-MM-dd");
+    }
+  }
+
   private List<SQLQuery> getQueries(Table table) throws IOException {
     List<SQLQuery> tableQueries =
             JsonUtils.readObjects(dao.entityExtensionDAO().getExtension(table.getId().toString(),
@@ -763,7 +1107,7 @@ public class TableRepository extends EntityRepository<Table> {
       Table updatedTable = updated.getEntity();
       recordChange("tableType", origTable.getTableType(), updatedTable.getTableType());
       updateConstraints(origTable, updatedTable);
-      updateColumns("columns", origTable.getColumns(), updated.getEntity().getColumns(), EntityUtil.columnMatch);
+      updateColumns("columns", origTable.getColumns(), updated.getEntity().getColumns(), EntityUtil.columnKey);
     }
 
     private void updateConstraints(Table origTable, Table updatedTable) throws JsonProcessingException {
@@ -781,27 +1125,26 @@ public class TableRepository extends EntityRepository<Table> {
       List<TableConstraint> added = new ArrayList<>();
       List<TableConstraint> deleted = new ArrayList<>();
       recordListChange("tableConstraints", origConstraints, updatedConstraints, added, deleted,
-              EntityUtil.tableConstraintMatch);
+              EntityUtil.tableConstraintKey);
     }
 
     private void updateColumns(String fieldName, List<Column> origColumns, List<Column> updatedColumns,
-                               BiPredicate<Column, Column> columnMatch) throws IOException {
+                               Function<Column, Object> columnKey) throws IOException {
       List<Column> deletedColumns = new ArrayList<>();
       List<Column> addedColumns = new ArrayList<>();
-      recordListChange(fieldName, origColumns, updatedColumns, addedColumns, deletedColumns, columnMatch);
+      recordListChange(fieldName, origColumns, updatedColumns, addedColumns, deletedColumns, columnKey);
 
       // Delete tags related to deleted columns
-      deletedColumns.forEach(deleted -> EntityUtil.removeTags(dao.tagDAO(), deleted.getFullyQualifiedName()));
+      removeColumnTagUsage(deletedColumns);
 
       // Add tags related to newly added columns
-      for (Column added : addedColumns) {
-        EntityUtil.applyTags(dao.tagDAO(), added.getTags(), added.getFullyQualifiedName());
-      }
+      addColumnTagUsage(addedColumns);
 
       // Carry forward the user generated metadata from existing columns to new columns
+      Map<Object, Column> storedColumns = EntityUtil.indexByKey(origColumns, columnKey);
       for (Column updated : updatedColumns) {
         // Find stored column matching name, data type and ordinal position
-        Column stored = origColumns.stream().filter(c -> columnMatch.test(c, updated)).findAny().orElse(null);
+        Column stored = storedColumns.get(columnKey.apply(updated));
         if (stored == null) { // New column added
           continue;
         }
@@ -813,13 +1156,27 @@ public class TableRepository extends EntityRepository<Table> {
 
         if (updated.getChildren() != null && stored.getChildren() != null) {
           String childrenFieldName = fieldName + "." + updated.getName();
-          updateColumns(childrenFieldName, stored.getChildren(), updated.getChildren(), columnMatch);
+          updateColumns(childrenFieldName, stored.getChildren(), updated.getChildren(), columnKey);
         }
       }
 
       majorVersionChange = !deletedColumns.isEmpty();
     }
 
+    private void removeColumnTagUsage(List<Column> columns) {
+      for (Column column : Optional.ofNullable(columns).orElse(Collections.emptyList())) {
+        removeTagUsage(column.getFullyQualifiedName(), column.getTags());
+        removeColumnTagUsage(column.getChildren());
+      }
+    }
+
+    private void addColumnTagUsage(List<Column> columns) throws IOException {
+      for (Column column : Optional.ofNullable(columns).orElse(Collections.emptyList())) {
+        addTagUsage(column.getFullyQualifiedName(), column.getTags());
+        addColumnTagUsage(column.getChildren());
+      }
+    }
+
     private void updateColumnDescription(Column origColumn, Column updatedColumn) throws JsonProcessingException {
       if (!patchOperation
               && origColumn.getDescription() != null && !origColumn.getDescription().isEmpty()) {
@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.exception.EntityNotFoundException;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO;
+import org.openmetadata.catalog.type.Tag;
+import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.type.TagLabel.LabelType;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide dictionary of all the tags used to validate tag labels and to add the derived tags of a tag label
+ * without reading the tags from the database. The associated tags of each tag are resolved when the dictionary is
+ * loaded.
+ *
+ * The dictionary is loaded on first use and reloaded after tags are changed through {@link TagRepository}. When
+ * running more than one server, tag changes on other servers are seen after {@link #MAX_AGE_MILLIS}, except that a
+ * tag that is not found in the dictionary is looked up in the database and reloads the dictionary when it exists.
+ * Reloads are single flight, requests that find the dictionary stale while it is being reloaded wait for the reload
+ * instead of each reading all the tags.
+ */
+public final class TagDictionary {
+  private static final Logger LOG = LoggerFactory.getLogger(TagDictionary.class);
+  public static final long MAX_AGE_MILLIS = 5 * 60 * 1000L;
+
+  // Incremented on every change to tags so that a dictionary loaded concurrently with a change is not used
+  private static final AtomicLong generation = new AtomicLong();
+  private static volatile Snapshot snapshot;
+  private static final Object LOAD_LOCK = new Object();
+
+  private TagDictionary() {}
+
+  /** Reload the dictionary on next use after tags are changed */
+  public static void invalidate() {
+    generation.incrementAndGet();
+    snapshot = null;
+  }
+
+  /** Throws {@link EntityNotFoundException} when the tag does not exist */
+  public static void validateTag(TagDAO tagDAO, String fqn) throws IOException {
+    getEntry(tagDAO, fqn);
+  }
+
+  /**
+   * Labels of the tags derived from the tag of the given label, in the same state as the label. Throws
+   * {@link EntityNotFoundException} when the tag or one of its associated tags does not exist.
+   */
+  public static List<TagLabel> getDerivedTags(TagDAO tagDAO, TagLabel tagLabel) throws IOException {
+    TagEntry entry = getEntry(tagDAO, tagLabel.getTagFQN());
+    if (entry.missingTag != null) {
+      throw notFound(entry.missingTag);
+    }
+    List<TagLabel> derivedTags = new ArrayList<>(entry.associatedTags.size());
+    for (Tag associatedTag : entry.associatedTags) {
+      derivedTags.add(new TagLabel().withTagFQN(associatedTag.getFullyQualifiedName()).withState(tagLabel.getState())
+              .withDescription(associatedTag.getDescription()).withLabelType(LabelType.DERIVED));
+    }
+    return derivedTags;
+  }
+
+  private static TagEntry getEntry(TagDAO tagDAO, String fqn) throws IOException {
+    TagEntry entry = getSnapshot(tagDAO).tags.get(fqn);
+    if (entry == null && fqn != null && tagDAO.tagExists(fqn)) {
+      // Tag added after the dictionary was loaded, possibly on another server
+      invalidate();
+      entry = getSnapshot(tagDAO).tags.get(fqn);
+    }
+    if (entry == null) {
+      throw notFound(fqn);
+    }
+    return entry;
+  }
+
+  private static Snapshot getSnapshot(TagDAO tagDAO) throws IOException {
+    Snapshot current = snapshot;
+    if (isFresh(current)) {
+      return current;
+    }
+    synchronized (LOAD_LOCK) {
+      // Dictionary may have been reloaded by another request while waiting for the lock
+      current = snapshot;
+      if (isFresh(current)) {
+        return current;
+      }
+      long loadGeneration = generation.get();
+      Snapshot loaded = load(tagDAO);
+      if (generation.get() == loadGeneration) {
+        snapshot = loaded;
+      }
+      return loaded;
+    }
+  }
+
+  private static boolean isFresh(Snapshot current) {
+    return current != null && System.currentTimeMillis() - current.loadTime < MAX_AGE_MILLIS;
+  }
+
+  private static Snapshot load(TagDAO tagDAO) throws IOException {
+    long start = System.currentTimeMillis();
+    Map<String, Tag> tags = new HashMap<>();
+    for (String json : tagDAO.listTags()) {
+      Tag tag = JsonUtils.readValue(json, Tag.class);
+      tags.put(tag.getFullyQualifiedName(), tag);
+    }
+    Map<String, TagEntry> entries = new HashMap<>(tags.size() * 2);
+    for (Tag tag : tags.values()) {
+      List<Tag> associatedTags = new ArrayList<>();
+      String missingTag = null;
+      for (String fqn : Optional.ofNullable(tag.getAssociatedTags()).orElse(Collections.emptyList())) {
+        Tag associatedTag = tags.get(fqn);
+        if (associatedTag == null) {
+          missingTag = fqn;
+          break;
+        }
+        associatedTags.add(associatedTag);
+      }
+      entries.put(tag.getFullyQualifiedName(), new TagEntry(associatedTags, missingTag));
+    }
+    LOG.info("Loaded {} tags in {} ms", entries.size(), System.currentTimeMillis() - start);
+    return new Snapshot(entries, start);
+  }
+
+  private static EntityNotFoundException notFound(String fqn) {
+    return EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Tag.class.getSimpleName(), fqn));
+  }
+
+  private static class Snapshot {
+    private final Map<String, TagEntry> tags;
+    private final long loadTime;
+
+    Snapshot(Map<String, TagEntry> tags, long loadTime) {
+      this.tags = tags;
+      this.loadTime = loadTime;
+    }
+  }
+
+  private static class TagEntry {
+    private final List<Tag> associatedTags;
+    private final String missingTag; // Associated tag that does not exist
+
+    TagEntry(List<Tag> associatedTags, String missingTag) {
+      this.associatedTags = Collections.unmodifiableList(associatedTags);
+      this.missingTag = missingTag;
+    }
+  }
+}
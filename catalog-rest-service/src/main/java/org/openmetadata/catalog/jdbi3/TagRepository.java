@@ -55,6 +55,7 @@ public class TagRepository {
       for (Tag primaryTag : category.getChildren()) {
         createTagInternal(category.getName(), primaryTag);
       }
+      TagDictionary.invalidate();
     } else {
       TagResource.LOG.info("Tag category {} is already initialized", category.getName());
     }
@@ -69,7 +70,9 @@ public class TagRepository {
   public Tag createPrimaryTag(String category, Tag tag) throws IOException {
     // Validate category
     EntityUtil.validate(category, dao.tagDAO().findCategory(category), TagCategory.class);
-    return createTagInternal(category, tag);
+    Tag created = createTagInternal(category, tag);
+    TagDictionary.invalidate();
+    return created;
   }
 
   @Transaction
@@ -80,7 +83,9 @@ public class TagRepository {
     String primaryTagFQN = category + "." + primaryTag;
     EntityUtil.validate(primaryTag, dao.tagDAO().findTag(primaryTagFQN), Tag.class);
 
-    return createTagInternal(primaryTagFQN, tag);
+    Tag created = createTagInternal(primaryTagFQN, tag);
+    TagDictionary.invalidate();
+    return created;
   }
 
   @Transaction
@@ -125,6 +130,7 @@ public class TagRepository {
     original.setDescription(updated.getDescription());
     original.setCategoryType(updated.getCategoryType());
     dao.tagDAO().updateCategory(category, JsonUtils.pojoToJson(original));
+    TagDictionary.invalidate();
 
     // Populate response fields
     return populateCategoryTags(original, null);
@@ -160,6 +166,7 @@ public class TagRepository {
     }
     original.withDescription(updated.getDescription()).withAssociatedTags(updated.getAssociatedTags());
     dao.tagDAO().updateTag(originalFQN, JsonUtils.pojoToJson(original));
+    TagDictionary.invalidate();
 
     // Populate children
     return populateChildrenTags(original, null);
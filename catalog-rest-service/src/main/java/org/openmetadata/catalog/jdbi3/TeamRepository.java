@@ -19,6 +19,7 @@ import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.teams.Team;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.resources.teams.TeamResource;
+import org.openmetadata.catalog.security.PrincipalCache;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.TagLabel;
@@ -38,7 +39,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.openmetadata.catalog.jdbi3.Relationship.OWNS;
-import static org.openmetadata.catalog.util.EntityUtil.entityReferenceMatch;
+import static org.openmetadata.catalog.util.EntityUtil.entityReferenceKey;
 
 public class TeamRepository extends EntityRepository<Team> {
   static final Fields TEAM_UPDATE_FIELDS = new Fields(TeamResource.FIELD_LIST, "profile,users");
@@ -59,6 +60,7 @@ public class TeamRepository extends EntityRepository<Team> {
     // Query 2 - Remove all relationship from and to this team
     // TODO make this UUID based
     dao.relationshipDAO().deleteAll(id.toString());
+    PrincipalCache.invalidateAll();
   }
 
   public List<EntityReference> getUsers(List<UUID> userIds) throws IOException {
@@ -131,6 +133,7 @@ public class TeamRepository extends EntityRepository<Team> {
       dao.relationshipDAO().insert(team.getId().toString(), user.getId().toString(), "team", "user",
               Relationship.CONTAINS.ordinal());
     }
+    PrincipalCache.invalidateAll();
   }
 
   @Override
@@ -140,11 +143,7 @@ public class TeamRepository extends EntityRepository<Team> {
 
   private List<EntityReference> getUsers(String id) throws IOException {
     List<String> userIds = dao.relationshipDAO().findTo(id, Relationship.CONTAINS.ordinal(), "user");
-    List<EntityReference> users = new ArrayList<>();
-    for (String userId : userIds) {
-      users.add(dao.userDAO().findEntityReferenceById(UUID.fromString(userId)));
-    }
-    return users;
+    return dao.userDAO().getEntityReferences(EntityUtil.toUUIDList(userIds));
   }
 
   private List<EntityReference> getOwns(String teamId) throws IOException {
@@ -269,7 +268,7 @@ public class TeamRepository extends EntityRepository<Team> {
 
       List<EntityReference> added = new ArrayList<>();
       List<EntityReference> deleted = new ArrayList<>();
-      if (recordListChange("users", origUsers, updatedUsers, added, deleted, entityReferenceMatch)) {
+      if (recordListChange("users", origUsers, updatedUsers, added, deleted, entityReferenceKey)) {
         // Remove users from original and add users from updated
         dao.relationshipDAO().deleteFrom(origTeam.getId().toString(), Relationship.CONTAINS.ordinal(), "user");
         // Add relationships
@@ -278,6 +277,8 @@ public class TeamRepository extends EntityRepository<Team> {
                   "team", "user", Relationship.CONTAINS.ordinal());
         }
 
+        PrincipalCache.invalidateAll();
+
         updatedUsers.sort(EntityUtil.compareEntityReference);
         origUsers.sort(EntityUtil.compareEntityReference);
       }
@@ -13,6 +13,7 @@
 
 package org.openmetadata.catalog.jdbi3;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Topic;
@@ -32,9 +33,13 @@ import org.openmetadata.catalog.util.JsonUtils;
 import java.io.IOException;
 import java.net.URI;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.openmetadata.catalog.exception.CatalogExceptionMessage.entityNotFound;
 
@@ -60,6 +65,7 @@ public class TopicRepository extends EntityRepository<Topic> {
     }
     dao.topicDAO().delete(id);
     dao.relationshipDAO().deleteAll(id.toString());
+    dao.lineageClosureDAO().deleteEntity(id.toString());
   }
 
   @Transaction
@@ -128,6 +134,30 @@ public class TopicRepository extends EntityRepository<Topic> {
     return topic;
   }
 
+  @Override
+  public List<Topic> setFields(List<Topic> topics, Fields fields) throws IOException {
+    if (topics.isEmpty()) {
+      return topics;
+    }
+    // Get the relationships for all the topics in the page in one query per relationship
+    List<UUID> topicIds = topics.stream().map(Topic::getId).collect(Collectors.toList());
+    Map<UUID, EntityReference> services = getServices(topicIds);
+    Map<UUID, EntityReference> owners = fields.contains("owner") ?
+            EntityUtil.populateOwners(topicIds, dao.relationshipDAO(), dao.userDAO(), dao.teamDAO()) : null;
+    Map<UUID, List<EntityReference>> followers = fields.contains("followers") ?
+            EntityUtil.getFollowers(topicIds, dao.relationshipDAO(), dao.userDAO()) : null;
+    Map<String, List<TagLabel>> tags = fields.contains("tags") ? dao.tagDAO().getTags(topics.stream()
+            .map(Topic::getFullyQualifiedName).collect(Collectors.toList())) : null;
+
+    for (Topic topic : topics) {
+      topic.setService(services.get(topic.getId()));
+      topic.setOwner(owners != null ? owners.get(topic.getId()) : null);
+      topic.setFollowers(followers != null ? followers.get(topic.getId()) : null);
+      topic.setTags(tags != null ? tags.getOrDefault(topic.getFullyQualifiedName(), new ArrayList<>()) : null);
+    }
+    return topics;
+  }
+
   @Override
   public void restorePatchAttributes(Topic original, Topic updated) throws IOException, ParseException {
 
@@ -155,6 +185,30 @@ public class TopicRepository extends EntityRepository<Topic> {
     return new MessagingServiceEntityInterface(getService(service.getId(), service.getType())).getEntityReference();
   }
 
+  private Map<UUID, EntityReference> getServices(List<UUID> topicIds) throws IOException {
+    // Find services by topic Ids
+    List<Pair<String, EntityReference>> result = dao.relationshipDAO().findFromBatch(
+            EntityUtil.toStringList(topicIds), Relationship.CONTAINS.ordinal());
+    for (Pair<String, EntityReference> pair : result) {
+      if (!pair.getRight().getType().equalsIgnoreCase(Entity.MESSAGING_SERVICE)) {
+        throw new IllegalArgumentException(CatalogExceptionMessage.invalidServiceEntity(pair.getRight().getType(),
+                Entity.TOPIC));
+      }
+    }
+    Map<UUID, EntityReference> serviceRefs = dao.messagingServiceDAO().findEntityReferencesByIds(result.stream()
+            .map(pair -> pair.getRight().getId()).collect(Collectors.toList()));
+    Map<UUID, EntityReference> services = new HashMap<>();
+    for (Pair<String, EntityReference> pair : result) {
+      EntityReference service = serviceRefs.get(pair.getRight().getId());
+      if (service == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.MESSAGING_SERVICE,
+                pair.getRight().getId()));
+      }
+      services.putIfAbsent(UUID.fromString(pair.getLeft()), service);
+    }
+    return services;
+  }
+
   private MessagingService getService(UUID serviceId, String entityType) throws IOException {
     if (entityType.equalsIgnoreCase(Entity.MESSAGING_SERVICE)) {
       return dao.messagingServiceDAO().findEntityById(serviceId);
@@ -166,6 +220,7 @@ public class TopicRepository extends EntityRepository<Topic> {
     if (service != null && topic != null) {
       dao.relationshipDAO().insert(service.getId().toString(), topic.getId().toString(), service.getType(),
               Entity.TOPIC, Relationship.CONTAINS.ordinal());
+      dao.topicDAO().updateParent(topic.getId(), service.getId());
       topic.setService(service);
     }
   }
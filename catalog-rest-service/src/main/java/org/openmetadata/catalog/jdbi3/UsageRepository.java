@@ -17,6 +17,9 @@ import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.api.usage.BulkUsage;
+import org.openmetadata.catalog.api.usage.EntityUsageCount;
+import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.type.DailyCount;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.EntityUsage;
@@ -29,11 +32,26 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class UsageRepository {
   private static final Logger LOG = LoggerFactory.getLogger(UsageRepository.class);
+  /** Number of entities resolved with a single query and usage records added with a single batch */
+  public static final int BULK_SIZE = 1000;
+  /** Number of entity types for which usage percentiles are computed in parallel */
+  public static final int PERCENTILE_THREADS = 4;
   private final CollectionDAO dao;
 
   public UsageRepository(CollectionDAO dao) { this.dao = dao; }
@@ -66,9 +84,223 @@ public class UsageRepository {
     LOG.info("Usage successfully posted by name");
   }
 
+  /**
+   * Add usage of many entities of a type. Entities and the parent databases of tables are resolved with a query per
+   * {@link #BULK_SIZE} entities, and usage records are added with batch statements. Counts reported for the same
+   * entity and date are added.
+   */
   @Transaction
+  public void createBulk(String entityType, BulkUsage bulkUsage) throws IOException {
+    List<EntityUsageCount> usageList = bulkUsage.getUsage();
+
+    // Resolve entity ids from ids and fully qualified names in the request
+    Map<String, UUID> idsByName = new HashMap<>();
+    Set<UUID> ids = new HashSet<>();
+    for (EntityUsageCount usage : usageList) {
+      if (usage.getId() != null) {
+        ids.add(usage.getId());
+      } else if (usage.getFullyQualifiedName() != null) {
+        idsByName.put(usage.getFullyQualifiedName(), null);
+      } else {
+        throw new IllegalArgumentException("Usage must include entity id or fullyQualifiedName");
+      }
+    }
+    for (List<UUID> chunk : partition(new ArrayList<>(ids))) {
+      Entity.getEntityReferences(entityType, chunk);
+    }
+    for (List<String> chunk : partition(new ArrayList<>(idsByName.keySet()))) {
+      Entity.getEntityReferencesByName(entityType, chunk).forEach((fqn, ref) -> idsByName.put(fqn, ref.getId()));
+    }
+
+    // Daily counts by date and entity id. Usage is added in the order of dates as the weekly and monthly counts of
+    // an entity are computed from its usage on earlier dates.
+    Map<String, Map<String, Integer>> counts = new TreeMap<>();
+    for (EntityUsageCount usage : usageList) {
+      UUID id = usage.getId() != null ? usage.getId() : idsByName.get(usage.getFullyQualifiedName());
+      counts.computeIfAbsent(usage.getDate(), date -> new HashMap<>())
+              .merge(id.toString(), usage.getCount(), Integer::sum);
+    }
+
+    // Resolve the databases of the tables before any usage is added, so that a table without a database fails the
+    // request without adding the usage of the other tables
+    Map<String, String> databaseIds = entityType.equalsIgnoreCase(Entity.TABLE) ? getDatabaseIds(counts) : null;
+    addUsage(entityType, counts);
+
+    // If table usage was reported, add the usage count to databases
+    if (databaseIds != null) {
+      Map<String, Map<String, Integer>> databaseCounts = new TreeMap<>();
+      counts.forEach((date, dailyCounts) -> dailyCounts.forEach((tableId, count) ->
+              databaseCounts.computeIfAbsent(date, d -> new HashMap<>())
+                      .merge(databaseIds.get(tableId), count, Integer::sum)));
+      addUsage(Entity.DATABASE, databaseCounts);
+    }
+  }
+
+  /** Database ids of the tables in the daily counts by table id */
+  private Map<String, String> getDatabaseIds(Map<String, Map<String, Integer>> counts) {
+    Map<String, String> databaseIds = new HashMap<>();
+    Set<String> tableIds = new HashSet<>();
+    counts.values().forEach(dailyCounts -> tableIds.addAll(dailyCounts.keySet()));
+    for (List<String> chunk : partition(new ArrayList<>(tableIds))) {
+      dao.relationshipDAO().findFromBatch(chunk, Relationship.CONTAINS.ordinal(), Entity.DATABASE)
+              .forEach(pair -> databaseIds.put(pair.getLeft(), pair.getRight().getId().toString()));
+    }
+    for (String tableId : tableIds) {
+      if (!databaseIds.containsKey(tableId)) {
+        throw EntityNotFoundException.byMessage(String.format("Database for table %s Not found", tableId));
+      }
+    }
+    return databaseIds;
+  }
+
+  private void addUsage(String entityType, Map<String, Map<String, Integer>> counts) {
+    List<String> dates = new ArrayList<>();
+    List<String> ids = new ArrayList<>();
+    List<Integer> dailyCounts = new ArrayList<>();
+    for (Map.Entry<String, Map<String, Integer>> entry : counts.entrySet()) {
+      for (Map.Entry<String, Integer> count : entry.getValue().entrySet()) {
+        dates.add(entry.getKey());
+        ids.add(count.getKey());
+        dailyCounts.add(count.getValue());
+        if (ids.size() == BULK_SIZE) {
+          dao.usageDAO().insertOrUpdateCountBatch(dates, ids, entityType, dailyCounts);
+          dates.clear();
+          ids.clear();
+          dailyCounts.clear();
+        }
+      }
+    }
+    if (!ids.isEmpty()) {
+      dao.usageDAO().insertOrUpdateCountBatch(dates, ids, entityType, dailyCounts);
+    }
+  }
+
+  private static <T> List<List<T>> partition(List<T> list) {
+    List<List<T>> chunks = new ArrayList<>();
+    for (int i = 0; i < list.size(); i += BULK_SIZE) {
+      chunks.add(list.subList(i, Math.min(i + BULK_SIZE, list.size())));
+    }
+    return chunks;
+  }
+
+  /**
+   * Compute percentile ranks of the daily, weekly and monthly usage counts of all the entities of a type on a date.
+   * Percentile rank of an entity is the percentage of the entities with count less than its count.
+   *
+   * Usage counts are read with a single scan and ranked in memory by sorting the counts, instead of counting the
+   * entities with smaller counts in SQL for each entity. PERCENT_RANK window function is not used as MySQL 5.7 does
+   * not support window functions. Percentiles are written back with batch updates of {@link #BULK_SIZE} entities.
+   */
   public void computePercentile(String entityType, String date) {
-    dao.usageDAO().computePercentile(entityType, date);
+    long start = System.currentTimeMillis();
+    List<String> ids = new ArrayList<>();
+    IntList counts1 = new IntList();
+    IntList counts7 = new IntList();
+    IntList counts30 = new IntList();
+    dao.usageDAO().listUsageCounts(entityType, date, usage -> {
+      ids.add(usage.getId());
+      counts1.add(usage.getCount1());
+      counts7.add(usage.getCount7());
+      counts30.add(usage.getCount30());
+    });
+    long read = System.currentTimeMillis();
+
+    int[] percentiles1 = percentileRanks(counts1.toArray());
+    int[] percentiles7 = percentileRanks(counts7.toArray());
+    int[] percentiles30 = percentileRanks(counts30.toArray());
+    long ranked = System.currentTimeMillis();
+
+    for (int from = 0; from < ids.size(); from += BULK_SIZE) {
+      int to = Math.min(from + BULK_SIZE, ids.size());
+      dao.usageDAO().updatePercentiles(date, ids.subList(from, to), toList(percentiles1, from, to),
+              toList(percentiles7, from, to), toList(percentiles30, from, to));
+    }
+    long end = System.currentTimeMillis();
+    LOG.info("Computed usage percentiles of {} {} entities for {} in {} ms (read {} ms, rank {} ms, write {} ms)",
+            ids.size(), entityType, date, end - start, read - start, ranked - read, end - ranked);
+  }
+
+  /**
+   * Compute percentile ranks for all the entity types with usage on a date. Entity types are computed in parallel.
+   */
+  public void computePercentile(String date) {
+    List<String> entityTypes = dao.usageDAO().listEntityTypes(date);
+    if (entityTypes.isEmpty()) {
+      return;
+    }
+    long start = System.currentTimeMillis();
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(entityTypes.size(), PERCENTILE_THREADS));
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (String entityType : entityTypes) {
+        futures.add(executor.submit(() -> computePercentile(entityType, date)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while computing usage percentiles for " + date, e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to compute usage percentiles for " + date, e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    LOG.info("Computed usage percentiles of {} entity types for {} in {} ms", entityTypes.size(), date,
+            System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Percentile rank of each count, as the percentage of counts that are less than the count, rounded to an integer
+   */
+  static int[] percentileRanks(int[] counts) {
+    int[] sorted = counts.clone();
+    Arrays.sort(sorted);
+    int[] ranks = new int[counts.length];
+    for (int i = 0; i < counts.length; i++) {
+      ranks[i] = (int) Math.round(100.0 * lowerBound(sorted, counts[i]) / counts.length);
+    }
+    return ranks;
+  }
+
+  /** Index of the first element in the sorted array that is not less than the value */
+  private static int lowerBound(int[] sorted, int value) {
+    int low = 0;
+    int high = sorted.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sorted[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static List<Integer> toList(int[] values, int from, int to) {
+    List<Integer> list = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      list.add(values[i]);
+    }
+    return list;
+  }
+
+  /** Growable array of primitive ints */
+  private static class IntList {
+    private int[] values = new int[1024];
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
   }
 
   private void addUsage(String entityType, String entityId, DailyCount usage) {
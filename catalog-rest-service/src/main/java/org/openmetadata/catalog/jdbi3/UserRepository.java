@@ -19,6 +19,7 @@ import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.resources.teams.UserResource;
+import org.openmetadata.catalog.security.PrincipalCache;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.TagLabel;
@@ -84,11 +85,13 @@ public class UserRepository extends EntityRepository<User> {
 
     // Restore the relationships
     user.withTeams(teams);
+    PrincipalCache.invalidate(user.getName());
   }
 
   @Override
   public void storeRelationships(User user) throws IOException {
     assignTeams(user, user.getTeams());
+    PrincipalCache.invalidate(user.getName());
   }
 
   @Override
@@ -112,6 +115,7 @@ public class UserRepository extends EntityRepository<User> {
 
     // Remove follows relationship to entities
     dao.relationshipDAO().deleteFrom(id.toString(), FOLLOWS.ordinal());
+    PrincipalCache.invalidate(user.getName());
   }
 
   @Override
@@ -318,7 +322,7 @@ public class UserRepository extends EntityRepository<User> {
 
       List<EntityReference> added = new ArrayList<>();
       List<EntityReference> deleted = new ArrayList<>();
-      recordListChange("teams", origTeams, updatedTeams, added, deleted, EntityUtil.entityReferenceMatch);
+      recordListChange("teams", origTeams, updatedTeams, added, deleted, EntityUtil.entityReferenceKey);
     }
   }
 }
@@ -27,6 +27,7 @@ import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
 
@@ -84,7 +85,7 @@ public class BotsResource {
                           content = @Content(mediaType = "application/json", schema = @Schema(implementation =
                                   BotsList.class)))
           })
-  public ResultList<Bots> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                       @Context SecurityContext securityContext,
                       @QueryParam("name") String name,
                       @DefaultValue("10")
@@ -96,16 +97,20 @@ public class BotsResource {
                       @QueryParam("before") String before,
                           @Parameter(description = "Returns list of bots after this cursor",
                           schema = @Schema(type = "string"))
-                      @QueryParam("after") String after) throws IOException, GeneralSecurityException, ParseException {
+                      @QueryParam("after") String after,
+                          @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                  schema = @Schema(type = "string", example = "approximate"))
+                          @DefaultValue("exact")
+                          @QueryParam("includeTotal") String includeTotalParam) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     
-    ResultList<Bots> list;
     if (before != null) { // Reverse paging
-      list = dao.listBefore(uriInfo, null, name, limitParam, before);
-    } else { // Forward paging or first page
-      list = dao.listAfter(uriInfo, null, name, limitParam, after);
+      ResultList<Bots> list = dao.listBefore(uriInfo, null, name, limitParam, before, includeTotal);
+      return Response.ok(list).build();
     }
-    return list;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, null, name, limitParam, after, includeTotal)).build();
   }
 
   @GET
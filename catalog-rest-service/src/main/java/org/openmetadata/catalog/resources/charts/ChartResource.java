@@ -34,6 +34,7 @@ import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
@@ -127,7 +128,7 @@ public class ChartResource {
                           content = @Content(mediaType = "application/json",
                                   schema = @Schema(implementation = ChartList.class)))
           })
-  public ResultList<Chart> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                                 @Context SecurityContext securityContext,
                                 @Parameter(description = "Fields requested in the returned resource",
                                 schema = @Schema(type = "string", example = FIELDS))
@@ -143,19 +144,24 @@ public class ChartResource {
                         @QueryParam("before") String before,
                                 @Parameter(description = "Returns list of charts after this cursor",
                                 schema = @Schema(type = "string"))
-                        @QueryParam("after") String after
+                        @QueryParam("after") String after,
+                                @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                        schema = @Schema(type = "string", example = "approximate"))
+                                @DefaultValue("exact")
+                                @QueryParam("includeTotal") String includeTotalParam
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
-    ResultList<Chart> charts;
     if (before != null) { // Reverse paging
-      charts = dao.listBefore(uriInfo, fields, serviceParam, limitParam, before); // Ask for one extra entry
-    } else { // Forward paging or first page
-      charts = dao.listAfter(uriInfo, fields, serviceParam, limitParam, after);
+      ResultList<Chart> charts = dao.listBefore(uriInfo, fields, serviceParam, limitParam, before, includeTotal); // Ask for one extra entry
+      addHref(uriInfo, charts.getData());
+      return Response.ok(charts).build();
     }
-    addHref(uriInfo, charts.getData());
-    return charts;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, fields, serviceParam, limitParam, after, includeTotal,
+            list -> addHref(uriInfo, list))).build();
   }
 
   @GET
@@ -166,12 +172,22 @@ public class ChartResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "Chart Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "Chart Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
   }
 
   @GET
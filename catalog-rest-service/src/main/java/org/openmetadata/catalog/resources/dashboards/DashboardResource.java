@@ -32,7 +32,9 @@ import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
+import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
@@ -112,6 +114,18 @@ public class DashboardResource {
     }
   }
 
+  public static class ChartReferenceList extends ResultList<EntityReference> {
+    @SuppressWarnings("unused")
+    ChartReferenceList() {
+      // Empty constructor needed for deserialization
+    }
+
+    public ChartReferenceList(List<EntityReference> data, String beforeCursor, String afterCursor, int total)
+            throws GeneralSecurityException, UnsupportedEncodingException {
+      super(data, beforeCursor, afterCursor, total);
+    }
+  }
+
   static final String FIELDS = "owner,charts,followers,tags,usageSummary";
   public static final List<String> FIELD_LIST = Arrays.asList(FIELDS.replaceAll(" ", "")
           .split(","));
@@ -127,7 +141,7 @@ public class DashboardResource {
                                content = @Content(mediaType = "application/json",
                                        schema = @Schema(implementation = DashboardList.class)))
           })
-  public ResultList<Dashboard> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                                       @Context SecurityContext securityContext,
                                       @Parameter(description = "Fields requested in the returned resource",
                                               schema = @Schema(type = "string", example = FIELDS))
@@ -146,19 +160,24 @@ public class DashboardResource {
                                       @QueryParam("before") String before,
                                       @Parameter(description = "Returns list of dashboards after this cursor",
                                               schema = @Schema(type = "string"))
-                                      @QueryParam("after") String after
+                                      @QueryParam("after") String after,
+                                      @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                              schema = @Schema(type = "string", example = "approximate"))
+                                      @DefaultValue("exact")
+                                      @QueryParam("includeTotal") String includeTotalParam
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
-    ResultList<Dashboard> dashboards;
     if (before != null) { // Reverse paging
-      dashboards = dao.listBefore(uriInfo, fields, serviceParam, limitParam, before); // Ask for one extra entry
-    } else { // Forward paging or first page
-      dashboards = dao.listAfter(uriInfo, fields, serviceParam, limitParam, after);
+      ResultList<Dashboard> dashboards = dao.listBefore(uriInfo, fields, serviceParam, limitParam, before, includeTotal); // Ask for one extra entry
+      addHref(uriInfo, dashboards.getData());
+      return Response.ok(dashboards).build();
     }
-    addHref(uriInfo, dashboards.getData());
-    return dashboards;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, fields, serviceParam, limitParam, after, includeTotal,
+            list -> addHref(uriInfo, list))).build();
   }
 
   @GET
@@ -169,12 +188,49 @@ public class DashboardResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "Dashboard Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "Dashboard Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
+  }
+
+  @GET
+  @Path("/{id}/charts")
+  @Operation(summary = "List charts in a dashboard", tags = "dashboards",
+          description = "Get a list of references to the charts in a dashboard identified by `id`, in the order of " +
+                  "chart ids. Use cursor-based pagination to limit the number entries in the list using `limit` and " +
+                  "`after` query params.",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "List of chart references",
+                          content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = ChartReferenceList.class))),
+                  @ApiResponse(responseCode = "404", description = "Dashboard for instance {id} is not found")
+          })
+  public Response listCharts(@Context UriInfo uriInfo,
+                             @Context SecurityContext securityContext,
+                             @Parameter(description = "Dashboard Id", schema = @Schema(type = "string"))
+                             @PathParam("id") String id,
+                             @Parameter(description = "Limit the number charts returned. (1 to 1000000, default" +
+                                     " = 100)")
+                             @DefaultValue("100")
+                             @QueryParam("limit") @Min(1) @Max(1000000) int limitParam,
+                             @Parameter(description = "Returns list of charts after this cursor",
+                                     schema = @Schema(type = "string"))
+                             @QueryParam("after") String after)
+          throws IOException, GeneralSecurityException {
+    return Response.ok(dao.listCharts(uriInfo, id, limitParam, after)).build();
   }
 
   @GET
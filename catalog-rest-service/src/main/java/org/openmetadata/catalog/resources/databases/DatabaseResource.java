@@ -35,6 +35,7 @@ import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
@@ -119,6 +120,18 @@ public class DatabaseResource {
     }
   }
 
+  public static class TableReferenceList extends ResultList<EntityReference> {
+    @SuppressWarnings("unused")
+    TableReferenceList() {
+      // Empty constructor needed for deserialization
+    }
+
+    public TableReferenceList(List<EntityReference> data, String beforeCursor, String afterCursor, int total)
+            throws GeneralSecurityException, UnsupportedEncodingException {
+      super(data, beforeCursor, afterCursor, total);
+    }
+  }
+
   static final String FIELDS ="owner,tables,usageSummary,location";
   public static final List<String> FIELD_LIST = Arrays.asList(FIELDS.replaceAll(" ", "")
           .split(","));
@@ -132,7 +145,7 @@ public class DatabaseResource {
                           content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = DatabaseList.class)))
           })
-  public ResultList<Database> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                                    @Context SecurityContext securityContext,
                                    @Parameter(description = "Fields requested in the returned resource",
                                            schema = @Schema(type = "string", example = FIELDS))
@@ -149,23 +162,28 @@ public class DatabaseResource {
                                    @QueryParam("before") String before,
                                    @Parameter(description = "Returns list of tables after this cursor",
                                            schema = @Schema(type = "string"))
-                                   @QueryParam("after") String after
+                                   @QueryParam("after") String after,
+                                   @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                           schema = @Schema(type = "string", example = "approximate"))
+                                   @DefaultValue("exact")
+                                   @QueryParam("includeTotal") String includeTotalParam
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
-    ResultList<Database> databases;
 
     // For calculating cursors, ask for one extra entry beyond limit. If the extra entry exists, then in forward
     // scrolling afterCursor is not null. Similarly, if the extra entry exists, then in reverse scrolling,
     // beforeCursor is not null. Remove the extra entry before returning results.
     if (before != null) { // Reverse paging
-      databases = dao.listBefore(uriInfo, fields, serviceParam, limitParam, before); // Ask for one extra entry
-    } else { // Forward paging or first page
-      databases = dao.listAfter(uriInfo, fields, serviceParam, limitParam, after);
+      ResultList<Database> databases = dao.listBefore(uriInfo, fields, serviceParam, limitParam, before, includeTotal); // Ask for one extra entry
+      addHref(uriInfo, databases.getData());
+      return Response.ok(databases).build();
     }
-    addHref(uriInfo, databases.getData());
-    return databases;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, fields, serviceParam, limitParam, after, includeTotal,
+            list -> addHref(uriInfo, list))).build();
   }
 
   @GET
@@ -176,12 +194,49 @@ public class DatabaseResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "database Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "database Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
+  }
+
+  @GET
+  @Path("/{id}/tables")
+  @Operation(summary = "List tables in a database", tags = "databases",
+          description = "Get a list of references to the tables in a database identified by `id`, in the order of " +
+                  "table ids. Use cursor-based pagination to limit the number entries in the list using `limit` and " +
+                  "`after` query params.",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "List of table references",
+                          content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = TableReferenceList.class))),
+                  @ApiResponse(responseCode = "404", description = "Database for instance {id} is not found")
+          })
+  public Response listTables(@Context UriInfo uriInfo,
+                             @Context SecurityContext securityContext,
+                             @Parameter(description = "database Id", schema = @Schema(type = "string"))
+                             @PathParam("id") String id,
+                             @Parameter(description = "Limit the number tables returned. (1 to 1000000, default" +
+                                     " = 100)")
+                             @DefaultValue("100")
+                             @QueryParam("limit") @Min(1) @Max(1000000) int limitParam,
+                             @Parameter(description = "Returns list of tables after this cursor",
+                                     schema = @Schema(type = "string"))
+                             @QueryParam("after") String after)
+          throws IOException, GeneralSecurityException {
+    return Response.ok(dao.listTables(uriInfo, id, limitParam, after)).build();
   }
 
   @GET
@@ -26,6 +26,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.api.data.CreateTable;
 import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.TableRepository;
 import org.openmetadata.catalog.resources.Collection;
@@ -38,7 +39,9 @@ import org.openmetadata.catalog.type.SQLQuery;
 import org.openmetadata.catalog.type.TableData;
 import org.openmetadata.catalog.type.TableJoins;
 import org.openmetadata.catalog.type.TableProfile;
+import org.openmetadata.catalog.util.BulkResponse;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
@@ -69,10 +72,13 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.security.GeneralSecurityException;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Path("/v1/tables")
@@ -110,6 +116,17 @@ public class TableResource {
     }
   }
 
+  public static class TableProfileList extends ResultList<TableProfile> {
+    @SuppressWarnings("unused") /* Required for tests */
+    public TableProfileList() {}
+
+    public TableProfileList(List<TableProfile> data) {
+      super(data);
+    }
+  }
+
+  static final int MAX_BULK_SIZE = 1000;
+
   static final String FIELDS = "columns,tableConstraints,usageSummary,owner," +
           "tags,followers,joins,sampleData,viewDefinition,tableProfile,location,tableQueries,dataModel";
   public static final List<String> FIELD_LIST = Arrays.asList(FIELDS.replaceAll(" ", "")
@@ -124,7 +141,7 @@ public class TableResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = TableList.class)))
           })
-  public ResultList<Table> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                                 @Context SecurityContext securityContext,
                                 @Parameter(description = "Fields requested in the returned resource",
                                         schema = @Schema(type = "string", example = FIELDS))
@@ -143,19 +160,24 @@ public class TableResource {
                                 @QueryParam("before") String before,
                                 @Parameter(description = "Returns list of tables after this cursor",
                                         schema = @Schema(type = "string"))
-                                @QueryParam("after") String after)
+                                @QueryParam("after") String after,
+                                @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                        schema = @Schema(type = "string", example = "approximate"))
+                                @DefaultValue("exact")
+                                @QueryParam("includeTotal") String includeTotalParam)
           throws IOException, ParseException, GeneralSecurityException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
-    ResultList<Table> tables;
     if (before != null) { // Reverse paging
-      tables = dao.listBefore(uriInfo, fields, databaseParam, limitParam, before);
-    } else { // Forward paging or first page
-      tables = dao.listAfter(uriInfo, fields, databaseParam, limitParam, after);
+      ResultList<Table> tables = dao.listBefore(uriInfo, fields, databaseParam, limitParam, before, includeTotal);
+      tables.getData().forEach(t -> addHref(uriInfo, t));
+      return Response.ok(tables).build();
     }
-    tables.getData().forEach(t -> addHref(uriInfo, t));
-    return tables;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, fields, databaseParam, limitParam, after, includeTotal,
+            list -> list.forEach(t -> addHref(uriInfo, t)))).build();
   }
 
   @GET
@@ -209,12 +231,22 @@ public class TableResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "table Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "table Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
   }
 
   @GET
@@ -275,6 +307,38 @@ public class TableResource {
     return response.toResponse();
   }
 
+  @PUT
+  @Path("/bulk")
+  @Operation(summary = "Create or update a batch of tables", tags = "tables",
+          description = "Create the tables that do not exist and update the tables that already exist. Each table " +
+                  "is processed independently and the response has the status of each table in the request.",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "Status of each table in the request",
+                          content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = BulkResponse.class))),
+                  @ApiResponse(responseCode = "400", description = "Bad request")
+          })
+  public Response bulkCreateOrUpdate(@Context UriInfo uriInfo,
+                                     @Context SecurityContext securityContext,
+                                     @Valid List<CreateTable> creates) throws IOException, ParseException {
+    if (creates.size() > MAX_BULK_SIZE) {
+      throw new IllegalArgumentException(CatalogExceptionMessage.bulkRequestTooLarge(MAX_BULK_SIZE));
+    }
+    List<Table> tables = new ArrayList<>();
+    Set<UUID> authorizedOwners = new HashSet<>();
+    for (CreateTable create : creates) {
+      Table table = getTable(securityContext, create);
+      // Check permissions only once for each distinct owner in the batch
+      UUID ownerId = table.getOwner() == null ? null : table.getOwner().getId();
+      if (authorizedOwners.add(ownerId)) {
+        SecurityUtil.checkAdminRoleOrPermissions(authorizer, securityContext, dao.getOwnerReference(table));
+      }
+      tables.add(validateNewTable(table));
+    }
+    BulkResponse response = dao.createOrUpdate(uriInfo, tables);
+    return Response.ok(response).build();
+  }
+
   @PATCH
   @Path("/{id}")
   @Operation(summary = "Update a table", tags = "tables",
@@ -384,6 +448,57 @@ public class TableResource {
     return addHref(uriInfo, table);
   }
 
+  @GET
+  @Path("/{id}/tableProfile")
+  @Operation(summary = "List table profiles", tags = "tables",
+          description = "Get the profiles of the table taken between `startDate` and `endDate`, latest profile first.",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "List of table profiles",
+                          content = @Content(mediaType = "application/json",
+                                  schema = @Schema(implementation = TableProfileList.class))),
+                  @ApiResponse(responseCode = "404", description = "Table for instance {id} is not found")
+          })
+  public TableProfileList listTableProfiles(@Context UriInfo uriInfo,
+                                            @Context SecurityContext securityContext,
+                                            @Parameter(description = "Id of the table",
+                                                    schema = @Schema(type = "string"))
+                                            @PathParam("id") String id,
+                                            @Parameter(description = "List profiles taken on or after this date in " +
+                                                    "ISO 8601 format", schema = @Schema(type = "string",
+                                                    example = "2021-01-28"))
+                                            @QueryParam("startDate") String startDate,
+                                            @Parameter(description = "List profiles taken on or before this date in " +
+                                                    "ISO 8601 format", schema = @Schema(type = "string",
+                                                    example = "2021-01-28"))
+                                            @QueryParam("endDate") String endDate,
+                                            @Parameter(description = "Limit the number of profiles returned. " +
+                                                    "(1 to 1000, default = 30)")
+                                            @DefaultValue("30")
+                                            @Min(1)
+                                            @Max(1000)
+                                            @QueryParam("limit") int limitParam) throws IOException {
+    return new TableProfileList(dao.listTableProfiles(UUID.fromString(id), startDate, endDate, limitParam));
+  }
+
+  @GET
+  @Path("/{id}/tableProfile/latest")
+  @Operation(summary = "Get the latest table profile", tags = "tables",
+          description = "Get the latest profile of the table.",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "Latest table profile",
+                          content = @Content(mediaType = "application/json",
+                                  schema = @Schema(implementation = TableProfile.class))),
+                  @ApiResponse(responseCode = "404", description = "Table for instance {id} or its profile is not " +
+                          "found")
+          })
+  public TableProfile getLatestTableProfile(@Context UriInfo uriInfo,
+                                            @Context SecurityContext securityContext,
+                                            @Parameter(description = "Id of the table",
+                                                    schema = @Schema(type = "string"))
+                                            @PathParam("id") String id) throws IOException {
+    return dao.getLatestTableProfile(UUID.fromString(id));
+  }
+
   @PUT
   @Path("/{id}/location")
   @Operation(summary = "Add a location", tags = "tables",
@@ -30,13 +30,17 @@ import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.ResultList;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -73,12 +77,14 @@ public class EventResource {
   @GET
   @Valid
   @Operation(summary = "Get change events", tags = "events",
-          description = "Get a list of change events matching event types, entity type, from a given date",
+          description = "Get a list of change events matching event types, entity type, from a given date. " +
+                  "Events are returned from the latest to the oldest. Use cursor-based pagination to limit the " +
+                  "number of events in the list using `limit` and `before` or `after` query params.",
           responses = {@ApiResponse(responseCode = "200", description = "Entity events",
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = ChangeEvent.class))),
                   @ApiResponse(responseCode = "404", description = "Entity for instance {id} is not found")})
-  public ResultList<ChangeEvent> get(@Context UriInfo uriInfo,
+  public Response get(@Context UriInfo uriInfo,
                                      @Parameter(description = "List of comma separated entities requested for " +
                                              "`entityCreated` event. When null or not set, all entities will be " +
                                              "returned",
@@ -97,12 +103,32 @@ public class EventResource {
                                      @Parameter(description = "Events starting from this date time in ISO8601 format",
                                              required = true,
                                              schema = @Schema(type = "string", example = "2021-01-28T10:00:00.000000Z"))
-                                     @QueryParam("date") String date)
+                                     @QueryParam("date") String date,
+                                     @Parameter(description = "Limit the number of events returned. (1 to 1000000, " +
+                                             "default = 1000000). Events beyond the limit are returned with " +
+                                             "the `after` cursor of the response.")
+                                     @DefaultValue("1000000")
+                                     @Min(1)
+                                     @Max(1000000)
+                                     @QueryParam("limit") int limitParam,
+                                     @Parameter(description = "Returns list of events before this cursor",
+                                             schema = @Schema(type = "string"))
+                                     @QueryParam("before") String before,
+                                     @Parameter(description = "Returns list of events after this cursor",
+                                             schema = @Schema(type = "string"))
+                                     @QueryParam("after") String after)
           throws IOException, GeneralSecurityException, ParseException {
+    RestUtil.validateCursors(before, after);
     Date parsedDate = RestUtil.DATE_TIME_FORMAT.parse(date);
     List<String> entityCreatedList = EntityList.getEntityList("entityCreated", entityCreated);
     List<String> entityUpdatedList = EntityList.getEntityList("entityUpdated", entityUpdated);
     List<String> entityDeletedList = EntityList.getEntityList("entityDeleted", entityDeleted);
-    return dao.list(parsedDate, entityCreatedList, entityUpdatedList, entityDeletedList);
+    if (before != null) { // Reverse paging
+      return Response.ok(dao.listBefore(parsedDate, entityCreatedList, entityUpdatedList, entityDeletedList,
+              limitParam, before)).build();
+    }
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(parsedDate, entityCreatedList, entityUpdatedList, entityDeletedList,
+            limitParam, after)).build();
   }
 }
\ No newline at end of file
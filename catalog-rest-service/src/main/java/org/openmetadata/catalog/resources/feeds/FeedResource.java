@@ -91,11 +91,11 @@ public class FeedResource {
                           content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = ThreadList.class)))
           })
-  public ThreadList list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                          @Parameter(description = "Filter threads by entity link",
                                  schema = @Schema(type = "string", example = "<E#/{entityType}/{entityId}>"))
                          @QueryParam("entity") String entityLink) throws IOException {
-    return new ThreadList(addHref(uriInfo, dao.listThreads(entityLink)));
+    return Response.ok(dao.listThreads(entityLink, threads -> addHref(uriInfo, threads))).build();
   }
 
   @GET
@@ -20,6 +20,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.openmetadata.catalog.CatalogApplicationConfig;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.api.lineage.AddLineage;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
@@ -28,6 +29,7 @@ import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.resources.teams.UserResource;
 import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.type.EntityLineage;
+import org.openmetadata.catalog.type.LineageImpact;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +68,11 @@ public class LineageResource {
     this.dao = new LineageRepository(dao);
   }
 
+  public void initialize(CatalogApplicationConfig config) {
+    dao.setMaxNodes(config.getLineageConfiguration().getMaxNodes());
+    dao.initializeClosure();
+  }
+
   @GET
   @Valid
   @Path("/{entity}/{id}")
@@ -126,6 +133,70 @@ public class LineageResource {
     return addHref(uriInfo, dao.getByName(entity, fqn, upstreamDepth, downStreamDepth));
   }
 
+  @GET
+  @Valid
+  @Path("/{entity}/{id}/impact")
+  @Operation(summary = "Get lineage impact", tags = "lineage",
+          description = "Get all the entities upstream and downstream of an entity identified by `id` at any depth, " +
+                  "for impact analysis. The entities are read from the lineage closure without traversing the " +
+                  "lineage graph.",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "Lineage impact",
+                          content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = LineageImpact.class))),
+                  @ApiResponse(responseCode = "404", description = "Entity for instance {id} is not found")
+          })
+  public LineageImpact getImpact(
+          @Context UriInfo uriInfo,
+          @Parameter(description = "Entity type for which lineage impact is requested",
+                  required = true,
+                  schema = @Schema(type = "string", example = "table, report, metrics, or dashboard"))
+          @PathParam("entity") String entity,
+          @Parameter(description = "Entity id",
+                  required = true,
+                  schema = @Schema(type = "string"))
+          @PathParam("id") String id,
+          @Parameter(description = "Upstream depth of lineage impact (default=all entities upstream)")
+          @Min(0) @QueryParam("upstreamDepth") Integer upstreamDepth,
+          @Parameter(description = "Downstream depth of lineage impact (default=all entities downstream)")
+          @Min(0) @QueryParam("downstreamDepth") Integer downstreamDepth,
+          @Parameter(description = "Include the upstream and downstream entities along with their count")
+          @DefaultValue("true") @QueryParam("includeNodes") boolean includeNodes) throws IOException {
+    return addHref(uriInfo, dao.getImpact(entity, id, depth(upstreamDepth), depth(downstreamDepth), includeNodes));
+  }
+
+  @GET
+  @Valid
+  @Path("/{entity}/name/{fqn}/impact")
+  @Operation(summary = "Get lineage impact by name", tags = "lineage",
+          description = "Get all the entities upstream and downstream of an entity identified by fully qualified " +
+                  "name at any depth, for impact analysis.",
+          responses = {
+                  @ApiResponse(responseCode = "200", description = "Lineage impact",
+                          content = @Content(mediaType = "application/json",
+                          schema = @Schema(implementation = LineageImpact.class))),
+                  @ApiResponse(responseCode = "404", description = "Entity for instance {id} is not found")
+          })
+  public LineageImpact getImpactByName(
+          @Context UriInfo uriInfo,
+          @Parameter(description = "Entity type for which lineage impact is requested",
+                  required = true,
+                  schema = @Schema(type = "string", example = "table, report, metrics, or dashboard"))
+          @PathParam("entity") String entity,
+          @Parameter(description = "Fully qualified name of the entity that uniquely identifies an entity",
+                  required = true,
+                  schema = @Schema(type = "string"))
+          @PathParam("fqn") String fqn,
+          @Parameter(description = "Upstream depth of lineage impact (default=all entities upstream)")
+          @Min(0) @QueryParam("upstreamDepth") Integer upstreamDepth,
+          @Parameter(description = "Downstream depth of lineage impact (default=all entities downstream)")
+          @Min(0) @QueryParam("downstreamDepth") Integer downstreamDepth,
+          @Parameter(description = "Include the upstream and downstream entities along with their count")
+          @DefaultValue("true") @QueryParam("includeNodes") boolean includeNodes) throws IOException {
+    return addHref(uriInfo, dao.getImpactByName(entity, fqn, depth(upstreamDepth), depth(downstreamDepth),
+            includeNodes));
+  }
+
   @PUT
   @Operation(summary = "Add a lineage edge", tags = "lineage",
           description = "Add a lineage edge with from entity as upstream node and to entity as downstream node.",
@@ -140,6 +211,17 @@ public class LineageResource {
     return Response.status(Status.OK).build();
   }
 
+  private static int depth(Integer depth) {
+    return depth == null ? Integer.MAX_VALUE : depth;
+  }
+
+  private LineageImpact addHref(UriInfo uriInfo, LineageImpact impact) {
+    Entity.withHref(uriInfo, impact.getEntity());
+    Entity.withHref(uriInfo, impact.getUpstreamNodes());
+    Entity.withHref(uriInfo, impact.getDownstreamNodes());
+    return impact;
+  }
+
   private EntityLineage addHref(UriInfo uriInfo, EntityLineage lineage) {
     Entity.withHref(uriInfo, lineage.getEntity());
     Entity.withHref(uriInfo, lineage.getNodes());
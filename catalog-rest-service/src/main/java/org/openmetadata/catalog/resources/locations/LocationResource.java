@@ -33,6 +33,7 @@ import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
@@ -115,7 +116,7 @@ public class LocationResource {
           responses = {@ApiResponse(responseCode = "200", description = "List of locations",
                           content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = LocationList.class)))})
-  public ResultList<Location> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                                    @Context SecurityContext securityContext,
                                    @Parameter(description = "Fields requested in the returned resource",
                                            schema = @Schema(type = "string", example = FIELDS))
@@ -134,19 +135,24 @@ public class LocationResource {
                                    @QueryParam("before") String before,
                                    @Parameter(description = "Returns list of locations after this cursor",
                                            schema = @Schema(type = "string"))
-                                   @QueryParam("after") String after)
+                                   @QueryParam("after") String after,
+                                   @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                           schema = @Schema(type = "string", example = "approximate"))
+                                   @DefaultValue("exact")
+                                   @QueryParam("includeTotal") String includeTotalParam)
           throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
-    ResultList<Location> locations;
     if (before != null) { // Reverse paging
-      locations = dao.listBefore(uriInfo, fields, serviceParam, limitParam, before); // Ask for one extra entry
-    } else { // Forward paging or first page
-      locations = dao.listAfter(uriInfo, fields, serviceParam, limitParam, after);
+      ResultList<Location> locations = dao.listBefore(uriInfo, fields, serviceParam, limitParam, before, includeTotal); // Ask for one extra entry
+      locations.getData().forEach(l -> addHref(uriInfo, l));
+      return Response.ok(locations).build();
     }
-    locations.getData().forEach(l -> addHref(uriInfo, l));
-    return locations;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, fields, serviceParam, limitParam, after, includeTotal,
+            list -> list.forEach(l -> addHref(uriInfo, l)))).build();
   }
 
   @GET
@@ -156,12 +162,22 @@ public class LocationResource {
           responses = {@ApiResponse(responseCode = "200", description = "List of location versions",
                   content = @Content(mediaType = "application/json",
                   schema = @Schema(implementation = EntityHistory.class)))})
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "location Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "location Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
   }
 
   @GET
@@ -48,6 +48,7 @@ import org.openmetadata.catalog.jdbi3.MetricsRepository;
 import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
@@ -92,7 +93,7 @@ public class MetricsResource {
                           content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = MetricsList.class)))
           })
-  public ResultList<Metrics> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                                   @Parameter(description = "Fields requested in the returned resource",
                                   schema = @Schema(type = "string", example = FIELDS))
                           @QueryParam("fields") String fieldsParam,
@@ -105,16 +106,21 @@ public class MetricsResource {
                           @QueryParam("before") String before,
                                   @Parameter(description = "Returns list of metrics after this cursor",
                                   schema = @Schema(type = "string"))
-                          @QueryParam("after") String after) 
+                          @QueryParam("after") String after,
+                                  @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                          schema = @Schema(type = "string", example = "approximate"))
+                                  @DefaultValue("exact")
+                                  @QueryParam("includeTotal") String includeTotalParam) 
             throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
     if (before != null) { // Reverse paging
-      return dao.listBefore(uriInfo, fields, null, limitParam, before);
+      return Response.ok(dao.listBefore(uriInfo, fields, null, limitParam, before, includeTotal)).build();
     }
     // Forward paging or first page
-    return dao.listAfter(uriInfo, fields, null, limitParam, after);
+    return Response.ok(dao.streamAfter(uriInfo, fields, null, limitParam, after, includeTotal)).build();
   }
 
   @GET
@@ -33,6 +33,7 @@ import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
@@ -123,7 +124,7 @@ public class MlModelResource {
                                content = @Content(mediaType = "application/json",
                                        schema = @Schema(implementation = MlModelList.class)))
           })
-  public ResultList<MlModel> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                                       @Context SecurityContext securityContext,
                                       @Parameter(description = "Fields requested in the returned resource",
                                               schema = @Schema(type = "string", example = FIELDS))
@@ -139,19 +140,24 @@ public class MlModelResource {
                                       @QueryParam("before") String before,
                                       @Parameter(description = "Returns list of models after this cursor",
                                               schema = @Schema(type = "string"))
-                                      @QueryParam("after") String after
+                                      @QueryParam("after") String after,
+                                      @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                              schema = @Schema(type = "string", example = "approximate"))
+                                      @DefaultValue("exact")
+                                      @QueryParam("includeTotal") String includeTotalParam
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
-    ResultList<MlModel> mlmodels;
     if (before != null) { // Reverse paging
-      mlmodels = dao.listBefore(uriInfo, fields, null, limitParam, before);
-    } else { // Forward paging or first page
-      mlmodels = dao.listAfter(uriInfo, fields, null, limitParam, after);
+      ResultList<MlModel> mlmodels = dao.listBefore(uriInfo, fields, null, limitParam, before, includeTotal);
+      mlmodels.getData().forEach(m -> addHref(uriInfo, m));
+      return Response.ok(mlmodels).build();
     }
-    mlmodels.getData().forEach(m -> addHref(uriInfo, m));
-    return mlmodels;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, fields, null, limitParam, after, includeTotal,
+            list -> list.forEach(m -> addHref(uriInfo, m)))).build();
   }
 
   @GET
@@ -301,12 +307,22 @@ public class MlModelResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "ML Model Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "ML Model Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
   }
 
   @GET
@@ -36,6 +36,7 @@ import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
@@ -71,6 +72,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -159,16 +161,21 @@ public class IngestionResource {
                                     @QueryParam("before") String before,
                                     @Parameter(description = "Returns list of ingestion after this cursor",
                                             schema = @Schema(type = "string"))
-                                    @QueryParam("after") String after
+                                    @QueryParam("after") String after,
+                                    @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                            schema = @Schema(type = "string", example = "approximate"))
+                                    @DefaultValue("exact")
+                                    @QueryParam("includeTotal") String includeTotalParam
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
     ResultList<Ingestion> ingestions;
     if (before != null) { // Reverse paging
-      ingestions = dao.listBefore(uriInfo, fields, null, limitParam, before); // Ask for one extra entry
+      ingestions = dao.listBefore(uriInfo, fields, null, limitParam, before, includeTotal); // Ask for one extra entry
     } else { // Forward paging or first page
-      ingestions = dao.listAfter(uriInfo, fields, null, limitParam, after);
+      ingestions = dao.listAfter(uriInfo, fields, null, limitParam, after, includeTotal);
     }
     List<Ingestion> ingestionList = ingestions.getData();
     if (fieldsParam != null && fieldsParam.contains("status")) {
@@ -186,12 +193,22 @@ public class IngestionResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "ingestion Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "ingestion Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
   }
 
   @GET
@@ -389,7 +406,9 @@ public class IngestionResource {
   }
 
   public List<Ingestion> addStatus(List<Ingestion> ingestions) {
-    Optional.ofNullable(ingestions).orElse(Collections.emptyList()).forEach(this::addStatus);
+    Map<String, Throwable> errors = airflowRESTClient.getStatus(Optional.ofNullable(ingestions)
+            .orElse(Collections.emptyList()));
+    errors.forEach((name, e) -> LOG.error("Failed to fetch status for {}", name, e));
     return ingestions;
   }
 
@@ -33,6 +33,7 @@ import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
@@ -124,7 +125,7 @@ public class PolicyResource {
                           content = @Content(mediaType = "application/json",
                                   schema = @Schema(implementation = PolicyList.class)))
           })
-  public ResultList<Policy> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                                  @Context SecurityContext securityContext,
                                  @Parameter(description = "Fields requested in the returned resource",
                                          schema = @Schema(type = "string", example = FIELDS))
@@ -140,19 +141,24 @@ public class PolicyResource {
                                  @QueryParam("before") String before,
                                  @Parameter(description = "Returns list of policies after this cursor",
                                          schema = @Schema(type = "string"))
-                                 @QueryParam("after") String after
+                                 @QueryParam("after") String after,
+                                 @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                         schema = @Schema(type = "string", example = "approximate"))
+                                 @DefaultValue("exact")
+                                 @QueryParam("includeTotal") String includeTotalParam
   ) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
-    ResultList<Policy> policies;
     if (before != null) { // Reverse paging
-      policies = dao.listBefore(uriInfo, fields, null, limitParam, before); // Ask for one extra entry
-    } else { // Forward paging or first page
-      policies = dao.listAfter(uriInfo, fields, null, limitParam, after);
+      ResultList<Policy> policies = dao.listBefore(uriInfo, fields, null, limitParam, before, includeTotal); // Ask for one extra entry
+      addHref(uriInfo, policies.getData());
+      return Response.ok(policies).build();
     }
-    addHref(uriInfo, policies.getData());
-    return policies;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, fields, null, limitParam, after, includeTotal,
+            list -> addHref(uriInfo, list))).build();
   }
 
   @GET
@@ -203,12 +209,22 @@ public class PolicyResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "policy Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "policy Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
   }
 
   @GET
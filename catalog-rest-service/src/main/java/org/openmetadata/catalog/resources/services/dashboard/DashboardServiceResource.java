@@ -28,6 +28,7 @@ import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
 import org.openmetadata.catalog.util.ResultList;
@@ -94,7 +95,7 @@ public class DashboardServiceResource {
                           content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = DashboardServiceList.class)))
           })
-  public ResultList<DashboardService> list(@Context UriInfo uriInfo, 
+  public Response list(@Context UriInfo uriInfo, 
                                   @QueryParam("name") String name,
                                   @DefaultValue("10")
                                   @Min(1)
@@ -105,15 +106,20 @@ public class DashboardServiceResource {
                                   @QueryParam("before") String before,
                                            @Parameter(description = "Returns list of dashboard services after this cursor",
                                            schema = @Schema(type = "string"))
-                                  @QueryParam("after") String after)
+                                  @QueryParam("after") String after,
+                                           @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                                   schema = @Schema(type = "string", example = "approximate"))
+                                           @DefaultValue("exact")
+                                           @QueryParam("includeTotal") String includeTotalParam)
           throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
 
     if (before != null) { // Reverse paging
-      return dao.listBefore(uriInfo, null, null, limitParam, before);
+      return Response.ok(dao.listBefore(uriInfo, null, null, limitParam, before, includeTotal)).build();
     }
     // Forward paging
-    return dao.listAfter(uriInfo, null, null, limitParam, after);
+    return Response.ok(dao.streamAfter(uriInfo, null, null, limitParam, after, includeTotal)).build();
   }
 
   @GET
@@ -156,12 +162,22 @@ public class DashboardServiceResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "dashboard service Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "dashboard service Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
   }
 
   @GET
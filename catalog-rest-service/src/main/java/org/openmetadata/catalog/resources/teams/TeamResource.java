@@ -34,6 +34,7 @@ import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.util.EntityUtil;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.ResultList;
@@ -114,7 +115,7 @@ public class TeamResource {
                           content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = TeamList.class)))
           })
-  public ResultList<Team> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                        @Context SecurityContext securityContext,
                        @Parameter(description = "Fields requested in the returned resource",
                                schema = @Schema(type = "string", example = FIELDS))
@@ -129,18 +130,23 @@ public class TeamResource {
                        @QueryParam("before") String before,
                        @Parameter(description = "Returns list of tables after this cursor",
                                schema = @Schema(type = "string"))
-                       @QueryParam("after") String after) throws IOException, GeneralSecurityException, ParseException {
+                       @QueryParam("after") String after,
+                       @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                               schema = @Schema(type = "string", example = "approximate"))
+                       @DefaultValue("exact")
+                       @QueryParam("includeTotal") String includeTotalParam) throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     EntityUtil.Fields fields = new EntityUtil.Fields(FIELD_LIST, fieldsParam);
 
-    ResultList<Team> teams;
     if (before != null) { // Reverse paging
-      teams = dao.listBefore(uriInfo, fields, null, limitParam, before); // Ask for one extra entry
-    } else { // Forward paging or first page
-      teams = dao.listAfter(uriInfo, fields, null, limitParam, after);
+      ResultList<Team> teams = dao.listBefore(uriInfo, fields, null, limitParam, before, includeTotal); // Ask for one extra entry
+      teams.getData().forEach(team -> addHref(uriInfo, team));
+      return Response.ok(teams).build();
     }
-    teams.getData().forEach(team -> addHref(uriInfo, team));
-    return teams;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, fields, null, limitParam, after, includeTotal,
+            list -> list.forEach(team -> addHref(uriInfo, team)))).build();
   }
 
   @GET
@@ -151,12 +157,22 @@ public class TeamResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "team Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "team Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
   }
 
   @GET
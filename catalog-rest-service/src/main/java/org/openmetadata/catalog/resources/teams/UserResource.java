@@ -35,6 +35,7 @@ import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.ResultList;
@@ -123,7 +124,7 @@ public class UserResource {
                           content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = UserList.class)))
   })
-  public ResultList<User> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                                @Context SecurityContext securityContext,
                                @Parameter(description = "Fields requested in the returned resource",
                                        schema = @Schema(type = "string", example = FIELDS))
@@ -141,19 +142,24 @@ public class UserResource {
                                @QueryParam("before") String before,
                                @Parameter(description = "Returns list of users after this cursor",
                                        schema = @Schema(type = "string"))
-                               @QueryParam("after") String after)
+                               @QueryParam("after") String after,
+                               @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                       schema = @Schema(type = "string", example = "approximate"))
+                               @DefaultValue("exact")
+                               @QueryParam("includeTotal") String includeTotalParam)
           throws IOException, GeneralSecurityException, ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
-    ResultList<User> users;
     if (before != null) { // Reverse paging
-      users = dao.listBefore(uriInfo, fields, teamParam, limitParam, before);
-    } else { // Forward paging or first page
-      users = dao.listAfter(uriInfo, fields, teamParam, limitParam, after);
+      ResultList<User> users = dao.listBefore(uriInfo, fields, teamParam, limitParam, before, includeTotal);
+      Optional.ofNullable(users.getData()).orElse(Collections.emptyList()).forEach(u -> addHref(uriInfo, u));
+      return Response.ok(users).build();
     }
-    Optional.ofNullable(users.getData()).orElse(Collections.emptyList()).forEach(u -> addHref(uriInfo, u));
-    return users;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, fields, teamParam, limitParam, after, includeTotal,
+            list -> list.forEach(u -> addHref(uriInfo, u)))).build();
   }
 
   @GET
@@ -164,12 +170,22 @@ public class UserResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "user Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "user Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
   }
 
   @GET
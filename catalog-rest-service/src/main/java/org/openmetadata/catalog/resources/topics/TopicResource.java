@@ -33,6 +33,7 @@ import org.openmetadata.catalog.security.CatalogAuthorizer;
 import org.openmetadata.catalog.security.SecurityUtil;
 import org.openmetadata.catalog.type.EntityHistory;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.IncludeTotal;
 import org.openmetadata.catalog.util.RestUtil;
 import org.openmetadata.catalog.util.RestUtil.PatchResponse;
 import org.openmetadata.catalog.util.RestUtil.PutResponse;
@@ -125,7 +126,7 @@ public class TopicResource {
                           content = @Content(mediaType = "application/json",
                                   schema = @Schema(implementation = TopicList.class)))
           })
-  public ResultList<Topic> list(@Context UriInfo uriInfo,
+  public Response list(@Context UriInfo uriInfo,
                                 @Context SecurityContext securityContext,
                                 @Parameter(description = "Fields requested in the returned resource",
                                         schema = @Schema(type = "string", example = FIELDS))
@@ -142,19 +143,24 @@ public class TopicResource {
                                 @QueryParam("before") String before,
                                 @Parameter(description = "Returns list of topics after this cursor",
                                         schema = @Schema(type = "string"))
-                                @QueryParam("after") String after) throws IOException, GeneralSecurityException,
+                                @QueryParam("after") String after,
+                                @Parameter(description = IncludeTotal.PARAM_DESCRIPTION,
+                                        schema = @Schema(type = "string", example = "approximate"))
+                                @DefaultValue("exact")
+                                @QueryParam("includeTotal") String includeTotalParam) throws IOException, GeneralSecurityException,
           ParseException {
     RestUtil.validateCursors(before, after);
+    IncludeTotal includeTotal = IncludeTotal.fromString(includeTotalParam);
     Fields fields = new Fields(FIELD_LIST, fieldsParam);
 
-    ResultList<Topic> topics;
     if (before != null) { // Reverse paging
-      topics = dao.listBefore(uriInfo, fields, serviceParam, limitParam, before); // Ask for one extra entry
-    } else { // Forward paging or first page
-      topics = dao.listAfter(uriInfo, fields, serviceParam, limitParam, after);
+      ResultList<Topic> topics = dao.listBefore(uriInfo, fields, serviceParam, limitParam, before, includeTotal); // Ask for one extra entry
+      addHref(uriInfo, topics.getData());
+      return Response.ok(topics).build();
     }
-    addHref(uriInfo, topics.getData());
-    return topics;
+    // Forward paging or first page
+    return Response.ok(dao.streamAfter(uriInfo, fields, serviceParam, limitParam, after, includeTotal,
+            list -> addHref(uriInfo, list))).build();
   }
 
   @GET
@@ -165,12 +171,22 @@ public class TopicResource {
                   content = @Content(mediaType = "application/json",
                           schema = @Schema(implementation = EntityHistory.class)))
           })
-  public EntityHistory listVersions(@Context UriInfo uriInfo,
-                                    @Context SecurityContext securityContext,
-                                    @Parameter(description = "Topic Id", schema = @Schema(type = "string"))
-                                    @PathParam("id") String id)
+  public Response listVersions(@Context UriInfo uriInfo,
+                               @Context SecurityContext securityContext,
+                               @Parameter(description = "Topic Id", schema = @Schema(type = "string"))
+                               @PathParam("id") String id,
+                               @Parameter(description = "Limit the number of versions returned. (1 to 1000000, " +
+                                       "default = 1000000). Versions beyond the limit are returned with the " +
+                                       "`after` cursor of the response.")
+                               @DefaultValue("1000000")
+                               @Min(1)
+                               @Max(1000000)
+                               @QueryParam("limit") int limitParam,
+                               @Parameter(description = "Returns list of versions after this cursor",
+                                       schema = @Schema(type = "string"))
+                               @QueryParam("after") String after)
           throws IOException, ParseException, GeneralSecurityException {
-    return dao.listVersions(id);
+    return Response.ok(dao.listVersions(id, limitParam, after)).build();
   }
 
   @GET
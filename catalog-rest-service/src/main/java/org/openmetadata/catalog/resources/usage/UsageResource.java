@@ -21,6 +21,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.api.usage.BulkUsage;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.UsageRepository;
 import org.openmetadata.catalog.resources.Collection;
@@ -185,6 +186,27 @@ public class UsageResource {
     return Response.status(Response.Status.CREATED).build();
   }
 
+  @POST
+  @Path("/{entity}/bulk")
+  @Operation(summary = "Report usage of many entities", tags = "usage",
+          description = "Report usage information for many entities of an entity type, identified by `id` or " +
+                  "`fullyQualifiedName`, in a single request. Counts reported for the same entity and date are added.",
+          responses = {
+                  @ApiResponse(responseCode = "201", description = "Usage reported"),
+                  @ApiResponse(responseCode = "400", description = "Bad request")
+          })
+  public Response createBulk(
+          @Context UriInfo uriInfo,
+          @Parameter(description = "Entity type for which usage is reported",
+                  required = true,
+                  schema = @Schema(type = "string", example = "table, report, metrics, or dashboard"))
+          @PathParam("entity") String entity,
+          @Parameter(description = "Usage information of the entities")
+          @Valid BulkUsage usage) throws IOException {
+    dao.createBulk(entity, usage);
+    return Response.status(Response.Status.CREATED).build();
+  }
+
   @POST
   @Path("/compute.percentile/{entity}/{date}")
   @Operation(summary = "Compute percentiles", tags = "usage",
@@ -207,6 +229,25 @@ public class UsageResource {
     return Response.status(Response.Status.CREATED).build();
   }
 
+  @POST
+  @Path("/compute.percentile/{date}")
+  @Operation(summary = "Compute percentiles for all entity types", tags = "usage",
+          description = "Compute percentile ranking for all the entity types with usage on the given date. Entity " +
+                  "types are computed in parallel.",
+          hidden = true,
+          responses = {
+                  @ApiResponse(responseCode = "201", description = "Percentiles computed"),
+                  @ApiResponse(responseCode = "400", description = "Bad request")
+          })
+  public Response computePercentiles(
+          @Context UriInfo uriInfo,
+          @Parameter(description = "ISO 8601 format date to compute percentile on",
+                  schema = @Schema(type = "string", example = "2021-01-28"))
+          @PathParam("date") String date) {
+    dao.computePercentile(date);
+    return Response.status(Response.Status.CREATED).build();
+  }
+
   public static EntityUsage addHref(UriInfo uriInfo, EntityUsage entityUsage) {
     Entity.withHref(uriInfo, entityUsage.getEntity());
     return entityUsage;
@@ -24,6 +24,16 @@ public class AuthenticationConfiguration {
 
   private String callbackUrl;
 
+  // Public keys from the publicKey JWKS url are refreshed every jwksCacheTtlSeconds
+  private long jwksCacheTtlSeconds = 300;
+
+  private int jwksMaxKeys = 100;
+
+  // Verified tokens are cached until the token expires or up to tokenCacheTtlSeconds
+  private long tokenCacheTtlSeconds = 60;
+
+  private int tokenCacheMaxSize = 10000;
+
   public String getProvider() {
     return provider;
   }
@@ -63,4 +73,36 @@ public class AuthenticationConfiguration {
   public void setCallbackUrl(String callbackUrl) {
     this.callbackUrl = callbackUrl;
   }
+
+  public long getJwksCacheTtlSeconds() {
+    return jwksCacheTtlSeconds;
+  }
+
+  public void setJwksCacheTtlSeconds(long jwksCacheTtlSeconds) {
+    this.jwksCacheTtlSeconds = jwksCacheTtlSeconds;
+  }
+
+  public int getJwksMaxKeys() {
+    return jwksMaxKeys;
+  }
+
+  public void setJwksMaxKeys(int jwksMaxKeys) {
+    this.jwksMaxKeys = jwksMaxKeys;
+  }
+
+  public long getTokenCacheTtlSeconds() {
+    return tokenCacheTtlSeconds;
+  }
+
+  public void setTokenCacheTtlSeconds(long tokenCacheTtlSeconds) {
+    this.tokenCacheTtlSeconds = tokenCacheTtlSeconds;
+  }
+
+  public int getTokenCacheMaxSize() {
+    return tokenCacheMaxSize;
+  }
+
+  public void setTokenCacheMaxSize(int tokenCacheMaxSize) {
+    this.tokenCacheMaxSize = tokenCacheMaxSize;
+  }
 }
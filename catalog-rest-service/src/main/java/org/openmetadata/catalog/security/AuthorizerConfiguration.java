@@ -13,6 +13,7 @@
 
 package org.openmetadata.catalog.security;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import java.util.Set;
 
@@ -35,6 +36,13 @@ public class AuthorizerConfiguration {
 
   private CatalogAuthorizerConfiguration catalogAuthorizerConfiguration;
 
+  // Details of a principal used for authorization are cached for principalCacheExpireAfterWriteSecs
+  @Min(1)
+  private long principalCacheMaxSize = 10000;
+
+  @Min(1)
+  private long principalCacheExpireAfterWriteSecs = 60;
+
   public String getClassName() {
     return className;
   }
@@ -83,6 +91,22 @@ public class AuthorizerConfiguration {
     this.principalDomain = principalDomain;
   }
 
+  public long getPrincipalCacheMaxSize() {
+    return principalCacheMaxSize;
+  }
+
+  public void setPrincipalCacheMaxSize(long principalCacheMaxSize) {
+    this.principalCacheMaxSize = principalCacheMaxSize;
+  }
+
+  public long getPrincipalCacheExpireAfterWriteSecs() {
+    return principalCacheExpireAfterWriteSecs;
+  }
+
+  public void setPrincipalCacheExpireAfterWriteSecs(long principalCacheExpireAfterWriteSecs) {
+    this.principalCacheExpireAfterWriteSecs = principalCacheExpireAfterWriteSecs;
+  }
+
   @Override
   public String toString() {
     return "AuthorizerConfiguration{" +
@@ -21,6 +21,7 @@ import org.openmetadata.catalog.exception.DuplicateEntityException;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.UserRepository;
+import org.openmetadata.catalog.security.PrincipalCache.PrincipalContext;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.slf4j.Logger;
@@ -28,8 +29,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -52,6 +55,7 @@ public class DefaultCatalogAuthorizer implements CatalogAuthorizer {
     this.adminUsers = new HashSet<>(config.getAdminPrincipals());
     this.botUsers = new HashSet<>(config.getBotPrincipals());
     this.principalDomain = config.getPrincipalDomain();
+    PrincipalCache.initialize(config.getPrincipalCacheMaxSize(), config.getPrincipalCacheExpireAfterWriteSecs());
     LOG.debug("Admin users: {}", adminUsers);
     CollectionDAO repo = dbi.onDemand(CollectionDAO.class);
     this.userRepository = new UserRepository(repo);
@@ -106,17 +110,12 @@ public class DefaultCatalogAuthorizer implements CatalogAuthorizer {
       return true;
     }
     String userName = SecurityUtil.getUserName(ctx);
-    EntityUtil.Fields fields = new EntityUtil.Fields(FIELD_LIST, fieldsParam);
     try {
-      User user = userRepository.getByName(null, userName, fields);
+      PrincipalContext principal = getPrincipalContext(userName);
       if (owner.getType().equals(Entity.TEAM)) {
-        for (EntityReference team: user.getTeams()) {
-          if (team.getName().equals(owner.getName())) {
-            return true;
-          }
-        }
+        return principal.getTeams().contains(owner.getName());
       } else if(owner.getType().equals(Entity.USER)) {
-        return user.getName().equals(owner.getName());
+        return principal.getName().equals(owner.getName());
       }
       return false;
     } catch (IOException | EntityNotFoundException | ParseException ex) {
@@ -128,13 +127,8 @@ public class DefaultCatalogAuthorizer implements CatalogAuthorizer {
   public boolean isAdmin(AuthenticationContext ctx) {
     validateAuthenticationContext(ctx);
     String userName = SecurityUtil.getUserName(ctx);
-    EntityUtil.Fields fields = new EntityUtil.Fields(FIELD_LIST, fieldsParam);
     try {
-      User user = userRepository.getByName(null, userName, fields);
-      if (user.getIsAdmin() == null) {
-        return false;
-      }
-      return user.getIsAdmin();
+      return getPrincipalContext(userName).isAdmin();
     } catch (IOException | EntityNotFoundException | ParseException ex) {
       return false;
     }
@@ -144,18 +138,23 @@ public class DefaultCatalogAuthorizer implements CatalogAuthorizer {
   public boolean isBot(AuthenticationContext ctx) {
     validateAuthenticationContext(ctx);
     String userName = SecurityUtil.getUserName(ctx);
-    EntityUtil.Fields fields = new EntityUtil.Fields(FIELD_LIST, fieldsParam);
     try {
-      User user = userRepository.getByName(null, userName, fields);
-      if (user.getIsBot() == null) {
-        return false;
-      }
-      return user.getIsBot();
+      return getPrincipalContext(userName).isBot();
     } catch (IOException | EntityNotFoundException | ParseException ex) {
       return false;
     }
   }
 
+  private PrincipalContext getPrincipalContext(String userName) throws IOException, ParseException {
+    return PrincipalCache.get(userName, name -> {
+      User user = userRepository.getByName(null, name, new EntityUtil.Fields(FIELD_LIST, fieldsParam));
+      Set<String> teams = new HashSet<>();
+      Optional.ofNullable(user.getTeams()).orElse(Collections.emptyList()).forEach(team -> teams.add(team.getName()));
+      return new PrincipalContext(user.getName(), Boolean.TRUE.equals(user.getIsAdmin()),
+              Boolean.TRUE.equals(user.getIsBot()), teams);
+    });
+  }
+
   private void validateAuthenticationContext(AuthenticationContext ctx) {
     if (ctx == null || ctx.getPrincipal() == null) {
       throw new AuthenticationException("No principal in AuthenticationContext");
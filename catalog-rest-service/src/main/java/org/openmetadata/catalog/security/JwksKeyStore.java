@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+import com.auth0.jwk.InvalidPublicKeyException;
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.auth0.jwk.UrlJwkProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.net.URL;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RSA public keys of a JWKS endpoint kept in memory. Keys are refreshed in the background every ttl seconds, so that
+ * requests are not blocked on the identity provider. When a token is signed with a key id that is not known, the keys
+ * are refreshed on the request thread, at most once every {@link #MIN_REFRESH_INTERVAL_MILLIS}. When a refresh fails,
+ * the keys from the last successful refresh continue to be used. The background refresh is stopped by {@link #close()}.
+ */
+public class JwksKeyStore implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(JwksKeyStore.class);
+  public static final long MIN_REFRESH_INTERVAL_MILLIS = 10_000;
+
+  private final UrlJwkProvider provider;
+  private final int maxKeys;
+  private final long minRefreshIntervalMillis;
+  private final ScheduledExecutorService executor;
+  private volatile Map<String, RSAPublicKey> keys = Collections.emptyMap();
+  private long lastRefreshTime;
+
+  public JwksKeyStore(URL jwksUrl, long ttlSeconds, int maxKeys) {
+    this(jwksUrl, ttlSeconds, maxKeys, MIN_REFRESH_INTERVAL_MILLIS);
+  }
+
+  JwksKeyStore(URL jwksUrl, long ttlSeconds, int maxKeys, long minRefreshIntervalMillis) {
+    if (ttlSeconds <= 0) {
+      throw new IllegalArgumentException("JWKS cache ttl must be greater than 0 seconds, found " + ttlSeconds);
+    }
+    this.provider = new UrlJwkProvider(jwksUrl);
+    this.maxKeys = maxKeys;
+    this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "jwks-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::refreshKeys, 0, ttlSeconds, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Get the public key for a key id. When the key id is null, the only key of the JWKS endpoint is returned.
+   */
+  public RSAPublicKey getKey(String keyId) {
+    RSAPublicKey key = findKey(keyId);
+    if (key == null) {
+      // Keys may also have been refreshed by another thread while waiting for the refresh
+      refreshUnknownKey();
+      key = findKey(keyId);
+    }
+    if (key == null) {
+      throw new AuthenticationException("Invalid token, signing key " + keyId + " not found");
+    }
+    return key;
+  }
+
+  private RSAPublicKey findKey(String keyId) {
+    Map<String, RSAPublicKey> currentKeys = keys;
+    if (keyId == null) {
+      return currentKeys.size() == 1 ? currentKeys.values().iterator().next() : null;
+    }
+    return currentKeys.get(keyId);
+  }
+
+  private synchronized void refreshUnknownKey() {
+    if (System.currentTimeMillis() - lastRefreshTime >= minRefreshIntervalMillis) {
+      refreshKeys();
+    }
+  }
+
+  synchronized void refreshKeys() {
+    lastRefreshTime = System.currentTimeMillis();
+    try {
+      List<Jwk> jwks = provider.getAll();
+      Map<String, RSAPublicKey> newKeys = new HashMap<>();
+      for (Jwk jwk : jwks) {
+        if (!"RSA".equals(jwk.getType())) {
+          continue;
+        }
+        if (newKeys.size() >= maxKeys) {
+          LOG.warn("JWKS has {} keys, only {} keys are used", jwks.size(), maxKeys);
+          break;
+        }
+        newKeys.put(jwk.getId(), (RSAPublicKey) jwk.getPublicKey());
+      }
+      keys = Collections.unmodifiableMap(newKeys);
+    } catch (SigningKeyNotFoundException | InvalidPublicKeyException | RuntimeException e) {
+      LOG.warn("Failed to refresh JWKS keys, using {} keys from the last refresh", keys.size(), e);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
@@ -13,14 +13,17 @@
 
 package org.openmetadata.catalog.security;
 
-import com.auth0.jwk.Jwk;
-import com.auth0.jwk.UrlJwkProvider;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.util.Strings;
-import lombok.SneakyThrows;
 import org.openmetadata.catalog.security.auth.CatalogSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,29 +35,70 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.Provider;
 import java.lang.invoke.MethodHandles;
+import java.net.MalformedURLException;
 import java.net.URI;
-import java.security.interfaces.RSAPublicKey;
-import java.util.Calendar;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 @Provider
-public class JwtFilter implements ContainerRequestFilter {
+public class JwtFilter implements ContainerRequestFilter, Managed {
   private static final Logger LOG = LoggerFactory
           .getLogger(MethodHandles.lookup().lookupClass());
   @Context
   private UriInfo uriInfo;
 
   public static final String TOKEN_HEADER = "X-Catalog-Source";
-  private String publicKeyUri;
+  private JwksKeyStore keyStore;
+  private LongSupplier clock;
+  // Verified tokens by hash of the token
+  private Cache<String, VerifiedToken> verifiedTokens;
 
   @SuppressWarnings("unused")
   private JwtFilter() {
   }
 
   public JwtFilter(AuthenticationConfiguration authenticationConfiguration) {
-    this.publicKeyUri = authenticationConfiguration.getPublicKey();
+    this(authenticationConfiguration, System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  JwtFilter(AuthenticationConfiguration authenticationConfiguration, LongSupplier clock) {
+    String publicKeyUri = authenticationConfiguration.getPublicKey();
+    URL jwksUrl;
+    try {
+      jwksUrl = new URI(publicKeyUri).normalize().toURL();
+    } catch (URISyntaxException | MalformedURLException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid publicKey " + publicKeyUri, e);
+    }
+    this.keyStore = new JwksKeyStore(jwksUrl, authenticationConfiguration.getJwksCacheTtlSeconds(),
+            authenticationConfiguration.getJwksMaxKeys());
+    this.clock = clock;
+    this.verifiedTokens = CacheBuilder.newBuilder()
+            .maximumSize(authenticationConfiguration.getTokenCacheMaxSize())
+            .expireAfterWrite(authenticationConfiguration.getTokenCacheTtlSeconds(), TimeUnit.SECONDS)
+            .ticker(new Ticker() {
+              @Override
+              public long read() {
+                return TimeUnit.MILLISECONDS.toNanos(clock.getAsLong());
+              }
+            }).build();
+  }
+
+  @Override
+  public void start() {
+  }
+
+  @Override
+  public void stop() {
+    keyStore.close();
   }
 
-  @SneakyThrows
   @Override
   public void filter(ContainerRequestContext requestContext) {
     UriInfo uriInfo = requestContext.getUriInfo();
@@ -66,19 +110,46 @@ public class JwtFilter implements ContainerRequestFilter {
     MultivaluedMap<String, String> headers = requestContext.getHeaders();
     String tokenFromHeader = extractToken(headers);
     LOG.debug("Token from header:{}", tokenFromHeader);
+    String userName = validateToken(tokenFromHeader);
+
+    //Setting Security Context
+    CatalogPrincipal catalogPrincipal = new CatalogPrincipal(userName);
+    String scheme = requestContext.getUriInfo().getRequestUri().getScheme();
+    CatalogSecurityContext catalogSecurityContext = new CatalogSecurityContext(catalogPrincipal, scheme,
+            CatalogSecurityContext.DIGEST_AUTH);
+    LOG.debug("SecurityContext {}", catalogSecurityContext);
+    requestContext.setSecurityContext(catalogSecurityContext);
+  }
+
+  /**
+   * Validate the token and return the name of the user. Tokens that are verified are cached until the token expires
+   * or up to tokenCacheTtlSeconds, so that the signature of a token is not verified on every request.
+   */
+  String validateToken(String token) {
+    String tokenHash = hash(token);
+    long now = clock.getAsLong();
+    VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenHash);
+    if (verifiedToken != null) {
+      if (verifiedToken.expiresAt > now) {
+        return verifiedToken.userName;
+      }
+      verifiedTokens.invalidate(tokenHash);
+    }
 
     //Decode JWT Token
-    DecodedJWT jwt = JWT.decode(tokenFromHeader);
+    DecodedJWT jwt;
+    try {
+      jwt = JWT.decode(token);
+    } catch (JWTDecodeException e) {
+      throw new AuthenticationException("Invalid token", e);
+    }
 
     //Check if expired
-    if (jwt.getExpiresAt().before(Calendar.getInstance().getTime())) {
+    if (jwt.getExpiresAt() == null || jwt.getExpiresAt().getTime() <= now) {
       throw new AuthenticationException("Expired token!");
     }
     //Validate JWT with public key
-    final URI uri = new URI(publicKeyUri).normalize();
-    UrlJwkProvider urlJwkProvider = new UrlJwkProvider(uri.toURL());
-    Jwk jwk = urlJwkProvider.get(jwt.getKeyId());
-    Algorithm algorithm = Algorithm.RSA256((RSAPublicKey) jwk.getPublicKey(), null);
+    Algorithm algorithm = Algorithm.RSA256(keyStore.getKey(jwt.getKeyId()), null);
     try {
       algorithm.verify(jwt);
     } catch (RuntimeException runtimeException) {
@@ -98,13 +169,27 @@ public class JwtFilter implements ContainerRequestFilter {
     } else {
       userName = authorizedEmail;
     }
-    //Setting Security Context
-    CatalogPrincipal catalogPrincipal = new CatalogPrincipal(userName);
-    String scheme = requestContext.getUriInfo().getRequestUri().getScheme();
-    CatalogSecurityContext catalogSecurityContext = new CatalogSecurityContext(catalogPrincipal, scheme,
-            CatalogSecurityContext.DIGEST_AUTH);
-    LOG.debug("SecurityContext {}", catalogSecurityContext);
-    requestContext.setSecurityContext(catalogSecurityContext);
+    verifiedTokens.put(tokenHash, new VerifiedToken(userName, jwt.getExpiresAt().getTime()));
+    return userName;
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static class VerifiedToken {
+    private final String userName;
+    private final long expiresAt;
+
+    VerifiedToken(String userName, long expiresAt) {
+      this.userName = userName;
+      this.expiresAt = expiresAt;
+    }
   }
 
   protected static String extractToken(MultivaluedMap<String, String> headers) {
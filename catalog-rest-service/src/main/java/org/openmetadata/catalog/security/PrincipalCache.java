@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide cache of the details of a principal used by {@link DefaultCatalogAuthorizer} for authorization checks,
+ * so that checks on every write don't read the user and its team memberships from the database.
+ *
+ * Entries are invalidated when a user or a team is changed through the repositories of this server. When running more
+ * than one server, a change on one server is seen by others after expireAfterWriteSecs. Until
+ * {@link #initialize(long, long)} is called the cache is disabled and all the lookups go to the database.
+ *
+ * Details loaded while an entry is invalidated may be stale, and are not cached. Every invalidation bumps a
+ * generation, and loaded details are only kept in the cache when the generation did not change during the load.
+ */
+public final class PrincipalCache {
+  private static final Logger LOG = LoggerFactory.getLogger(PrincipalCache.class);
+  private static volatile Cache<String, PrincipalContext> cache;
+  private static final AtomicLong GENERATION = new AtomicLong();
+
+  private PrincipalCache() {}
+
+  @FunctionalInterface
+  public interface Loader {
+    PrincipalContext load(String userName) throws IOException, ParseException;
+  }
+
+  public static void initialize(long maxSize, long expireAfterWriteSecs) {
+    initialize(maxSize, expireAfterWriteSecs, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  static void initialize(long maxSize, long expireAfterWriteSecs, Ticker ticker) {
+    LOG.info("Initializing principal cache with maxSize {} expireAfterWriteSecs {}", maxSize, expireAfterWriteSecs);
+    cache = CacheBuilder.newBuilder().maximumSize(maxSize)
+            .expireAfterWrite(expireAfterWriteSecs, TimeUnit.SECONDS).ticker(ticker).build();
+  }
+
+  /** Returns the cached details of a principal, loading them when they are not cached */
+  public static PrincipalContext get(String userName, Loader loader) throws IOException, ParseException {
+    Cache<String, PrincipalContext> currentCache = cache;
+    if (currentCache == null) {
+      return loader.load(userName);
+    }
+    PrincipalContext context = currentCache.getIfPresent(userName);
+    if (context == null) {
+      long generation = GENERATION.get();
+      context = loader.load(userName);
+      if (GENERATION.get() == generation) {
+        currentCache.put(userName, context);
+        if (GENERATION.get() != generation) {
+          // Invalidated between the check and the put
+          currentCache.invalidate(userName);
+        }
+      }
+    }
+    return context;
+  }
+
+  public static void invalidate(String userName) {
+    Cache<String, PrincipalContext> currentCache = cache;
+    if (currentCache != null && userName != null) {
+      GENERATION.incrementAndGet();
+      currentCache.invalidate(userName);
+    }
+  }
+
+  /** Team changes affect the memberships of all its users and invalidate all the entries */
+  public static void invalidateAll() {
+    Cache<String, PrincipalContext> currentCache = cache;
+    if (currentCache != null) {
+      GENERATION.incrementAndGet();
+      currentCache.invalidateAll();
+    }
+  }
+
+  public static class PrincipalContext {
+    private final String name;
+    private final boolean admin;
+    private final boolean bot;
+    private final Set<String> teams;
+
+    public PrincipalContext(String name, boolean admin, boolean bot, Set<String> teams) {
+      this.name = name;
+      this.admin = admin;
+      this.bot = bot;
+      this.teams = Collections.unmodifiableSet(teams);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public boolean isAdmin() {
+      return admin;
+    }
+
+    public boolean isBot() {
+      return bot;
+    }
+
+    /** Names of the teams the principal belongs to */
+    public Set<String> getTeams() {
+      return teams;
+    }
+  }
+}
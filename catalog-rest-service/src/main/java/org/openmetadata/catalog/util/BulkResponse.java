@@ -0,0 +1,174 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import javax.ws.rs.core.Response.Status;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Class used for generating JSON response for APIs that create or update a batch of entities. Each entity in the
+ * request has a result, identified by the position of the entity in the request, with the status of the operation
+ * in the following format:
+ * {
+ * "numberOfRowsProcessed" : 2,
+ * "numberOfRowsPassed" : 1,
+ * "numberOfRowsFailed" : 1,
+ * "results" : [
+ * { "index" : 0, "name" : "db.table1", "id" : "...", "status" : 201, "changeType" : "entityCreated" },
+ * { "index" : 1, "name" : "db.table2", "status" : 404, "message" : "..." }
+ * ]
+ * }
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"numberOfRowsProcessed", "numberOfRowsPassed", "numberOfRowsFailed", "results"})
+public class BulkResponse {
+  @JsonProperty("numberOfRowsProcessed")
+  private int numberOfRowsProcessed;
+
+  @JsonProperty("numberOfRowsPassed")
+  private int numberOfRowsPassed;
+
+  @JsonProperty("numberOfRowsFailed")
+  private int numberOfRowsFailed;
+
+  @JsonProperty("results")
+  private List<Result> results = new ArrayList<>();
+
+  public BulkResponse() {}
+
+  public int getNumberOfRowsProcessed() {
+    return numberOfRowsProcessed;
+  }
+
+  public int getNumberOfRowsPassed() {
+    return numberOfRowsPassed;
+  }
+
+  public int getNumberOfRowsFailed() {
+    return numberOfRowsFailed;
+  }
+
+  public List<Result> getResults() {
+    return results;
+  }
+
+  /** Add result for an entity that was created or updated */
+  public BulkResponse addSuccess(int index, String name, UUID id, Status status, String changeType, Object entity) {
+    numberOfRowsPassed++;
+    return addResult(new Result().withIndex(index).withName(name).withId(id).withStatus(status.getStatusCode())
+            .withChangeType(changeType).withEntity(entity));
+  }
+
+  /** Add result for an entity that failed to be created or updated */
+  public BulkResponse addFailure(int index, String name, Status status, String message) {
+    numberOfRowsFailed++;
+    return addResult(new Result().withIndex(index).withName(name).withStatus(status.getStatusCode()).withMessage(message));
+  }
+
+  private BulkResponse addResult(Result result) {
+    numberOfRowsProcessed++;
+    results.add(result);
+    return this;
+  }
+
+  /** Order the results by the position of the entities in the request */
+  public BulkResponse sortResults() {
+    results.sort(Comparator.comparingInt(Result::getIndex));
+    return this;
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonPropertyOrder({"index", "name", "id", "status", "changeType", "message"})
+  public static class Result {
+    @JsonProperty("index")
+    private int index;
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("id")
+    private UUID id;
+
+    @JsonProperty("status")
+    private int status;
+
+    @JsonProperty("changeType")
+    private String changeType;
+
+    @JsonProperty("message")
+    private String message;
+
+    /** Entity created or updated. Used for producing change events and not returned in the response */
+    @JsonIgnore
+    private Object entity;
+
+    public int getIndex() { return index; }
+
+    public Result withIndex(int index) {
+      this.index = index;
+      return this;
+    }
+
+    public String getName() { return name; }
+
+    public Result withName(String name) {
+      this.name = name;
+      return this;
+    }
+
+    public UUID getId() { return id; }
+
+    public Result withId(UUID id) {
+      this.id = id;
+      return this;
+    }
+
+    public int getStatus() { return status; }
+
+    public Result withStatus(int status) {
+      this.status = status;
+      return this;
+    }
+
+    public String getChangeType() { return changeType; }
+
+    public Result withChangeType(String changeType) {
+      this.changeType = changeType;
+      return this;
+    }
+
+    public String getMessage() { return message; }
+
+    public Result withMessage(String message) {
+      this.message = message;
+      return this;
+    }
+
+    @JsonIgnore
+    public Object getEntity() { return entity; }
+
+    public Result withEntity(Object entity) {
+      this.entity = entity;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.openmetadata.catalog.jdbi3.EntityVersionStore;
+import org.openmetadata.catalog.type.Paging;
+import org.openmetadata.common.utils.CipherText;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+
+/**
+ * Version history of an entity in the same JSON format as {@link org.openmetadata.catalog.type.EntityHistory} that
+ * is written directly to the response output stream as the versions are reconstructed from the
+ * {@link EntityVersionStore}, so that the memory used by a request does not depend on the length of the history.
+ *
+ * Versions are listed latest version first. The first page starts with the current version of the entity. The after
+ * cursor is the last version returned when more versions follow it.
+ */
+public class EntityHistoryOutput implements StreamingOutput {
+  private final EntityVersionStore versionStore;
+  private final String id;
+  private final String entityType;
+  private final String currentJson;
+  private final Double after;
+  private final int limit;
+  private final int total;
+  private int count;
+  private double lastVersion;
+
+  /**
+   * List limit versions of an entity. On the first page, after is null and currentJson is the current version of the
+   * entity. On the following pages, after is the last version of the previous page and currentJson is null.
+   */
+  public EntityHistoryOutput(EntityVersionStore versionStore, String id, String entityType, String currentJson,
+                             Double after, int limit, int total) {
+    this.versionStore = versionStore;
+    this.id = id;
+    this.entityType = entityType;
+    this.currentJson = currentJson;
+    this.after = after;
+    this.limit = limit;
+    this.total = total;
+  }
+
+  @Override
+  public void write(OutputStream output) throws IOException {
+    try (JsonGenerator generator = StreamingResultList.getObjectMapper().getFactory().createGenerator(output)) {
+      // Response of a failed read is left incomplete as in StreamingResultList
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+      generator.writeStartObject();
+      generator.writeStringField("entityType", entityType);
+      generator.writeArrayFieldStart("versions");
+      int pageSize = limit;
+      if (currentJson != null) {
+        generator.writeString(currentJson);
+        pageSize--;
+      }
+      // Read an extra version to find if more versions follow the page
+      int versions = pageSize;
+      versionStore.list(id, after, versions + 1, (version, json) -> {
+        if (count++ < versions) {
+          generator.writeString(json);
+          lastVersion = version;
+          if (count % StreamingResultList.CHUNK_SIZE == 0) {
+            generator.flush();
+          }
+        }
+      });
+      generator.writeEndArray();
+      String afterCursor = count > versions ? String.valueOf(lastVersion) : null;
+      generator.writeObjectField("paging", getPaging(afterCursor, total));
+      generator.writeEndObject();
+    }
+  }
+
+  private static Paging getPaging(String afterCursor, int total) throws IOException {
+    try {
+      return new Paging().withAfter(CipherText.instance().encrypt(afterCursor)).withTotal(total);
+    } catch (GeneralSecurityException e) {
+      throw new IOException("Failed to encrypt the paging cursor", e);
+    }
+  }
+}
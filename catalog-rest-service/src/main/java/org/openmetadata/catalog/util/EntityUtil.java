@@ -13,6 +13,7 @@
 
 package org.openmetadata.catalog.util;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.joda.time.Period;
 import org.joda.time.format.ISOPeriodFormat;
 import org.openmetadata.catalog.Entity;
@@ -21,12 +22,12 @@ import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipDAO;
-import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionPair;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.TeamDAO;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.UsageDAO;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.UserDAO;
 import org.openmetadata.catalog.jdbi3.Relationship;
+import org.openmetadata.catalog.jdbi3.TagDictionary;
 import org.openmetadata.catalog.resources.feeds.MessageParser.EntityLink;
 import org.openmetadata.catalog.type.Column;
 import org.openmetadata.catalog.type.EntityReference;
@@ -35,7 +36,6 @@ import org.openmetadata.catalog.type.MlFeature;
 import org.openmetadata.catalog.type.MlHyperParameter;
 import org.openmetadata.catalog.type.Schedule;
 import org.openmetadata.catalog.type.TableConstraint;
-import org.openmetadata.catalog.type.Tag;
 import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.type.TagLabel.LabelType;
 import org.openmetadata.catalog.type.Task;
@@ -51,11 +51,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -69,8 +73,6 @@ public final class EntityUtil {
   // Note ordering is same as server side ordering by ID as string to ensure PATCH operations work
   public static final Comparator<EntityReference> compareEntityReference =
           Comparator.comparing(entityReference -> entityReference.getId().toString());
-  public static final Comparator<EntityVersionPair> compareVersion =
-          Comparator.comparing(EntityVersionPair::getVersion);
   public static final Comparator<TagLabel> compareTagLabel =
           Comparator.comparing(TagLabel::getTagFQN);
   public static final Comparator<FieldChange> compareFieldChange =
@@ -79,36 +81,34 @@ public final class EntityUtil {
           Comparator.comparing(TableConstraint::getConstraintType);
 
   //
-  // Matchers used for matching two items in a list
+  // Matchers used for matching two values of a field
   //
   public static BiPredicate<Object, Object> objectMatch = Object::equals;
 
   public static BiPredicate<EntityReference, EntityReference> entityReferenceMatch = (ref1, ref2) ->
           ref1.getId().equals(ref2.getId());
 
-  public static BiPredicate<TagLabel, TagLabel> tagLabelMatch = (tag1, tag2) ->
-          tag1.getTagFQN().equals(tag2.getTagFQN());
+  //
+  // Keys of list entries used for diffing lists. Entries with equal keys match.
+  //
+  public static Function<EntityReference, Object> entityReferenceKey = EntityReference::getId;
+
+  public static Function<TagLabel, Object> tagLabelKey = TagLabel::getTagFQN;
 
-  public static BiPredicate<Task, Task> taskMatch = (task1, task2) ->
-          task1.getName().equals(task2.getName());
+  public static Function<Task, Object> taskKey = Task::getName;
 
-  public static BiPredicate<String, String> stringMatch = String::equals;
+  public static Function<String, Object> stringKey = string -> string;
 
-  public static BiPredicate<Column, Column> columnMatch = (column1, column2) ->
-          column1.getName().equals(column2.getName()) &&
-          column1.getDataType() == column2.getDataType() &&
-          column1.getArrayDataType() == column2.getArrayDataType() &&
-          Objects.equals(column1.getOrdinalPosition(), column2.getOrdinalPosition());
+  public static Function<Column, Object> columnKey = column -> Arrays.asList(column.getName(), column.getDataType(),
+          column.getArrayDataType(), column.getOrdinalPosition());
 
-  public static BiPredicate<Column, Column> columnNameMatch = (column1, column2) ->
-          column1.getName().equals(column2.getName());
+  public static Function<Column, Object> columnNameKey = Column::getName;
 
-  public static BiPredicate<TableConstraint, TableConstraint> tableConstraintMatch = (constraint1, constraint2) ->
-          constraint1.getConstraintType() == constraint2.getConstraintType() &&
-          constraint1.getColumns().equals(constraint2.getColumns());
+  public static Function<TableConstraint, Object> tableConstraintKey = constraint ->
+          Arrays.asList(constraint.getConstraintType(), constraint.getColumns());
 
-  public static BiPredicate<MlFeature, MlFeature> mlFeatureMatch = MlFeature::equals;
-  public static BiPredicate<MlHyperParameter, MlHyperParameter> mlHyperParameterMatch = MlHyperParameter::equals;
+  public static Function<MlFeature, Object> mlFeatureKey = feature -> feature;
+  public static Function<MlHyperParameter, Object> mlHyperParameterKey = parameter -> parameter;
 
   private EntityUtil() {
 
@@ -213,6 +213,98 @@ public final class EntityUtil {
     return owner;
   }
 
+  /**
+   * Get owners for a list of entities. Owner relationships for all the entities are read using one query and the owner
+   * users and teams are read using one query each.
+   */
+  public static Map<UUID, EntityReference> populateOwners(List<UUID> ids, EntityRelationshipDAO entityRelationshipDAO,
+                                                          UserDAO userDAO, TeamDAO teamDAO) throws IOException {
+    Map<UUID, EntityReference> owners = new HashMap<>();
+    if (ids.isEmpty()) {
+      return owners;
+    }
+    List<Pair<String, EntityReference>> ownerRefs = entityRelationshipDAO.findFromBatch(toStringList(ids),
+            Relationship.OWNS.ordinal());
+    for (Pair<String, EntityReference> pair : ownerRefs) {
+      UUID id = UUID.fromString(pair.getLeft());
+      if (owners.putIfAbsent(id, pair.getRight()) != null) {
+        LOG.warn("Possible database issues - multiple owners found for entity {}", id);
+      }
+    }
+
+    List<UUID> userIds = new ArrayList<>();
+    List<UUID> teamIds = new ArrayList<>();
+    for (EntityReference owner : owners.values()) {
+      if (owner.getType().equalsIgnoreCase("user")) {
+        userIds.add(owner.getId());
+      } else if (owner.getType().equalsIgnoreCase("team")) {
+        teamIds.add(owner.getId());
+      } else {
+        throw new IllegalArgumentException(String.format("Invalid ownerType %s", owner.getType()));
+      }
+    }
+    Map<UUID, User> users = userDAO.findEntitiesByIds(userIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+    Map<UUID, Team> teams = teamDAO.findEntitiesByIds(teamIds).stream()
+            .collect(Collectors.toMap(Team::getId, Function.identity()));
+    for (EntityReference owner : owners.values()) {
+      populateOwner(owner, users, teams);
+    }
+    return owners;
+  }
+
+  /**
+   * Validate the owner and populate owner name and description using users and teams that are already read, typically
+   * for a batch of entities.
+   */
+  public static EntityReference populateOwner(EntityReference owner, Map<UUID, User> users, Map<UUID, Team> teams) {
+    if (owner == null) {
+      return null;
+    }
+    UUID id = owner.getId();
+    if (owner.getType().equalsIgnoreCase("user")) {
+      User ownerInstance = users.get(id);
+      if (ownerInstance == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.USER, id));
+      }
+      owner.setName(ownerInstance.getName());
+      if (Optional.ofNullable(ownerInstance.getDeactivated()).orElse(false)) {
+        throw new IllegalArgumentException(CatalogExceptionMessage.deactivatedUser(id));
+      }
+    } else if (owner.getType().equalsIgnoreCase("team")) {
+      Team ownerInstance = teams.get(id);
+      if (ownerInstance == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.TEAM, id));
+      }
+      owner.setDescription(ownerInstance.getDescription());
+      owner.setName(ownerInstance.getName());
+    } else {
+      throw new IllegalArgumentException(String.format("Invalid ownerType %s", owner.getType()));
+    }
+    return owner;
+  }
+
+  /**
+   * Get the users and teams for a list of owner references using one query each
+   */
+  public static Pair<Map<UUID, User>, Map<UUID, Team>> getOwners(List<EntityReference> owners, UserDAO userDAO,
+                                                                 TeamDAO teamDAO) throws IOException {
+    List<UUID> userIds = new ArrayList<>();
+    List<UUID> teamIds = new ArrayList<>();
+    for (EntityReference owner : owners) {
+      if (owner != null && "user".equalsIgnoreCase(owner.getType())) {
+        userIds.add(owner.getId());
+      } else if (owner != null && "team".equalsIgnoreCase(owner.getType())) {
+        teamIds.add(owner.getId());
+      }
+    }
+    Map<UUID, User> users = userDAO.findEntitiesByIds(userIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+    Map<UUID, Team> teams = teamDAO.findEntitiesByIds(teamIds).stream()
+            .collect(Collectors.toMap(Team::getId, Function.identity()));
+    return Pair.of(users, teams);
+  }
+
   public static void setOwner(EntityRelationshipDAO dao, UUID ownedEntityId, String ownedEntityType,
                               EntityReference owner) {
     // Add relationship owner --- owns ---> ownedEntity
@@ -276,36 +368,78 @@ public final class EntityUtil {
   }
 
   /**
-   * Apply tags {@code tagLabels} to the entity or field identified by {@code targetFQN}
+   * Get latest usage for a list of entities using a single query. Entities with no usage get default usage.
    */
-  public static void applyTags(TagDAO tagDAO, List<TagLabel> tagLabels, String targetFQN) throws IOException {
-    for (TagLabel tagLabel : Optional.ofNullable(tagLabels).orElse(Collections.emptyList())) {
-      String json = tagDAO.findTag(tagLabel.getTagFQN());
-      if (json == null) {
-        // Invalid TagLabel
-        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Tag.class.getSimpleName(),
-                tagLabel.getTagFQN()));
+  public static Map<UUID, UsageDetails> getLatestUsage(UsageDAO usageDAO, List<UUID> entityIds) {
+    Map<String, UsageDetails> usage = usageDAO.getLatestUsage(toStringList(entityIds));
+    Map<UUID, UsageDetails> usageMap = new HashMap<>();
+    for (UUID entityId : entityIds) {
+      UsageDetails details = usage.get(entityId.toString());
+      if (details == null) {
+        UsageStats stats = new UsageStats().withCount(0).withPercentileRank(0.0);
+        details = new UsageDetails().withDailyStats(stats).withWeeklyStats(stats).withMonthlyStats(stats)
+                .withDate(RestUtil.DATE_FORMAT.format(new Date()));
       }
-
-      // Apply tagLabel to targetFQN that identifies an entity or field
-      tagDAO.applyTag(tagLabel.getTagFQN(), targetFQN, tagLabel.getLabelType().ordinal(),
-              tagLabel.getState().ordinal());
+      usageMap.put(entityId, details);
     }
+    return usageMap;
   }
 
-  public static List<TagLabel> getDerivedTags(TagDAO tagDAO, TagLabel tagLabel, Tag tag) throws IOException {
-    List<TagLabel> derivedTags = new ArrayList<>();
-    for (String fqn : Optional.ofNullable(tag.getAssociatedTags()).orElse(Collections.emptyList())) {
-      String json = tagDAO.findTag(fqn);
-      if (json == null) {
-        // Invalid TagLabel
-        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Tag.class.getSimpleName(), fqn));
+  /**
+   * Compare two lists matching entries by key. Entries of {@code origList} with no matching entry in
+   * {@code updatedList} are added to {@code deletedItems} and entries of {@code updatedList} with no matching entry in
+   * {@code origList} are added to {@code addedItems}, in the order of the lists. Takes time linear in the size of the
+   * lists.
+   */
+  public static <K> void diffLists(List<K> origList, List<K> updatedList, Function<K, Object> key,
+                                   List<K> addedItems, List<K> deletedItems) {
+    origList = Optional.ofNullable(origList).orElse(Collections.emptyList());
+    updatedList = Optional.ofNullable(updatedList).orElse(Collections.emptyList());
+    Set<Object> origKeys = new HashSet<>(origList.size() * 2);
+    origList.forEach(entry -> origKeys.add(key.apply(entry)));
+    Set<Object> updatedKeys = new HashSet<>(updatedList.size() * 2);
+    updatedList.forEach(entry -> updatedKeys.add(key.apply(entry)));
+
+    for (K stored : origList) {
+      // If an entry in the original list is not in updated list, then it is deleted during update
+      if (!updatedKeys.contains(key.apply(stored))) {
+        deletedItems.add(stored);
+      }
+    }
+    for (K updated : updatedList) {
+      // If an entry in the updated list is not in original list, then it is added during update
+      if (!origKeys.contains(key.apply(updated))) {
+        addedItems.add(updated);
       }
-      Tag tempTag = JsonUtils.readValue(json, Tag.class);
-      derivedTags.add(new TagLabel().withTagFQN(fqn).withState(tagLabel.getState())
-              .withDescription(tempTag.getDescription()).withLabelType(LabelType.DERIVED));
     }
-    return derivedTags;
+  }
+
+  /**
+   * Index the entries of a list by key. When more than one entry has the same key, the first entry is indexed.
+   */
+  public static <K> Map<Object, K> indexByKey(List<K> list, Function<K, Object> key) {
+    Map<Object, K> index = new HashMap<>();
+    Optional.ofNullable(list).orElse(Collections.emptyList()).forEach(entry -> index.putIfAbsent(key.apply(entry),
+            entry));
+    return index;
+  }
+
+  /**
+   * Apply tags {@code tagLabels} to the entity or field identified by {@code targetFQN}
+   */
+  public static void applyTags(TagDAO tagDAO, List<TagLabel> tagLabels, String targetFQN) throws IOException {
+    if (tagLabels == null || tagLabels.isEmpty()) {
+      return;
+    }
+    for (TagLabel tagLabel : tagLabels) {
+      TagDictionary.validateTag(tagDAO, tagLabel.getTagFQN());
+    }
+
+    // Apply tagLabels to targetFQN that identifies an entity or field
+    tagDAO.applyTagsBatch(tagLabels.stream().map(TagLabel::getTagFQN).collect(Collectors.toList()),
+            Collections.nCopies(tagLabels.size(), targetFQN),
+            tagLabels.stream().map(tagLabel -> tagLabel.getLabelType().ordinal()).collect(Collectors.toList()),
+            tagLabels.stream().map(tagLabel -> tagLabel.getState().ordinal()).collect(Collectors.toList()));
   }
 
   /**
@@ -314,31 +448,16 @@ public final class EntityUtil {
   public static List<TagLabel> addDerivedTags(TagDAO tagDAO, List<TagLabel> tagLabels) throws IOException {
     List<TagLabel> updatedTagLabels = new ArrayList<>();
     for (TagLabel tagLabel : Optional.ofNullable(tagLabels).orElse(Collections.emptyList())) {
-      String json = tagDAO.findTag(tagLabel.getTagFQN());
-      if (json == null) {
-        // Invalid TagLabel
-        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Tag.class.getSimpleName(),
-                tagLabel.getTagFQN()));
-      }
-      Tag tag = JsonUtils.readValue(json, Tag.class);
       updatedTagLabels.add(tagLabel);
 
       // Apply derived tags
-      List<TagLabel> derivedTags = getDerivedTags(tagDAO, tagLabel, tag);
+      List<TagLabel> derivedTags = TagDictionary.getDerivedTags(tagDAO, tagLabel);
       updatedTagLabels = mergeTags(updatedTagLabels, derivedTags);
     }
     updatedTagLabels.sort(compareTagLabel);
     return updatedTagLabels;
   }
 
-  public static void removeTags(TagDAO tagDAO, String fullyQualifiedName) {
-    tagDAO.deleteTags(fullyQualifiedName);
-  }
-
-  public static void removeTagsByPrefix(TagDAO tagDAO, String fullyQualifiedName) {
-    tagDAO.deleteTagsByPrefix(fullyQualifiedName);
-  }
-
   public static List<TagLabel> mergeTags(List<TagLabel> list1, List<TagLabel> list2) {
     List<TagLabel> mergedTags = Stream.concat(Optional.ofNullable(list1).orElse(Collections.emptyList()).stream(),
             Optional.ofNullable(list2).orElse(Collections.emptyList()).stream())
@@ -375,6 +494,43 @@ public final class EntityUtil {
     return followers;
   }
 
+  /**
+   * Get followers for a list of entities. Follower relationships for all the entities are read using one query and
+   * the followers are read using another query.
+   */
+  public static Map<UUID, List<EntityReference>> getFollowers(List<UUID> followedEntityIds,
+                                                              EntityRelationshipDAO entityRelationshipDAO,
+                                                              UserDAO userDAO) throws IOException {
+    Map<UUID, List<EntityReference>> followers = new HashMap<>();
+    followedEntityIds.forEach(id -> followers.put(id, new ArrayList<>()));
+    if (followedEntityIds.isEmpty()) {
+      return followers;
+    }
+    List<Pair<String, EntityReference>> followerRefs = entityRelationshipDAO.findFromBatch(
+            toStringList(followedEntityIds), Relationship.FOLLOWS.ordinal(), Entity.USER);
+    List<UUID> userIds = followerRefs.stream().map(pair -> pair.getRight().getId()).collect(Collectors.toList());
+    Map<UUID, User> users = userDAO.findEntitiesByIds(userIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+    for (Pair<String, EntityReference> pair : followerRefs) {
+      UUID followerId = pair.getRight().getId();
+      User user = users.get(followerId);
+      if (user == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(Entity.USER, followerId));
+      }
+      followers.get(UUID.fromString(pair.getLeft()))
+              .add(new EntityReference().withName(user.getName()).withId(user.getId()).withType("user"));
+    }
+    return followers;
+  }
+
+  public static List<String> toStringList(List<UUID> ids) {
+    return ids.stream().map(UUID::toString).collect(Collectors.toList());
+  }
+
+  public static List<UUID> toUUIDList(List<String> ids) {
+    return ids.stream().map(UUID::fromString).collect(Collectors.toList());
+  }
+
   public static class Fields {
     public static final Fields EMPTY_FIELDS = new Fields(null, null);
     private final List<String> fieldList;
@@ -405,20 +561,6 @@ public final class EntityUtil {
             .collect(Collectors.toList());
   }
 
-  public static String getVersionExtension(String entityName, Double version) {
-    return String.format("%s.%s.%s", entityName, "version", version.toString());
-  }
-
-  public static String getVersionExtensionPrefix(String entityName) {
-    return String.format("%s.%s", entityName, "version");
-  }
-
-  public static Double getVersion(String extension) {
-    String[] s = extension.split("\\.");
-    String versionString = s[2] + "." + s[3];
-    return Double.valueOf(versionString);
-  }
-
   public static String getLocalColumnName(String fqn) {
     // Return for fqn=service.database.table.c1 -> c1
     // Return for fqn=service.database.table.c1.c2 -> c1.c2 (note different from just the local name of the column c2)
@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+/**
+ * Total number of entries returned in the paging information of list APIs, selected with the includeTotal query
+ * param.
+ * <ul>
+ * <li>FALSE - total is not returned</li>
+ * <li>APPROXIMATE - total from the maintained entity counts, which can differ from the number of entries until the
+ * counts are reconciled. Exact total is returned when the count is not maintained for the list filter.</li>
+ * <li>EXACT - total counted from the entities</li>
+ * </ul>
+ */
+public enum IncludeTotal {
+  FALSE,
+  APPROXIMATE,
+  EXACT;
+
+  /** Description of the includeTotal query param of the list APIs */
+  public static final String PARAM_DESCRIPTION = "Include total in paging. `approximate` returns the maintained count " +
+          "instead of counting the entries. (false, approximate or exact, default = exact)";
+
+  public static IncludeTotal fromString(String value) {
+    if (value == null) {
+      return EXACT;
+    }
+    for (IncludeTotal includeTotal : values()) {
+      if (includeTotal.name().equalsIgnoreCase(value)) {
+        return includeTotal;
+      }
+    }
+    throw new IllegalArgumentException("Invalid includeTotal " + value + ", expected false, approximate or exact");
+  }
+}
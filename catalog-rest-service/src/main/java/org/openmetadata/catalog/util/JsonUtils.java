@@ -33,8 +33,10 @@ import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonPatch;
+import javax.json.JsonPatchBuilder;
 import javax.json.JsonStructure;
 import javax.json.JsonValue;
+import javax.json.JsonValue.ValueType;
 import javax.json.JsonWriter;
 import javax.json.JsonWriterFactory;
 import javax.json.stream.JsonGenerator;
@@ -98,6 +100,85 @@ public final class JsonUtils {
     return formatJson(diff.toJsonArray());
   }
 
+  /**
+   * JSON patch that changes the JSON object {@code from} to the JSON object {@code to}, as a compact JSON array.
+   *
+   * Json.createDiff is not used as the patch it creates for an array that shrinks removes the elements in increasing
+   * index order and can't be applied. Here array elements are compared after skipping the common prefix and suffix,
+   * so that adding or removing an element in a large array, such as table columns, results in a single operation.
+   */
+  public static String diffJson(String from, String to) {
+    JsonObject source = Json.createReader(new StringReader(from)).readObject();
+    JsonObject target = Json.createReader(new StringReader(to)).readObject();
+    JsonPatchBuilder builder = Json.createPatchBuilder();
+    diffObject("", source, target, builder);
+    return builder.build().toJsonArray().toString();
+  }
+
+  private static void diffValue(String path, JsonValue source, JsonValue target, JsonPatchBuilder builder) {
+    if (source.equals(target)) {
+      return;
+    }
+    if (source.getValueType() == ValueType.OBJECT && target.getValueType() == ValueType.OBJECT) {
+      diffObject(path, source.asJsonObject(), target.asJsonObject(), builder);
+    } else if (source.getValueType() == ValueType.ARRAY && target.getValueType() == ValueType.ARRAY) {
+      diffArray(path, source.asJsonArray(), target.asJsonArray(), builder);
+    } else {
+      builder.replace(path, target);
+    }
+  }
+
+  private static void diffObject(String path, JsonObject source, JsonObject target, JsonPatchBuilder builder) {
+    for (Map.Entry<String, JsonValue> entry : source.entrySet()) {
+      String fieldPath = path + "/" + entry.getKey().replace("~", "~0").replace("/", "~1");
+      JsonValue targetValue = target.get(entry.getKey());
+      if (targetValue == null) {
+        builder.remove(fieldPath);
+      } else {
+        diffValue(fieldPath, entry.getValue(), targetValue, builder);
+      }
+    }
+    for (Map.Entry<String, JsonValue> entry : target.entrySet()) {
+      if (!source.containsKey(entry.getKey())) {
+        builder.add(path + "/" + entry.getKey().replace("~", "~0").replace("/", "~1"), entry.getValue());
+      }
+    }
+  }
+
+  private static void diffArray(String path, JsonArray source, JsonArray target, JsonPatchBuilder builder) {
+    int prefix = 0;
+    while (prefix < source.size() && prefix < target.size() && source.get(prefix).equals(target.get(prefix))) {
+      prefix++;
+    }
+    int suffix = 0;
+    while (suffix < source.size() - prefix && suffix < target.size() - prefix &&
+            source.get(source.size() - 1 - suffix).equals(target.get(target.size() - 1 - suffix))) {
+      suffix++;
+    }
+    int sourceEnd = source.size() - suffix;
+    int targetEnd = target.size() - suffix;
+    int common = Math.min(sourceEnd, targetEnd) - prefix;
+    for (int i = prefix; i < prefix + common; i++) {
+      diffValue(path + "/" + i, source.get(i), target.get(i), builder);
+    }
+    // Operations are applied in order, each removal shifts the remaining elements to the same index
+    for (int i = prefix + common; i < sourceEnd; i++) {
+      builder.remove(path + "/" + (prefix + common));
+    }
+    for (int i = prefix + common; i < targetEnd; i++) {
+      builder.add(path + "/" + i, target.get(i));
+    }
+  }
+
+  /**
+   * Apply a JSON patch created by {@link #diffJson(String, String)} to a JSON object
+   */
+  public static String applyDiff(String json, String diff) {
+    JsonObject source = Json.createReader(new StringReader(json)).readObject();
+    JsonArray patch = Json.createReader(new StringReader(diff)).readArray();
+    return Json.createPatch(patch).apply(source).toString();
+  }
+
   public static String formatJson(JsonValue jsonValue) {
     StringWriter stringWriter = new StringWriter();
     prettyPrintString(jsonValue, stringWriter);
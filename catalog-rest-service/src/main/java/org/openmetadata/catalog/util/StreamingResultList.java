@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openmetadata.catalog.type.Paging;
+import org.openmetadata.common.utils.CipherText;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.util.List;
+
+/**
+ * List response in the same JSON format as {@link ResultList} that is written directly to the response output
+ * stream. Entries are read from the {@link Source} in chunks of {@link #CHUNK_SIZE} using keyset pagination and each
+ * chunk is written out before the next one is read, so that the memory used by a request does not depend on the
+ * number of entries returned.
+ *
+ * The first chunk is read when the list is created, before any output is written, so that errors such as a missing
+ * entity are returned as an error response. Pages of up to {@link #CHUNK_SIZE} entries are read entirely up front.
+ * When reading a later chunk fails after the response is committed, the JSON is left incomplete instead of being
+ * closed, so that clients don't take a truncated list for a complete one.
+ *
+ * Paging follows forward scrolling in {@link ResultList}: the before cursor is the first entry returned when the
+ * list starts after a cursor, and the after cursor is the last entry returned when more entries follow it.
+ */
+public class StreamingResultList<T> implements StreamingOutput {
+  public static final int CHUNK_SIZE = 100;
+  private static volatile ObjectMapper mapper = Jackson.newObjectMapper();
+
+  @FunctionalInterface
+  public interface Source<T> {
+    /**
+     * Read up to limit entries after the given position, or from the first entry when the position is null.
+     * Returns pairs of the position of an entry, which is used as pagination cursor, and the entry.
+     */
+    List<Pair<String, T>> read(String after, int limit) throws IOException;
+  }
+
+  private final Source<T> source;
+  private final String after;
+  private final int limit;
+  private final Integer total;
+  private final boolean paging;
+  private final boolean includeTotal;
+  private final List<Pair<String, T>> firstChunk;
+
+  /**
+   * List of all the entries without paging information
+   */
+  public StreamingResultList(Source<T> source) throws IOException {
+    this(source, null, Integer.MAX_VALUE, null, false, false);
+  }
+
+  /**
+   * Page of limit entries after the position of the decrypted cursor {@code after} with paging information. When
+   * total is null, the number of entries returned is used as total.
+   */
+  public StreamingResultList(Source<T> source, String after, int limit, Integer total) throws IOException {
+    this(source, after, limit, total, true, true);
+  }
+
+  /**
+   * Same as {@link #StreamingResultList(Source, String, int, Integer)} except total is left out of the paging
+   * information when includeTotal is false.
+   */
+  public StreamingResultList(Source<T> source, String after, int limit, Integer total, boolean includeTotal)
+          throws IOException {
+    this(source, after, limit, total, true, includeTotal);
+  }
+
+  private StreamingResultList(Source<T> source, String after, int limit, Integer total, boolean paging,
+                              boolean includeTotal) throws IOException {
+    this.source = source;
+    this.after = after;
+    this.limit = limit;
+    this.total = total;
+    this.paging = paging;
+    this.includeTotal = includeTotal;
+    this.firstChunk = source.read(after, getChunkSize(limit));
+  }
+
+  /** Use the object mapper of the application to write the entries */
+  public static void initialize(ObjectMapper objectMapper) {
+    mapper = objectMapper;
+  }
+
+  static ObjectMapper getObjectMapper() {
+    return mapper;
+  }
+
+  @Override
+  public void write(OutputStream output) throws IOException {
+    try (JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+      generator.writeStartObject();
+      generator.writeArrayFieldStart("data");
+      String first = null;
+      String last = after;
+      boolean more = false;
+      int remaining = limit;
+      int count = 0;
+      List<Pair<String, T>> chunk = firstChunk;
+      while (true) {
+        // Read an extra entry with the last chunk of the page to find if more entries follow the page
+        int chunkSize = getChunkSize(remaining);
+        if (chunk == null) {
+          chunk = source.read(last, chunkSize);
+        }
+        if (chunk.size() > remaining) {
+          chunk = chunk.subList(0, remaining);
+          more = true;
+        }
+        for (Pair<String, T> entry : chunk) {
+          generator.writeObject(entry.getRight());
+        }
+        generator.flush();
+        count += chunk.size();
+        remaining -= chunk.size();
+        if (!chunk.isEmpty()) {
+          first = first == null ? chunk.get(0).getLeft() : first;
+          last = chunk.get(chunk.size() - 1).getLeft();
+        }
+        if (chunk.size() < chunkSize || remaining == 0) {
+          break;
+        }
+        chunk = null;
+      }
+      generator.writeEndArray();
+      if (paging) {
+        String beforeCursor = after == null ? null : first;
+        String afterCursor = more ? last : null;
+        Integer pagingTotal = includeTotal ? (total == null ? Integer.valueOf(count) : total) : null;
+        generator.writeObjectField("paging", getPaging(beforeCursor, afterCursor, pagingTotal));
+      }
+      generator.writeEndObject();
+    }
+  }
+
+  private static int getChunkSize(int remaining) {
+    return remaining <= CHUNK_SIZE ? remaining + 1 : CHUNK_SIZE;
+  }
+  private static Paging getPaging(String beforeCursor, String afterCursor, Integer total) throws IOException {
+    try {
+      return new Paging().withBefore(CipherText.instance().encrypt(beforeCursor))
+              .withAfter(CipherText.instance().encrypt(afterCursor)).withTotal(total);
+    } catch (GeneralSecurityException e) {
+      throw new IOException("Failed to encrypt the paging cursors", e);
+    }
+  }
+}
@@ -24,13 +24,21 @@ import org.elasticsearch.client.RestHighLevelClient;
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.MigrationVersion;
 import org.openmetadata.catalog.ElasticSearchConfiguration;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 import org.openmetadata.catalog.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.catalog.elasticsearch.ElasticSearchReindexer;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionDAO;
+import org.openmetadata.catalog.jdbi3.EntityVersionStore;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 
 import static org.flywaydb.core.internal.info.MigrationInfoDumper.dumpToAsciiTable;
@@ -39,6 +47,12 @@ public final class TablesInitializer {
   private static final String OPTION_SCRIPT_ROOT_PATH = "script-root";
   private static final String OPTION_CONFIG_FILE_PATH = "config";
   private static final String DISABLE_VALIDATE_ON_MIGRATE = "disable-validate-on-migrate";
+  private static final String OPTION_REINDEX_THREADS = "reindex-threads";
+  private static final String OPTION_REINDEX_BATCH_SIZE = "reindex-batch-size";
+  private static final String OPTION_REINDEX_CHECKPOINT = "reindex-checkpoint";
+  private static final int DEFAULT_REINDEX_THREADS = 4;
+  private static final int DEFAULT_REINDEX_BATCH_SIZE = 500;
+  private static final int COMPACT_BATCH_SIZE = 100;
   private static final Options OPTIONS;
 
   static {
@@ -71,6 +85,16 @@ public final class TablesInitializer {
         "Creates all the indexes in the elastic search");
     OPTIONS.addOption(null, SchemaMigrationOption.ES_DROP.toString(), false,
         "Drop all the indexes in the elastic search");
+    OPTIONS.addOption(null, SchemaMigrationOption.ES_REINDEX.toString(), false,
+        "Rebuild all the indexes in the elastic search from the database without search downtime");
+    OPTIONS.addOption(null, OPTION_REINDEX_THREADS, true,
+        "Number of threads indexing entities during reindex. Default " + DEFAULT_REINDEX_THREADS);
+    OPTIONS.addOption(null, OPTION_REINDEX_BATCH_SIZE, true,
+        "Number of entities read and indexed at a time during reindex. Default " + DEFAULT_REINDEX_BATCH_SIZE);
+    OPTIONS.addOption(null, OPTION_REINDEX_CHECKPOINT, true,
+        "File to store the reindex progress in, to resume an interrupted reindex");
+    OPTIONS.addOption(null, SchemaMigrationOption.COMPACT_VERSIONS.toString(), false,
+        "Rewrite the version history of all the entities as JSON patches between versions with periodic snapshots");
 
   }
 
@@ -128,7 +152,13 @@ public final class TablesInitializer {
     RestHighLevelClient client = ElasticSearchClientUtils.createElasticSearchClient(
         esConfig);
     try {
-      execute(flyway, client, schemaMigrationOptionSpecified);
+      if (schemaMigrationOptionSpecified == SchemaMigrationOption.ES_REINDEX) {
+        reindex(flyway, client, commandLine);
+      } else if (schemaMigrationOptionSpecified == SchemaMigrationOption.COMPACT_VERSIONS) {
+        compactVersions(flyway);
+      } else {
+        execute(flyway, client, schemaMigrationOptionSpecified);
+      }
       System.out.printf("\"%s\" option successful%n", schemaMigrationOptionSpecified.toString());
     } catch (Exception e) {
       System.err.printf("\"%s\" option failed : %s%n", schemaMigrationOptionSpecified.toString(), e);
@@ -213,6 +243,38 @@ public final class TablesInitializer {
     }
   }
 
+  private static void reindex(Flyway flyway, RestHighLevelClient client, CommandLine commandLine)
+          throws IOException, InterruptedException {
+    int threads = Integer.parseInt(commandLine.getOptionValue(OPTION_REINDEX_THREADS,
+            String.valueOf(DEFAULT_REINDEX_THREADS)));
+    int batchSize = Integer.parseInt(commandLine.getOptionValue(OPTION_REINDEX_BATCH_SIZE,
+            String.valueOf(DEFAULT_REINDEX_BATCH_SIZE)));
+    String checkpoint = commandLine.getOptionValue(OPTION_REINDEX_CHECKPOINT);
+    Jdbi jdbi = Jdbi.create(flyway.getConfiguration().getDataSource());
+    jdbi.installPlugin(new SqlObjectPlugin());
+    CollectionDAO dao = jdbi.onDemand(CollectionDAO.class);
+    new ElasticSearchReindexer(client, dao, threads, batchSize, checkpoint == null ? null : new File(checkpoint))
+            .reindex();
+  }
+
+  private static void compactVersions(Flyway flyway) {
+    Jdbi jdbi = Jdbi.create(flyway.getConfiguration().getDataSource());
+    jdbi.installPlugin(new SqlObjectPlugin());
+    EntityVersionDAO dao = jdbi.onDemand(CollectionDAO.class).entityVersionDAO();
+    EntityVersionStore versionStore = new EntityVersionStore(dao);
+    int compacted = 0;
+    String after = "";
+    List<String> ids;
+    while (!(ids = dao.listIds(after, COMPACT_BATCH_SIZE)).isEmpty()) {
+      for (String id : ids) {
+        versionStore.compact(id);
+      }
+      compacted += ids.size();
+      after = ids.get(ids.size() - 1);
+      System.out.printf("Compacted version history of %d entities%n", compacted);
+    }
+  }
+
   private static void usage() {
     HelpFormatter formatter = new HelpFormatter();
     formatter.printHelp("TableInitializer [options]", TablesInitializer.OPTIONS);
@@ -227,7 +289,9 @@ public final class TablesInitializer {
     DROP("drop"),
     REPAIR("repair"),
     ES_DROP("es-drop"),
-    ES_CREATE("es-create");
+    ES_CREATE("es-create"),
+    ES_REINDEX("es-reindex"),
+    COMPACT_VERSIONS("compact-versions");
 
     private final String value;
 
@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EventOutboxDAO;
+import org.openmetadata.catalog.jdbi3.FakeDAO;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OutboxPositionTest {
+  private static final long WINDOW = 60000;
+
+  /** Events committed to the outbox */
+  private final TreeMap<Long, EventRecord> outbox = new TreeMap<>();
+  private long now;
+  private OutboxPosition position;
+
+  @BeforeEach
+  public void setup() {
+    EventOutboxDAO dao = FakeDAO.of(EventOutboxDAO.class)
+            .on("listAfter", args -> outbox.tailMap((Long) args[0], false).values().stream()
+                    .limit((Integer) args[1]).collect(Collectors.toList()))
+            .on("listByIds", args -> ((List<?>) args[0]).stream().filter(outbox::containsKey)
+                    .map(outbox::get).collect(Collectors.toList())).get();
+    position = new OutboxPosition(dao, 0, WINDOW, () -> now);
+  }
+
+  @Test
+  public void readInOrder() {
+    commit(1, 2, 3, 4, 5);
+    assertEquals(Arrays.asList(1L, 2L, 3L), readAndAdvance(3));
+    assertEquals(Arrays.asList(4L, 5L), readAndAdvance(3));
+    assertEquals(Collections.emptyList(), readAndAdvance(3));
+    assertEquals(5, position.getStoredId());
+  }
+
+  @Test
+  public void lateCommittedEventIsDelivered() {
+    // Event 2 is inserted before event 3 and commits after event 3 is read
+    commit(1, 3);
+    assertEquals(Arrays.asList(1L, 3L), readAndAdvance(10));
+    assertEquals(1, position.getGapCount());
+    assertEquals(1, position.getStoredId()); // Event 2 is not purged while waiting for it
+
+    now += WINDOW / 2;
+    commit(2, 4);
+    assertEquals(Arrays.asList(2L, 4L), readAndAdvance(10));
+    assertEquals(0, position.getGapCount());
+    assertEquals(4, position.getStoredId());
+  }
+
+  @Test
+  public void gapExpiresAfterVisibilityWindow() {
+    // Insert of event 2 is rolled back and the id is never used
+    commit(1, 3);
+    assertEquals(Arrays.asList(1L, 3L), readAndAdvance(10));
+    now += WINDOW - 1;
+    assertEquals(Collections.emptyList(), readAndAdvance(10));
+    assertEquals(1, position.getStoredId());
+
+    now += 1;
+    assertEquals(3, position.getStoredId());
+    // Event committed after the window is not delivered
+    commit(2);
+    assertEquals(Collections.emptyList(), readAndAdvance(10));
+  }
+
+  @Test
+  public void storedIdIsBelowOldestGap() {
+    commit(1, 4, 6);
+    assertEquals(Arrays.asList(1L, 4L, 6L), readAndAdvance(10));
+    assertEquals(3, position.getGapCount());
+    assertEquals(1, position.getStoredId());
+
+    commit(2, 3);
+    assertEquals(Arrays.asList(2L, 3L), readAndAdvance(10));
+    assertEquals(4, position.getStoredId()); // Event 5 is still missing
+  }
+
+  private void commit(long... ids) {
+    for (long id : ids) {
+      outbox.put(id, new EventRecord().withId(id));
+    }
+  }
+
+  private List<Long> readAndAdvance(int limit) {
+    List<EventRecord> events = position.read(limit);
+    position.advance(events);
+    return events.stream().map(EventRecord::getId).collect(Collectors.toList());
+  }
+}
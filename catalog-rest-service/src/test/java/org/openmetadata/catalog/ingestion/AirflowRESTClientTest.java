@@ -0,0 +1,213 @@
+/*
+ *  Copyright 2021 Collate 
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.ingestion;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.operations.workflows.Ingestion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Tests {@link AirflowRESTClient} against a local stub of the Airflow REST APIs */
+public class AirflowRESTClientTest {
+  private static final long STATUS_DELAY_MILLIS = 200;
+
+  private HttpServer server;
+  private final AtomicInteger logins = new AtomicInteger();
+  private final AtomicInteger statusRequests = new AtomicInteger();
+  private final AtomicInteger statusResponses = new AtomicInteger();
+  private final AtomicInteger concurrentRequests = new AtomicInteger();
+  private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+  private volatile String validToken;
+  // Status requests wait for the gate to open
+  private volatile CountDownLatch statusGate = new CountDownLatch(0);
+
+  @BeforeEach
+  public void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/api/v1/security/login", exchange -> {
+      logins.incrementAndGet();
+      validToken = JWT.create().withSubject("admin").withClaim("login", logins.get())
+              .withExpiresAt(new Date(System.currentTimeMillis() + 3_600_000)).sign(Algorithm.HMAC256("secret"));
+      respond(exchange, 200, "{\"access_token\":\"" + validToken + "\"}");
+    });
+    server.createContext("/rest_api/api", this::listRuns);
+    server.start();
+  }
+
+  @AfterEach
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  public void statusFetchedConcurrentlyWithCachedToken() {
+    AirflowRESTClient client = new AirflowRESTClient(getConfig(4, 30));
+    List<Ingestion> ingestions = getIngestions(12);
+    assertTrue(client.getStatus(ingestions).isEmpty());
+    for (Ingestion ingestion : ingestions) {
+      assertEquals("2021-12-01T00:00:00", ingestion.getNextExecutionDate());
+      assertEquals(1, ingestion.getIngestionStatuses().size());
+      assertEquals("success", ingestion.getIngestionStatuses().get(0).getState());
+    }
+    assertEquals(1, logins.get());
+    assertEquals(12, statusRequests.get());
+    assertTrue(maxConcurrentRequests.get() > 1 && maxConcurrentRequests.get() <= 4,
+            "Concurrent requests " + maxConcurrentRequests.get());
+
+    // Status is cached
+    List<Ingestion> cached = getIngestions(12);
+    assertTrue(client.getStatus(cached).isEmpty());
+    assertNotNull(client.getStatus(cached.get(0)).getIngestionStatuses());
+    assertEquals(12, statusRequests.get());
+    assertEquals(1, logins.get());
+  }
+
+  @Test
+  public void tokenRenewedWhenRejected() {
+    AirflowRESTClient client = new AirflowRESTClient(getConfig(4, 30));
+    client.getStatus(new Ingestion().withName("dag1"));
+    assertEquals(1, logins.get());
+
+    validToken = "revoked";
+    Ingestion ingestion = client.getStatus(new Ingestion().withName("dag2"));
+    assertEquals(1, ingestion.getIngestionStatuses().size());
+    assertEquals(2, logins.get());
+  }
+
+  @Test
+  public void failedStatusReturnedAsError() {
+    AirflowRESTClient client = new AirflowRESTClient(getConfig(4, 30));
+    List<Ingestion> ingestions = getIngestions(2);
+    ingestions.add(new Ingestion().withName("fail"));
+    Map<String, Throwable> errors = client.getStatus(ingestions);
+    assertEquals(1, errors.size());
+    assertNotNull(errors.get("fail"));
+    assertNull(ingestions.get(2).getIngestionStatuses());
+    assertNotNull(ingestions.get(0).getIngestionStatuses());
+
+    // Failed status is not cached
+    client.getStatus(List.of(new Ingestion().withName("fail")));
+    assertEquals(4, statusRequests.get());
+  }
+
+  @Test
+  public void staleStatusRefreshedInBackground() throws InterruptedException {
+    AtomicLong now = new AtomicLong(System.currentTimeMillis());
+    AirflowRESTClient client = new AirflowRESTClient(getConfig(4, 1), now::get);
+    client.getStatus(new Ingestion().withName("dag1"));
+    assertEquals(1, statusRequests.get());
+
+    // Stale status is returned without waiting for the refresh from Airflow
+    statusGate = new CountDownLatch(1);
+    now.addAndGet(1_100);
+    assertNotNull(client.getStatus(new Ingestion().withName("dag1")).getIngestionStatuses());
+    assertEquals(1, statusResponses.get());
+
+    statusGate.countDown();
+    for (int i = 0; i < 50 && statusResponses.get() < 2; i++) {
+      Thread.sleep(50);
+    }
+    assertEquals(2, statusRequests.get());
+    assertEquals(2, statusResponses.get());
+  }
+
+  @Test
+  public void expiredStatusFetchedAgain() {
+    AtomicLong now = new AtomicLong(System.currentTimeMillis());
+    AirflowRESTClient client = new AirflowRESTClient(getConfig(4, 1), now::get);
+    client.getStatus(new Ingestion().withName("dag1"));
+
+    // Status older than ten times the cache duration is not returned
+    now.addAndGet(10_000);
+    assertNotNull(client.getStatus(new Ingestion().withName("dag1")).getIngestionStatuses());
+    assertEquals(2, statusResponses.get());
+  }
+
+  private void listRuns(HttpExchange exchange) throws IOException {
+    if (!("Bearer " + validToken).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+      respond(exchange, 401, "{}");
+      return;
+    }
+    statusRequests.incrementAndGet();
+    int concurrent = concurrentRequests.incrementAndGet();
+    maxConcurrentRequests.accumulateAndGet(concurrent, Math::max);
+    try {
+      Thread.sleep(STATUS_DELAY_MILLIS);
+      statusGate.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      concurrentRequests.decrementAndGet();
+    }
+    statusResponses.incrementAndGet();
+    if (exchange.getRequestURI().getQuery().contains("dag_id=fail")) {
+      respond(exchange, 500, "{}");
+      return;
+    }
+    respond(exchange, 200, "{\"status\":\"success\",\"next_run\":\"2021-12-01T00:00:00\"," +
+            "\"dag_runs\":[{\"state\":\"success\",\"startDate\":\"2021-11-30T00:00:00\"," +
+            "\"endDate\":\"2021-11-30T00:10:00\"}]}");
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(bytes);
+    }
+  }
+
+  private AirflowConfiguration getConfig(int statusConcurrency, int statusCacheSeconds) {
+    AirflowConfiguration config = new AirflowConfiguration();
+    config.setApiEndpoint("http://localhost:" + server.getAddress().getPort());
+    config.setUsername("admin");
+    config.setPassword("admin");
+    config.setStatusConcurrency(statusConcurrency);
+    config.setStatusCacheSeconds(statusCacheSeconds);
+    return config;
+  }
+
+  private static List<Ingestion> getIngestions(int count) {
+    List<Ingestion> ingestions = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      ingestions.add(new Ingestion().withName("dag" + i));
+    }
+    return ingestions;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class EntityCacheTest {
+  private static final String TYPE = "table";
+  private static final String ID = "id1";
+  private static final String NAME = "service.db.table1";
+
+  @BeforeEach
+  public void initialize() {
+    EntityCache.initialize(new EntityCacheConfiguration(), null);
+  }
+
+  @AfterEach
+  public void disable() {
+    EntityCache.initialize(null, null);
+  }
+
+  @Test
+  public void hit() {
+    assertNull(EntityCache.getJsonById(TYPE, ID));
+    EntityCache.put(TYPE, ID, NAME, "v1", EntityCache.stamp());
+    assertEquals("v1", EntityCache.getJsonById(TYPE, ID));
+    assertEquals(ID, EntityCache.getIdByName(TYPE, NAME));
+    assertNull(EntityCache.getJsonById("database", ID));
+  }
+
+  @Test
+  public void invalidate() {
+    EntityCache.put(TYPE, ID, NAME, "v1", EntityCache.stamp());
+    EntityCache.invalidate(TYPE, ID);
+    assertNull(EntityCache.getJsonById(TYPE, ID));
+
+    // Entity read after the invalidation is cached again
+    EntityCache.put(TYPE, ID, NAME, "v2", EntityCache.stamp());
+    assertEquals("v2", EntityCache.getJsonById(TYPE, ID));
+  }
+
+  @Test
+  public void staleReadInvalidatedBeforePutIsNotCached() {
+    // Reader takes the stamp and reads v1 from the database, the update stores v2 and invalidates the entity, and
+    // then the reader caches what it read
+    long stamp = EntityCache.stamp();
+    EntityCache.invalidate(TYPE, ID);
+    EntityCache.put(TYPE, ID, NAME, "v1", stamp);
+    assertNull(EntityCache.getJsonById(TYPE, ID));
+
+    // Invalidation of another entity does not affect the put
+    stamp = EntityCache.stamp();
+    EntityCache.invalidate(TYPE, "id2");
+    EntityCache.put(TYPE, ID, NAME, "v2", stamp);
+    assertEquals("v2", EntityCache.getJsonById(TYPE, ID));
+  }
+
+  @Test
+  public void concurrentReadsAndInvalidations() throws InterruptedException {
+    // Updater stores a new version and then invalidates, readers read the stored version and put it with a stamp
+    // taken before the read. After the updates, a cached entry must be the latest stored version.
+    final int updates = 2000;
+    final String[] stored = {"v0"};
+    Thread updater = new Thread(() -> {
+      for (int i = 1; i <= updates; i++) {
+        synchronized (stored) {
+          stored[0] = "v" + i;
+        }
+        EntityCache.invalidate(TYPE, ID);
+      }
+    });
+    Runnable reader = () -> {
+      for (int i = 0; i < updates; i++) {
+        if (EntityCache.getJsonById(TYPE, ID) == null) {
+          long stamp = EntityCache.stamp();
+          String json;
+          synchronized (stored) {
+            json = stored[0];
+          }
+          EntityCache.put(TYPE, ID, null, json, stamp);
+        }
+      }
+    };
+    Thread reader1 = new Thread(reader);
+    Thread reader2 = new Thread(reader);
+    updater.start();
+    reader1.start();
+    reader2.start();
+    updater.join();
+    reader1.join();
+    reader2.join();
+
+    String cached = EntityCache.getJsonById(TYPE, ID);
+    if (cached != null) {
+      assertEquals("v" + updates, cached);
+    }
+  }
+
+  @Test
+  public void disabledCache() {
+    EntityCache.initialize(null, null);
+    assertFalse(EntityCache.isEnabled());
+    EntityCache.put(TYPE, ID, NAME, "v1", EntityCache.stamp());
+    assertNull(EntityCache.getJsonById(TYPE, ID));
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import io.dropwizard.jdbi3.JdbiFactory;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.CatalogApplicationTest;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TableDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Runs the reconciliation of the maintained counts against the database after making the counts drift */
+public class EntityCountReconciliationTest extends CatalogApplicationTest {
+  private static final String TAG_FQN = "User.Address";
+  private static Jdbi jdbi;
+  private static CollectionDAO dao;
+
+  @BeforeAll
+  public static void setup() {
+    jdbi = new JdbiFactory().build(APP.getEnvironment(), APP.getConfiguration().getDataSourceFactory(),
+            "entity-count-reconciliation-test");
+    dao = jdbi.onDemand(CollectionDAO.class);
+  }
+
+  @Test
+  public void driftedCountsAreReconciled() {
+    TableDAO tableDAO = dao.tableDAO();
+    TagDAO tagDAO = dao.tagDAO();
+    int tableCount = tableDAO.listCount(null);
+    int tagCount = countTagUsage();
+
+    tableDAO.addCount(Entity.TABLE, "", 5);
+    String parentId = UUID.randomUUID().toString(); // Parent without tables
+    tableDAO.addCount(Entity.TABLE, parentId, 3);
+    tagDAO.addUsageCounts(List.of(TAG_FQN), List.of(7));
+    assertEquals(tableCount + 5, tableDAO.listApproximateCount(null));
+    assertEquals(tagCount + 7, tagDAO.getTagCount(TAG_FQN));
+
+    new EntityCountReconciliation(jdbi).run();
+    assertEquals(tableCount, tableDAO.listApproximateCount(null));
+    assertEquals(0, countParentRows(parentId));
+    assertEquals(tagCount, tagDAO.getTagCount(TAG_FQN));
+  }
+
+  private static int countTagUsage() {
+    return jdbi.withHandle(handle -> handle.createQuery("SELECT count(*) FROM tag_usage WHERE tagFQN LIKE :prefix")
+            .bind("prefix", TAG_FQN + "%").mapTo(Integer.class).one());
+  }
+
+  private static int countParentRows(String parentId) {
+    return jdbi.withHandle(handle -> handle.createQuery("SELECT count(*) FROM entity_count WHERE parentId = :parentId")
+            .bind("parentId", parentId).mapTo(Integer.class).one());
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.exception.EntityNotFoundException;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TableDAO;
+import org.openmetadata.catalog.type.EntityReference;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EntityDAOTest {
+  /** Stored entities by id */
+  private final Map<String, EntityReference> stored = new LinkedHashMap<>();
+  private FakeDAO<TableDAO> tableDAO;
+
+  @BeforeEach
+  public void setup() {
+    tableDAO = FakeDAO.of(TableDAO.class).runDefaultMethods()
+            .on("findReferencesByIds", args -> ((List<?>) args[2]).stream().filter(stored::containsKey)
+                    .map(id -> copy(stored.get(id))).collect(Collectors.toList()))
+            .on("findReferencesByNames", args -> stored.values().stream()
+                    .filter(ref -> ((List<?>) args[2]).contains(ref.getName()))
+                    .map(EntityDAOTest::copy).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void referencesInOrderOfIds() {
+    List<UUID> ids = store(3);
+    List<UUID> reversed = Arrays.asList(ids.get(2), ids.get(0), ids.get(1));
+    List<EntityReference> references = tableDAO.get().getEntityReferences(reversed);
+    assertEquals(reversed, references.stream().map(EntityReference::getId).collect(Collectors.toList()));
+    references.forEach(ref -> assertEquals(Entity.TABLE, ref.getType()));
+    assertEquals(1, tableDAO.calls("findReferencesByIds").size());
+  }
+
+  @Test
+  public void unknownIdNotFound() {
+    List<UUID> ids = store(2);
+    UUID unknown = UUID.randomUUID();
+    EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+            () -> tableDAO.get().getEntityReferences(Arrays.asList(ids.get(0), unknown, ids.get(1))));
+    assertEquals(CatalogExceptionMessage.entityNotFound(Entity.TABLE, unknown), exception.getMessage());
+
+    exception = assertThrows(EntityNotFoundException.class, () -> tableDAO.get().findEntityReferenceById(unknown));
+    assertEquals(CatalogExceptionMessage.entityNotFound(Entity.TABLE, unknown), exception.getMessage());
+    exception = assertThrows(EntityNotFoundException.class, () -> tableDAO.get().findEntityReferenceByName("x.y"));
+    assertEquals(CatalogExceptionMessage.entityNotFound(Entity.TABLE, "x.y"), exception.getMessage());
+  }
+
+  @Test
+  public void referencesReadInBatches() {
+    int count = 2 * EntityDAO.REFERENCE_BATCH_SIZE + 1;
+    List<UUID> ids = store(count);
+    List<UUID> withDuplicates = new ArrayList<>(ids);
+    withDuplicates.addAll(ids.subList(0, 10));
+
+    Map<UUID, EntityReference> references = tableDAO.get().findEntityReferencesByIds(withDuplicates);
+    assertEquals(count, references.size());
+    List<List<Object>> calls = tableDAO.calls("findReferencesByIds");
+    assertEquals(3, calls.size());
+    assertEquals(EntityDAO.REFERENCE_BATCH_SIZE, ((List<?>) calls.get(0).get(2)).size());
+    assertEquals(EntityDAO.REFERENCE_BATCH_SIZE, ((List<?>) calls.get(1).get(2)).size());
+    assertEquals(1, ((List<?>) calls.get(2).get(2)).size());
+
+    List<String> names = stored.values().stream().map(EntityReference::getName).collect(Collectors.toList());
+    Map<String, EntityReference> byName = tableDAO.get().findEntityReferencesByNames(names);
+    assertEquals(count, byName.size());
+    assertEquals(3, tableDAO.calls("findReferencesByNames").size());
+    byName.forEach((name, ref) -> assertEquals(name, ref.getName()));
+  }
+
+  private List<UUID> store(int count) {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      UUID id = UUID.randomUUID();
+      stored.put(id.toString(), new EntityReference().withId(id).withName("service.db.t" + i));
+      ids.add(id);
+    }
+    return ids;
+  }
+
+  /** References read from the database are new objects without type */
+  private static EntityReference copy(EntityReference reference) {
+    return new EntityReference().withId(reference.getId()).withName(reference.getName());
+  }
+}
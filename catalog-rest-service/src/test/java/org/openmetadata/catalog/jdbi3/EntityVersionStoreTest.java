@@ -0,0 +1,154 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionRecord;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntityVersionStoreTest {
+  private static final String ID = "id";
+  private static final int VERSIONS = 35;
+
+  @Test
+  public void storeAndReconstructVersions() throws IOException {
+    InMemoryVersionDAO dao = new InMemoryVersionDAO();
+    EntityVersionStore store = new EntityVersionStore(dao);
+    for (int i = 1; i <= VERSIONS; i++) {
+      store.store(ID, "table", version(i), json(i));
+    }
+
+    // Only the latest version and every SNAPSHOT_INTERVAL version are snapshots
+    for (EntityVersionRecord record : dao.versions.values()) {
+      assertEquals(record.getVersionIndex() == VERSIONS ||
+              record.getVersionIndex() % EntityVersionStore.SNAPSHOT_INTERVAL == 0, record.isSnapshot());
+    }
+    for (int i = 1; i <= VERSIONS; i++) {
+      assertEquals(json(i), store.get(ID, version(i)));
+    }
+    assertNull(store.get(ID, 100.0));
+    assertNull(store.get(ID, 0.15));
+    assertVersions(store, null, VERSIONS, VERSIONS, 1);
+    assertVersions(store, version(20), 5, 19, 15);
+    assertVersions(store, version(3), 10, 2, 1);
+  }
+
+  @Test
+  public void compactSnapshots() throws IOException {
+    // Version history with snapshots of every version that is not compacted
+    InMemoryVersionDAO dao = new InMemoryVersionDAO();
+    for (int i = 1; i <= VERSIONS; i++) {
+      dao.insert(ID, "table", version(i), 0, true, json(i));
+    }
+    EntityVersionStore store = new EntityVersionStore(dao);
+    store.store(ID, "table", version(VERSIONS + 1), json(VERSIONS + 1));
+
+    store.compact(ID);
+    for (EntityVersionRecord record : dao.versions.values()) {
+      assertEquals(record.getVersionIndex() == VERSIONS + 1 ||
+              record.getVersionIndex() % EntityVersionStore.SNAPSHOT_INTERVAL == 0, record.isSnapshot());
+    }
+    assertFalse(dao.versions.get(version(1)).isSnapshot());
+    assertTrue(dao.versions.get(version(10)).isSnapshot());
+    assertVersions(store, null, 100, VERSIONS + 1, 1);
+  }
+
+  private static void assertVersions(EntityVersionStore store, Double before, int limit, int from, int to)
+          throws IOException {
+    List<String> expected = new ArrayList<>();
+    for (int i = from; i >= to; i--) {
+      expected.add(json(i));
+    }
+    List<String> actual = new ArrayList<>();
+    store.list(ID, before, limit, (version, json) -> actual.add(json));
+    assertEquals(expected, actual);
+  }
+
+  private static double version(int i) {
+    return i / 10.0;
+  }
+
+  private static String json(int i) {
+    List<String> columns = new ArrayList<>();
+    for (int c = 0; c < i % 7; c++) {
+      columns.add("{\"name\":\"c" + c + "\",\"description\":\"v" + (i % 3) + "\"}");
+    }
+    return "{\"id\":\"id\",\"version\":" + version(i) + ",\"columns\":[" + String.join(",", columns) + "]}";
+  }
+
+  /** Version history of a single entity */
+  private static class InMemoryVersionDAO implements EntityVersionDAO {
+    private final NavigableMap<Double, EntityVersionRecord> versions = new TreeMap<>();
+
+    @Override
+    public void insert(String id, String entityType, double version, int versionIndex, boolean snapshot,
+                       String json) {
+      versions.put(version, new EntityVersionRecord(version, versionIndex, snapshot, json));
+    }
+
+    @Override
+    public void update(String id, double version, int versionIndex, boolean snapshot, String json) {
+      versions.put(version, new EntityVersionRecord(version, versionIndex, snapshot, json));
+    }
+
+    @Override
+    public EntityVersionRecord getLatest(String id) {
+      return versions.isEmpty() ? null : versions.lastEntry().getValue();
+    }
+
+    @Override
+    public Double findPreviousVersion(String id, double version) {
+      return versions.lowerKey(version);
+    }
+
+    @Override
+    public Double findSnapshotVersion(String id, double version) {
+      for (Entry<Double, EntityVersionRecord> entry : versions.tailMap(version, true).entrySet()) {
+        if (entry.getValue().isSnapshot()) {
+          return entry.getKey();
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public List<EntityVersionRecord> listFrom(String id, double version, int limit) {
+      List<EntityVersionRecord> records = new ArrayList<>(versions.headMap(version, true).descendingMap().values());
+      return records.subList(0, Math.min(limit, records.size()));
+    }
+
+    @Override
+    public int count(String id) {
+      return versions.size();
+    }
+
+    @Override
+    public List<String> listIds(String after, int limit) {
+      return after.compareTo(ID) < 0 && !versions.isEmpty() ? List.of(ID) : Collections.emptyList();
+    }
+  }
+}
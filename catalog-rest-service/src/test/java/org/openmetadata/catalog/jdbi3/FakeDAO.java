@@ -0,0 +1,119 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of a DAO interface for unit tests that don't run a database. Calls are recorded and return the
+ * answer registered for the method name, or the default value of the return type. Default methods of the interface
+ * are not run unless {@link #runDefaultMethods()} is called, register an answer for them as for any other method.
+ */
+public final class FakeDAO<T> implements InvocationHandler {
+  @FunctionalInterface
+  public interface Answer {
+    Object answer(Object[] args) throws Throwable;
+  }
+
+  private final T dao;
+  private final Map<String, Answer> answers = new HashMap<>();
+  private final Map<String, List<List<Object>>> calls = new HashMap<>();
+  private boolean runDefaultMethods;
+
+  @SuppressWarnings("unchecked")
+  private FakeDAO(Class<T> clz) {
+    this.dao = (T) Proxy.newProxyInstance(clz.getClassLoader(), new Class<?>[] {clz}, this);
+  }
+
+  public static <T> FakeDAO<T> of(Class<T> clz) {
+    return new FakeDAO<>(clz);
+  }
+
+  public T get() {
+    return dao;
+  }
+
+  /** Answer the calls to all the methods with the given name */
+  public FakeDAO<T> on(String method, Answer answer) {
+    answers.put(method, answer);
+    return this;
+  }
+
+  /** Run the default methods of the interface that have no registered answer, to test the default methods */
+  public FakeDAO<T> runDefaultMethods() {
+    runDefaultMethods = true;
+    return this;
+  }
+
+  /** Arguments of the calls to the methods with the given name, in the order of the calls */
+  public synchronized List<List<Object>> calls(String method) {
+    return calls.getOrDefault(method, Collections.emptyList());
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      switch (method.getName()) {
+        case "equals": return proxy == args[0];
+        case "hashCode": return System.identityHashCode(proxy);
+        default: return "FakeDAO(" + dao.getClass().getInterfaces()[0].getSimpleName() + ")";
+      }
+    }
+    synchronized (this) {
+      calls.computeIfAbsent(method.getName(), name -> new ArrayList<>())
+              .add(args == null ? Collections.emptyList() : Arrays.asList(args));
+    }
+    Answer answer = answers.get(method.getName());
+    if (answer != null) {
+      return answer.answer(args);
+    }
+    if (runDefaultMethods && method.isDefault()) {
+      Class<?> declaringClass = method.getDeclaringClass();
+      return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup())
+              .unreflectSpecial(method, declaringClass).bindTo(proxy)
+              .invokeWithArguments(args == null ? new Object[0] : args);
+    }
+    return defaultValue(method.getReturnType());
+  }
+
+  private static Object defaultValue(Class<?> type) {
+    if (!type.isPrimitive() || type == void.class) {
+      return null;
+    } else if (type == boolean.class) {
+      return false;
+    } else if (type == long.class) {
+      return 0L;
+    } else if (type == double.class) {
+      return 0.0;
+    } else if (type == float.class) {
+      return 0.0f;
+    } else if (type == char.class) {
+      return '\0';
+    } else if (type == byte.class) {
+      return (byte) 0;
+    } else if (type == short.class) {
+      return (short) 0;
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TableDAO;
+import org.openmetadata.catalog.type.Edge;
+import org.openmetadata.catalog.type.EntityLineage;
+import org.openmetadata.catalog.type.EntityReference;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LineageRepositoryTest {
+  private final Map<String, UUID> ids = new HashMap<>();
+  /** Lineage edges as pairs of from and to entity names */
+  private final List<Pair<String, String>> lineageEdges = new ArrayList<>();
+  private LineageRepository repository;
+
+  @BeforeEach
+  public void setup() {
+    EntityRelationshipDAO relationshipDAO = FakeDAO.of(EntityRelationshipDAO.class)
+            .on("findToBatch", args -> find((List<?>) args[0], false))
+            .on("findFromBatch", args -> find((List<?>) args[0], true)).get();
+    CollectionDAO dao = FakeDAO.of(CollectionDAO.class).on("relationshipDAO", args -> relationshipDAO).get();
+    TableDAO tableDAO = FakeDAO.of(TableDAO.class)
+            .on("findEntityReferenceById", args -> reference((UUID) args[0]))
+            .on("findEntityReferencesByIds", args -> ((List<?>) args[0]).stream().map(id -> reference((UUID) id))
+                    .collect(Collectors.toMap(EntityReference::getId, ref -> ref))).get();
+    Entity.registerEntity(Entity.TABLE, tableDAO, null);
+    repository = new LineageRepository(dao);
+  }
+
+  @Test
+  public void diamond() throws IOException {
+    addEdges("a", "b", "a", "c", "b", "d", "c", "d");
+    EntityLineage lineage = getLineage("a", 3, 3);
+    assertEquals(edges(), edgeSet(lineage.getUpstreamEdges()));
+    assertEquals(edges("a", "b", "a", "c", "b", "d", "c", "d"), edgeSet(lineage.getDownstreamEdges()));
+    assertEquals(Arrays.asList("b", "c", "d"), names(lineage));
+    assertNull(lineage.getTruncated());
+
+    lineage = getLineage("d", 3, 3);
+    assertEquals(edges("a", "b", "a", "c", "b", "d", "c", "d"), edgeSet(lineage.getUpstreamEdges()));
+    assertEquals(Arrays.asList("b", "c", "a"), names(lineage));
+  }
+
+  @Test
+  public void cycle() throws IOException {
+    addEdges("a", "b", "b", "c", "c", "a");
+    EntityLineage lineage = getLineage("a", 5, 5);
+    Set<Edge> all = edges("a", "b", "b", "c", "c", "a");
+    assertEquals(all, edgeSet(lineage.getUpstreamEdges()));
+    assertEquals(all, edgeSet(lineage.getDownstreamEdges()));
+    assertEquals(3, lineage.getUpstreamEdges().size()); // Edges are returned once
+    assertEquals(3, lineage.getDownstreamEdges().size());
+    assertEquals(Arrays.asList("c", "b"), names(lineage)); // Primary entity is not a node
+
+    // Depth limits the traversal of the cycle
+    lineage = getLineage("a", 0, 1);
+    assertEquals(edges(), edgeSet(lineage.getUpstreamEdges()));
+    assertEquals(edges("a", "b"), edgeSet(lineage.getDownstreamEdges()));
+  }
+
+  @Test
+  public void truncatedAtMaxNodes() throws IOException {
+    addEdges("a", "b", "a", "c", "b", "d", "x", "a");
+    repository.setMaxNodes(2);
+    EntityLineage lineage = getLineage("a", 3, 3);
+    assertEquals(edges("x", "a"), edgeSet(lineage.getUpstreamEdges()));
+    assertEquals(edges("a", "b"), edgeSet(lineage.getDownstreamEdges()));
+    assertEquals(Arrays.asList("x", "b"), names(lineage));
+    assertTrue(lineage.getTruncated());
+
+    repository.setMaxNodes(4);
+    lineage = getLineage("a", 3, 3);
+    assertEquals(4, lineage.getNodes().size());
+    assertNull(lineage.getTruncated());
+  }
+
+  private EntityLineage getLineage(String name, int upstreamDepth, int downstreamDepth) throws IOException {
+    return repository.get(Entity.TABLE, id(name).toString(), upstreamDepth, downstreamDepth);
+  }
+
+  private UUID id(String name) {
+    return ids.computeIfAbsent(name, n -> UUID.randomUUID());
+  }
+
+  private EntityReference reference(UUID id) {
+    String name = ids.entrySet().stream().filter(e -> e.getValue().equals(id)).findFirst().orElseThrow().getKey();
+    return new EntityReference().withId(id).withType(Entity.TABLE).withName(name);
+  }
+
+  private void addEdges(String... names) {
+    for (int i = 0; i < names.length; i += 2) {
+      lineageEdges.add(new ImmutablePair<>(names[i], names[i + 1]));
+    }
+  }
+
+  private Set<Edge> edges(String... names) {
+    Set<Edge> edges = new HashSet<>();
+    for (int i = 0; i < names.length; i += 2) {
+      edges.add(new Edge().withFromEntity(id(names[i])).withToEntity(id(names[i + 1])));
+    }
+    return edges;
+  }
+
+  private static Set<Edge> edgeSet(List<Edge> edges) {
+    return new HashSet<>(edges);
+  }
+
+  private static List<String> names(EntityLineage lineage) {
+    return lineage.getNodes().stream().map(EntityReference::getName).collect(Collectors.toList());
+  }
+
+  /**
+   * Answer findToBatch and findFromBatch with pairs of the frontier id and the entity at the other end of the edges
+   */
+  private List<Pair<String, EntityReference>> find(List<?> frontier, boolean upstream) {
+    List<Pair<String, EntityReference>> pairs = new ArrayList<>();
+    for (Pair<String, String> edge : lineageEdges) {
+      String near = upstream ? edge.getRight() : edge.getLeft();
+      String far = upstream ? edge.getLeft() : edge.getRight();
+      if (frontier.contains(id(near).toString())) {
+        pairs.add(new ImmutablePair<>(id(near).toString(), reference(id(far))));
+      }
+    }
+    return pairs;
+  }
+}
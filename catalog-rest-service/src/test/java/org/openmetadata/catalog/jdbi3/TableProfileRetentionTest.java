@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import io.dropwizard.jdbi3.JdbiFactory;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.CatalogApplicationTest;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TableProfileDAO;
+import org.openmetadata.catalog.type.TableProfile;
+import org.openmetadata.catalog.util.JsonUtils;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the table profile retention against the database. Profiles are dated in 1999 and 2000 so that the retention
+ * does not affect the profiles added by other tests.
+ */
+public class TableProfileRetentionTest extends CatalogApplicationTest {
+  private static CollectionDAO dao;
+
+  @BeforeAll
+  public static void setup() {
+    Jdbi jdbi = new JdbiFactory().build(APP.getEnvironment(), APP.getConfiguration().getDataSourceFactory(),
+            "table-profile-retention-test");
+    dao = jdbi.onDemand(CollectionDAO.class);
+  }
+
+  @Test
+  public void retentionAndDownsampling() throws IOException, ParseException {
+    String table1 = UUID.randomUUID().toString();
+    String table2 = UUID.randomUUID().toString();
+    // 1999-12-20 and 2000-01-03 are Mondays
+    List<String> dates = Arrays.asList("1999-12-20", "1999-12-21", "2000-01-03", "2000-01-04", "2000-01-05",
+            "2000-01-14", "2000-01-15", "2000-01-19");
+    for (String date : dates) {
+      addProfile(table1, date);
+    }
+    addProfile(table2, "2000-01-03");
+
+    // Profiles before 1999-12-21 are deleted and profiles before 2000-01-15 are downsampled to weekly
+    new TableRepository(dao).applyTableProfileRetention("2000-01-20", 30, 5);
+    assertEquals(Arrays.asList("2000-01-19", "2000-01-15", "2000-01-14", "2000-01-05", "1999-12-21"),
+            listProfileDates(table1));
+    // Latest profile in a week is per table
+    assertEquals(List.of("2000-01-03"), listProfileDates(table2));
+
+    // Applying the retention again changes nothing
+    new TableRepository(dao).applyTableProfileRetention("2000-01-20", 30, 5);
+    assertEquals(5, listProfileDates(table1).size());
+  }
+
+  private static void addProfile(String tableId, String date) throws IOException {
+    TableProfile profile = new TableProfile().withProfileDate(date).withRowCount(1.0).withColumnCount(1.0);
+    dao.tableProfileDAO().upsert(tableId, date, JsonUtils.pojoToJson(profile));
+  }
+
+  private static List<String> listProfileDates(String tableId) throws IOException {
+    TableProfileDAO tableProfileDAO = dao.tableProfileDAO();
+    return JsonUtils.readObjects(tableProfileDAO.list(tableId, null, null, 100), TableProfile.class).stream()
+            .map(TableProfile::getProfileDate).collect(Collectors.toList());
+  }
+}
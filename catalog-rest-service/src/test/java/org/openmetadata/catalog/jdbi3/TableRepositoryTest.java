@@ -0,0 +1,170 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.entity.data.Table;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.DatabaseDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.DatabaseServiceDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.LocationDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TableDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TableProfileDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO;
+import org.openmetadata.catalog.resources.databases.TableResource;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.util.EntityUtil.Fields;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TableRepositoryTest {
+  private FakeDAO<TableDAO> tableDAO;
+  private FakeDAO<EntityRelationshipDAO> relationshipDAO;
+  private FakeDAO<TagDAO> tagDAO;
+  private TableRepository repository;
+
+  @BeforeEach
+  public void setup() {
+    tableDAO = FakeDAO.of(TableDAO.class).on("getEntityClass", args -> Table.class);
+    relationshipDAO = FakeDAO.of(EntityRelationshipDAO.class);
+    tagDAO = FakeDAO.of(TagDAO.class);
+    EntityVersionDAO versionDAO = FakeDAO.of(EntityVersionDAO.class).get();
+    CollectionDAO dao = FakeDAO.of(CollectionDAO.class)
+            .on("tableDAO", args -> tableDAO.get())
+            .on("relationshipDAO", args -> relationshipDAO.get())
+            .on("tagDAO", args -> tagDAO.get())
+            .on("entityVersionDAO", args -> versionDAO).get();
+    repository = new TableRepository(dao);
+  }
+
+  @Test
+  public void storeEntities() {
+    List<Table> tables = Arrays.asList(table("t1"), table("t2"));
+    tableDAO.on("insertAll", args -> new boolean[] {true, false});
+
+    List<Exception> errors = repository.storeEntities(tables);
+    assertNull(errors.get(0));
+    assertNotNull(errors.get(1)); // Table already exists
+    assertEquals(1, relationshipDAO.calls("insertBatch").size());
+    assertEquals(Collections.singletonList(tables.get(0).getId().toString()),
+            relationshipDAO.calls("insertBatch").get(0).get(1));
+    assertTrue(tableDAO.calls("delete").isEmpty());
+  }
+
+  @Test
+  public void failedRelationshipBatchDeletesStoredTables() {
+    List<Table> tables = Arrays.asList(table("t1"), table("t2"));
+    tableDAO.on("insertAll", args -> new boolean[] {true, true});
+    // Relationships from database to the tables are added before storing the parent of the tables fails
+    tableDAO.on("updateParents", args -> {
+      throw new IllegalStateException("Lost connection");
+    });
+
+    List<Exception> errors = repository.storeEntities(tables);
+    assertEquals(2, errors.size());
+    for (int i = 0; i < tables.size(); i++) {
+      assertEquals("Lost connection", errors.get(i).getMessage());
+      String id = tables.get(i).getId().toString();
+      assertEquals(Collections.singletonList(id), relationshipDAO.calls("deleteAll").get(i));
+      assertEquals(Collections.singletonList(tables.get(i).getId()), tableDAO.calls("delete").get(i));
+    }
+    assertEquals(Arrays.asList(Arrays.asList("User.Address", "User.Address"),
+            Arrays.asList("service.db.t1.c1", "service.db.t2.c1")), tagDAO.calls("deleteTagsBatch").get(0));
+  }
+
+  @Test
+  public void tableProfileRetention() throws ParseException {
+    FakeDAO<TableProfileDAO> tableProfileDAO = FakeDAO.of(TableProfileDAO.class);
+    CollectionDAO dao = FakeDAO.of(CollectionDAO.class)
+            .on("tableDAO", args -> tableDAO.get())
+            .on("tableProfileDAO", args -> tableProfileDAO.get()).get();
+    TableRepository repository = new TableRepository(dao);
+
+    repository.applyTableProfileRetention("2021-03-10", 30, 7);
+    assertEquals(Collections.singletonList(Collections.singletonList("2021-02-08")),
+            tableProfileDAO.calls("deleteBefore"));
+    assertEquals(Collections.singletonList(Collections.singletonList("2021-03-03")),
+            tableProfileDAO.calls("downsampleBefore"));
+
+    // 0 skips the retention or the downsampling
+    repository.applyTableProfileRetention("2021-03-10", 0, 7);
+    repository.applyTableProfileRetention("2021-03-10", 30, 0);
+    assertEquals(2, tableProfileDAO.calls("deleteBefore").size());
+    assertEquals(2, tableProfileDAO.calls("downsampleBefore").size());
+  }
+
+  @Test
+  public void locationsOfListedTables() throws IOException, ParseException {
+    List<Table> tables = Arrays.asList(table("t1"), table("t2"), table("t3"));
+    UUID location1 = UUID.randomUUID();
+    Map<String, List<UUID>> tableLocations = Map.of(tables.get(0).getId().toString(), List.of(location1),
+            tables.get(2).getId().toString(), List.of(UUID.randomUUID(), UUID.randomUUID()));
+    relationshipDAO.on("findFromBatch", args -> Entity.DATABASE.equals(args[2]) ?
+            tables.stream().map(t -> Pair.of(t.getId().toString(), t.getDatabase())).collect(Collectors.toList()) :
+            Collections.emptyList());
+    relationshipDAO.on("findToBatch", args -> tableLocations.entrySet().stream()
+            .flatMap(e -> e.getValue().stream().map(id -> Pair.of(e.getKey(),
+                    new EntityReference().withId(id).withType(Entity.LOCATION))))
+            .collect(Collectors.toList()));
+    FakeDAO<LocationDAO> locationDAO = FakeDAO.of(LocationDAO.class).on("findEntityReferencesByIds",
+            args -> ((List<?>) args[0]).stream().map(id -> new EntityReference().withId((UUID) id))
+                    .collect(Collectors.toMap(EntityReference::getId, ref -> ref)));
+    CollectionDAO dao = FakeDAO.of(CollectionDAO.class)
+            .on("tableDAO", args -> tableDAO.get())
+            .on("relationshipDAO", args -> relationshipDAO.get())
+            .on("databaseDAO", args -> FakeDAO.of(DatabaseDAO.class).on("findEntityReferencesByIds",
+                    args1 -> tables.stream().map(Table::getDatabase).collect(Collectors.toMap(EntityReference::getId,
+                            ref -> ref))).get())
+            .on("dbServiceDAO", args -> FakeDAO.of(DatabaseServiceDAO.class)
+                    .on("findEntitiesByIds", args1 -> Collections.emptyList()).get())
+            .on("locationDAO", args -> locationDAO.get()).get();
+    TableRepository repository = new TableRepository(dao);
+
+    repository.setFields(tables, new Fields(TableResource.FIELD_LIST, "location"));
+    assertEquals(location1, tables.get(0).getLocation().getId());
+    assertNull(tables.get(1).getLocation());
+    assertNull(tables.get(2).getLocation()); // Table with more than one location has none
+    assertEquals(1, relationshipDAO.calls("findToBatch").size());
+    assertTrue(relationshipDAO.calls("findTo").isEmpty());
+    assertEquals(Collections.singletonList(location1), locationDAO.calls("findEntityReferencesByIds").get(0).get(0));
+  }
+
+  private static Table table(String name) {
+    EntityReference database = new EntityReference().withId(UUID.randomUUID()).withType(Entity.DATABASE);
+    Column column = new Column().withName("c1").withFullyQualifiedName("service.db." + name + ".c1")
+            .withDataType(ColumnDataType.INT)
+            .withTags(Collections.singletonList(new TagLabel().withTagFQN("User.Address")));
+    return new Table().withId(UUID.randomUUID()).withName(name).withFullyQualifiedName("service.db." + name)
+            .withDatabase(database).withColumns(Collections.singletonList(column));
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TagDAOTest {
+  private FakeDAO<TagDAO> tagDAO;
+
+  @BeforeEach
+  public void setup() {
+    tagDAO = FakeDAO.of(TagDAO.class).runDefaultMethods();
+  }
+
+  @Test
+  public void addedTagsCountedWithoutRowCounts() {
+    tagDAO.get().addTagsBatch(List.of("User.Address", "User.BankAccount", "User.Address"), List.of("t1", "t1", "t2"),
+            List.of(0, 0, 0), List.of(1, 1, 1));
+    assertEquals(1, tagDAO.calls("upsertTagUsage").size());
+    assertEquals(List.of(List.of("User.Address", "User.BankAccount"), List.of(2, 1)), lastUsageCountUpdate());
+  }
+
+  @Test
+  public void updatedTagsNotCounted() {
+    tagDAO.get().updateTagsBatch(List.of("User.Address"), List.of("t1"), List.of(3), List.of(0));
+    assertEquals(1, tagDAO.calls("updateTagUsage").size());
+    assertTrue(tagDAO.calls("addUsageCounts").isEmpty());
+  }
+
+  @Test
+  public void deletedTagsCountedByDeletedRows() {
+    tagDAO.on("deleteTagUsage", args -> new int[] {1, 0});
+    tagDAO.get().deleteTagsBatch(List.of("User.Address", "User.BankAccount"), List.of("t1", "t1"));
+    assertEquals(List.of(List.of("User.Address"), List.of(-1)), lastUsageCountUpdate());
+  }
+
+  /** Arguments of the batch update of the usage counts, the last of the addUsageCounts calls */
+  private List<Object> lastUsageCountUpdate() {
+    List<List<Object>> calls = tagDAO.calls("addUsageCounts");
+    return calls.get(calls.size() - 1);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.exception.EntityNotFoundException;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TagDAO;
+import org.openmetadata.catalog.type.Tag;
+import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.type.TagLabel.LabelType;
+import org.openmetadata.catalog.type.TagLabel.State;
+import org.openmetadata.catalog.util.JsonUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TagDictionaryTest {
+  /** Tags stored in the database by fully qualified name */
+  private final Map<String, Tag> tags = new ConcurrentHashMap<>();
+  private FakeDAO<TagDAO> tagDAO;
+
+  @BeforeEach
+  public void setup() {
+    TagDictionary.invalidate();
+    tagDAO = FakeDAO.of(TagDAO.class)
+            .on("listTags", args -> listTags())
+            .on("tagExists", args -> tags.containsKey((String) args[0]));
+    addTag("PII.Sensitive");
+    addTag("PersonalData.Personal", "PII.Sensitive");
+    addTag("User.Address", "PersonalData.Personal", "PII.Sensitive");
+  }
+
+  @Test
+  public void derivedTags() throws IOException {
+    TagLabel label = new TagLabel().withTagFQN("User.Address").withState(State.SUGGESTED);
+    List<TagLabel> derivedTags = TagDictionary.getDerivedTags(tagDAO.get(), label);
+    assertEquals(Arrays.asList("PersonalData.Personal", "PII.Sensitive"),
+            derivedTags.stream().map(TagLabel::getTagFQN).collect(Collectors.toList()));
+    for (TagLabel derivedTag : derivedTags) {
+      assertEquals(State.SUGGESTED, derivedTag.getState());
+      assertEquals(LabelType.DERIVED, derivedTag.getLabelType());
+      assertEquals("Description of " + derivedTag.getTagFQN(), derivedTag.getDescription());
+    }
+    assertEquals(Collections.emptyList(),
+            TagDictionary.getDerivedTags(tagDAO.get(), new TagLabel().withTagFQN("PII.Sensitive")));
+    assertEquals(1, tagDAO.calls("listTags").size());
+
+    assertThrows(EntityNotFoundException.class, () -> TagDictionary.validateTag(tagDAO.get(), "User.Unknown"));
+
+    // Associated tag that does not exist
+    addTag("User.Phone", "PersonalData.Unknown");
+    TagDictionary.invalidate();
+    EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+            () -> TagDictionary.getDerivedTags(tagDAO.get(), new TagLabel().withTagFQN("User.Phone")));
+    assertEquals("Tag instance for PersonalData.Unknown not found", exception.getMessage());
+  }
+
+  @Test
+  public void invalidate() throws IOException {
+    TagDictionary.validateTag(tagDAO.get(), "User.Address");
+    TagDictionary.validateTag(tagDAO.get(), "PII.Sensitive");
+    assertEquals(1, tagDAO.calls("listTags").size());
+
+    // Associated tags changed through the repository are seen after the invalidation
+    addTag("User.Address", "PII.Sensitive");
+    TagDictionary.invalidate();
+    assertEquals(List.of("PII.Sensitive"), TagDictionary.getDerivedTags(tagDAO.get(),
+            new TagLabel().withTagFQN("User.Address")).stream().map(TagLabel::getTagFQN).collect(Collectors.toList()));
+    assertEquals(2, tagDAO.calls("listTags").size());
+
+    // Tag added on another server without an invalidation is found by reloading the dictionary
+    addTag("User.Email");
+    TagDictionary.validateTag(tagDAO.get(), "User.Email");
+    assertEquals(3, tagDAO.calls("listTags").size());
+  }
+
+  @Test
+  public void concurrentReloadsReadTagsOnce() throws InterruptedException {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch waiting = new CountDownLatch(1);
+    tagDAO.on("listTags", args -> {
+      loading.countDown();
+      waiting.await();
+      return listTags();
+    });
+    List<Thread> threads = new ArrayList<>();
+    List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+    for (int i = 0; i < 4; i++) {
+      Thread thread = new Thread(() -> {
+        try {
+          TagDictionary.validateTag(tagDAO.get(), "User.Address");
+        } catch (Throwable e) {
+          errors.add(e);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    // Let the other threads find the dictionary missing while the first thread reads the tags
+    loading.await();
+    Thread.sleep(100);
+    waiting.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(Collections.emptyList(), errors);
+    assertEquals(1, tagDAO.calls("listTags").size());
+  }
+
+  private void addTag(String fqn, String... associatedTags) {
+    tags.put(fqn, new Tag().withName(fqn.substring(fqn.indexOf('.') + 1)).withFullyQualifiedName(fqn)
+            .withDescription("Description of " + fqn).withAssociatedTags(Arrays.asList(associatedTags)));
+  }
+
+  private List<String> listTags() throws IOException {
+    List<String> jsons = new ArrayList<>();
+    for (Tag tag : tags.values()) {
+      jsons.add(JsonUtils.pojoToJson(tag));
+    }
+    return jsons;
+  }
+}
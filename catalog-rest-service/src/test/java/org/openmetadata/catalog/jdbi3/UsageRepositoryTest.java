@@ -0,0 +1,102 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.api.usage.BulkUsage;
+import org.openmetadata.catalog.api.usage.EntityUsageCount;
+import org.openmetadata.catalog.exception.EntityNotFoundException;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TableDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.UsageDAO;
+import org.openmetadata.catalog.type.EntityReference;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UsageRepositoryTest {
+  private static final String DATE = "2021-10-01";
+
+  /** Database ids by table id of the tables that have a database */
+  private final Map<String, UUID> databases = new HashMap<>();
+  private FakeDAO<UsageDAO> usageDAO;
+  private UsageRepository repository;
+
+  @BeforeEach
+  public void setup() {
+    usageDAO = FakeDAO.of(UsageDAO.class);
+    EntityRelationshipDAO relationshipDAO = FakeDAO.of(EntityRelationshipDAO.class)
+            .on("findFromBatch", args -> ((List<?>) args[0]).stream().filter(databases::containsKey)
+                    .map(id -> Pair.of((String) id, new EntityReference().withId(databases.get(id))
+                            .withType(Entity.DATABASE))).collect(Collectors.toList())).get();
+    CollectionDAO dao = FakeDAO.of(CollectionDAO.class)
+            .on("usageDAO", args -> usageDAO.get())
+            .on("relationshipDAO", args -> relationshipDAO).get();
+    TableDAO tableDAO = FakeDAO.of(TableDAO.class)
+            .on("findEntityReferencesByIds", args -> ((List<?>) args[0]).stream()
+                    .map(id -> new EntityReference().withId((UUID) id).withType(Entity.TABLE))
+                    .collect(Collectors.toMap(EntityReference::getId, ref -> ref))).get();
+    Entity.registerEntity(Entity.TABLE, tableDAO, null);
+    repository = new UsageRepository(dao);
+  }
+
+  @Test
+  public void tableUsageAddedToDatabases() throws IOException {
+    UUID database = UUID.randomUUID();
+    UUID table1 = addTable(database);
+    UUID table2 = addTable(database);
+
+    repository.createBulk(Entity.TABLE, new BulkUsage().withUsage(Arrays.asList(usage(table1, 3), usage(table2, 4))));
+    List<List<Object>> batches = usageDAO.calls("insertOrUpdateCountBatch");
+    assertEquals(2, batches.size());
+    assertEquals(Entity.TABLE, batches.get(0).get(2));
+    assertEquals(Entity.DATABASE, batches.get(1).get(2));
+    assertEquals(List.of(database.toString()), batches.get(1).get(1));
+    assertEquals(List.of(7), batches.get(1).get(3));
+  }
+
+  @Test
+  public void tableWithoutDatabaseFailsBeforeUsageIsAdded() {
+    UUID table1 = addTable(UUID.randomUUID());
+    UUID table2 = UUID.randomUUID(); // Table without a database
+
+    BulkUsage bulkUsage = new BulkUsage().withUsage(Arrays.asList(usage(table1, 3), usage(table2, 4)));
+    EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+            () -> repository.createBulk(Entity.TABLE, bulkUsage));
+    assertEquals(String.format("Database for table %s Not found", table2), exception.getMessage());
+    assertTrue(usageDAO.calls("insertOrUpdateCountBatch").isEmpty());
+  }
+
+  private UUID addTable(UUID database) {
+    UUID table = UUID.randomUUID();
+    databases.put(table.toString(), database);
+    return table;
+  }
+
+  private static EntityUsageCount usage(UUID id, int count) {
+    return new EntityUsageCount().withId(id).withDate(DATE).withCount(count);
+  }
+}
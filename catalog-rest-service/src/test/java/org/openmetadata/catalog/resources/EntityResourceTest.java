@@ -67,12 +67,15 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.CONFLICT;
@@ -331,6 +334,56 @@ public abstract class EntityResourceTest<T> extends CatalogApplicationTest {
     assertResponse(exception, BAD_REQUEST, "Only one of before or after query parameter allowed");
   }
 
+  @Test
+  public void get_entityListWithIncludeTotal_200(TestInfo test) throws IOException, URISyntaxException {
+    int exactTotal = getListTotal("exact");
+    int approximateTotal = getListTotal("approximate");
+
+    // Maintained count is updated when an entity is created
+    createEntity(createRequest(getEntityName(test), "description", "displayName", null), adminAuthHeaders());
+    assertEquals(exactTotal + 1, getListTotal("exact"));
+    assertEquals(approximateTotal + 1, getListTotal("approximate"));
+
+    // Total is exact by default and is not returned with includeTotal=false
+    assertEquals(exactTotal + 1, listEntities(null, 1, null, null, adminAuthHeaders()).getPaging().getTotal());
+    assertNull(listEntities(Map.of("includeTotal", "false"), 1, null, null, adminAuthHeaders()).getPaging()
+            .getTotal());
+  }
+
+  @Test
+  public void get_entityListWithInvalidIncludeTotal_4xx() {
+    HttpResponseException exception = assertThrows(HttpResponseException.class, ()
+            -> listEntities(Map.of("includeTotal", "invalid"), adminAuthHeaders()));
+    assertResponse(exception, BAD_REQUEST, "Invalid includeTotal invalid, expected false, approximate or exact");
+  }
+
+  @Test
+  public void get_entityListWithAllFields_200(TestInfo test) throws IOException, URISyntaxException {
+    // Create entities with owner so that the fields for a list page are populated
+    for (int i = 0; i < 5; i++) {
+      createEntity(createRequest(getEntityName(test, i), null, null, USER_OWNER1), adminAuthHeaders());
+    }
+
+    // Fields set for a list page must be the same as the fields set when getting each entity individually
+    Map<String, String> queryParams = Collections.singletonMap("fields", allFields);
+    ResultList<T> entities = listEntities(queryParams, adminAuthHeaders());
+    for (T listed : entities.getData()) {
+      EntityInterface<T> listedInterface = getEntityInterface(listed);
+      EntityInterface<T> getInterface = getEntityInterface(getEntity(listedInterface.getId(), allFields,
+              adminAuthHeaders()));
+      if (supportsOwner) {
+        assertEquals(getInterface.getOwner() == null ? null : getInterface.getOwner().getId(),
+                listedInterface.getOwner() == null ? null : listedInterface.getOwner().getId());
+      }
+      if (supportsFollowers) {
+        assertEquals(getIds(getInterface.getFollowers()), getIds(listedInterface.getFollowers()));
+      }
+      if (supportsTags) {
+        assertEquals(new HashSet<>(getInterface.getTags()), new HashSet<>(listedInterface.getTags()));
+      }
+    }
+  }
+
   @Test
   public void get_entityWithDifferentFields_200_OK(TestInfo test) throws IOException, URISyntaxException {
     Object create = createRequest(getEntityName(test), "description", "displayName", USER_OWNER1);
@@ -339,6 +392,21 @@ public abstract class EntityResourceTest<T> extends CatalogApplicationTest {
     validateGetWithDifferentFields(entity, true);
   }
 
+  @Test
+  public void get_entityReferenceProjection_200(TestInfo test) throws IOException, URISyntaxException {
+    // Entity references read without the entity JSON are the same as the references built from the entity
+    Object create = createRequest(getEntityName(test), "description", "displayName", null);
+    T entity = createEntity(create, adminAuthHeaders());
+    EntityReference expected = getEntityInterface(entity).getEntityReference();
+
+    assertEntityReference(expected, Entity.getEntityReference(entityName, expected.getId()));
+    assertEntityReference(expected, Entity.getEntityReferenceByName(entityName, expected.getName()));
+    assertEntityReference(expected, Entity.getEntityReferences(entityName, List.of(expected.getId()))
+            .get(expected.getId()));
+    assertEntityReference(expected, Entity.getEntityReferencesByName(entityName, List.of(expected.getName()))
+            .get(expected.getName()));
+  }
+
   ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////
   // Common entity tests for POST operations
   ///////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -1000,6 +1068,14 @@ public abstract class EntityResourceTest<T> extends CatalogApplicationTest {
     return TestUtils.get(target, entityClass, authHeaders);
   }
 
+  private static void assertEntityReference(EntityReference expected, EntityReference actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getDescription(), actual.getDescription());
+    assertEquals(expected.getDisplayName(), actual.getDisplayName());
+    assertEquals(expected.getType(), actual.getType());
+  }
+
   protected final void assertFieldLists(List<FieldChange> expectedList, List<FieldChange> actualList)
           throws IOException {
     expectedList.sort(EntityUtil.compareFieldChange);
@@ -1142,6 +1218,16 @@ public abstract class EntityResourceTest<T> extends CatalogApplicationTest {
     return TestUtils.get(target, entityListClass, authHeaders);
   }
 
+  private int getListTotal(String includeTotal) throws HttpResponseException {
+    return listEntities(Map.of("includeTotal", includeTotal), 1, null, null, adminAuthHeaders()).getPaging()
+            .getTotal();
+  }
+
+  private static Set<UUID> getIds(List<EntityReference> references) {
+    return Optional.ofNullable(references).orElse(Collections.emptyList()).stream()
+            .map(EntityReference::getId).collect(Collectors.toSet());
+  }
+
   private void printEntities(ResultList<T> list) {
     list.getData().forEach(e -> LOG.info("{} {}", entityClass, getEntityInterface(e).getFullyQualifiedName()));
     LOG.info("before {} after {} ", list.getPaging().getBefore(), list.getPaging().getAfter());
@@ -25,11 +25,13 @@ import org.openmetadata.catalog.api.services.CreateDashboardService.DashboardSer
 import org.openmetadata.catalog.entity.data.Chart;
 import org.openmetadata.catalog.entity.data.Dashboard;
 import org.openmetadata.catalog.entity.services.DashboardService;
+import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.jdbi3.ChartRepository.ChartEntityInterface;
 import org.openmetadata.catalog.jdbi3.DashboardRepository.DashboardEntityInterface;
 import org.openmetadata.catalog.jdbi3.DashboardServiceRepository.DashboardServiceEntityInterface;
 import org.openmetadata.catalog.resources.EntityResourceTest;
 import org.openmetadata.catalog.resources.charts.ChartResourceTest;
+import org.openmetadata.catalog.resources.dashboards.DashboardResource.ChartReferenceList;
 import org.openmetadata.catalog.resources.dashboards.DashboardResource.DashboardList;
 import org.openmetadata.catalog.resources.services.DashboardServiceResourceTest;
 import org.openmetadata.catalog.type.ChangeDescription;
@@ -40,6 +42,8 @@ import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.ResultList;
 import org.openmetadata.catalog.util.TestUtils;
 
+import javax.ws.rs.client.WebTarget;
+
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -52,12 +56,15 @@ import java.util.stream.Collectors;
 import static java.util.Collections.singletonList;
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.FORBIDDEN;
+import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.openmetadata.catalog.exception.CatalogExceptionMessage.invalidServiceEntity;
+import static org.openmetadata.catalog.util.TestUtils.NON_EXISTENT_ENTITY;
 import static org.openmetadata.catalog.util.TestUtils.UpdateType.MINOR_UPDATE;
 import static org.openmetadata.catalog.util.TestUtils.adminAuthHeaders;
 import static org.openmetadata.catalog.util.TestUtils.assertListNotNull;
@@ -213,6 +220,60 @@ public class DashboardResourceTest extends EntityResourceTest<Dashboard> {
     // TODO
   }
 
+  @Test
+  public void get_dashboardChartsWithPagination_200(TestInfo test) throws IOException {
+    ChartResourceTest chartResourceTest = new ChartResourceTest();
+    List<EntityReference> charts = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      CreateChart createChart = chartResourceTest.create(getEntityName(test) + "_chart" + i)
+              .withService(SUPERSET_REFERENCE);
+      charts.add(new ChartEntityInterface(chartResourceTest.createEntity(createChart, adminAuthHeaders()))
+              .getEntityReference());
+    }
+    Dashboard dashboard = createDashboard(create(test).withCharts(charts), adminAuthHeaders());
+
+    // Charts are listed in the order of chart ids
+    List<String> listed = new ArrayList<>();
+    List<Integer> pageSizes = new ArrayList<>();
+    ChartReferenceList page = listCharts(dashboard.getId(), 2, null, adminAuthHeaders());
+    while (true) {
+      assertEquals(5, page.getPaging().getTotal());
+      pageSizes.add(page.getData().size());
+      page.getData().forEach(chart -> {
+        assertEquals(Entity.CHART, chart.getType());
+        listed.add(chart.getId().toString());
+      });
+      if (page.getPaging().getAfter() == null) {
+        break;
+      }
+      page = listCharts(dashboard.getId(), 2, page.getPaging().getAfter(), adminAuthHeaders());
+    }
+    assertEquals(List.of(2, 2, 1), pageSizes);
+    assertEquals(charts.stream().map(chart -> chart.getId().toString()).sorted().collect(Collectors.toList()),
+            listed);
+
+    // All the charts in one page
+    page = listCharts(dashboard.getId(), null, null, adminAuthHeaders());
+    assertEquals(5, page.getData().size());
+    assertNull(page.getPaging().getAfter());
+  }
+
+  @Test
+  public void get_chartsOfNonExistentDashboard_404() {
+    HttpResponseException exception = assertThrows(HttpResponseException.class, () ->
+            listCharts(NON_EXISTENT_ENTITY, null, null, adminAuthHeaders()));
+    assertResponse(exception, NOT_FOUND, CatalogExceptionMessage.entityNotFound(Entity.DASHBOARD,
+            NON_EXISTENT_ENTITY));
+  }
+
+  public static ChartReferenceList listCharts(UUID dashboardId, Integer limit, String after,
+                                              Map<String, String> authHeaders) throws HttpResponseException {
+    WebTarget target = getResource("dashboards/" + dashboardId + "/charts");
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    target = after != null ? target.queryParam("after", after) : target;
+    return TestUtils.get(target, ChartReferenceList.class, authHeaders);
+  }
+
   public Dashboard createDashboard(CreateDashboard create,
                                         Map<String, String> authHeaders) throws HttpResponseException {
     return TestUtils.post(getResource("dashboards"), create, Dashboard.class, authHeaders);
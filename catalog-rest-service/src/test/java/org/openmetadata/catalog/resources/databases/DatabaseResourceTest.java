@@ -19,25 +19,39 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.api.data.CreateDatabase;
+import org.openmetadata.catalog.api.data.CreateTable;
 import org.openmetadata.catalog.entity.data.Database;
+import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.jdbi3.DatabaseRepository;
 import org.openmetadata.catalog.jdbi3.DatabaseRepository.DatabaseEntityInterface;
 import org.openmetadata.catalog.resources.EntityResourceTest;
 import org.openmetadata.catalog.resources.databases.DatabaseResource.DatabaseList;
+import org.openmetadata.catalog.resources.databases.DatabaseResource.TableReferenceList;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityInterface;
 import org.openmetadata.catalog.util.ResultList;
 import org.openmetadata.catalog.util.TestUtils;
 
+import javax.ws.rs.client.WebTarget;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.FORBIDDEN;
+import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.openmetadata.catalog.util.TestUtils.NON_EXISTENT_ENTITY;
 import static org.openmetadata.catalog.util.TestUtils.adminAuthHeaders;
 import static org.openmetadata.catalog.util.TestUtils.assertListNotNull;
 import static org.openmetadata.catalog.util.TestUtils.assertListNull;
@@ -131,6 +145,83 @@ public class DatabaseResourceTest extends EntityResourceTest<Database> {
     // TODO
   }
 
+  @Test
+  public void get_databaseTablesWithPagination_200(TestInfo test) throws IOException {
+    Database database = createDatabase(create(test), adminAuthHeaders());
+    List<String> tableIds = createTables(database, getEntityName(test), 5);
+
+    // Tables are listed in the order of table ids
+    List<String> listed = new ArrayList<>();
+    TableReferenceList page = listTables(database.getId(), 2, null, adminAuthHeaders());
+    List<Integer> pageSizes = new ArrayList<>();
+    while (true) {
+      assertEquals(5, page.getPaging().getTotal());
+      pageSizes.add(page.getData().size());
+      page.getData().forEach(table -> {
+        assertEquals(Entity.TABLE, table.getType());
+        listed.add(table.getId().toString());
+      });
+      if (page.getPaging().getAfter() == null) {
+        break;
+      }
+      page = listTables(database.getId(), 2, page.getPaging().getAfter(), adminAuthHeaders());
+    }
+    assertEquals(List.of(2, 2, 1), pageSizes);
+    assertEquals(tableIds.stream().sorted().collect(Collectors.toList()), listed);
+  }
+
+  @Test
+  public void get_tablesOfNonExistentDatabase_404() {
+    HttpResponseException exception = assertThrows(HttpResponseException.class, () ->
+            listTables(NON_EXISTENT_ENTITY, null, null, adminAuthHeaders()));
+    assertResponse(exception, NOT_FOUND, CatalogExceptionMessage.entityNotFound(Entity.DATABASE, NON_EXISTENT_ENTITY));
+  }
+
+  @Test
+  public void get_databaseWithTablesLimited_200(TestInfo test) throws IOException {
+    // Tables returned with fields=tables are limited and all the tables are listed with the tables endpoint
+    Database database = createDatabase(create(test), adminAuthHeaders());
+    List<String> tableIds = createTables(database, getEntityName(test), DatabaseRepository.MAX_TABLES + 1);
+
+    database = getEntity(database.getId(), "tables", adminAuthHeaders());
+    assertEquals(DatabaseRepository.MAX_TABLES, database.getTables().size());
+    assertEquals(tableIds.stream().sorted().limit(DatabaseRepository.MAX_TABLES).collect(Collectors.toList()),
+            database.getTables().stream().map(table -> table.getId().toString()).collect(Collectors.toList()));
+
+    TableReferenceList page = listTables(database.getId(), null, null, adminAuthHeaders());
+    assertEquals(100, page.getData().size());
+    assertEquals(DatabaseRepository.MAX_TABLES + 1, page.getPaging().getTotal());
+    page = listTables(database.getId(), DatabaseRepository.MAX_TABLES + 1, null, adminAuthHeaders());
+    assertEquals(DatabaseRepository.MAX_TABLES + 1, page.getData().size());
+    assertNull(page.getPaging().getAfter());
+  }
+
+  /** Create tables in the database with the bulk API and return their ids */
+  private static List<String> createTables(Database database, String namePrefix, int count)
+          throws HttpResponseException {
+    List<Column> columns = List.of(new Column().withName("c1").withDataType(ColumnDataType.INT));
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < count; i += TableResource.MAX_BULK_SIZE) {
+      List<CreateTable> requests = new ArrayList<>();
+      for (int j = i; j < Math.min(i + TableResource.MAX_BULK_SIZE, count); j++) {
+        requests.add(new CreateTable().withName(namePrefix + "_t" + j).withDatabase(database.getId())
+                .withColumns(columns));
+      }
+      TableResourceTest.putBulk(requests, adminAuthHeaders()).getResults()
+              .forEach(result -> ids.add(result.getId().toString()));
+    }
+    assertEquals(count, ids.size());
+    return ids;
+  }
+
+  public static TableReferenceList listTables(UUID databaseId, Integer limit, String after,
+                                              Map<String, String> authHeaders) throws HttpResponseException {
+    WebTarget target = getResource("databases/" + databaseId + "/tables");
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    target = after != null ? target.queryParam("after", after) : target;
+    return TestUtils.get(target, TableReferenceList.class, authHeaders);
+  }
+
   public static Database createDatabase(CreateDatabase create,
                                         Map<String, String> authHeaders) throws HttpResponseException {
     return TestUtils.post(getResource("databases"), create, Database.class, authHeaders);
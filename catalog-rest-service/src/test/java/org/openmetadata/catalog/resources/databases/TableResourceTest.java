@@ -58,6 +58,8 @@ import org.openmetadata.catalog.type.TableJoins;
 import org.openmetadata.catalog.type.TableProfile;
 import org.openmetadata.catalog.type.TableType;
 import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.util.BulkResponse;
+import org.openmetadata.catalog.util.BulkResponse.Result;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
 import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.RestUtil;
@@ -369,6 +371,77 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     updateAndCheckEntity(request, OK, adminAuthHeaders(), MINOR_UPDATE, change);
   }
 
+  @Test
+  public void put_tableBulk_200(TestInfo test) throws IOException {
+    // Create a table that is updated by the bulk request
+    Table existing = createEntity(create(test, 0), adminAuthHeaders());
+
+    List<CreateTable> requests = new ArrayList<>();
+    requests.add(create(test, 0).withDescription("description")); // Updates the existing table
+    requests.add(create(test, 1).withOwner(USER_OWNER1).withTags(List.of(USER_ADDRESS_TAG_LABEL))); // New table
+    requests.add(create(test, 2).withDatabase(UUID.randomUUID())); // Database does not exist
+    requests.add(create(test, 1)); // Table repeated in the request
+    BulkResponse response = putBulk(requests, adminAuthHeaders());
+
+    assertEquals(4, response.getNumberOfRowsProcessed());
+    assertEquals(2, response.getNumberOfRowsPassed());
+    assertEquals(2, response.getNumberOfRowsFailed());
+    List<Result> results = response.getResults();
+    assertEquals(OK.getStatusCode(), results.get(0).getStatus());
+    assertEquals(existing.getId(), results.get(0).getId());
+    assertEquals(RestUtil.ENTITY_UPDATED, results.get(0).getChangeType());
+    assertEquals(CREATED.getStatusCode(), results.get(1).getStatus());
+    assertEquals(NOT_FOUND.getStatusCode(), results.get(2).getStatus());
+    assertEquals(BAD_REQUEST.getStatusCode(), results.get(3).getStatus());
+
+    // Table updated in bulk has the new description
+    assertEquals("description", getEntity(existing.getId(), adminAuthHeaders()).getDescription());
+
+    // Table created in bulk has the same relationships as a table created individually
+    Table table = getEntity(results.get(1).getId(), "owner,tags", adminAuthHeaders());
+    assertOwner(USER_OWNER1, table.getOwner());
+    TestUtils.validateTags(List.of(USER_ADDRESS_TAG_LABEL), table.getTags());
+    checkOwnerOwns(USER_OWNER1, table.getId(), true);
+  }
+
+  @Test
+  public void get_tableListTotalWithDatabase_200(TestInfo test) throws IOException {
+    // Tables created in bulk and deleted are counted in the total of the database and of all the tables
+    DatabaseResourceTest databaseResourceTest = new DatabaseResourceTest();
+    Database database = databaseResourceTest.createEntity(databaseResourceTest.create(test)
+            .withService(SNOWFLAKE_REFERENCE), adminAuthHeaders());
+    int approximateTotal = getTableListTotal(null, "approximate");
+    int exactTotal = getTableListTotal(null, "exact");
+
+    List<CreateTable> requests = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      requests.add(create(test, i).withDatabase(database.getId()));
+    }
+    BulkResponse response = putBulk(requests, adminAuthHeaders());
+    assertEquals(3, response.getNumberOfRowsPassed());
+    assertEquals(3, getTableListTotal(database.getFullyQualifiedName(), "approximate"));
+    assertEquals(3, getTableListTotal(database.getFullyQualifiedName(), "exact"));
+    assertEquals(approximateTotal + 3, getTableListTotal(null, "approximate"));
+    assertEquals(exactTotal + 3, getTableListTotal(null, "exact"));
+
+    deleteEntity(response.getResults().get(0).getId(), adminAuthHeaders());
+    assertEquals(2, getTableListTotal(database.getFullyQualifiedName(), "approximate"));
+    assertEquals(2, getTableListTotal(database.getFullyQualifiedName(), "exact"));
+    assertEquals(approximateTotal + 2, getTableListTotal(null, "approximate"));
+    assertEquals(exactTotal + 2, getTableListTotal(null, "exact"));
+  }
+
+  @Test
+  public void put_tableBulkTooLarge_4xx(TestInfo test) {
+    List<CreateTable> requests = new ArrayList<>();
+    for (int i = 0; i <= TableResource.MAX_BULK_SIZE; i++) {
+      requests.add(create(test, i));
+    }
+    HttpResponseException exception = assertThrows(HttpResponseException.class, () ->
+            putBulk(requests, adminAuthHeaders()));
+    assertResponse(exception, BAD_REQUEST, CatalogExceptionMessage.bulkRequestTooLarge(TableResource.MAX_BULK_SIZE));
+  }
+
   @Test
   public void put_columnConstraintUpdate_200(TestInfo test) throws IOException {
     List<Column> columns = new ArrayList<>();
@@ -744,6 +817,22 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     // first result should be the latest date
     assertEquals(tableProfile.getProfileDate(), table.getTableProfile().get(0).getProfileDate());
     verifyTableProfileData(table.getTableProfile(), List.of(newTableProfile1, tableProfile));
+
+    // List table profiles by date range and limit
+    TableProfile newTableProfile2 = new TableProfile().withRowCount(25.0).withColumnCount(3.0)
+            .withColumnProfile(columnProfiles).withProfileDate("2021-09-10");
+    putTableProfileData(table.getId(), newTableProfile2, adminAuthHeaders());
+    verifyTableProfileData(listTableProfiles(table.getId(), null, null, null, adminAuthHeaders()),
+            List.of(newTableProfile2, tableProfile, newTableProfile1));
+    verifyTableProfileData(listTableProfiles(table.getId(), "2021-09-09", null, null, adminAuthHeaders()),
+            List.of(newTableProfile2, tableProfile));
+    verifyTableProfileData(listTableProfiles(table.getId(), null, "2021-09-09", null, adminAuthHeaders()),
+            List.of(tableProfile, newTableProfile1));
+    verifyTableProfileData(listTableProfiles(table.getId(), "2021-09-08", "2021-09-10", 1, adminAuthHeaders()),
+            List.of(newTableProfile2));
+
+    // Latest table profile
+    assertEquals(newTableProfile2, getLatestTableProfile(table.getId(), adminAuthHeaders()));
   }
 
   @Test
@@ -1028,6 +1117,120 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     assertColumns(columns, table.getColumns());
   }
 
+  @Test
+  public void patch_tableTags_200_ok(TestInfo test) throws IOException {
+    int addressTagUsageCount = getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), userAuthHeaders());
+    int bankTagUsageCount = getTagUsageCount(USER_BANK_ACCOUNT_TAG_LABEL.getTagFQN(), userAuthHeaders());
+
+    // Create a table with tag USER_ADDRESS_TAG_LABEL and column c1 with the same tag
+    List<Column> columns = List.of(getColumn("c1", INT, USER_ADDRESS_TAG_LABEL));
+    Table table = createEntity(create(test).withColumns(columns).withTags(List.of(USER_ADDRESS_TAG_LABEL)),
+            adminAuthHeaders());
+    assertEquals(addressTagUsageCount + 2, getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+
+    //
+    // Add tag USER_BANK_ACCOUNT_TAG_LABEL to the table while it has tag USER_ADDRESS_TAG_LABEL
+    //
+    String originalJson = JsonUtils.pojoToJson(table);
+    ChangeDescription change = getChangeDescription(table.getVersion());
+    table.setTags(List.of(USER_ADDRESS_TAG_LABEL, USER_BANK_ACCOUNT_TAG_LABEL));
+    change.getFieldsAdded().add(new FieldChange().withName("tags").withNewValue(List.of(USER_BANK_ACCOUNT_TAG_LABEL)));
+    table = patchEntityAndCheck(table, originalJson, adminAuthHeaders(), MINOR_UPDATE, change);
+
+    assertEquals(addressTagUsageCount + 2, getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+    assertEquals(bankTagUsageCount + 1, getTagUsageCount(USER_BANK_ACCOUNT_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+
+    //
+    // Remove only tag USER_ADDRESS_TAG_LABEL from the table. The column tags are not changed.
+    //
+    originalJson = JsonUtils.pojoToJson(table);
+    change = getChangeDescription(table.getVersion());
+    table.setTags(List.of(USER_BANK_ACCOUNT_TAG_LABEL));
+    change.getFieldsDeleted().add(new FieldChange().withName("tags").withOldValue(List.of(USER_ADDRESS_TAG_LABEL)));
+    table = patchEntityAndCheck(table, originalJson, adminAuthHeaders(), MINOR_UPDATE, change);
+
+    table = getEntity(table.getId(), "tags,columns", adminAuthHeaders());
+    TestUtils.validateTags(List.of(USER_BANK_ACCOUNT_TAG_LABEL), table.getTags());
+    TestUtils.validateTags(List.of(USER_ADDRESS_TAG_LABEL), table.getColumns().get(0).getTags());
+    assertEquals(addressTagUsageCount + 1, getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+    assertEquals(bankTagUsageCount + 1, getTagUsageCount(USER_BANK_ACCOUNT_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+
+    //
+    // Change the state of tag USER_BANK_ACCOUNT_TAG_LABEL. The tag is already applied and the usage does not change.
+    //
+    originalJson = JsonUtils.pojoToJson(table);
+    table.setTags(List.of(new TagLabel().withTagFQN(USER_BANK_ACCOUNT_TAG_LABEL.getTagFQN())
+            .withDescription(USER_BANK_ACCOUNT_TAG_LABEL.getDescription()).withState(TagLabel.State.SUGGESTED)));
+    patchEntity(table.getId(), originalJson, table, adminAuthHeaders());
+
+    table = getEntity(table.getId(), "tags", adminAuthHeaders());
+    assertEquals(TagLabel.State.SUGGESTED, table.getTags().get(0).getState());
+    assertEquals(bankTagUsageCount + 1, getTagUsageCount(USER_BANK_ACCOUNT_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+  }
+
+  @Test
+  public void put_updateColumnTags_200(TestInfo test) throws IOException {
+    int addressTagUsageCount = getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), userAuthHeaders());
+    int bankTagUsageCount = getTagUsageCount(USER_BANK_ACCOUNT_TAG_LABEL.getTagFQN(), userAuthHeaders());
+
+    // Create a table with column c1 tagged USER_ADDRESS_TAG_LABEL and c2 tagged with both the tags
+    List<Column> columns = new ArrayList<>();
+    columns.add(getColumn("c1", BIGINT, USER_ADDRESS_TAG_LABEL));
+    columns.add(getColumn("c2", BIGINT, null).withTags(List.of(USER_ADDRESS_TAG_LABEL, USER_BANK_ACCOUNT_TAG_LABEL)));
+    CreateTable request = create(test).withColumns(columns);
+    Table table = createAndCheckEntity(request, adminAuthHeaders());
+    assertEquals(addressTagUsageCount + 2, getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+    assertEquals(bankTagUsageCount + 1, getTagUsageCount(USER_BANK_ACCOUNT_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+
+    //
+    // Replace the tag of column c1 and remove one of the tags of column c2
+    //
+    List<Column> updatedColumns = new ArrayList<>();
+    updatedColumns.add(getColumn("c1", BIGINT, USER_BANK_ACCOUNT_TAG_LABEL));
+    updatedColumns.add(getColumn("c2", BIGINT, USER_ADDRESS_TAG_LABEL));
+    ChangeDescription change = getChangeDescription(table.getVersion());
+    change.getFieldsAdded().add(new FieldChange().withName("columns.c1.tags")
+            .withNewValue(List.of(USER_BANK_ACCOUNT_TAG_LABEL)));
+    change.getFieldsDeleted().add(new FieldChange().withName("columns.c1.tags")
+            .withOldValue(List.of(USER_ADDRESS_TAG_LABEL)));
+    change.getFieldsDeleted().add(new FieldChange().withName("columns.c2.tags")
+            .withOldValue(List.of(USER_BANK_ACCOUNT_TAG_LABEL)));
+    table = updateAndCheckEntity(request.withColumns(updatedColumns), OK, adminAuthHeaders(), MINOR_UPDATE, change);
+
+    table = getEntity(table.getId(), "columns", adminAuthHeaders());
+    TestUtils.validateTags(List.of(USER_BANK_ACCOUNT_TAG_LABEL), table.getColumns().get(0).getTags());
+    TestUtils.validateTags(List.of(USER_ADDRESS_TAG_LABEL), table.getColumns().get(1).getTags());
+    assertEquals(addressTagUsageCount + 1, getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+    assertEquals(bankTagUsageCount + 1, getTagUsageCount(USER_BANK_ACCOUNT_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+  }
+
+  @Test
+  public void patch_tableTagsWithSiblingTable_200_ok(TestInfo test) throws IOException {
+    // Fully qualified name of table t1 is a prefix of the fully qualified name of table t10
+    List<Column> columns = List.of(getColumn("c1", INT, USER_ADDRESS_TAG_LABEL));
+    Table t1 = createEntity(create(getEntityName(test) + "_t1").withColumns(columns)
+            .withTags(List.of(USER_ADDRESS_TAG_LABEL)), adminAuthHeaders());
+    Table t10 = createEntity(create(getEntityName(test) + "_t10").withColumns(columns)
+            .withTags(List.of(USER_ADDRESS_TAG_LABEL)), adminAuthHeaders());
+    int addressTagUsageCount = getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), userAuthHeaders());
+
+    // Remove the table and column tags of table t1
+    String originalJson = JsonUtils.pojoToJson(t1);
+    ChangeDescription change = getChangeDescription(t1.getVersion());
+    t1.setTags(null);
+    t1.setColumns(List.of(getColumn("c1", INT, null)));
+    change.getFieldsDeleted().add(new FieldChange().withName("tags").withOldValue(List.of(USER_ADDRESS_TAG_LABEL)));
+    change.getFieldsDeleted().add(new FieldChange().withName("columns.c1.tags")
+            .withOldValue(List.of(USER_ADDRESS_TAG_LABEL)));
+    patchEntityAndCheck(t1, originalJson, adminAuthHeaders(), MINOR_UPDATE, change);
+
+    // Tags of table t10 are not removed along with the tags of table t1
+    t10 = getEntity(t10.getId(), "tags,columns", adminAuthHeaders());
+    TestUtils.validateTags(List.of(USER_ADDRESS_TAG_LABEL), t10.getTags());
+    TestUtils.validateTags(List.of(USER_ADDRESS_TAG_LABEL), t10.getColumns().get(0).getTags());
+    assertEquals(addressTagUsageCount - 2, getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), userAuthHeaders()));
+  }
+
   @Test
   public void put_addDeleteLocation_200(TestInfo test) throws IOException {
     Table table = createAndCheckEntity(create(test), adminAuthHeaders());
@@ -1198,6 +1401,21 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     return createEntity(create, adminAuthHeaders());
   }
 
+  private int getTableListTotal(String databaseFQN, String includeTotal) throws HttpResponseException {
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("includeTotal", includeTotal);
+    if (databaseFQN != null) {
+      queryParams.put("database", databaseFQN);
+    }
+    return listEntities(queryParams, 1, null, null, adminAuthHeaders()).getPaging().getTotal();
+  }
+
+  public static BulkResponse putBulk(List<CreateTable> requests, Map<String, String> authHeaders)
+          throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables/bulk");
+    return TestUtils.put(target, requests, BulkResponse.class, OK, authHeaders);
+  }
+
   public static Table putJoins(UUID tableId, TableJoins joins, Map<String, String> authHeaders)
           throws HttpResponseException {
     WebTarget target = CatalogApplicationTest.getResource("tables/" + tableId + "/joins");
@@ -1216,6 +1434,21 @@ public class TableResourceTest extends EntityResourceTest<Table> {
     return TestUtils.put(target, data, Table.class, OK, authHeaders);
   }
 
+  public static List<TableProfile> listTableProfiles(UUID tableId, String startDate, String endDate, Integer limit,
+                                                     Map<String, String> authHeaders) throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables/" + tableId + "/tableProfile");
+    target = startDate != null ? target.queryParam("startDate", startDate) : target;
+    target = endDate != null ? target.queryParam("endDate", endDate) : target;
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    return TestUtils.get(target, TableResource.TableProfileList.class, authHeaders).getData();
+  }
+
+  public static TableProfile getLatestTableProfile(UUID tableId, Map<String, String> authHeaders)
+          throws HttpResponseException {
+    WebTarget target = CatalogApplicationTest.getResource("tables/" + tableId + "/tableProfile/latest");
+    return TestUtils.get(target, TableProfile.class, authHeaders);
+  }
+
   public static Table putTableQueriesData(UUID tableId, SQLQuery data, Map<String, String> authHeaders)
           throws HttpResponseException {
     WebTarget target = CatalogApplicationTest.getResource("tables/" + tableId + "/tableQuery");
@@ -30,6 +30,7 @@ import org.openmetadata.catalog.type.Edge;
 import org.openmetadata.catalog.type.EntitiesEdge;
 import org.openmetadata.catalog.type.EntityLineage;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.LineageImpact;
 import org.openmetadata.catalog.util.TestUtils;
 
 import javax.ws.rs.client.WebTarget;
@@ -111,6 +112,18 @@ public class LineageResourceTest extends CatalogApplicationTest {
     lineage = getLineage(Entity.TABLE, TABLES.get(4).getId(), 2, 2, adminAuthHeaders());
     assertEdges(lineage, Arrays.copyOfRange(expectedUpstreamEdges, 0, 4),
             Arrays.copyOfRange(expectedDownstreamEdges, 0, 4));
+
+    // Test table4 lineage impact at all depths and partial depths
+    LineageImpact impact = getLineageImpact(Entity.TABLE, TABLES.get(4).getId(), null, null, adminAuthHeaders());
+    assertImpact(impact, List.of(TABLES.get(0), TABLES.get(1), TABLES.get(2), TABLES.get(3)),
+            List.of(TABLES.get(5), TABLES.get(6), TABLES.get(7), TABLES.get(8), TABLES.get(9)));
+    impact = getLineageImpact(Entity.TABLE, TABLES.get(4).getId(), 1, 2, adminAuthHeaders());
+    assertImpact(impact, List.of(TABLES.get(1), TABLES.get(2), TABLES.get(3)),
+            List.of(TABLES.get(5), TABLES.get(6), TABLES.get(8), TABLES.get(9)));
+    impact = getLineageImpact(Entity.TABLE, TABLES.get(0).getId(), null, null, adminAuthHeaders());
+    assertImpact(impact, List.of(),
+            List.of(TABLES.get(3), TABLES.get(4), TABLES.get(5), TABLES.get(6), TABLES.get(7), TABLES.get(8),
+                    TABLES.get(9)));
   }
 
   public Edge getEdge(Table from, Table to) {
@@ -195,6 +208,31 @@ public class LineageResourceTest extends CatalogApplicationTest {
     return lineage;
   }
 
+  public static LineageImpact getLineageImpact(String entity, UUID id, Integer upstreamDepth,
+                                               Integer downStreamDepth, Map<String, String> authHeaders)
+          throws HttpResponseException {
+    WebTarget target = getResource("lineage/" + entity + "/" + id + "/impact");
+    target = upstreamDepth != null ? target.queryParam("upstreamDepth", upstreamDepth) : target;
+    target = downStreamDepth != null ? target.queryParam("downstreamDepth", downStreamDepth) : target;
+    LineageImpact impact = TestUtils.get(target, LineageImpact.class, authHeaders);
+    TestUtils.validateEntityReference(impact.getEntity());
+    impact.getUpstreamNodes().forEach(TestUtils::validateEntityReference);
+    impact.getDownstreamNodes().forEach(TestUtils::validateEntityReference);
+    return impact;
+  }
+
+  public static void assertImpact(LineageImpact impact, List<Table> expectedUpstream,
+                                  List<Table> expectedDownstream) {
+    assertEquals(expectedUpstream.size(), impact.getUpstreamCount());
+    assertEquals(expectedUpstream.size(), impact.getUpstreamNodes().size());
+    expectedUpstream.forEach(table -> assertTrue(impact.getUpstreamNodes().stream()
+            .anyMatch(ref -> ref.getId().equals(table.getId()))));
+    assertEquals(expectedDownstream.size(), impact.getDownstreamCount());
+    assertEquals(expectedDownstream.size(), impact.getDownstreamNodes().size());
+    expectedDownstream.forEach(table -> assertTrue(impact.getDownstreamNodes().stream()
+            .anyMatch(ref -> ref.getId().equals(table.getId()))));
+  }
+
   public static void assertEdge(EntityLineage lineage, Edge expectedEdge, boolean downstream) {
     if (downstream) {
       assertTrue(lineage.getDownstreamEdges().contains(expectedEdge));
@@ -24,6 +24,8 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.openmetadata.catalog.CatalogApplicationTest;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.api.data.CreateTable;
+import org.openmetadata.catalog.api.usage.BulkUsage;
+import org.openmetadata.catalog.api.usage.EntityUsageCount;
 import org.openmetadata.catalog.entity.data.Database;
 import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
@@ -214,6 +216,53 @@ public class UsageResourceTest extends CatalogApplicationTest {
     Assertions.assertEquals(usage.getUsage().get(0), database.getUsageSummary());
   }
 
+  @Test
+  public void post_validBulkUsage_200_OK(TestInfo test) throws HttpResponseException, ParseException {
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    List<Table> tables = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      tables.add(tableResourceTest.createEntity(tableResourceTest.create(test, i), adminAuthHeaders()));
+    }
+
+    // Report usage of all the tables for 10 days in a single request. First table is identified by
+    // fullyQualifiedName and others by id. Usage count of a table is (tableIndex + 1) each day.
+    String today = RestUtil.DATE_FORMAT.format(new Date());
+    int days = 10;
+    List<EntityUsageCount> usageList = new ArrayList<>();
+    for (int day = days - 1; day >= 0; day--) { // Dates in the request don't need to be in order
+      String date = getDateStringByOffset(RestUtil.DATE_FORMAT, today, day);
+      for (int i = 0; i < tables.size(); i++) {
+        EntityUsageCount usage = new EntityUsageCount().withCount(i + 1).withDate(date);
+        usageList.add(i == 0 ? usage.withFullyQualifiedName(tables.get(i).getFullyQualifiedName()) :
+                usage.withId(tables.get(i).getId()));
+      }
+    }
+    reportBulkUsage(TABLE, new BulkUsage().withUsage(usageList), adminAuthHeaders());
+
+    // Weekly and monthly counts are maintained incrementally across days
+    for (int day = 0; day < days; day++) {
+      String date = getDateStringByOffset(RestUtil.DATE_FORMAT, today, day);
+      for (int i = 0; i < tables.size(); i++) {
+        checkUsage(date, TABLE, tables.get(i).getId(), i + 1, Math.min(day + 1, 7) * (i + 1),
+                (day + 1) * (i + 1), adminAuthHeaders());
+      }
+    }
+
+    // Counts reported again for an entity and date are added
+    String date = getDateStringByOffset(RestUtil.DATE_FORMAT, today, days - 1);
+    List<EntityUsageCount> moreUsage = new ArrayList<>();
+    moreUsage.add(new EntityUsageCount().withId(tables.get(1).getId()).withCount(5).withDate(date));
+    reportBulkUsage(TABLE, new BulkUsage().withUsage(moreUsage), adminAuthHeaders());
+    checkUsage(date, TABLE, tables.get(1).getId(), 7, 19, 25, adminAuthHeaders());
+
+    // Usage for non-existent entity is rejected
+    List<EntityUsageCount> invalidUsage = new ArrayList<>();
+    invalidUsage.add(new EntityUsageCount().withId(NON_EXISTENT_ENTITY).withCount(1).withDate(date));
+    HttpResponseException exception = assertThrows(HttpResponseException.class, () ->
+            reportBulkUsage(TABLE, new BulkUsage().withUsage(invalidUsage), adminAuthHeaders()));
+    assertResponse(exception, NOT_FOUND, CatalogExceptionMessage.entityNotFound(TABLE, NON_EXISTENT_ENTITY));
+  }
+
   public static DailyCount usageReport() {
     Random random = new Random();
     String today = RestUtil.DATE_FORMAT.format(new Date());
@@ -245,6 +294,12 @@ public class UsageResourceTest extends CatalogApplicationTest {
     TestUtils.post(target, usage, authHeaders);
   }
 
+  public static void reportBulkUsage(String entity, BulkUsage usage, Map<String, String> authHeaders)
+          throws HttpResponseException {
+    WebTarget target = getResource("usage/" + entity + "/bulk");
+    TestUtils.post(target, usage, authHeaders);
+  }
+
   public static void computePercentile(String entity, String date, Map<String, String> authHeaders)
           throws HttpResponseException {
     WebTarget target = getResource("usage/compute.percentile/" + entity + "/" + date);
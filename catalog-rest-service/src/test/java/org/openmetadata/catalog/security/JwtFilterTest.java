@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JwtFilterTest {
+  private static KeyPair key1;
+  private static KeyPair key2;
+
+  @TempDir
+  Path tempDir;
+
+  @BeforeAll
+  public static void setup() throws NoSuchAlgorithmException {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    key1 = generator.generateKeyPair();
+    key2 = generator.generateKeyPair();
+  }
+
+  @Test
+  public void validateToken() throws IOException {
+    Path jwks = writeJwks(tempDir.resolve("jwks.json"), "key1", key1);
+    JwtFilter filter = new JwtFilter(getConfig(jwks));
+
+    // Token signed with a known key is valid
+    assertEquals("user", filter.validateToken(createToken("key1", key1, "user@open-metadata.org", 60_000)));
+
+    // Expired token is not valid
+    AuthenticationException exception = assertThrows(AuthenticationException.class,
+            () -> filter.validateToken(createToken("key1", key1, "user@open-metadata.org", -60_000)));
+    assertEquals("Expired token!", exception.getMessage());
+
+    // Token with a signature that does not match the key is not valid
+    exception = assertThrows(AuthenticationException.class,
+            () -> filter.validateToken(createToken("key1", key2, "user@open-metadata.org", 60_000)));
+    assertEquals("Invalid token", exception.getMessage());
+    filter.stop();
+  }
+
+  @Test
+  public void verifiedTokenCacheHonorsExpiry() throws IOException {
+    Path jwks = writeJwks(tempDir.resolve("jwks.json"), "key1", key1);
+    AuthenticationConfiguration config = getConfig(jwks);
+    config.setTokenCacheTtlSeconds(60);
+    long[] now = {System.currentTimeMillis()};
+    JwtFilter filter = new JwtFilter(config, () -> now[0]);
+
+    // Expiry of the token is truncated to seconds and is between 9 and 10 seconds from now
+    String token = createToken("key1", key1, "user@open-metadata.org", 10_000);
+    assertEquals("user", filter.validateToken(token));
+    now[0] += 5_000;
+    assertEquals("user", filter.validateToken(token)); // From the verified token cache
+
+    // Token cached is not valid once it expires, even before the cache entry expires
+    now[0] += 6_000;
+    AuthenticationException exception = assertThrows(AuthenticationException.class,
+            () -> filter.validateToken(token));
+    assertEquals("Expired token!", exception.getMessage());
+    filter.stop();
+  }
+
+  @Test
+  public void keyStoreRejectsZeroTtl() throws IOException {
+    Path jwks = writeJwks(tempDir.resolve("jwks.json"), "key1", key1);
+    AuthenticationConfiguration config = getConfig(jwks);
+    config.setJwksCacheTtlSeconds(0);
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new JwtFilter(config));
+    assertEquals("JWKS cache ttl must be greater than 0 seconds, found 0", exception.getMessage());
+  }
+
+  @Test
+  public void keyStoreRefreshOnUnknownKey() throws IOException {
+    Path jwks = writeJwks(tempDir.resolve("jwks.json"), "key1", key1);
+    try (JwksKeyStore keyStore = new JwksKeyStore(jwks.toUri().toURL(), 300, 10, 0)) {
+      assertEquals(((RSAPublicKey) key1.getPublic()).getModulus(), keyStore.getKey("key1").getModulus());
+      assertEquals(((RSAPublicKey) key1.getPublic()).getModulus(), keyStore.getKey(null).getModulus());
+      assertThrows(AuthenticationException.class, () -> keyStore.getKey("key2"));
+
+      // Key added to JWKS after the last refresh is found by refreshing the keys
+      Files.write(jwks, String.format("{\"keys\":[%s,%s]}", jwk("key1", key1), jwk("key2", key2))
+              .getBytes(StandardCharsets.UTF_8));
+      assertEquals(((RSAPublicKey) key2.getPublic()).getModulus(), keyStore.getKey("key2").getModulus());
+
+      // Keys from the last successful refresh are used when JWKS can't be read
+      Files.delete(jwks);
+      keyStore.refreshKeys();
+      assertEquals(((RSAPublicKey) key1.getPublic()).getModulus(), keyStore.getKey("key1").getModulus());
+    }
+  }
+
+  @Test
+  public void keyStoreMaxKeys() throws IOException {
+    Path jwks = tempDir.resolve("jwks.json");
+    Files.write(jwks, String.format("{\"keys\":[%s,%s]}", jwk("key1", key1), jwk("key2", key2))
+            .getBytes(StandardCharsets.UTF_8));
+    int found = 0;
+    try (JwksKeyStore keyStore = new JwksKeyStore(jwks.toUri().toURL(), 300, 1, 0)) {
+      keyStore.refreshKeys();
+      for (String keyId : new String[] {"key1", "key2"}) {
+        try {
+          keyStore.getKey(keyId);
+          found++;
+        } catch (AuthenticationException ignored) {
+          // Key not kept in the key store
+        }
+      }
+    }
+    assertEquals(1, found);
+  }
+
+  private static AuthenticationConfiguration getConfig(Path jwks) {
+    AuthenticationConfiguration config = new AuthenticationConfiguration();
+    config.setPublicKey(jwks.toUri().toString());
+    return config;
+  }
+
+  private static String createToken(String keyId, KeyPair keyPair, String email, long expiresInMillis) {
+    Algorithm algorithm = Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate());
+    return JWT.create().withKeyId(keyId).withClaim("email", email)
+            .withExpiresAt(new Date(System.currentTimeMillis() + expiresInMillis)).sign(algorithm);
+  }
+
+  private static Path writeJwks(Path path, String keyId, KeyPair keyPair) throws IOException {
+    String jwks = String.format("{\"keys\":[%s]}", jwk(keyId, keyPair));
+    return Files.write(path, jwks.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String jwk(String keyId, KeyPair keyPair) {
+    RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    return String.format("{\"kty\":\"RSA\",\"kid\":\"%s\",\"use\":\"sig\",\"alg\":\"RS256\",\"n\":\"%s\",\"e\":\"%s\"}",
+            keyId, encoder.encodeToString(publicKey.getModulus().toByteArray()),
+            encoder.encodeToString(publicKey.getPublicExponent().toByteArray()));
+  }
+}
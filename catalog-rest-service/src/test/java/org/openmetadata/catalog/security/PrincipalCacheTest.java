@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.security.PrincipalCache.PrincipalContext;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrincipalCacheTest {
+  private long nanos;
+  private int loads;
+  private boolean admin;
+
+  @BeforeEach
+  public void setup() {
+    nanos = 0;
+    loads = 0;
+    admin = false;
+    PrincipalCache.initialize(100, 60, new Ticker() {
+      @Override
+      public long read() {
+        return nanos;
+      }
+    });
+  }
+
+  @Test
+  public void hit() throws IOException, ParseException {
+    assertFalse(get("user1").isAdmin());
+    admin = true;
+    assertFalse(get("user1").isAdmin()); // Cached
+    assertEquals(1, loads);
+    assertTrue(get("user2").isAdmin());
+    assertEquals(2, loads);
+  }
+
+  @Test
+  public void invalidate() throws IOException, ParseException {
+    get("user1");
+    get("user2");
+    admin = true;
+    PrincipalCache.invalidate("user1");
+    assertTrue(get("user1").isAdmin());
+    assertFalse(get("user2").isAdmin());
+    assertEquals(3, loads);
+
+    PrincipalCache.invalidateAll();
+    assertTrue(get("user2").isAdmin());
+    assertEquals(4, loads);
+  }
+
+  @Test
+  public void expiry() throws IOException, ParseException {
+    get("user1");
+    admin = true;
+    nanos += TimeUnit.SECONDS.toNanos(59);
+    assertFalse(get("user1").isAdmin());
+    nanos += TimeUnit.SECONDS.toNanos(1);
+    assertTrue(get("user1").isAdmin());
+    assertEquals(2, loads);
+  }
+
+  @Test
+  public void invalidatedDuringLoadIsNotCached() throws IOException, ParseException {
+    // User is updated after the loader read it and before the loaded details are cached
+    PrincipalContext stale = PrincipalCache.get("user1", name -> {
+      PrincipalContext context = load(name);
+      admin = true;
+      PrincipalCache.invalidate(name);
+      return context;
+    });
+    assertFalse(stale.isAdmin());
+    assertTrue(get("user1").isAdmin());
+    assertTrue(get("user1").isAdmin());
+    assertEquals(2, loads);
+  }
+
+  private PrincipalContext get(String userName) throws IOException, ParseException {
+    return PrincipalCache.get(userName, this::load);
+  }
+
+  private PrincipalContext load(String userName) {
+    loads++;
+    return new PrincipalContext(userName, admin, false, Collections.emptySet());
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares diffing the columns of a table by key with matching every pair of columns, which is how the columns were
+ * diffed before. Every tenth column of the updated table is retyped and the columns are shuffled.
+ *
+ * Run the main method from the test classpath after {@code mvn test-compile}, which generates the benchmark code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityUtilBenchmark {
+  @Param({"100", "1000", "5000"})
+  private int columnCount;
+
+  private List<Column> origColumns;
+  private List<Column> updatedColumns;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    origColumns = new ArrayList<>();
+    updatedColumns = new ArrayList<>();
+    for (int i = 0; i < columnCount; i++) {
+      origColumns.add(EntityUtilTest.column("c" + i, ColumnDataType.INT, i));
+      ColumnDataType dataType = i % 10 == 0 ? ColumnDataType.BIGINT : ColumnDataType.INT;
+      updatedColumns.add(EntityUtilTest.column("c" + i, dataType, i));
+    }
+    Collections.shuffle(updatedColumns, random);
+  }
+
+  @Benchmark
+  public List<Column> diffByKey() {
+    List<Column> added = new ArrayList<>();
+    List<Column> deleted = new ArrayList<>();
+    EntityUtil.diffLists(origColumns, updatedColumns, EntityUtil.columnKey, added, deleted);
+    return added;
+  }
+
+  @Benchmark
+  public List<Column> diffPairwise() {
+    List<Column> added = new ArrayList<>();
+    List<Column> deleted = new ArrayList<>();
+    EntityUtilTest.diffPairwise(origColumns, updatedColumns, EntityUtilTest.columnMatch, added, deleted);
+    return added;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(EntityUtilBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ *  Copyright 2021 Collate 
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
+import org.openmetadata.catalog.type.TagLabel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntityUtilTest {
+  // Predicates that matched the list entries before the lists were diffed by key
+  static final BiPredicate<Column, Column> columnMatch = (column1, column2) ->
+          column1.getName().equals(column2.getName()) &&
+          column1.getDataType() == column2.getDataType() &&
+          column1.getArrayDataType() == column2.getArrayDataType() &&
+          Objects.equals(column1.getOrdinalPosition(), column2.getOrdinalPosition());
+
+  static final BiPredicate<Column, Column> columnNameMatch = (column1, column2) ->
+          column1.getName().equals(column2.getName());
+
+  static final BiPredicate<TagLabel, TagLabel> tagLabelMatch = (tag1, tag2) ->
+          tag1.getTagFQN().equals(tag2.getTagFQN());
+
+  @Test
+  public void diffListsOfWideTable() {
+    // Wide table with columns dropped, added, renamed, moved and with changed data types
+    Random random = new Random(42);
+    List<Column> origColumns = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      origColumns.add(column("c" + i, ColumnDataType.INT, i));
+    }
+    List<Column> updatedColumns = new ArrayList<>();
+    for (Column column : origColumns) {
+      int change = random.nextInt(20);
+      if (change == 0) {
+        continue; // Dropped
+      } else if (change == 1) {
+        updatedColumns.add(column(column.getName(), ColumnDataType.BIGINT, column.getOrdinalPosition()));
+      } else if (change == 2) {
+        updatedColumns.add(column(column.getName() + "_renamed", column.getDataType(), column.getOrdinalPosition()));
+      } else if (change == 3) {
+        updatedColumns.add(column(column.getName(), column.getDataType(), column.getOrdinalPosition() + 1));
+      } else {
+        updatedColumns.add(column(column.getName(), column.getDataType(), column.getOrdinalPosition()));
+      }
+    }
+    for (int i = 0; i < 100; i++) {
+      updatedColumns.add(column("new" + i, ColumnDataType.STRING, 5000 + i));
+    }
+    Collections.shuffle(updatedColumns, random);
+
+    assertDiff(origColumns, updatedColumns, EntityUtil.columnKey, columnMatch);
+    assertDiff(origColumns, updatedColumns, EntityUtil.columnNameKey, columnNameMatch);
+    assertDiff(updatedColumns, origColumns, EntityUtil.columnKey, columnMatch);
+    assertDiff(origColumns, null, EntityUtil.columnKey, columnMatch);
+    assertDiff(null, updatedColumns, EntityUtil.columnKey, columnMatch);
+  }
+
+  @Test
+  public void diffListsWithDuplicates() {
+    List<TagLabel> origTags = Arrays.asList(tag("a.b"), tag("a.c"), tag("a.c"));
+    List<TagLabel> updatedTags = Arrays.asList(tag("a.c"), tag("a.d"), tag("a.d"));
+    assertDiff(origTags, updatedTags, EntityUtil.tagLabelKey, tagLabelMatch);
+
+    List<String> added = new ArrayList<>();
+    List<String> deleted = new ArrayList<>();
+    EntityUtil.diffLists(Arrays.asList("x", "y"), Arrays.asList("y", "z", "z"), EntityUtil.stringKey, added, deleted);
+    assertEquals(Arrays.asList("z", "z"), added);
+    assertEquals(Collections.singletonList("x"), deleted);
+  }
+
+  @Test
+  public void indexByKey() {
+    Column first = column("c1", ColumnDataType.INT, 1);
+    Column duplicate = column("c1", ColumnDataType.STRING, 2);
+    Map<Object, Column> index = EntityUtil.indexByKey(Arrays.asList(first, duplicate, column("c2", ColumnDataType.INT,
+            3)), EntityUtil.columnNameKey);
+    assertEquals(2, index.size());
+    assertSame(first, index.get("c1"));
+    assertTrue(EntityUtil.indexByKey(null, EntityUtil.columnNameKey).isEmpty());
+  }
+
+  /** Diffing by key gives the same result as matching every pair of entries with the match predicate */
+  private static <K> void assertDiff(List<K> origList, List<K> updatedList, Function<K, Object> key,
+                                     BiPredicate<K, K> match) {
+    List<K> added = new ArrayList<>();
+    List<K> deleted = new ArrayList<>();
+    EntityUtil.diffLists(origList, updatedList, key, added, deleted);
+
+    List<K> expectedAdded = new ArrayList<>();
+    List<K> expectedDeleted = new ArrayList<>();
+    diffPairwise(origList, updatedList, match, expectedAdded, expectedDeleted);
+    assertEquals(expectedAdded, added);
+    assertEquals(expectedDeleted, deleted);
+  }
+
+  /** Diff two lists matching every pair of entries, as the lists were diffed before they were diffed by key */
+  static <K> void diffPairwise(List<K> origList, List<K> updatedList, BiPredicate<K, K> match, List<K> addedItems,
+                               List<K> deletedItems) {
+    List<K> orig = origList == null ? Collections.emptyList() : origList;
+    List<K> updated = updatedList == null ? Collections.emptyList() : updatedList;
+    for (K stored : orig) {
+      if (updated.stream().noneMatch(c -> match.test(c, stored))) {
+        deletedItems.add(stored);
+      }
+    }
+    for (K entry : updated) {
+      if (orig.stream().noneMatch(c -> match.test(c, entry))) {
+        addedItems.add(entry);
+      }
+    }
+  }
+
+  static Column column(String name, ColumnDataType dataType, int ordinalPosition) {
+    return new Column().withName(name).withDataType(dataType).withOrdinalPosition(ordinalPosition);
+  }
+
+  private static TagLabel tag(String fqn) {
+    return new TagLabel().withTagFQN(fqn);
+  }
+}
@@ -23,6 +23,7 @@ import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonPatchBuilder;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -95,4 +96,32 @@ public class JsonUtilsTest {
             () -> JsonUtils.applyPatch(original, jsonPatchBuilder2.build(), Team.class));
     assertTrue(jsonException.getMessage().contains("contains no element for index 3"));
   }
+
+  /**
+   * Test that applying the diff of two JSON objects to the first object results in the second object
+   */
+  @Test
+  public void diffJson() {
+    String v1 = "{\"name\":\"finance\",\"description\":\"old\",\"version\":0.1," +
+            "\"users\":[{\"name\":\"alex\"},{\"name\":\"amanda\"},{\"name\":\"alice\"}]," +
+            "\"tags\":[\"a\",\"b\"]}";
+    String v2 = "{\"name\":\"finance\",\"displayName\":\"Finance\",\"version\":0.2," +
+            "\"users\":[{\"name\":\"amanda\"}],\"tags\":[\"a\",\"c\",\"d\",\"e\"]}";
+    assertJsonEquals(v2, JsonUtils.applyDiff(v1, JsonUtils.diffJson(v1, v2)));
+    assertJsonEquals(v1, JsonUtils.applyDiff(v2, JsonUtils.diffJson(v2, v1)));
+    assertEquals("[]", JsonUtils.diffJson(v1, v1));
+
+    // Adding an element in the middle of an array is a single operation
+    String v3 = "{\"columns\":[\"c1\",\"c2\",\"c3\",\"c4\"]}";
+    String v4 = "{\"columns\":[\"c1\",\"c2\",\"new\",\"c3\",\"c4\"]}";
+    String diff = JsonUtils.diffJson(v3, v4);
+    assertEquals("[{\"op\":\"add\",\"path\":\"/columns/2\",\"value\":\"new\"}]", diff);
+    assertJsonEquals(v4, JsonUtils.applyDiff(v3, diff));
+    assertJsonEquals(v3, JsonUtils.applyDiff(v4, JsonUtils.diffJson(v4, v3)));
+  }
+
+  private static void assertJsonEquals(String expected, String actual) {
+    assertEquals(Json.createReader(new StringReader(expected)).readObject(),
+            Json.createReader(new StringReader(actual)).readObject());
+  }
 }
@@ -0,0 +1,180 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.common.utils.CipherText;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamingResultListTest {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /** Source of the integers from 0 to size - 1, with the integer as position, that records the limit of the reads */
+  private static class IntegerSource implements StreamingResultList.Source<Integer> {
+    private final int size;
+    private final int failingRead;
+    private final List<Integer> reads = new ArrayList<>();
+
+    IntegerSource(int size) {
+      this(size, -1);
+    }
+
+    IntegerSource(int size, int failingRead) {
+      this.size = size;
+      this.failingRead = failingRead;
+    }
+
+    @Override
+    public List<Pair<String, Integer>> read(String after, int limit) throws IOException {
+      if (reads.size() == failingRead) {
+        throw new IOException("Read failed");
+      }
+      reads.add(limit);
+      List<Pair<String, Integer>> entries = new ArrayList<>();
+      for (int i = after == null ? 0 : Integer.parseInt(after) + 1; i < size && entries.size() < limit; i++) {
+        entries.add(Pair.of(String.valueOf(i), i));
+      }
+      return entries;
+    }
+  }
+
+  @Test
+  public void firstChunkIsReadWhenCreated() throws IOException {
+    IntegerSource source = new IntegerSource(10);
+    StreamingResultList<Integer> list = new StreamingResultList<>(source, null, 5, null);
+    assertEquals(Collections.singletonList(6), source.reads);
+    write(list);
+    assertEquals(Collections.singletonList(6), source.reads); // First chunk is not read again
+
+    IOException exception = assertThrows(IOException.class,
+            () -> new StreamingResultList<>(new IntegerSource(10, 0), null, 5, null));
+    assertEquals("Read failed", exception.getMessage());
+  }
+
+  @Test
+  public void pageWithinOneChunk() throws IOException, GeneralSecurityException {
+    int limit = StreamingResultList.CHUNK_SIZE;
+    // Exactly limit entries, the extra entry read finds no more entries
+    IntegerSource source = new IntegerSource(limit);
+    JsonNode json = write(new StreamingResultList<>(source, null, limit, null));
+    assertEquals(range(0, limit), data(json));
+    assertEquals(Collections.singletonList(limit + 1), source.reads);
+    assertNull(cursor(json, "after"));
+    assertNull(cursor(json, "before"));
+    assertEquals(limit, json.get("paging").get("total").asInt());
+
+    // Entry after the page is returned with the after cursor
+    source = new IntegerSource(limit + 1);
+    json = write(new StreamingResultList<>(source, null, limit, 1000));
+    assertEquals(range(0, limit), data(json));
+    assertEquals(Collections.singletonList(limit + 1), source.reads);
+    assertEquals(String.valueOf(limit - 1), cursor(json, "after"));
+    assertEquals(1000, json.get("paging").get("total").asInt());
+  }
+
+  @Test
+  public void pageAcrossChunks() throws IOException, GeneralSecurityException {
+    int limit = 2 * StreamingResultList.CHUNK_SIZE + 50;
+    IntegerSource source = new IntegerSource(limit + 50);
+    JsonNode json = write(new StreamingResultList<>(source, null, limit, null));
+    assertEquals(range(0, limit), data(json));
+    assertEquals(Arrays.asList(StreamingResultList.CHUNK_SIZE, StreamingResultList.CHUNK_SIZE, 51), source.reads);
+    assertEquals(String.valueOf(limit - 1), cursor(json, "after"));
+
+    // Next page starts after the cursor and has no entries after it
+    source = new IntegerSource(limit + 50);
+    json = write(new StreamingResultList<>(source, String.valueOf(limit - 1), limit, null));
+    assertEquals(range(limit, limit + 50), data(json));
+    assertEquals(String.valueOf(limit), cursor(json, "before"));
+    assertNull(cursor(json, "after"));
+
+    // Page ends at a chunk boundary
+    limit = 2 * StreamingResultList.CHUNK_SIZE;
+    source = new IntegerSource(limit);
+    json = write(new StreamingResultList<>(source, null, limit, null));
+    assertEquals(range(0, limit), data(json));
+    assertEquals(Arrays.asList(StreamingResultList.CHUNK_SIZE, StreamingResultList.CHUNK_SIZE + 1), source.reads);
+    assertNull(cursor(json, "after"));
+  }
+
+  @Test
+  public void listWithoutPaging() throws IOException {
+    int size = 2 * StreamingResultList.CHUNK_SIZE;
+    IntegerSource source = new IntegerSource(size);
+    JsonNode json = write(new StreamingResultList<>(source));
+    assertEquals(range(0, size), data(json));
+    assertEquals(3, source.reads.size()); // Last read finds no more entries
+    assertFalse(json.has("paging"));
+  }
+
+  @Test
+  public void totalLeftOut() throws IOException {
+    JsonNode json = write(new StreamingResultList<>(new IntegerSource(10), null, 5, null, false));
+    assertEquals(range(0, 5), data(json));
+    assertFalse(json.get("paging").has("total"));
+  }
+
+  @Test
+  public void failedReadLeavesResponseIncomplete() throws IOException {
+    StreamingResultList<Integer> list = new StreamingResultList<>(new IntegerSource(1000, 1), null, 500, null);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    assertThrows(IOException.class, () -> list.write(output));
+    String response = output.toString(StandardCharsets.UTF_8);
+    assertTrue(response.startsWith("{\"data\":[0,1,2"));
+    assertThrows(JsonProcessingException.class, () -> MAPPER.readTree(response));
+  }
+
+  private static JsonNode write(StreamingResultList<Integer> list) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    list.write(output);
+    return MAPPER.readTree(output.toString(StandardCharsets.UTF_8));
+  }
+
+  private static List<Integer> data(JsonNode json) {
+    List<Integer> data = new ArrayList<>();
+    json.get("data").forEach(node -> data.add(node.asInt()));
+    return data;
+  }
+
+  private static String cursor(JsonNode json, String name) throws GeneralSecurityException {
+    JsonNode cursor = json.get("paging").get(name);
+    return cursor == null || cursor.isNull() ? null : CipherText.instance().decrypt(cursor.asText());
+  }
+
+  private static List<Integer> range(int from, int to) {
+    List<Integer> range = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      range.add(i);
+    }
+    return range;
+  }
+}